@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks;
+
+import org.terasology.config.Config;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.EngineTime;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.network.NetworkSystem;
+import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.testUtil.ModuleManagerFactory;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * An entity system on top of the engine test module, without a game running. Based on the setup of the entity manager
+ * tests, but with a network system that isn't mocked, as the event system asks it for the network mode on every event.
+ */
+public class EntitySystemFixture {
+    private final Context context;
+    private final PojoEntityManager entityManager;
+
+    public EntitySystemFixture() throws Exception {
+        context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        context.put(ModuleManager.class, ModuleManagerFactory.create());
+        context.put(Config.class, new Config());
+        context.put(NetworkSystem.class, new NetworkSystemImpl(mock(EngineTime.class), context));
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        entityManager = (PojoEntityManager) context.get(EngineEntityManager.class);
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public PojoEntityManager getEntityManager() {
+        return entityManager;
+    }
+}
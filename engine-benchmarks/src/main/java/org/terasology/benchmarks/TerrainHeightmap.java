@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks;
+
+import org.terasology.math.TeraMath;
+import org.terasology.utilities.procedural.Noise;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.world.chunks.ChunkConstants;
+
+/**
+ * Rolling hills around the middle of the chunks at y = 0, the same for every run with the same seed.
+ */
+public class TerrainHeightmap {
+    private static final float SCALE = 0.02f;
+    private static final int BASE_HEIGHT = ChunkConstants.SIZE_Y / 2;
+    private static final int AMPLITUDE = ChunkConstants.SIZE_Y / 4;
+
+    private final Noise noise;
+
+    public TerrainHeightmap(long seed) {
+        this.noise = new SimplexNoise(seed);
+    }
+
+    /**
+     * @return The height of the terrain at the given world position, the blocks below it are solid
+     */
+    public int getHeight(int x, int z) {
+        return BASE_HEIGHT + TeraMath.floorToInt(noise.noise(x * SCALE, z * SCALE) * AMPLITUDE);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.nio.file.ShrinkWrapFileSystems;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.terasology.HeadlessEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.context.Context;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.engine.paths.PathManager;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.naming.Name;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricBlockFamilyFactory;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.NullWorldAtlas;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.internal.ChunkViewCore;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+
+import java.nio.file.FileSystem;
+
+/**
+ * A headless environment with a block manager holding a few cube shaped blocks, and chunks of stone shaped by a
+ * {@link TerrainHeightmap}. Based on the setup of the light propagation tests.
+ * <br><br>
+ * The terrain only depends on {@link #SEED}, so every benchmark run works on the same blocks.
+ */
+public class WorldFixture implements AutoCloseable {
+    public static final long SEED = 0x7e7a5eedL;
+
+    private final HeadlessEnvironment environment;
+    private final BlockManagerImpl blockManager;
+    private final BiomeManager biomeManager;
+    private final TerrainHeightmap terrain = new TerrainHeightmap(SEED);
+
+    private final Block air;
+    private final Block stone;
+    private final Block torch;
+
+    public WorldFixture() throws Exception {
+        JavaArchive homeArchive = ShrinkWrap.create(JavaArchive.class);
+        FileSystem vfs = ShrinkWrapFileSystems.newFileSystem(homeArchive);
+        PathManager.getInstance().useOverrideHomePath(vfs.getPath(""));
+        environment = new HeadlessEnvironment(new Name("engine"));
+
+        Context context = environment.getContext();
+        AssetManager assetManager = context.get(AssetManager.class);
+        blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager, true);
+        context.put(BlockManager.class, blockManager);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        biomeManager = new BiomeManager(context.get(ModuleManager.class).getEnvironment());
+        context.put(BiomeManager.class, biomeManager);
+
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+        stone = registerBlock(assetManager, "engine:stone", (byte) 0, false);
+        torch = registerBlock(assetManager, "engine:torch", ChunkConstants.MAX_LIGHT, true);
+    }
+
+    public Context getContext() {
+        return environment.getContext();
+    }
+
+    public BlockManagerImpl getBlockManager() {
+        return blockManager;
+    }
+
+    public BiomeManager getBiomeManager() {
+        return biomeManager;
+    }
+
+    public Block getAir() {
+        return air;
+    }
+
+    public Block getStone() {
+        return stone;
+    }
+
+    public Block getTorch() {
+        return torch;
+    }
+
+    /**
+     * Creates the chunk at the given chunk position, filled with the terrain.
+     */
+    public ChunkImpl createChunk(Vector3i chunkPos) {
+        ChunkImpl chunk = new ChunkImpl(new Vector3i(chunkPos), blockManager, biomeManager);
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                int height = terrain.getHeight(chunk.chunkToWorldPositionX(x), chunk.chunkToWorldPositionZ(z));
+                int top = Math.min(ChunkConstants.SIZE_Y, height - chunk.getChunkWorldOffsetY());
+                for (int y = 0; y < top; y++) {
+                    chunk.setBlock(x, y, z, stone);
+                }
+            }
+        }
+        chunk.markReady();
+        return chunk;
+    }
+
+    /**
+     * Creates the view of the chunk at the given chunk position and its neighbours, as used for tessellating it.
+     */
+    public ChunkViewCore createSubviewAroundChunk(Vector3i chunkPos) {
+        Region3i region = Region3i.createFromCenterExtents(chunkPos, ChunkConstants.LOCAL_REGION_EXTENTS);
+        Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
+        for (Vector3i pos : region) {
+            Chunk chunk = createChunk(pos);
+            pos.sub(region.minX(), region.minY(), region.minZ());
+            chunks[TeraMath.calculate3DArrayIndex(pos, region.size())] = chunk;
+        }
+        Vector3i offset = new Vector3i(-region.minX(), -region.minY(), -region.minZ());
+        return new ChunkViewCoreImpl(chunks, region, offset, air);
+    }
+
+    @Override
+    public void close() throws Exception {
+        environment.close();
+    }
+
+    private Block registerBlock(AssetManager assetManager, String uri, byte luminance, boolean translucent) {
+        BlockFamilyDefinitionData data = new BlockFamilyDefinitionData();
+        data.getBaseSection().setDisplayName(uri);
+        data.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        data.getBaseSection().setLuminance(luminance);
+        data.getBaseSection().setTranslucent(translucent);
+        data.setFamilyFactory(new SymmetricBlockFamilyFactory());
+        assetManager.loadAsset(new ResourceUrn(uri), data, BlockFamilyDefinition.class);
+        return blockManager.getBlock(new BlockUri(new ResourceUrn(uri)));
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks.world;
+
+import org.terasology.engine.SimpleUri;
+import org.terasology.world.generation.BaseFacetedWorldGenerator;
+import org.terasology.world.generation.WorldBuilder;
+import org.terasology.world.generator.plugin.WorldGeneratorPluginLibrary;
+
+/**
+ * A faceted world generator built the same way as the perlin generator of the core module, out of providers that only
+ * need the engine, so that it can be benchmarked without any module.
+ */
+public class BenchmarkWorldGenerator extends BaseFacetedWorldGenerator {
+    private static final int SEA_LEVEL = 32;
+
+    private final WorldGeneratorPluginLibrary pluginLibrary;
+
+    public BenchmarkWorldGenerator(SimpleUri uri, WorldGeneratorPluginLibrary pluginLibrary) {
+        super(uri);
+        this.pluginLibrary = pluginLibrary;
+    }
+
+    @Override
+    protected WorldBuilder createWorld() {
+        return new WorldBuilder(pluginLibrary)
+                .setSeaLevel(SEA_LEVEL)
+                .addProvider(new SeaLevelProvider(SEA_LEVEL))
+                .addProvider(new NoiseSurfaceProvider())
+                .addProvider(new SurfaceToDensityProvider())
+                .addProvider(new CaveProvider())
+                .addRasterizer(new StoneRasterizer());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks.world;
+
+import org.terasology.math.geom.Vector3f;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.utilities.procedural.SubSampledNoise;
+import org.terasology.world.generation.Facet;
+import org.terasology.world.generation.FacetProvider;
+import org.terasology.world.generation.GeneratingRegion;
+import org.terasology.world.generation.Updates;
+import org.terasology.world.generation.facets.DensityFacet;
+
+/**
+ * Carves caves out of the density where three dimensional noise exceeds a threshold, so that the world generation
+ * benchmark also covers 3D noise and updating facets.
+ */
+@Updates(@Facet(DensityFacet.class))
+public class CaveProvider implements FacetProvider {
+    private static final int SAMPLE_RATE = 4;
+    private static final float CAVE_THRESHOLD = 0.6f;
+
+    private SubSampledNoise caveNoise;
+
+    @Override
+    public void setSeed(long seed) {
+        caveNoise = new SubSampledNoise(new SimplexNoise(seed + 1), new Vector3f(0.02f, 0.04f, 0.02f), SAMPLE_RATE);
+    }
+
+    @Override
+    public void process(GeneratingRegion region) {
+        DensityFacet facet = region.getRegionFacet(DensityFacet.class);
+        float[] caves = caveNoise.noise(facet.getWorldRegion());
+        float[] density = facet.getInternal();
+        for (int i = 0; i < density.length; ++i) {
+            if (caves[i] > CAVE_THRESHOLD) {
+                density[i] = Math.min(density[i], -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks.world;
+
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.generation.Region;
+import org.terasology.world.generation.WorldRasterizer;
+import org.terasology.world.generation.facets.DensityFacet;
+
+/**
+ * Fills everything with a positive density with stone.
+ */
+public class StoneRasterizer implements WorldRasterizer {
+
+    private Block stone;
+
+    @Override
+    public void initialize() {
+        stone = CoreRegistry.get(BlockManager.class).getBlock("engine:stone");
+    }
+
+    @Override
+    public void generateChunk(CoreChunk chunk, Region chunkRegion) {
+        DensityFacet densityFacet = chunkRegion.getFacet(DensityFacet.class);
+        for (Vector3i pos : ChunkConstants.CHUNK_REGION) {
+            if (densityFacet.get(pos) >= 0) {
+                chunk.setBlock(pos, stone);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks.world;
+
+import org.terasology.math.Region3i;
+import org.terasology.world.generation.Facet;
+import org.terasology.world.generation.FacetProvider;
+import org.terasology.world.generation.GeneratingRegion;
+import org.terasology.world.generation.Produces;
+import org.terasology.world.generation.Requires;
+import org.terasology.world.generation.facets.DensityFacet;
+import org.terasology.world.generation.facets.SurfaceHeightFacet;
+
+/**
+ * Sets density based on the distance from the surface.
+ */
+@Requires(@Facet(SurfaceHeightFacet.class))
+@Produces(DensityFacet.class)
+public class SurfaceToDensityProvider implements FacetProvider {
+
+    @Override
+    public void setSeed(long seed) {
+    }
+
+    @Override
+    public void process(GeneratingRegion region) {
+        SurfaceHeightFacet surfaceHeight = region.getRegionFacet(SurfaceHeightFacet.class);
+        DensityFacet facet = new DensityFacet(region.getRegion(), region.getBorderForFacet(DensityFacet.class));
+
+        Region3i area = region.getRegion();
+        Region3i relativeRegion = facet.getRelativeRegion();
+        for (int x = relativeRegion.minX(); x <= relativeRegion.maxX(); ++x) {
+            for (int z = relativeRegion.minZ(); z <= relativeRegion.maxZ(); ++z) {
+                float height = surfaceHeight.get(x, z);
+                for (int y = relativeRegion.minY(); y <= relativeRegion.maxY(); ++y) {
+                    facet.set(x, y, z, height - area.minY() - y);
+                }
+            }
+        }
+        region.setRegionFacet(DensityFacet.class, facet);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks.world;
+
+import com.google.common.collect.Maps;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.terasology.benchmarks.WorldFixture;
+import org.terasology.context.Context;
+import org.terasology.engine.SimpleUri;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.LatencyProfiler;
+import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.pipeline.AbstractChunkTask;
+import org.terasology.world.chunks.pipeline.ChunkGenerationPipeline;
+import org.terasology.world.chunks.pipeline.ChunkTask;
+import org.terasology.world.generation.impl.EntityBufferImpl;
+import org.terasology.world.generator.WorldGenerator;
+import org.terasology.world.generator.plugin.DefaultWorldGeneratorPluginLibrary;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Generates a region of chunks with a world generator through the chunk generation pipeline, the same way the local
+ * chunk provider does, and measures how fast it went.
+ * <br><br>
+ * Besides the overall throughput, the {@link LatencyProfiler} is enabled while generating, so the result holds the time
+ * each facet provider and rasterizer took. The result also holds a checksum of the generated blocks, so optimizations
+ * of a generator can be checked to produce exactly the same world.
+ * <br><br>
+ * Run as an application, it benchmarks the {@link BenchmarkWorldGenerator} on a region around the origin. It accepts
+ * the options -seed=, -radius= (in chunks), -threads=, -warmup= (runs before the measured one), -output= (a json file
+ * to write the result to), -baseline= (a result file to compare against) and -tolerance= (the fraction of the baseline
+ * throughput that may be lost). With a baseline, it exits with 1 if the generated blocks differ from the baseline or the
+ * throughput dropped by more than the tolerance.
+ */
+public class WorldGenerationBenchmark {
+    private static final int MIN_CHUNK_Y = -1;
+    private static final int MAX_CHUNK_Y = 1;
+
+    private final WorldGenerator generator;
+    private final BlockManager blockManager;
+    private final BiomeManager biomeManager;
+
+    public WorldGenerationBenchmark(WorldGenerator generator, BlockManager blockManager, BiomeManager biomeManager) {
+        this.generator = generator;
+        this.blockManager = blockManager;
+        this.biomeManager = biomeManager;
+    }
+
+    /**
+     * Generates every chunk of the region once. Any latencies recorded by the {@link LatencyProfiler} before are
+     * dropped, and it is disabled again afterwards.
+     *
+     * @param chunkRegion The chunk positions to generate
+     * @param threads The number of threads of the chunk generation pipeline
+     * @return The measurements of the run
+     */
+    public WorldGenerationResult run(Region3i chunkRegion, int threads) throws InterruptedException {
+        int chunkCount = chunkRegion.sizeX() * chunkRegion.sizeY() * chunkRegion.sizeZ();
+        ConcurrentMap<Vector3i, Chunk> chunks = Maps.newConcurrentMap();
+        CountDownLatch remaining = new CountDownLatch(chunkCount);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        LongAdder allocatedBytes = new LongAdder();
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        boolean measureAllocation = threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemoryEnabled();
+
+        Vector3i center = new Vector3i(chunkRegion.minX() + chunkRegion.sizeX() / 2, chunkRegion.minY() + chunkRegion.sizeY() / 2,
+                chunkRegion.minZ() + chunkRegion.sizeZ() / 2);
+
+        LatencyProfiler.setEnabled(true);
+        ChunkGenerationPipeline pipeline = new ChunkGenerationPipeline(threads, new DistanceComparator(center));
+        long start = System.nanoTime();
+        for (Vector3i chunkPos : chunkRegion) {
+            pipeline.doTask(new AbstractChunkTask(chunkPos) {
+                @Override
+                public String getName() {
+                    return "Generate Chunk";
+                }
+
+                @Override
+                public void run() {
+                    long allocatedBefore = measureAllocation ? getAllocatedBytes(threadBean) : 0;
+                    try {
+                        Chunk chunk = new ChunkImpl(getPosition(), blockManager, biomeManager);
+                        generator.createChunk(chunk, new EntityBufferImpl());
+                        chunks.put(getPosition(), chunk);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        if (measureAllocation) {
+                            allocatedBytes.add(getAllocatedBytes(threadBean) - allocatedBefore);
+                        }
+                        remaining.countDown();
+                    }
+                }
+            });
+        }
+        remaining.await();
+        long elapsed = System.nanoTime() - start;
+        pipeline.shutdown();
+        LatencyProfiler.Interval interval = LatencyProfiler.rollInterval();
+        LatencyProfiler.setEnabled(false);
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("Failed to generate chunks", failure.get());
+        }
+        return new WorldGenerationResult(chunkCount, threads, elapsed, measureAllocation ? allocatedBytes.sum() : -1,
+                checksum(chunkRegion, chunks), interval);
+    }
+
+    private static long getAllocatedBytes(ThreadMXBean threadBean) {
+        return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Checksums the uris of the blocks of the chunks, in the order of the region and of the blocks within each chunk.
+     * Uris are used rather than block ids, as ids depend on the order in which blocks were first requested.
+     */
+    static long checksum(Region3i chunkRegion, Map<Vector3i, Chunk> chunks) {
+        CRC32 crc = new CRC32();
+        Map<Block, byte[]> uris = Maps.newHashMap();
+        for (Vector3i chunkPos : chunkRegion) {
+            Chunk chunk = chunks.get(chunkPos);
+            // Checksum runs of the same block rather than every single block, most of a chunk is air or stone
+            Block runBlock = null;
+            int runLength = 0;
+            for (Vector3i pos : ChunkConstants.CHUNK_REGION) {
+                Block block = chunk.getBlock(pos);
+                if (block != runBlock) {
+                    if (runBlock != null) {
+                        updateChecksum(crc, uris.computeIfAbsent(runBlock, WorldGenerationBenchmark::getUriBytes), runLength);
+                    }
+                    runBlock = block;
+                    runLength = 0;
+                }
+                runLength++;
+            }
+            updateChecksum(crc, uris.computeIfAbsent(runBlock, WorldGenerationBenchmark::getUriBytes), runLength);
+        }
+        return crc.getValue();
+    }
+
+    private static byte[] getUriBytes(Block block) {
+        return block.getURI().toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void updateChecksum(CRC32 crc, byte[] uri, int runLength) {
+        crc.update(uri);
+        crc.update(runLength >>> 24);
+        crc.update(runLength >>> 16);
+        crc.update(runLength >>> 8);
+        crc.update(runLength);
+    }
+
+    /**
+     * Generates the chunks closest to the center of the region first, like the chunk provider does for a player.
+     */
+    private static class DistanceComparator implements Comparator<ChunkTask> {
+        private final Vector3i center;
+
+        DistanceComparator(Vector3i center) {
+            this.center = center;
+        }
+
+        @Override
+        public int compare(ChunkTask o1, ChunkTask o2) {
+            return Integer.compare(score(o1), score(o2));
+        }
+
+        private int score(ChunkTask task) {
+            if (task.isTerminateSignal()) {
+                return -1;
+            }
+            return task.getPosition().gridDistance(center);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Maps.newHashMap();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("-") || separator < 0) {
+                throw new IllegalArgumentException("Expected options of the form -name=value, got " + arg);
+            }
+            options.put(arg.substring(1, separator), arg.substring(separator + 1));
+        }
+        String seed = options.getOrDefault("seed", "benchmark");
+        int radius = Integer.parseInt(options.getOrDefault("radius", "4"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+        int warmups = Integer.parseInt(options.getOrDefault("warmup", "2"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.1"));
+        Region3i chunkRegion = Region3i.createFromMinMax(new Vector3i(-radius, MIN_CHUNK_Y, -radius), new Vector3i(radius, MAX_CHUNK_Y, radius));
+
+        boolean passed = true;
+        try (WorldFixture world = new WorldFixture()) {
+            Context context = world.getContext();
+            BenchmarkWorldGenerator generator = new BenchmarkWorldGenerator(new SimpleUri("benchmark:world"),
+                    new DefaultWorldGeneratorPluginLibrary(context.get(ModuleManager.class).getEnvironment(), context));
+            generator.setWorldSeed(seed);
+            generator.initialize();
+
+            WorldGenerationBenchmark benchmark = new WorldGenerationBenchmark(generator, world.getBlockManager(), world.getBiomeManager());
+            for (int i = 0; i < warmups; i++) {
+                benchmark.run(chunkRegion, threads);
+            }
+            WorldGenerationResult result = benchmark.run(chunkRegion, threads);
+            System.out.print(result.format());
+
+            JsonObject json = result.toJson();
+            json.addProperty("seed", seed);
+            json.addProperty("radius", radius);
+            if (options.containsKey("output")) {
+                Path output = Paths.get(options.get("output"));
+                if (output.getParent() != null) {
+                    Files.createDirectories(output.getParent());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                    new GsonBuilder().setPrettyPrinting().create().toJson(json, writer);
+                }
+            }
+            if (options.containsKey("baseline")) {
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(options.get("baseline")), StandardCharsets.UTF_8)) {
+                    passed = compareToBaseline(json, new JsonParser().parse(reader).getAsJsonObject(), tolerance);
+                }
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean compareToBaseline(JsonObject result, JsonObject baseline, double tolerance) {
+        for (String setting : new String[]{"seed", "radius", "threads"}) {
+            if (!result.get(setting).equals(baseline.get(setting))) {
+                System.out.println("The baseline was recorded with a different " + setting + ": " + baseline.get(setting));
+                return false;
+            }
+        }
+        boolean passed = true;
+        if (!result.get("checksum").equals(baseline.get("checksum"))) {
+            System.out.println("The generated blocks differ from the baseline, whose checksum is " + baseline.get("checksum").getAsString());
+            passed = false;
+        }
+        double chunksPerSecond = result.get("chunksPerSecond").getAsDouble();
+        double baselineChunksPerSecond = baseline.get("chunksPerSecond").getAsDouble();
+        System.out.println(String.format("Throughput is %.1f%% of the baseline's %.1f chunks/s", 100 * chunksPerSecond / baselineChunksPerSecond,
+                baselineChunksPerSecond));
+        if (chunksPerSecond < baselineChunksPerSecond * (1 - tolerance)) {
+            System.out.println(String.format("The throughput dropped by more than %.0f%%", 100 * tolerance));
+            passed = false;
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmarks.world;
+
+import com.google.gson.JsonObject;
+import org.terasology.monitoring.LatencyProfiler;
+import org.terasology.monitoring.impl.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The measurements of a {@link WorldGenerationBenchmark} run.
+ * <br><br>
+ * The throughput of each facet provider and rasterizer is the number of chunks a single thread would get through per
+ * second if it only ran that provider or rasterizer. For facet providers it leaves out the time of the providers of the
+ * facets they require, and for rasterizers the time of the facet providers run for them.
+ */
+public class WorldGenerationResult {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final int chunkCount;
+    private final int threads;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final long checksum;
+    private final LatencyProfiler.Interval latencies;
+
+    WorldGenerationResult(int chunkCount, int threads, long elapsedNanos, long allocatedBytes, long checksum, LatencyProfiler.Interval latencies) {
+        this.chunkCount = chunkCount;
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.checksum = checksum;
+        this.latencies = latencies;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getChunksPerSecond() {
+        return chunkCount * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * @return The bytes allocated while generating the chunks, or -1 if the JVM can't measure them
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The megabytes allocated per second, or -1 if the JVM can't measure them
+     */
+    public double getAllocationRate() {
+        return (allocatedBytes < 0) ? -1 : allocatedBytes / BYTES_PER_MB * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * @return The checksum of the uris of the generated blocks
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public LatencyProfiler.Interval getLatencies() {
+        return latencies;
+    }
+
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Generated %d chunks with %d threads in %.3f s: %.1f chunks/s%n", chunkCount, threads,
+                elapsedNanos / NANOS_PER_SECOND, getChunksPerSecond()));
+        if (allocatedBytes >= 0) {
+            builder.append(String.format("Allocated %.1f MB, %.1f MB/s, %.1f KB per chunk%n", allocatedBytes / BYTES_PER_MB,
+                    getAllocationRate(), allocatedBytes / 1024.0 / chunkCount));
+        }
+        builder.append(String.format("Checksum %08x%n", checksum));
+        formatCategory(builder, LatencyProfiler.Category.FACET_PROVIDER);
+        formatCategory(builder, LatencyProfiler.Category.RASTERIZER);
+        return builder.toString();
+    }
+
+    private void formatCategory(StringBuilder builder, LatencyProfiler.Category category) {
+        builder.append(String.format("%-40s %8s %8s %8s %10s%n", category, "count", "mean", "p99", "chunks/s"));
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.getHistograms(category).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            builder.append(String.format("  %-38s %8d %8.3f %8.3f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getMean() / NANOS_PER_MS, histogram.getValueAtPercentile(99) / NANOS_PER_MS, getChunksPerSecond(histogram)));
+        }
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("chunks", chunkCount);
+        json.addProperty("threads", threads);
+        json.addProperty("seconds", elapsedNanos / NANOS_PER_SECOND);
+        json.addProperty("chunksPerSecond", getChunksPerSecond());
+        if (allocatedBytes >= 0) {
+            json.addProperty("allocatedBytesPerChunk", allocatedBytes / chunkCount);
+            json.addProperty("allocatedMegabytesPerSecond", getAllocationRate());
+        }
+        json.addProperty("checksum", String.format("%08x", checksum));
+        json.add("facetProviders", categoryToJson(LatencyProfiler.Category.FACET_PROVIDER));
+        json.add("rasterizers", categoryToJson(LatencyProfiler.Category.RASTERIZER));
+        return json;
+    }
+
+    private JsonObject categoryToJson(LatencyProfiler.Category category) {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.getHistograms(category).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            JsonObject histogramJson = new JsonObject();
+            histogramJson.addProperty("count", histogram.getCount());
+            histogramJson.addProperty("meanMs", histogram.getMean() / NANOS_PER_MS);
+            histogramJson.addProperty("p99Ms", histogram.getValueAtPercentile(99) / NANOS_PER_MS);
+            histogramJson.addProperty("chunksPerSecond", getChunksPerSecond(histogram));
+            json.add(entry.getKey(), histogramJson);
+        }
+        return json;
+    }
+
+    private static double getChunksPerSecond(LatencyHistogram histogram) {
+        return (histogram.getMean() > 0) ? NANOS_PER_SECOND / histogram.getMean() : 0;
+    }
+}
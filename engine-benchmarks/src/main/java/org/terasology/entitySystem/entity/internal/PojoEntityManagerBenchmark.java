@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.EntitySystemFixture;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates over the entities with one or two components, out of {@value #ENTITY_COUNT} entities of which a third have
+ * a string component, a third an integer component and a third both.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class PojoEntityManagerBenchmark {
+    private static final int ENTITY_COUNT = 10000;
+
+    private PojoEntityManager entityManager;
+
+    @Setup
+    public void setup() throws Exception {
+        entityManager = new EntitySystemFixture().getEntityManager();
+        for (int i = 0; i < ENTITY_COUNT; i++) {
+            switch (i % 3) {
+                case 0:
+                    entityManager.create(new StringComponent("entity" + i));
+                    break;
+                case 1:
+                    entityManager.create(new IntegerComponent(i));
+                    break;
+                default:
+                    entityManager.create(new StringComponent("entity" + i), new IntegerComponent(i));
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public int getEntitiesWithOneComponent() {
+        return count(entityManager.getEntitiesWith(StringComponent.class));
+    }
+
+    @Benchmark
+    public int getEntitiesWithTwoComponents() {
+        return count(entityManager.getEntitiesWith(StringComponent.class, IntegerComponent.class));
+    }
+
+    private static int count(Iterable<EntityRef> entities) {
+        int count = 0;
+        for (EntityRef entity : entities) {
+            count += entity.getId() > 0 ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.event.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.EntitySystemFixture;
+import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.event.AbstractConsumableEvent;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends events to an entity with handlers for several of its components, and to one without any matching handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class EventSystemBenchmark {
+    private EventSystem eventSystem;
+    private EntityRef handledEntity;
+    private EntityRef unhandledEntity;
+    private CountingHandler handler;
+
+    @Setup
+    public void setup() throws Exception {
+        EntitySystemFixture fixture = new EntitySystemFixture();
+        PojoEntityManager entityManager = fixture.getEntityManager();
+        eventSystem = entityManager.getEventSystem();
+        eventSystem.registerEvent(new SimpleUri("benchmark:countEvent"), CountEvent.class);
+        handler = new CountingHandler();
+        eventSystem.registerEventHandler(handler);
+
+        handledEntity = entityManager.create(new StringComponent("handled"), new IntegerComponent(1));
+        unhandledEntity = entityManager.create();
+    }
+
+    @Benchmark
+    public int sendToHandledEntity() {
+        eventSystem.send(handledEntity, new CountEvent());
+        return handler.count;
+    }
+
+    @Benchmark
+    public int sendToUnhandledEntity() {
+        eventSystem.send(unhandledEntity, new CountEvent());
+        return handler.count;
+    }
+
+    public static class CountEvent extends AbstractConsumableEvent {
+    }
+
+    public static class CountingHandler extends BaseComponentSystem {
+        private int count;
+
+        @ReceiveEvent(components = StringComponent.class)
+        public void onString(CountEvent event, EntityRef entity) {
+            count++;
+        }
+
+        @ReceiveEvent(components = {StringComponent.class, IntegerComponent.class})
+        public void onStringAndInteger(CountEvent event, EntityRef entity) {
+            count++;
+        }
+
+        @ReceiveEvent
+        public void onAny(CountEvent event, EntityRef entity) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.Maps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.EntitySystemFixture;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityBuilder;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.ListOfObjectComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
+import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packs and unpacks an entity with a few components for sending over the network, with the component and field ids
+ * assigned the way the server does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NetworkEntitySerializerBenchmark {
+    private static final int LIST_ELEMENTS = 8;
+
+    private PojoEntityManager entityManager;
+    private NetworkEntitySerializer serializer;
+    private EntityRef entity;
+    private EntityData.PackedEntity packedEntity;
+
+    @Setup
+    public void setup() throws Exception {
+        EntitySystemFixture fixture = new EntitySystemFixture();
+        entityManager = fixture.getEntityManager();
+        ComponentLibrary componentLibrary = fixture.getContext().get(ComponentLibrary.class);
+        serializer = new NetworkEntitySerializer(entityManager, componentLibrary, fixture.getContext().get(TypeSerializationLibrary.class));
+        serializer.setIdMapping(generateIds(componentLibrary));
+
+        ListOfObjectComponent listComponent = new ListOfObjectComponent();
+        listComponent.shortName = "list";
+        for (int i = 0; i < LIST_ELEMENTS; i++) {
+            ListOfObjectComponent.SubElement element = new ListOfObjectComponent.SubElement();
+            element.id = "element" + i;
+            element.type = "type" + i % 2;
+            listComponent.elements.add(element);
+        }
+        entity = entityManager.create(new StringComponent("benchmark"), new IntegerComponent(42), listComponent);
+        packedEntity = serialize();
+    }
+
+    @Benchmark
+    public EntityData.PackedEntity serialize() {
+        return serializer.serialize(entity, false, FieldSerializeCheck.NullCheck.<Component>newInstance()).build();
+    }
+
+    @Benchmark
+    public EntityBuilder deserialize() {
+        EntityBuilder builder = entityManager.newBuilder();
+        serializer.deserializeOnto(builder, packedEntity);
+        return builder;
+    }
+
+    /**
+     * Assigns ids to the components and their fields, like NetworkSystemImpl does when hosting.
+     */
+    private static Map<Class<? extends Component>, Integer> generateIds(ComponentLibrary componentLibrary) {
+        Map<Class<? extends Component>, Integer> result = Maps.newHashMap();
+        for (ComponentMetadata<?> metadata : componentLibrary.iterateComponentMetadata()) {
+            result.put(metadata.getType(), result.size());
+            byte fieldId = 0;
+            for (FieldMetadata<?, ?> field : metadata.getFields()) {
+                field.setId(fieldId++);
+            }
+        }
+        return result;
+    }
+}
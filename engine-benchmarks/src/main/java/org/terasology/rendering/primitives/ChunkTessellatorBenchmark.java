@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.WorldFixture;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.ChunkView;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the mesh of a chunk of terrain. Only the CPU side is measured, the vertex buffers are never uploaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ChunkTessellatorBenchmark {
+    private WorldFixture world;
+    private ChunkView chunkView;
+    private ChunkTessellator tessellator;
+
+    @Setup
+    public void setup() throws Exception {
+        world = new WorldFixture();
+        chunkView = world.createSubviewAroundChunk(Vector3i.zero());
+        tessellator = new ChunkTessellator(new GLBufferPool(false));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        world.close();
+    }
+
+    @Benchmark
+    public ChunkMesh generateMesh() {
+        return tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+    }
+}
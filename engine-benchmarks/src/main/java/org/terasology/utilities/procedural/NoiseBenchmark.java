@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.procedural;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.WorldFixture;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples noise over the columns of a chunk in 2D and over all of its blocks in 3D, as world generators do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NoiseBenchmark {
+    private static final float SCALE = 0.01f;
+    private static final int OCTAVES = 8;
+
+    private SimplexNoise simplexNoise;
+    private PerlinNoise perlinNoise;
+    private BrownianNoise brownianNoise;
+
+    @Setup
+    public void setup() {
+        simplexNoise = new SimplexNoise(WorldFixture.SEED);
+        perlinNoise = new PerlinNoise(WorldFixture.SEED);
+        brownianNoise = new BrownianNoise(new SimplexNoise(WorldFixture.SEED), OCTAVES);
+    }
+
+    @Benchmark
+    public float simplex2D() {
+        return sample2D(simplexNoise);
+    }
+
+    @Benchmark
+    public float simplex3D() {
+        return sample3D(simplexNoise);
+    }
+
+    @Benchmark
+    public float perlin3D() {
+        return sample3D(perlinNoise);
+    }
+
+    @Benchmark
+    public float brownian2D() {
+        return sample2D(brownianNoise);
+    }
+
+    private static float sample2D(Noise noise) {
+        float sum = 0;
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                sum += noise.noise(x * SCALE, z * SCALE);
+            }
+        }
+        return sum;
+    }
+
+    private static float sample3D(Noise noise) {
+        float sum = 0;
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                    sum += noise.noise(x * SCALE, y * SCALE, z * SCALE);
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes every value of a chunk sized array, in the x, z, y order the chunk tessellator and generators use.
+ * <br><br>
+ * The lower half of the array holds random values and the upper half zeros, like a chunk of terrain. Writing inflates
+ * every row of the sparse arrays, so the deflated form is read from a separate copy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TeraArrayBenchmark {
+    private static final long SEED = 0x7e7a5eedL;
+    private static final int MAX_VALUE = 15;
+
+    @Param({"dense16", "dense8", "dense4", "sparse16", "sparse8", "sparse4"})
+    private String arrayType;
+
+    private TeraArray array;
+    private TeraArray deflatedArray;
+    private int[] values;
+
+    @Setup
+    public void setup() {
+        array = createArray(arrayType);
+        Random random = new Random(SEED);
+        values = new int[array.getSizeXYZ()];
+        int i = 0;
+        for (int x = 0; x < array.getSizeX(); x++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int y = 0; y < array.getSizeY(); y++) {
+                    values[i++] = (y < array.getSizeY() / 2) ? random.nextInt(MAX_VALUE + 1) : 0;
+                }
+            }
+        }
+        set();
+        deflatedArray = new TeraStandardDeflator().deflate(array);
+    }
+
+    @Benchmark
+    public int get() {
+        return sum(array);
+    }
+
+    @Benchmark
+    public int getDeflated() {
+        return sum(deflatedArray);
+    }
+
+    @Benchmark
+    public TeraArray set() {
+        int i = 0;
+        for (int x = 0; x < array.getSizeX(); x++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int y = 0; y < array.getSizeY(); y++) {
+                    array.set(x, y, z, values[i++]);
+                }
+            }
+        }
+        return array;
+    }
+
+    private static int sum(TeraArray array) {
+        int sum = 0;
+        for (int x = 0; x < array.getSizeX(); x++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int y = 0; y < array.getSizeY(); y++) {
+                    sum += array.get(x, y, z);
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static TeraArray createArray(String type) {
+        int sizeX = ChunkConstants.SIZE_X;
+        int sizeY = ChunkConstants.SIZE_Y;
+        int sizeZ = ChunkConstants.SIZE_Z;
+        switch (type) {
+            case "dense16":
+                return new TeraDenseArray16Bit(sizeX, sizeY, sizeZ);
+            case "dense8":
+                return new TeraDenseArray8Bit(sizeX, sizeY, sizeZ);
+            case "dense4":
+                return new TeraDenseArray4Bit(sizeX, sizeY, sizeZ);
+            case "sparse16":
+                return new TeraSparseArray16Bit(sizeX, sizeY, sizeZ);
+            case "sparse8":
+                return new TeraSparseArray8Bit(sizeX, sizeY, sizeZ);
+            case "sparse4":
+                return new TeraSparseArray4Bit(sizeX, sizeY, sizeZ);
+            default:
+                throw new IllegalArgumentException("Unknown array type " + type);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.deflate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.TerrainHeightmap;
+import org.terasology.benchmarks.WorldFixture;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deflates the block and sunlight arrays of a chunk of terrain, as done for every chunk before it is stored.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TeraDeflatorBenchmark {
+    private static final int STONE_ID = 1;
+
+    @Param({"blocks", "sunlight"})
+    private String data;
+
+    private TeraArray array;
+    private TeraDeflator deflator;
+
+    @Setup
+    public void setup() {
+        array = "blocks".equals(data) ? new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z)
+                : new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        int value = "blocks".equals(data) ? STONE_ID : ChunkConstants.MAX_SUNLIGHT;
+        TerrainHeightmap terrain = new TerrainHeightmap(WorldFixture.SEED);
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                int height = terrain.getHeight(x, z);
+                for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                    boolean solid = y < height;
+                    // Blocks are set below the terrain surface, sunlight above it
+                    if (solid == "blocks".equals(data)) {
+                        array.set(x, y, z, value);
+                    }
+                }
+            }
+        }
+        deflator = new TeraStandardDeflator();
+    }
+
+    @Benchmark
+    public TeraArray deflate() {
+        return deflator.deflate(array);
+    }
+}
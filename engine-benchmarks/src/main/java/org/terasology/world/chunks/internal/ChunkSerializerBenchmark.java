@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.WorldFixture;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes a deflated chunk of terrain, as done when storing and loading chunks and sending them to clients.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ChunkSerializerBenchmark {
+    private WorldFixture world;
+    private ChunkImpl chunk;
+    private EntityData.ChunkStore store;
+
+    @Setup
+    public void setup() throws Exception {
+        world = new WorldFixture();
+        chunk = world.createChunk(Vector3i.zero());
+        chunk.deflate();
+        store = chunk.encode().build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        world.close();
+    }
+
+    @Benchmark
+    public EntityData.ChunkStore encode() {
+        return chunk.encode().build();
+    }
+
+    @Benchmark
+    public Chunk decode() {
+        return ChunkSerializer.decode(store, world.getBlockManager(), world.getBiomeManager());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.propagation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmarks.WorldFixture;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.light.LightPropagationRules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads and removes the light of a torch placed in the open and in a tunnel through stone, like the bulk light
+ * propagation tests do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class StandardBatchPropagatorBenchmark {
+    private static final Region3i REGION = Region3i.createFromMinMax(
+            new Vector3i(-ChunkConstants.SIZE_X, -ChunkConstants.SIZE_Y, -ChunkConstants.SIZE_Z),
+            new Vector3i(2 * ChunkConstants.SIZE_X, 2 * ChunkConstants.SIZE_Y, 2 * ChunkConstants.SIZE_Z));
+
+    private WorldFixture world;
+    private LightPropagationRules lightRules;
+    private Block air;
+    private Block torch;
+    private Block stone;
+
+    @Setup
+    public void setup() throws Exception {
+        world = new WorldFixture();
+        lightRules = new LightPropagationRules();
+        air = world.getAir();
+        torch = world.getTorch();
+        stone = world.getStone();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        world.close();
+    }
+
+    @Benchmark
+    public StubPropagatorWorldView addLightInVacuum() {
+        StubPropagatorWorldView worldView = new StubPropagatorWorldView(REGION, air);
+        placeTorch(worldView);
+        return worldView;
+    }
+
+    @Benchmark
+    public StubPropagatorWorldView addAndRemoveLightInVacuum() {
+        StubPropagatorWorldView worldView = new StubPropagatorWorldView(REGION, air);
+        BatchPropagator propagator = placeTorch(worldView);
+        worldView.setBlockAt(Vector3i.zero(), air);
+        propagator.process(new BlockChange(Vector3i.zero(), torch, air));
+        return worldView;
+    }
+
+    @Benchmark
+    public StubPropagatorWorldView addLightInTunnel() {
+        StubPropagatorWorldView worldView = new StubPropagatorWorldView(REGION, stone);
+        for (int x = -ChunkConstants.MAX_LIGHT; x <= ChunkConstants.MAX_LIGHT; x++) {
+            worldView.setBlockAt(new Vector3i(x, 0, 0), air);
+        }
+        placeTorch(worldView);
+        return worldView;
+    }
+
+    private BatchPropagator placeTorch(StubPropagatorWorldView worldView) {
+        worldView.setBlockAt(Vector3i.zero(), torch);
+        BatchPropagator propagator = new StandardBatchPropagator(lightRules, worldView);
+        propagator.process(new BlockChange(Vector3i.zero(), air, torch));
+        return propagator;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.event.internal.EventSystem;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.ParallelUpdate;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UpdateSubscriberSchedulerTest {
+
+    @Test
+    public void testNonConflictingSystemsShareAPhase() {
+        ReaderOfA readerOfA = new ReaderOfA();
+        OtherReaderOfA otherReaderOfA = new OtherReaderOfA();
+        WriterOfB writerOfB = new WriterOfB();
+
+        List<UpdateSubscriberScheduler.Phase> phases = UpdateSubscriberScheduler.buildPhases(Lists.newArrayList(readerOfA, otherReaderOfA, writerOfB));
+
+        assertEquals(1, phases.size());
+        assertEquals(Lists.newArrayList(readerOfA, otherReaderOfA, writerOfB), phases.get(0).getSystems());
+    }
+
+    @Test
+    public void testConflictingSystemsStartANewPhase() {
+        ReaderOfA readerOfA = new ReaderOfA();
+        WriterOfA writerOfA = new WriterOfA();
+        WriterOfB writerOfB = new WriterOfB();
+
+        List<UpdateSubscriberScheduler.Phase> phases = UpdateSubscriberScheduler.buildPhases(Lists.newArrayList(readerOfA, writerOfA, writerOfB));
+
+        assertEquals(2, phases.size());
+        assertEquals(Lists.newArrayList(readerOfA), phases.get(0).getSystems());
+        assertEquals(Lists.newArrayList(writerOfA, writerOfB), phases.get(1).getSystems());
+    }
+
+    @Test
+    public void testUnannotatedSystemsRunAlone() {
+        ReaderOfA readerOfA = new ReaderOfA();
+        UnannotatedSystem unannotated = new UnannotatedSystem();
+        OtherReaderOfA otherReaderOfA = new OtherReaderOfA();
+
+        List<UpdateSubscriberScheduler.Phase> phases = UpdateSubscriberScheduler.buildPhases(Lists.newArrayList(readerOfA, unannotated, otherReaderOfA));
+
+        assertEquals(3, phases.size());
+        assertEquals(Lists.newArrayList(unannotated), phases.get(1).getSystems());
+    }
+
+    @Test
+    public void testParallelSystemsCannotBlockOnTheGameThread() {
+        GuardChecker first = new GuardChecker();
+        OtherGuardChecker second = new OtherGuardChecker();
+        ComponentSystemManager systemManager = mock(ComponentSystemManager.class);
+        when(systemManager.iterateUpdateSubscribers()).thenReturn(Lists.newArrayList(first, second));
+        UpdateSubscriberScheduler scheduler = new UpdateSubscriberScheduler(systemManager, mock(EventSystem.class), 2);
+        try {
+            scheduler.update(0.1f);
+        } finally {
+            scheduler.shutdown();
+        }
+
+        assertTrue(first.inParallelUpdate && second.inParallelUpdate);
+        assertTrue(first.synchRefused && second.synchRefused);
+        assertFalse(GameThread.isInParallelUpdate());
+    }
+
+    public static class ComponentA implements Component {
+    }
+
+    public static class ComponentB implements Component {
+    }
+
+    private abstract static class TestSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+        @Override
+        public void update(float delta) {
+        }
+    }
+
+    @ParallelUpdate(reads = ComponentA.class)
+    private static class ReaderOfA extends TestSystem {
+    }
+
+    @ParallelUpdate(reads = ComponentA.class)
+    private static class OtherReaderOfA extends TestSystem {
+    }
+
+    @ParallelUpdate(writes = ComponentA.class)
+    private static class WriterOfA extends TestSystem {
+    }
+
+    @ParallelUpdate(writes = ComponentB.class)
+    private static class WriterOfB extends TestSystem {
+    }
+
+    private static class UnannotatedSystem extends TestSystem {
+    }
+
+    @ParallelUpdate(reads = ComponentA.class)
+    private static class GuardChecker extends TestSystem {
+        private volatile boolean inParallelUpdate;
+        private volatile boolean synchRefused;
+
+        @Override
+        public void update(float delta) {
+            inParallelUpdate = GameThread.isInParallelUpdate();
+            try {
+                GameThread.synch(() -> { });
+            } catch (IllegalStateException e) {
+                synchRefused = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @ParallelUpdate(reads = ComponentA.class)
+    private static class OtherGuardChecker extends GuardChecker {
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.assets.AssetFactory;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.assets.module.ModuleAwareAssetTypeManager;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.EntitySystemLibrary;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabData;
+import org.terasology.entitySystem.prefab.internal.PojoPrefab;
+import org.terasology.entitySystem.prefab.internal.PrefabFormat;
+import org.terasology.network.NetworkMode;
+import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.reflect.ByteCodeReflectFactory;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.testUtil.ModuleManagerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loads prefabs from several threads at once, as the LoadPrefabs load process does, using the byte code reflect
+ * factory so that the classes it generates for lazily created type handlers are generated concurrently.
+ */
+public class ParallelPrefabLoadingTest {
+    private static final int THREAD_COUNT = 8;
+
+    private AssetManager assetManager;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() throws Exception {
+        ContextImpl context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        ModuleManager moduleManager = ModuleManagerFactory.create();
+        context.put(ModuleManager.class, moduleManager);
+
+        ReflectFactory reflectFactory = new ByteCodeReflectFactory();
+        context.put(ReflectFactory.class, reflectFactory);
+        CopyStrategyLibrary copyStrategyLibrary = new CopyStrategyLibrary(reflectFactory);
+        context.put(CopyStrategyLibrary.class, copyStrategyLibrary);
+        TypeSerializationLibrary typeSerializationLibrary = TypeSerializationLibrary.createDefaultLibrary(reflectFactory, copyStrategyLibrary);
+        context.put(TypeSerializationLibrary.class, typeSerializationLibrary);
+        EntitySystemLibrary library = new EntitySystemLibrary(context, typeSerializationLibrary);
+        context.put(EntitySystemLibrary.class, library);
+        context.put(ComponentLibrary.class, library.getComponentLibrary());
+        context.put(EventLibrary.class, library.getEventLibrary());
+
+        ModuleAwareAssetTypeManager assetTypeManager = new ModuleAwareAssetTypeManager();
+        assetTypeManager.registerCoreAssetType(Prefab.class,
+                (AssetFactory<Prefab, PrefabData>) PojoPrefab::new, "prefabs");
+        assetTypeManager.registerCoreFormat(Prefab.class, new PrefabFormat(library.getComponentLibrary(), typeSerializationLibrary));
+        assetTypeManager.switchEnvironment(moduleManager.getEnvironment());
+        assetManager = assetTypeManager.getAssetManager();
+        context.put(AssetManager.class, assetManager);
+
+        NetworkSystem networkSystem = mock(NetworkSystem.class);
+        when(networkSystem.getMode()).thenReturn(NetworkMode.NONE);
+        context.put(NetworkSystem.class, networkSystem);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoadPrefabsInParallel() throws Exception {
+        Set<ResourceUrn> urns = assetManager.getAvailableAssets(Prefab.class);
+        assertFalse(urns.isEmpty());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = Lists.newArrayList();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            for (ResourceUrn urn : urns) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return assetManager.getAsset(urn, Prefab.class).isPresent();
+                }));
+            }
+        }
+        start.countDown();
+
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.terasology.entitySystem;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -58,6 +59,7 @@
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -219,6 +221,33 @@ public void testChangeComponentEventSentWhenSave() {
         verify(eventSystem).send(entity1, OnChangedComponent.newInstance(), comp);
     }
 
+    @Test
+    public void testNoChangeComponentEventSentWhenSaveWithoutChanges() {
+        EventSystem eventSystem = mock(EventSystem.class);
+
+        EntityRef entity1 = entityManager.create();
+        StringComponent comp = entity1.addComponent(new StringComponent("Test"));
+        entityManager.setEventSystem(eventSystem);
+        entity1.saveComponent(comp);
+        entity1.saveComponent(comp);
+
+        verify(eventSystem, times(1)).send(entity1, OnChangedComponent.newInstance(), comp);
+    }
+
+    @Test
+    public void testChangeComponentEventSentWhenFieldChanged() {
+        EventSystem eventSystem = mock(EventSystem.class);
+
+        EntityRef entity1 = entityManager.create();
+        StringComponent comp = entity1.addComponent(new StringComponent("Test"));
+        entityManager.setEventSystem(eventSystem);
+        entity1.saveComponent(comp);
+        comp.value = "Changed";
+        entity1.saveComponent(comp);
+
+        verify(eventSystem, times(2)).send(entity1, OnChangedComponent.newInstance(), comp);
+    }
+
     @Test
     public void testChangeComponentEventSentWhenAddOverExisting() {
         EventSystem eventSystem = mock(EventSystem.class);
@@ -307,6 +336,27 @@ public void testDestroyingEntityInvalidatesEntityRefs() {
 
     }
 
+    @Test
+    public void testDestroyedEntityRefStaysInvalidWhenHandleIsReused() {
+        EntityRef destroyed = entityManager.create();
+        destroyed.destroy();
+        EntityRef created = entityManager.create();
+
+        assertFalse(destroyed.exists());
+        assertTrue(created.exists());
+        assertFalse(destroyed.equals(created));
+    }
+
+    @Test
+    public void testClearInvalidatesEntityRefs() {
+        EntityRef entity = entityManager.create();
+        entityManager.clear();
+        EntityRef created = entityManager.create();
+
+        assertFalse(entity.exists());
+        assertTrue(created.exists());
+    }
+
     @Test
     public void testPrefabCopiedCorrectly() {
         EntityRef entity1 = entityManager.create(prefab);
@@ -321,6 +371,24 @@ public void testPrefabCopiedCorrectly() {
         assertEquals("Test", entity2.getComponent(StringComponent.class).value);
     }
 
+    @Test
+    public void testCreateFromPrefab() {
+        EventSystem eventSystem = mock(EventSystem.class);
+        entityManager.setEventSystem(eventSystem);
+        List<EntityRef> entities = entityManager.createFromPrefab(prefab, 3, null);
+
+        assertEquals(3, entities.size());
+        assertEquals(3, Sets.newHashSet(entities).size());
+        for (EntityRef entity : entities) {
+            assertTrue(entity.isActive());
+            assertEquals(prefab, entity.getParentPrefab());
+            assertEquals("Test", entity.getComponent(StringComponent.class).value);
+        }
+        assertFalse(entities.get(0).getComponent(StringComponent.class) == entities.get(1).getComponent(StringComponent.class));
+        verify(eventSystem).send(entities, OnAddedComponent.newInstance());
+        verify(eventSystem).send(entities, OnActivatedComponent.newInstance());
+    }
+
     @Test
     public void testPrefabCopiedCorrectly2() {
         EntityRef test1 = entityManager.create("unittest:myprefab");
@@ -382,4 +450,16 @@ public void testDestructionOfUnloadedEntitiesPrevented() {
         entity.destroy();
         assertTrue(entity.exists());
     }
+
+    @Test
+    public void testRefToStoredEntitySeesDestructionAfterReload() {
+        EntityRef entity = entityManager.create();
+        long id = entity.getId();
+        entityManager.deactivateForStorage(entity);
+
+        EntityRef reloaded = entityManager.createEntityWithId(id, Collections.<Component>emptyList());
+        reloaded.destroy();
+
+        assertFalse(entity.exists());
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EntityHandleTableTest {
+    private EntityHandleTable table = new EntityHandleTable();
+
+    @Test
+    public void sharesSlotPerEntity() {
+        assertEquals(table.acquire(1), table.acquire(1));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void unloadedEntitiesHaveNoSlot() {
+        assertEquals(EntityHandleTable.NO_SLOT, table.getSlot(1));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void releaseInvalidatesHandleAndRecyclesSlot() {
+        int slot = table.acquire(1);
+        int generation = table.getGeneration(slot);
+        table.release(1);
+
+        assertFalse(table.isValid(1, slot, generation));
+        assertEquals(slot, table.acquire(2));
+        assertFalse(table.isValid(1, slot, generation));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void parkedSlotStaysValidAndIsReusedOnReload() {
+        int slot = table.acquire(1);
+        int generation = table.getGeneration(slot);
+        table.park(1);
+
+        assertTrue(table.isValid(1, slot, generation));
+        assertEquals(slot, table.acquire(1));
+        table.release(1);
+        assertFalse(table.isValid(1, slot, generation));
+    }
+
+    @Test
+    public void parkedSlotsAreGivenAwayOnceMoreAreParkedThanLoaded() {
+        int slot = table.acquire(1);
+        int generation = table.getGeneration(slot);
+        table.acquire(2);
+        table.park(1);
+        table.acquire(3);
+
+        assertTrue(table.isValid(1, slot, generation));
+        assertEquals(3, table.capacity());
+
+        table.park(2);
+        assertEquals(slot, table.acquire(4));
+        assertEquals(EntityHandleTable.NO_SLOT, table.getSlot(1));
+        assertFalse(table.isValid(1, slot, generation));
+        assertEquals(3, table.capacity());
+
+        table.acquire(1);
+        assertTrue(table.isValid(1, slot, generation));
+    }
+
+    @Test
+    public void capacityIsBoundByLoadedEntities() {
+        for (long id = 1; id <= 10000; id++) {
+            table.acquire(id);
+            table.park(id);
+        }
+        assertTrue(table.capacity() <= 2);
+    }
+
+    @Test
+    public void clearInvalidatesAllHandles() {
+        int loaded = table.acquire(1);
+        int loadedGeneration = table.getGeneration(loaded);
+        int parked = table.acquire(2);
+        int parkedGeneration = table.getGeneration(parked);
+        table.park(2);
+        table.clear();
+
+        assertFalse(table.isValid(1, loaded, loadedGeneration));
+        assertFalse(table.isValid(2, parked, parkedGeneration));
+        assertEquals(0, table.size());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.behavior;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.terasology.logic.behavior.tree.CompiledBehaviorTree;
+import org.terasology.logic.behavior.tree.Interpreter;
+import org.terasology.logic.behavior.tree.SelectorNode;
+import org.terasology.logic.behavior.tree.SequenceNode;
+import org.terasology.logic.behavior.tree.Status;
+import org.terasology.logic.behavior.tree.Task;
+
+public class CompiledBehaviorTreeTest {
+
+    @Test
+    public void testChildrenHaveConsecutiveIndices() {
+        SequenceNode root = new SequenceNode();
+        SelectorNode selector = new SelectorNode();
+        DebugNode first = new DebugNode(0);
+        DebugNode second = new DebugNode(0);
+        DebugNode third = new DebugNode(0);
+        selector.children().add(second);
+        selector.children().add(third);
+        root.children().add(first);
+        root.children().add(selector);
+
+        CompiledBehaviorTree tree = CompiledBehaviorTree.compile(root);
+
+        Assert.assertEquals(5, tree.size());
+        Assert.assertSame(root, tree.getRoot());
+        Assert.assertEquals(1, tree.getChildIndex(0, first));
+        Assert.assertEquals(2, tree.getChildIndex(0, selector));
+        Assert.assertEquals(3, tree.getChildIndex(2, second));
+        Assert.assertEquals(4, tree.getChildIndex(2, third));
+        Assert.assertEquals(-1, tree.getChildIndex(0, second));
+    }
+
+    @Test
+    public void testSharedCompiledTree() {
+        SequenceNode root = new SequenceNode();
+        DebugNode child = new DebugNode(1);
+        root.children().add(child);
+        CompiledBehaviorTree tree = CompiledBehaviorTree.compile(root);
+
+        Interpreter first = new Interpreter(null);
+        Interpreter second = new Interpreter(null);
+        Task firstTask = first.start(tree);
+        Task secondTask = second.start(tree);
+
+        first.tick(0);
+        first.tick(0);
+        Assert.assertEquals(Status.SUCCESS, firstTask.getStatus());
+        Assert.assertEquals(Status.NOT_INITIALIZED, secondTask.getStatus());
+
+        second.tick(0);
+        Assert.assertEquals(Status.RUNNING, secondTask.getStatus());
+    }
+
+    @Test
+    public void testResetRunsSharedRecompiledTree() {
+        DebugNode oldRoot = new DebugNode(1);
+        Interpreter first = new Interpreter(null);
+        Interpreter second = new Interpreter(null);
+        CompiledBehaviorTree oldTree = CompiledBehaviorTree.compile(oldRoot);
+        first.start(oldTree);
+        second.start(oldTree);
+
+        DebugNode newRoot = new DebugNode(1);
+        CompiledBehaviorTree newTree = CompiledBehaviorTree.compile(newRoot);
+        first.reset(newTree);
+        DebugNode.DebugTask firstTask = newRoot.lastTask;
+        second.reset(newTree);
+        DebugNode.DebugTask secondTask = newRoot.lastTask;
+
+        first.tick(0);
+        second.tick(0);
+        Assert.assertTrue(firstTask.updateCalled);
+        Assert.assertTrue(secondTask.updateCalled);
+        Assert.assertNotSame(firstTask, secondTask);
+    }
+}
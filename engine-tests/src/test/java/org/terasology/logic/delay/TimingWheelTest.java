@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.delay;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testExpiresInOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule(300, "second");
+        wheel.schedule(5, "first");
+        wheel.schedule(70000, "third");
+
+        List<String> expired = Lists.newArrayList();
+        wheel.advanceTo(4, expired);
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceTo(70000, expired);
+        assertEquals(Lists.newArrayList("first", "second", "third"), expired);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testNotExpiredEarly() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000);
+        wheel.schedule(1000 + 65536, "action");
+
+        List<String> expired = Lists.newArrayList();
+        wheel.advanceTo(1000 + 65535, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advanceTo(1000 + 65536, expired);
+        assertEquals(Lists.newArrayList("action"), expired);
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Entry<String> entry = wheel.schedule(10, "cancelled");
+        wheel.schedule(10, "kept");
+
+        assertTrue(wheel.cancel(entry));
+        assertFalse(wheel.cancel(entry));
+        assertEquals(1, wheel.size());
+
+        List<String> expired = Lists.newArrayList();
+        wheel.advanceTo(10, expired);
+        assertEquals(Lists.newArrayList("kept"), expired);
+    }
+
+    @Test
+    public void testOverdueExpiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        List<String> expired = Lists.newArrayList();
+        wheel.schedule(100, "pending");
+        wheel.advanceTo(50, expired);
+
+        wheel.schedule(20, "overdue");
+        wheel.advanceTo(50, expired);
+        assertEquals(Lists.newArrayList("overdue"), expired);
+    }
+}
@@ -279,6 +279,45 @@ public void testPositionMaintainedWhenParentDestroyed() {
         TeraAssert.assertEquals(new Vector3f(2, 0, 0), loc.getWorldPosition(), 0.000001f);
     }
 
+    @Test
+    public void testWorldPositionFollowsParentAfterBeingRead() {
+        LocationComponent parent = giveParent();
+        loc.setLocalPosition(pos1);
+        assertEquals(pos1, loc.getWorldPosition());
+
+        parent.setLocalPosition(pos2);
+        assertEquals(pos1plus2, loc.getWorldPosition());
+    }
+
+    @Test
+    public void testWorldTransformFollowsGrandparentAfterBeingRead() {
+        LocationComponent grandparent = new LocationComponent();
+        EntityRef grandparentEntity = createFakeEntityWith(grandparent);
+        LocationComponent parent = new LocationComponent();
+        EntityRef parentEntity = createFakeEntityWith(parent);
+        Location.attachChild(grandparentEntity, parentEntity);
+        Location.attachChild(parentEntity, entity);
+        loc.setLocalPosition(pos1);
+        assertEquals(pos1, loc.getWorldPosition());
+        assertEquals(1.0f, loc.getWorldScale(), 0.000001f);
+
+        grandparent.setLocalScale(2.0f);
+        grandparent.setLocalRotation(yawRotation);
+        assertEquals(2.0f, loc.getWorldScale(), 0.000001f);
+        TeraAssert.assertEquals(yawRotation, loc.getWorldRotation(), 0.000001f);
+        TeraAssert.assertEquals(new Vector3f(6, 4, -2), loc.getWorldPosition(), 0.00001f);
+    }
+
+    @Test
+    public void testWorldPositionFollowsInPlaceChangeOnceMarkedDirty() {
+        LocationComponent parent = giveParent();
+        parent.setLocalPosition(pos2);
+        assertEquals(pos2, loc.getWorldPosition());
+
+        parent.getLocalPosition().add(pos1);
+        parent.markWorldTransformDirty();
+        assertEquals(pos1plus2, loc.getWorldPosition());
+    }
 
     private LocationComponent giveParent() {
         LocationComponent parent = new LocationComponent();
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LocationGridTest {
+    private static final Class<? extends Component>[] NO_TYPES = new Class[0];
+
+    private LocationGrid grid;
+    private long nextEntityId = 1;
+
+    @Before
+    public void setup() {
+        grid = new LocationGrid();
+    }
+
+    @Test
+    public void testRangeQueryFindsEntitiesWithinRadius() {
+        EntityRef near = add(new Vector3f(1, 0, 0));
+        EntityRef acrossChunkBorder = add(new Vector3f(-3, 0, 0));
+        add(new Vector3f(10, 0, 0));
+
+        List<EntityRef> result = grid.getEntitiesInRange(new Vector3f(0, 0, 0), 5, NO_TYPES);
+        assertEquals(Sets.newHashSet(near, acrossChunkBorder), Sets.newHashSet(result));
+    }
+
+    @Test
+    public void testRangeQueryFiltersByComponentType() {
+        EntityRef withInteger = add(new Vector3f(1, 0, 0), IntegerComponent.class);
+        add(new Vector3f(2, 0, 0), StringComponent.class);
+
+        assertEquals(Collections.singletonList(withInteger), grid.getEntitiesInRange(new Vector3f(), 5, types(IntegerComponent.class)));
+
+        grid.removeComponentType(withInteger, IntegerComponent.class);
+        assertTrue(grid.getEntitiesInRange(new Vector3f(), 5, types(IntegerComponent.class)).isEmpty());
+    }
+
+    @Test
+    public void testMovedEntityIsFoundAtNewPosition() {
+        EntityRef entity = add(new Vector3f(0, 0, 0));
+        grid.move(entity, new Vector3f(100, 0, 100));
+
+        assertTrue(grid.getEntitiesInRange(new Vector3f(0, 0, 0), 5, NO_TYPES).isEmpty());
+        assertEquals(Collections.singletonList(entity), grid.getEntitiesInRange(new Vector3f(100, 0, 100), 5, NO_TYPES));
+    }
+
+    @Test
+    public void testRemovedEntityIsNotFound() {
+        EntityRef entity = add(new Vector3f(0, 0, 0));
+        grid.remove(entity);
+
+        assertFalse(grid.contains(entity));
+        assertTrue(grid.getEntitiesInRange(new Vector3f(0, 0, 0), 5, NO_TYPES).isEmpty());
+    }
+
+    @Test
+    public void testRegionQuery() {
+        EntityRef inside = add(new Vector3f(40, 10, 40));
+        add(new Vector3f(40, 30, 40));
+
+        AABB region = AABB.createMinMax(new Vector3f(0, 0, 0), new Vector3f(50, 20, 50));
+        assertEquals(Collections.singletonList(inside), grid.getEntitiesInRegion(region, NO_TYPES));
+    }
+
+    @Test
+    public void testNearestEntitiesAreSortedAndLimited() {
+        EntityRef third = add(new Vector3f(0, 0, 30));
+        EntityRef first = add(new Vector3f(1, 0, 0));
+        EntityRef second = add(new Vector3f(-5, 0, 0));
+        add(new Vector3f(200, 0, 0));
+
+        assertEquals(ImmutableList.of(first, second), grid.getNearestEntities(new Vector3f(), 2, 100, NO_TYPES));
+        assertEquals(ImmutableList.of(first, second, third), grid.getNearestEntities(new Vector3f(), 10, 100, NO_TYPES));
+    }
+
+    @Test
+    public void testLargeRangeQueryFindsAllEntities() {
+        add(new Vector3f(-10000, 0, 0));
+        add(new Vector3f(10000, 0, 0));
+
+        assertEquals(2, grid.getEntitiesInRange(new Vector3f(), Float.MAX_VALUE / 2, NO_TYPES).size());
+    }
+
+    @SafeVarargs
+    private final EntityRef add(Vector3f position, Class<? extends Component>... componentTypes) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getId()).thenReturn(nextEntityId++);
+        List<Class<? extends Component>> types = ImmutableList.<Class<? extends Component>>builder()
+                .add(LocationComponent.class).add(componentTypes).build();
+        grid.add(entity, position, types);
+        return entity;
+    }
+
+    @SafeVarargs
+    private static Class<? extends Component>[] types(Class<? extends Component>... componentTypes) {
+        return componentTypes;
+    }
+}
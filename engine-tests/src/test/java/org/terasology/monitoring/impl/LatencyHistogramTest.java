@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverValuesWithoutGaps() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueOf(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.highestValueOf(bucket - 1));
+        }
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getMean(), 0.001);
+        assertEquals(1000000, histogram.getMax());
+        assertEquals(500000, histogram.getValueAtPercentile(50), 500000 * 0.07);
+        assertEquals(990000, histogram.getValueAtPercentile(99), 990000 * 0.07);
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testDrainMovesAllValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram target = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(Long.MAX_VALUE);
+
+        histogram.drainTo(target);
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(2, target.getCount());
+        assertEquals(Long.MAX_VALUE, target.getMax());
+        assertEquals(10, target.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.impl;
+
+import gnu.trove.map.TObjectDoubleMap;
+import org.junit.Test;
+import org.terasology.monitoring.Activity;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceMonitorImplTest {
+
+    @Test
+    public void testActivitiesOfOtherThreadsAreRecorded() throws InterruptedException {
+        PerformanceMonitorImpl monitor = new PerformanceMonitorImpl();
+
+        Thread worker = new Thread(() -> {
+            try (Activity ignored = monitor.startActivity("Outer")) {
+                try (Activity ignored2 = monitor.startActivity("Inner")) {
+                    sleep(20);
+                }
+            }
+        });
+        worker.start();
+        worker.join();
+        monitor.rollCycle();
+
+        TObjectDoubleMap<String> means = monitor.getRunningMean();
+        assertTrue(means.get("Inner") >= 20);
+        // The outer activity is paused while the inner one runs
+        assertFalse(means.get("Outer") >= 20);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkStoreCacheTest {
+
+    @Test
+    public void testTakeReturnsEqualStore() {
+        ChunkStoreCache cache = new ChunkStoreCache(1024 * 1024);
+        EntityData.ChunkStore store = createStore(1, 100);
+        cache.put(new Vector3i(1, 2, 3), store);
+        assertEquals(store.getSerializedSize(), cache.getSizeInBytes());
+
+        assertEquals(store, cache.take(new Vector3i(1, 2, 3)));
+        assertNull(cache.take(new Vector3i(1, 2, 3)));
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testSizeIsBoundBySerializedSize() {
+        EntityData.ChunkStore store = createStore(0, 1000);
+        int storeSize = store.getSerializedSize();
+        ChunkStoreCache cache = new ChunkStoreCache(storeSize * 10L);
+        for (int i = 0; i < 50; i++) {
+            cache.put(new Vector3i(i, 0, 0), createStore(i, 1000));
+        }
+        assertTrue(cache.getChunkCount() > 0);
+        assertTrue(cache.getSizeInBytes() <= storeSize * 10L);
+    }
+
+    private static EntityData.ChunkStore createStore(int x, int runs) {
+        EntityData.RunLengthEncoding16.Builder blockData = EntityData.RunLengthEncoding16.newBuilder();
+        for (int i = 0; i < runs; i++) {
+            blockData.addRunLengths(1);
+            blockData.addValues(i % 7);
+        }
+        return EntityData.ChunkStore.newBuilder().setX(x).setY(0).setZ(0).setBlockData(blockData).build();
+    }
+}
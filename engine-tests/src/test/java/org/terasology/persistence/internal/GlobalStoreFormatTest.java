@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.protobuf.EntityData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class GlobalStoreFormatTest {
+
+    @Test
+    public void readsWhatWasWritten() throws IOException {
+        EntityData.GlobalStore store = createStore(600);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GlobalStoreFormat.write(store, out);
+
+        List<EntityData.GlobalStore> headers = Lists.newArrayList();
+        List<EntityData.Entity> entities = Lists.newArrayList();
+        List<Integer> batchSizes = Lists.newArrayList();
+        GlobalStoreFormat.read(new ByteArrayInputStream(out.toByteArray()), headers::add, batch -> {
+            batchSizes.add(batch.size());
+            entities.addAll(batch);
+        });
+
+        assertEquals(1, headers.size());
+        assertEquals(store.toBuilder().clearEntity().build(), headers.get(0));
+        assertEquals(store.getEntityList(), entities);
+        assertEquals(Lists.newArrayList(256, 256, 88), batchSizes);
+    }
+
+    @Test
+    public void readsSingleMessageStores() throws IOException {
+        EntityData.GlobalStore store = createStore(10);
+
+        List<EntityData.GlobalStore> headers = Lists.newArrayList();
+        List<EntityData.Entity> entities = Lists.newArrayList();
+        GlobalStoreFormat.read(new ByteArrayInputStream(store.toByteArray()), headers::add, entities::addAll);
+
+        assertEquals(1, headers.size());
+        assertEquals(0, headers.get(0).getEntityCount());
+        assertEquals(store.getNextEntityId(), headers.get(0).getNextEntityId());
+        assertEquals(store.getEntityList(), entities);
+    }
+
+    @Test
+    public void readsEmptyStores() throws IOException {
+        List<EntityData.GlobalStore> headers = Lists.newArrayList();
+        List<EntityData.Entity> entities = Lists.newArrayList();
+        GlobalStoreFormat.read(new ByteArrayInputStream(new byte[0]), headers::add, entities::addAll);
+
+        assertEquals(1, headers.size());
+        assertEquals(0, entities.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void refusesNewerVersions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(new byte[]{0, 'G', 'S', 'F'});
+        dataOut.writeInt(GlobalStoreFormat.FORMAT_VERSION + 1);
+        EntityData.GlobalStore.getDefaultInstance().writeDelimitedTo(dataOut);
+
+        GlobalStoreFormat.read(new ByteArrayInputStream(out.toByteArray()), header -> { }, batch -> { });
+    }
+
+    @Test(expected = IOException.class)
+    public void refusesTruncatedStores() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GlobalStoreFormat.write(createStore(300), out);
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 2);
+
+        GlobalStoreFormat.read(new ByteArrayInputStream(truncated), header -> { }, batch -> { });
+    }
+
+    private static EntityData.GlobalStore createStore(int entityCount) {
+        EntityData.GlobalStore.Builder store = EntityData.GlobalStore.newBuilder();
+        store.addComponentClass("engine:location");
+        store.setNextEntityId(entityCount + 1);
+        for (int i = 1; i <= entityCount; i++) {
+            store.addEntity(EntityData.Entity.newBuilder().setId(i));
+        }
+        return store.build();
+    }
+}
@@ -263,6 +263,40 @@ public void testStoreAndRestoreChunkStore() {
         assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
     }
 
+    @Test
+    public void testSavedUnloadedChunkIsLoadedFromCache() {
+        ChunkImpl chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        esm.deactivateChunk(chunk);
+
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+        assertEquals(1, esm.getChunkStoreCache().getChunkCount());
+
+        ChunkStore restored = esm.loadChunkStore(CHUNK_POS);
+        assertNotNull(restored);
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+        assertEquals(1, esm.getChunkStoreCache().getStats().hitCount());
+        assertEquals(0, esm.getChunkStoreCache().getChunkCount());
+    }
+
+    @Test
+    public void testChunkLoadedWhileSavingIsNotCached() {
+        ChunkImpl chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        esm.deactivateChunk(chunk);
+
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getChunk(CHUNK_POS)).thenReturn(chunk);
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+        esm.finishSavingAndShutdown();
+
+        assertEquals(0, esm.getChunkStoreCache().getChunkCount());
+    }
+
     @Test
     public void testChunkSurvivesStorageSaveAndRestore() throws Exception {
         Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, biomeManager);
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.base.Charsets;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.terasology.protobuf.EntityData;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ParsedAssetCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AtomicInteger parseCount = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        parseCount.set(0);
+    }
+
+    @Test
+    public void cachedSourceIsNotParsedAgain() throws IOException {
+        byte[] source = "first".getBytes(Charsets.UTF_8);
+        ParsedAssetCache cache = new ParsedAssetCache(temporaryFolder.getRoot().toPath());
+        assertEquals("first", load(cache, source).getName());
+
+        ParsedAssetCache reopenedCache = new ParsedAssetCache(temporaryFolder.getRoot().toPath());
+        assertEquals("first", load(reopenedCache, source).getName());
+        assertEquals(1, parseCount.get());
+    }
+
+    @Test
+    public void changedSourceIsParsedAgain() throws IOException {
+        ParsedAssetCache cache = new ParsedAssetCache(temporaryFolder.getRoot().toPath());
+        load(cache, "first".getBytes(Charsets.UTF_8));
+        assertEquals("second", load(cache, "second".getBytes(Charsets.UTF_8)).getName());
+        assertEquals(2, parseCount.get());
+    }
+
+    @Test
+    public void invalidSourceIsNotCached() throws IOException {
+        ParsedAssetCache cache = new ParsedAssetCache(temporaryFolder.getRoot().toPath());
+        byte[] source = "invalid".getBytes(Charsets.UTF_8);
+        assertNull(cache.load("prefab", source, EntityData.Prefab.PARSER, bytes -> {
+            parseCount.incrementAndGet();
+            return null;
+        }));
+        assertEquals("invalid", load(cache, source).getName());
+        assertEquals(2, parseCount.get());
+    }
+
+    private EntityData.Prefab load(ParsedAssetCache cache, byte[] source) throws IOException {
+        return cache.load("prefab", source, EntityData.Prefab.PARSER, bytes -> {
+            parseCount.incrementAndGet();
+            return EntityData.Prefab.newBuilder().setName(new String(bytes, Charsets.UTF_8)).build();
+        });
+    }
+}
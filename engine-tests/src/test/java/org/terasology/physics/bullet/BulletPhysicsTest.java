@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.bullet;
+
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.physics.components.RigidBodyComponent;
+import org.terasology.physics.shapes.BoxShapeComponent;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.block.Block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulletPhysicsTest {
+
+    private static final float STEP_DELTA = 1 / 60f;
+    private static final int STEPS = 30;
+
+    @Test
+    public void testBackgroundStepsMatchInlineSteps() {
+        LocationComponent inline = simulateFallingBox(false);
+        LocationComponent background = simulateFallingBox(true);
+
+        assertTrue(inline.getWorldPosition().y < 100);
+        assertEquals(inline.getWorldPosition(), background.getWorldPosition());
+        assertEquals(inline.getWorldRotation(), background.getWorldRotation());
+    }
+
+    @Test
+    public void testBackgroundStepIsAppliedOnNextCall() {
+        LocationComponent location = new LocationComponent(new Vector3f(0, 100, 0));
+        EntityRef entity = createBox(location);
+        BulletPhysics physics = new BulletPhysics(createEmptyWorld(), true);
+        try {
+            physics.getRigidBody(entity);
+            physics.update(STEP_DELTA);
+            assertEquals(100, location.getWorldPosition().y, 0);
+
+            physics.startBackgroundStep();
+            Vector3f bodyLocation = physics.getRigidBody(entity).getLocation(new Vector3f());
+            assertTrue(bodyLocation.y < 100);
+            assertEquals(bodyLocation.y, location.getWorldPosition().y, 0.0001f);
+        } finally {
+            physics.dispose();
+        }
+    }
+
+    private LocationComponent simulateFallingBox(boolean simulateInBackground) {
+        LocationComponent location = new LocationComponent(new Vector3f(0, 100, 0));
+        EntityRef entity = createBox(location);
+        BulletPhysics physics = new BulletPhysics(createEmptyWorld(), simulateInBackground);
+        try {
+            physics.getRigidBody(entity);
+            for (int i = 0; i < STEPS; i++) {
+                physics.update(STEP_DELTA);
+                physics.startBackgroundStep();
+            }
+            // Waits for the last step
+            physics.getCollisionPairs();
+        } finally {
+            physics.dispose();
+        }
+        return location;
+    }
+
+    private static EntityRef createBox(LocationComponent location) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        when(entity.getComponent(RigidBodyComponent.class)).thenReturn(new RigidBodyComponent());
+        when(entity.getComponent(BoxShapeComponent.class)).thenReturn(new BoxShapeComponent());
+        return entity;
+    }
+
+    private static WorldProvider createEmptyWorld() {
+        WorldProvider world = mock(WorldProvider.class);
+        Block air = new Block();
+        when(world.getBlock(anyInt(), anyInt(), anyInt())).thenReturn(air);
+        return world;
+    }
+}
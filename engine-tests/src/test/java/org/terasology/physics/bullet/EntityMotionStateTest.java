@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.bullet;
+
+import com.bulletphysics.linearmath.Transform;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+
+import javax.vecmath.Matrix4f;
+import javax.vecmath.Quat4f;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityMotionStateTest {
+
+    private LocationComponent location;
+    private EntityRef entity;
+
+    @Before
+    public void setup() {
+        location = new LocationComponent(new Vector3f(1, 2, 3));
+        entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+    }
+
+    @Test
+    public void testUnbufferedStateUsesEntity() {
+        EntityMotionState state = new EntityMotionState(entity);
+        assertEquals(new javax.vecmath.Vector3f(1, 2, 3), state.getWorldTransform(new Transform()).origin);
+
+        state.setWorldTransform(createTransform(4, 5, 6));
+        assertEquals(new Vector3f(4, 5, 6), location.getWorldPosition());
+    }
+
+    @Test
+    public void testBufferedStateReadsCapturedTransform() {
+        EntityMotionState state = new EntityMotionState(entity, true);
+        location.setWorldPosition(new Vector3f(4, 5, 6));
+        assertEquals(new javax.vecmath.Vector3f(1, 2, 3), state.getWorldTransform(new Transform()).origin);
+
+        state.captureTransform();
+        assertEquals(new javax.vecmath.Vector3f(4, 5, 6), state.getWorldTransform(new Transform()).origin);
+    }
+
+    @Test
+    public void testBufferedStateWritesOnApply() {
+        EntityMotionState state = new EntityMotionState(entity, true);
+        state.setWorldTransform(createTransform(4, 5, 6));
+        assertEquals(new Vector3f(1, 2, 3), location.getWorldPosition());
+
+        state.applyBufferedTransform();
+        assertEquals(new Vector3f(4, 5, 6), location.getWorldPosition());
+
+        // Without a new transform from Bullet, the entity keeps what it has been given since
+        location.setWorldPosition(new Vector3f(7, 8, 9));
+        state.applyBufferedTransform();
+        assertEquals(new Vector3f(7, 8, 9), location.getWorldPosition());
+    }
+
+    private static Transform createTransform(float x, float y, float z) {
+        return new Transform(new Matrix4f(new Quat4f(0, 0, 0, 1), new javax.vecmath.Vector3f(x, y, z), 1));
+    }
+}
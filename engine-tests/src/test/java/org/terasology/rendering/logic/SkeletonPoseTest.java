@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.logic;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.Location;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.rendering.assets.animation.MeshAnimation;
+import org.terasology.rendering.assets.animation.MeshAnimationFrame;
+import org.terasology.rendering.assets.skeletalmesh.Bone;
+import org.terasology.rendering.assets.skeletalmesh.SkeletalMesh;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the object space transforms of a pose against the ones LocationComponents compute for the same hierarchy.
+ */
+public class SkeletonPoseTest {
+
+    private static final float EPSILON = 0.0001f;
+
+    private List<Bone> bones;
+    private SkeletalMesh mesh;
+    private EntityRef skeletonEntity;
+    private Map<Bone, LocationComponent> boneLocations;
+
+    @Before
+    public void setup() {
+        Bone root = new Bone(0, "root", new Vector3f(0, 1, 0), new Quat4f(0.5f, 0, 0));
+        Bone spine = new Bone(1, "spine", new Vector3f(0, 2, 0.5f), new Quat4f(0.5f, 0.3f, 0));
+        Bone head = new Bone(2, "head", new Vector3f(0.2f, 3, 0.5f), new Quat4f(-0.4f, 0.3f, 0.2f));
+        Bone arm = new Bone(3, "arm", new Vector3f(1, 2, 0), new Quat4f(0, 0, 1.2f));
+        root.addChild(spine);
+        spine.addChild(head);
+        spine.addChild(arm);
+        bones = Lists.newArrayList(root, spine, head, arm);
+
+        mesh = mock(SkeletalMesh.class);
+        when(mesh.getBones()).thenReturn(bones);
+        for (Bone bone : bones) {
+            when(mesh.getBone(bone.getName())).thenReturn(bone);
+        }
+
+        skeletonEntity = createEntity(new LocationComponent());
+        Map<Bone, EntityRef> boneEntities = Maps.newHashMap();
+        boneLocations = Maps.newHashMap();
+        for (Bone bone : bones) {
+            LocationComponent location = new LocationComponent();
+            EntityRef boneEntity = createEntity(location);
+            EntityRef parent = (bone.getParent() != null) ? boneEntities.get(bone.getParent()) : skeletonEntity;
+            Location.attachChild(parent, boneEntity, bone.getLocalPosition(), bone.getLocalRotation());
+            boneEntities.put(bone, boneEntity);
+            boneLocations.put(bone, location);
+        }
+    }
+
+    @Test
+    public void testBindPoseMatchesLocations() {
+        SkeletonPose pose = new SkeletonPose(mesh);
+        assertEquals(4, pose.getBoneCount());
+        assertObjectSpaceMatchesLocations(pose);
+        for (Bone bone : bones) {
+            assertVectorEquals(bone.getObjectPosition(), pose.getObjectPosition(bone.getIndex(), new Vector3f()));
+        }
+    }
+
+    @Test
+    public void testEvaluatedPoseMatchesLocations() {
+        MeshAnimation animation = mock(MeshAnimation.class);
+        // The animation covers the bones in another order than the mesh, and doesn't cover the arm
+        List<String> animatedBones = Lists.newArrayList("spine", "root", "head");
+        when(animation.getBoneCount()).thenReturn(animatedBones.size());
+        for (int i = 0; i < animatedBones.size(); i++) {
+            when(animation.getBoneName(i)).thenReturn(animatedBones.get(i));
+        }
+        MeshAnimationFrame frameA = new MeshAnimationFrame(
+                Lists.newArrayList(new Vector3f(0, 1, 0), new Vector3f(0, 1, 0), new Vector3f(0, 1, 0.5f)),
+                Lists.newArrayList(new Quat4f(0.2f, 0, 0), new Quat4f(0, 0.4f, 0), new Quat4f(0, 0, 0.3f)));
+        MeshAnimationFrame frameB = new MeshAnimationFrame(
+                Lists.newArrayList(new Vector3f(0, 2, 0), new Vector3f(1, 1, 0), new Vector3f(0, 1, -0.5f)),
+                Lists.newArrayList(new Quat4f(0.6f, 0.1f, 0), new Quat4f(0, -0.4f, 0.2f), new Quat4f(0.5f, 0, 0.3f)));
+
+        SkeletonPose pose = new SkeletonPose(mesh);
+        pose.evaluate(animation, frameA, frameB, 0.25f);
+
+        for (Bone bone : bones) {
+            LocationComponent location = boneLocations.get(bone);
+            location.setLocalPosition(pose.getLocalPosition(bone.getIndex(), new Vector3f()));
+            location.setLocalRotation(pose.getLocalRotation(bone.getIndex(), new Quat4f()));
+        }
+        assertObjectSpaceMatchesLocations(pose);
+        assertVectorEquals(new Vector3f(0.25f, 1, 0), pose.getLocalPosition(0, new Vector3f()));
+        assertVectorEquals(new Vector3f(0, 1.25f, 0), pose.getLocalPosition(1, new Vector3f()));
+        assertVectorEquals(bones.get(3).getLocalPosition(), pose.getLocalPosition(3, new Vector3f()));
+    }
+
+    private void assertObjectSpaceMatchesLocations(SkeletonPose pose) {
+        for (Bone bone : bones) {
+            LocationComponent location = boneLocations.get(bone);
+            assertVectorEquals(location.getWorldPosition(), pose.getObjectPosition(bone.getIndex(), new Vector3f()));
+            assertRotationEquals(location.getWorldRotation(), pose.getObjectRotation(bone.getIndex(), new Quat4f()));
+        }
+    }
+
+    private static EntityRef createEntity(LocationComponent location) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        return entity;
+    }
+
+    private static void assertVectorEquals(Vector3f expected, Vector3f actual) {
+        assertEquals(expected.x, actual.x, EPSILON);
+        assertEquals(expected.y, actual.y, EPSILON);
+        assertEquals(expected.z, actual.z, EPSILON);
+    }
+
+    private static void assertRotationEquals(Quat4f expected, Quat4f actual) {
+        // q and -q are the same rotation
+        float sign = Math.signum(expected.w * actual.w + expected.x * actual.x + expected.y * actual.y + expected.z * actual.z);
+        assertEquals(expected.x, sign * actual.x, EPSILON);
+        assertEquals(expected.y, sign * actual.y, EPSILON);
+        assertEquals(expected.z, sign * actual.z, EPSILON);
+        assertEquals(expected.w, sign * actual.w, EPSILON);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.math.AABB;
+import org.terasology.math.MatrixUtils;
+import org.terasology.math.geom.Matrix4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.rendering.cameras.ViewFrustum;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.RenderableChunk;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkCullingTreeTest {
+
+    private final Vector3f viewPosition = new Vector3f(5, 20, -3);
+    private List<RenderableChunk> chunks;
+    private ChunkCullingTree tree;
+
+    @Before
+    public void setup() {
+        chunks = Lists.newArrayList();
+        for (int x = -8; x < 8; x++) {
+            for (int y = -2; y < 2; y++) {
+                for (int z = -8; z < 8; z++) {
+                    Vector3f min = new Vector3f(x * ChunkConstants.SIZE_X, y * ChunkConstants.SIZE_Y, z * ChunkConstants.SIZE_Z);
+                    Vector3f max = new Vector3f(min);
+                    max.add(ChunkConstants.CHUNK_SIZE.toVector3f());
+                    RenderableChunk chunk = mock(RenderableChunk.class);
+                    when(chunk.getAABB()).thenReturn(AABB.createMinMax(min, max));
+                    chunks.add(chunk);
+                }
+            }
+        }
+        tree = new ChunkCullingTree();
+        tree.rebuild(chunks);
+    }
+
+    @Test
+    public void testCullingMatchesTestingEachChunk() {
+        ViewFrustum[] frustums = new ViewFrustum[]{
+                perspectiveFrustum(1, 0, 0),
+                perspectiveFrustum(0, -0.5f, -1),
+                orthographicFrustum(0, -1, 0.2f)
+        };
+
+        tree.cull(viewPosition, frustums);
+
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            for (int frustum = 0; frustum < frustums.length; frustum++) {
+                assertEquals(frustums[frustum].intersects(chunks.get(chunk).getAABB(), viewPosition), tree.isVisible(chunk, frustum));
+            }
+        }
+        assertTrue(tree.getTestCount() < chunks.size() * frustums.length);
+    }
+
+    @Test
+    public void testMissingFrustumSeesNothing() {
+        tree.cull(viewPosition, perspectiveFrustum(1, 0, 0), null);
+
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            assertFalse(tree.isVisible(chunk, 1));
+        }
+    }
+
+    @Test
+    public void testFrustumLookingAwayTestsOnlyRoot() {
+        ViewFrustum frustum = perspectiveFrustum(0, 1, 0);
+
+        tree.cull(new Vector3f(0, 10000, 0), frustum);
+
+        assertEquals(1, tree.getTestCount());
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            assertFalse(tree.isVisible(chunk, 0));
+        }
+    }
+
+    private static ViewFrustum perspectiveFrustum(float dirX, float dirY, float dirZ) {
+        Matrix4f projection = MatrixUtils.createPerspectiveProjectionMatrix((float) Math.toRadians(60), 16f / 9f, 0.1f, 200f);
+        return frustum(dirX, dirY, dirZ, projection);
+    }
+
+    private static ViewFrustum orthographicFrustum(float dirX, float dirY, float dirZ) {
+        Matrix4f projection = MatrixUtils.createOrthogonalProjectionMatrix(-60, 60, 60, -60, -100, 100);
+        return frustum(dirX, dirY, dirZ, projection);
+    }
+
+    private static ViewFrustum frustum(float dirX, float dirY, float dirZ, Matrix4f projection) {
+        float upZ = dirY != 0 && dirX == 0 && dirZ == 0 ? 1 : 0;
+        Matrix4f view = MatrixUtils.createViewMatrix(0, 0, 0, dirX, dirY, dirZ, 0, 1 - upZ, upZ);
+        ViewFrustum frustum = new ViewFrustum();
+        frustum.updateFrustum(MatrixUtils.matrixToFloatBuffer(view), MatrixUtils.matrixToFloatBuffer(projection));
+        return frustum;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.block.entity.neighbourUpdate;
+
+import org.junit.Test;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NeighbourUpdateQueueTest {
+
+    @Test
+    public void queuesSixNeighbours() {
+        NeighbourUpdateQueue queue = new NeighbourUpdateQueue();
+        queue.addNeighboursOf(new Vector3i(5, 5, 5));
+        assertEquals(6, queue.size());
+    }
+
+    @Test
+    public void coalescesSharedNeighbours() {
+        NeighbourUpdateQueue queue = new NeighbourUpdateQueue();
+        queue.addNeighboursOf(new Vector3i(5, 5, 5));
+        queue.addNeighboursOf(new Vector3i(7, 5, 5));
+        // (6, 5, 5) neighbours both
+        assertEquals(11, queue.size());
+    }
+
+    @Test
+    public void pollsPositionsOfOneChunkAtATime() {
+        NeighbourUpdateQueue queue = new NeighbourUpdateQueue();
+        queue.add(new Vector3i(0, 0, 0));
+        queue.add(new Vector3i(-1, 0, 0));
+        queue.add(new Vector3i(1, 0, 0));
+
+        Set<Vector3i> first = queue.pollChunk();
+        assertEquals(2, first.size());
+        for (Vector3i pos : first) {
+            assertEquals(ChunkMath.calcChunkPos(new Vector3i(0, 0, 0)), ChunkMath.calcChunkPos(pos));
+        }
+        assertEquals(1, queue.size());
+
+        Set<Vector3i> second = queue.pollChunk();
+        assertEquals(1, second.size());
+        assertTrue(second.contains(new Vector3i(-1, 0, 0)));
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.pollChunk().isEmpty());
+    }
+}
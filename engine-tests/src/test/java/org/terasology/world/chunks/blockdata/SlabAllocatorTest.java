@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SlabAllocatorTest {
+
+    @Test
+    public void testFreedBlockIsReusedZeroed() {
+        SlabAllocator allocator = new SlabAllocator(1024, false);
+        Object owner = new Object();
+        SlabAllocator.Block block = allocator.allocate(owner, 64);
+        ByteBuffer memory = block.getMemory();
+        memory.putLong(0, -1L);
+        memory.put(63, (byte) 7);
+        allocator.free(block);
+
+        SlabAllocator.Block reused = allocator.allocate(owner, 64);
+        assertSame(memory, reused.getMemory());
+        assertEquals(0L, reused.getMemory().getLong(0));
+        assertEquals(0, reused.getMemory().get(63));
+    }
+
+    @Test
+    public void testAccounting() {
+        SlabAllocator allocator = new SlabAllocator(1024, false);
+        Object owner = new Object();
+        SlabAllocator.Block first = allocator.allocate(owner, 256);
+        allocator.allocate(owner, 256);
+        allocator.allocate(owner, 100);
+        assertEquals(612, allocator.getAllocatedBytes());
+        assertEquals(1024 + 1000, allocator.getReservedBytes());
+
+        allocator.free(first);
+        allocator.free(first);
+        assertEquals(356, allocator.getAllocatedBytes());
+        assertEquals(1024 + 1000, allocator.getReservedBytes());
+        assertEquals(0, allocator.getLeakCount());
+    }
+
+    @Test
+    public void testOffHeapArray() {
+        TeraOffHeapArray16Bit array = new TeraOffHeapArray16Bit(16, 8, 16);
+        array.set(1, 2, 3, -1234);
+        assertEquals(-1234, array.get(1, 2, 3));
+        assertEquals(-1234, array.set(1, 2, 3, 5));
+
+        TeraArray copy = array.copy();
+        array.dispose();
+        assertEquals(5, copy.get(1, 2, 3));
+        assertEquals(0, copy.get(3, 2, 1));
+        assertNull(array.data);
+        copy.dispose();
+    }
+}
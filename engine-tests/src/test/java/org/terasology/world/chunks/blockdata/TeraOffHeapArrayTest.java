@@ -0,0 +1,219 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import org.junit.After;
+import org.junit.Test;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TeraOffHeapArrayTest {
+
+    private static final int SIZE_X = 16;
+    private static final int SIZE_Y = 8;
+    private static final int SIZE_Z = 16;
+
+    private final List<TeraArray> arrays = new ArrayList<>();
+
+    @After
+    public void disposeArrays() {
+        for (TeraArray array : arrays) {
+            array.dispose();
+        }
+    }
+
+    @Test
+    public void testElementSize() {
+        assertEquals(8, track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z)).getElementSizeInBits());
+        assertEquals(16, track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z)).getElementSizeInBits());
+    }
+
+    @Test
+    public void testGetSetAtLimits8Bit() {
+        TeraArray array = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        assertEquals(0, array.set(0, 0, 0, Byte.MIN_VALUE));
+        assertEquals(0, array.set(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1, Byte.MAX_VALUE));
+        assertEquals(Byte.MIN_VALUE, array.get(0, 0, 0));
+        assertEquals(Byte.MAX_VALUE, array.get(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1));
+        assertEquals(0, array.get(1, 0, 0));
+
+        assertFalse(array.set(0, 0, 0, 1, 0));
+        assertTrue(array.set(0, 0, 0, 1, Byte.MIN_VALUE));
+        assertEquals(1, array.get(0, 0, 0));
+    }
+
+    @Test
+    public void testGetSetAtLimits16Bit() {
+        TeraArray array = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        assertEquals(0, array.set(0, 0, 0, Short.MIN_VALUE));
+        assertEquals(0, array.set(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1, Short.MAX_VALUE));
+        assertEquals(Short.MIN_VALUE, array.get(0, 0, 0));
+        assertEquals(Short.MAX_VALUE, array.get(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1));
+        assertEquals(0, array.get(1, 0, 0));
+
+        assertFalse(array.set(0, 0, 0, 1, 0));
+        assertTrue(array.set(0, 0, 0, 1, Short.MIN_VALUE));
+        assertEquals(1, array.get(0, 0, 0));
+    }
+
+    @Test
+    public void testCopyFromHeapArrays() {
+        TeraDenseArray8Bit heap8 = new TeraDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        fill(heap8, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        TeraOffHeapArray8Bit offHeap8 = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        offHeap8.copyFrom(heap8);
+        assertContentEquals(heap8, offHeap8);
+
+        TeraDenseArray16Bit heap16 = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        fill(heap16, Short.MIN_VALUE, Short.MAX_VALUE);
+        TeraOffHeapArray16Bit offHeap16 = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        offHeap16.copyFrom(heap16);
+        assertContentEquals(heap16, offHeap16);
+
+        // A wider array takes the elements of a narrower one
+        TeraOffHeapArray16Bit widened = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        widened.copyFrom(heap8);
+        assertContentEquals(heap8, widened);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCopyFromWiderArrayRejected() {
+        TeraOffHeapArray8Bit offHeap8 = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        offHeap8.copyFrom(new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+    }
+
+    @Test
+    public void testCopyToHeapArrays() {
+        TeraOffHeapArray8Bit offHeap8 = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(offHeap8, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        TeraDenseArray8Bit heap8 = new TeraDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        heap8.copyFrom(offHeap8);
+        assertContentEquals(offHeap8, heap8);
+
+        TeraOffHeapArray16Bit offHeap16 = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(offHeap16, Short.MIN_VALUE, Short.MAX_VALUE);
+        TeraDenseArray16Bit heap16 = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        heap16.copyFrom(offHeap16);
+        assertContentEquals(offHeap16, heap16);
+    }
+
+    @Test
+    public void testCopyConstructor() {
+        TeraDenseArray8Bit heap8 = new TeraDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        fill(heap8, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        assertContentEquals(heap8, track(new TeraOffHeapArray8Bit(heap8)));
+
+        TeraDenseArray16Bit heap16 = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        fill(heap16, Short.MIN_VALUE, Short.MAX_VALUE);
+        TeraOffHeapArray16Bit offHeap16 = track(new TeraOffHeapArray16Bit(heap16));
+        assertContentEquals(heap16, offHeap16);
+        assertContentEquals(heap16, track(new TeraOffHeapArray16Bit(offHeap16)));
+    }
+
+    @Test
+    public void testDeflateKeepsMixedArrayOffHeap() {
+        TeraStandardDeflator deflator = new TeraStandardDeflator();
+
+        TeraOffHeapArray8Bit mixed8 = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(mixed8, 5, 5);
+        mixed8.set(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1, 6);
+        assertSame(mixed8, deflator.deflate(mixed8));
+
+        TeraOffHeapArray16Bit mixed16 = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(mixed16, Short.MAX_VALUE, Short.MAX_VALUE);
+        mixed16.set(3, 2, 1, 0);
+        assertSame(mixed16, deflator.deflate(mixed16));
+    }
+
+    @Test
+    public void testDeflateTurnsUniformArrayIntoFill() {
+        TeraStandardDeflator deflator = new TeraStandardDeflator();
+
+        TeraOffHeapArray8Bit uniform8 = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(uniform8, -5, -5);
+        TeraArray deflated8 = deflator.deflate(uniform8);
+        assertTrue(deflated8 instanceof TeraSparseArray8Bit);
+        assertContentEquals(uniform8, deflated8);
+
+        TeraOffHeapArray16Bit uniform16 = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(uniform16, Short.MIN_VALUE, Short.MIN_VALUE);
+        TeraArray deflated16 = deflator.deflate(uniform16);
+        assertTrue(deflated16 instanceof TeraSparseArray16Bit);
+        assertContentEquals(uniform16, deflated16);
+        assertTrue(deflated16.getEstimatedMemoryConsumptionInBytes() < SIZE_X * SIZE_Z);
+    }
+
+    @Test
+    public void testSerializationRoundTrip() {
+        TeraOffHeapArray8Bit offHeap8 = track(new TeraOffHeapArray8Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(offHeap8, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        TeraOffHeapArray8Bit.SerializationHandler handler8 = new TeraOffHeapArray8Bit.SerializationHandler();
+        ByteBuffer buffer8 = handler8.serialize(offHeap8);
+        buffer8.flip();
+        assertContentEquals(offHeap8, track(handler8.deserialize(buffer8)));
+        assertEquals(0, buffer8.remaining());
+
+        TeraOffHeapArray16Bit offHeap16 = track(new TeraOffHeapArray16Bit(SIZE_X, SIZE_Y, SIZE_Z));
+        fill(offHeap16, Short.MIN_VALUE, Short.MAX_VALUE);
+        TeraOffHeapArray16Bit.SerializationHandler handler16 = new TeraOffHeapArray16Bit.SerializationHandler();
+        ByteBuffer buffer16 = handler16.serialize(offHeap16);
+        buffer16.flip();
+        assertContentEquals(offHeap16, track(handler16.deserialize(buffer16)));
+        assertEquals(0, buffer16.remaining());
+    }
+
+    private <T extends TeraArray> T track(T array) {
+        arrays.add(array);
+        return array;
+    }
+
+    /**
+     * Fills the array with a pattern that starts at min, ends at max and walks through the values in between.
+     */
+    private static void fill(TeraArray array, int min, int max) {
+        int range = max - min + 1;
+        int index = 0;
+        for (int y = 0; y < array.getSizeY(); y++) {
+            for (int x = 0; x < array.getSizeX(); x++) {
+                for (int z = 0; z < array.getSizeZ(); z++) {
+                    array.set(x, y, z, min + (index++ * 31) % range);
+                }
+            }
+        }
+        array.set(array.getSizeX() - 1, array.getSizeY() - 1, array.getSizeZ() - 1, max);
+    }
+
+    private static void assertContentEquals(TeraArray expected, TeraArray actual) {
+        assertEquals(expected.getSizeX(), actual.getSizeX());
+        assertEquals(expected.getSizeY(), actual.getSizeY());
+        assertEquals(expected.getSizeZ(), actual.getSizeZ());
+        for (int y = 0; y < expected.getSizeY(); y++) {
+            for (int x = 0; x < expected.getSizeX(); x++) {
+                for (int z = 0; z < expected.getSizeZ(); z++) {
+                    assertEquals(expected.get(x, y, z), actual.get(x, y, z));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChunkActivationSchedulerTest {
+
+    private final Vector3i center = new Vector3i();
+
+    private ChunkActivationScheduler<Vector3i> createScheduler(int budgetInMs) {
+        return new ChunkActivationScheduler<>(Function.identity(), pos -> pos.distanceSquared(center), budgetInMs);
+    }
+
+    @Test
+    public void testSelectsMostRelevantFirst() {
+        ChunkActivationScheduler<Vector3i> scheduler = createScheduler(0);
+        scheduler.addAll(Lists.newArrayList(new Vector3i(5, 0, 0), new Vector3i(0, 0, 0), new Vector3i(-3, 0, 0)));
+
+        assertEquals(Lists.newArrayList(new Vector3i(0, 0, 0)), scheduler.select(pos -> true));
+        assertEquals(Lists.newArrayList(new Vector3i(-3, 0, 0)), scheduler.select(pos -> true));
+        assertEquals(1, scheduler.getBacklog());
+    }
+
+    @Test
+    public void testSelectsWithinBudget() {
+        ChunkActivationScheduler<Vector3i> scheduler = createScheduler(10);
+        for (int i = 0; i < 20; i++) {
+            scheduler.recordActivationCost(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        List<Vector3i> chunks = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            chunks.add(new Vector3i(i * 2, 0, 0));
+        }
+        scheduler.addAll(chunks);
+
+        List<Vector3i> selected = scheduler.select(pos -> true);
+        assertEquals(5, selected.size());
+        assertEquals(chunks.subList(0, 5), selected);
+    }
+
+    @Test
+    public void testSkipsAdjacentAndUnavailableChunks() {
+        ChunkActivationScheduler<Vector3i> scheduler = createScheduler(100);
+        Vector3i blocked = new Vector3i(0, 0, 5);
+        scheduler.addAll(Lists.newArrayList(new Vector3i(0, 0, 0), new Vector3i(1, 1, 0), new Vector3i(2, 0, 0), blocked));
+
+        assertEquals(Lists.newArrayList(new Vector3i(0, 0, 0), new Vector3i(2, 0, 0)), scheduler.select(pos -> !pos.equals(blocked)));
+        assertEquals(2, scheduler.getBacklog());
+        assertEquals(Lists.newArrayList(new Vector3i(1, 1, 0)), scheduler.select(pos -> !pos.equals(blocked)));
+    }
+
+    @Test
+    public void testRescore() {
+        ChunkActivationScheduler<Vector3i> scheduler = createScheduler(0);
+        scheduler.addAll(Lists.newArrayList(new Vector3i(0, 0, 0), new Vector3i(10, 0, 0)));
+
+        center.set(10, 0, 0);
+        scheduler.rescore();
+        assertEquals(Lists.newArrayList(new Vector3i(10, 0, 0)), scheduler.select(pos -> true));
+    }
+}
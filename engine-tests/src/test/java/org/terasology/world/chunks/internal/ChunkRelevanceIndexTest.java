@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkRelevanceIndexTest {
+
+    private ChunkRelevanceIndex index;
+    private LocationComponent location;
+    private ChunkRelevanceRegion region;
+
+    @Before
+    public void setup() {
+        index = new ChunkRelevanceIndex(Vector3i.one());
+        location = new LocationComponent();
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        when(entity.hasComponent(LocationComponent.class)).thenReturn(true);
+        region = new ChunkRelevanceRegion(entity, new Vector3i(3, 3, 3));
+        index.update(region);
+    }
+
+    @Test
+    public void testRelevantWithinLeeway() {
+        assertTrue(index.isRelevant(new Vector3i(0, 0, 0)));
+        assertTrue(index.isRelevant(new Vector3i(2, -2, 2)));
+        assertFalse(index.isRelevant(new Vector3i(3, 0, 0)));
+        assertTrue(index.getRegionsNear(new Vector3i(1, 1, 1)).contains(region));
+    }
+
+    @Test
+    public void testMovingRegionMakesChunksLeftBehindCandidates() {
+        index.chunkLoaded(new Vector3i(3, 0, 0));
+        index.chunkLoaded(new Vector3i(0, 0, 0));
+        assertEquals(Sets.newHashSet(new Vector3i(3, 0, 0)), unloadCandidates());
+
+        location.setWorldPosition(new Vector3f(3 * ChunkConstants.SIZE_X, 0, 0));
+        region.update();
+        index.update(region);
+
+        assertTrue(index.isRelevant(new Vector3i(3, 0, 0)));
+        assertTrue(index.isRelevant(new Vector3i(1, 0, 0)));
+        assertFalse(index.isRelevant(new Vector3i(0, 0, 0)));
+        Set<Vector3i> candidates = unloadCandidates();
+        assertFalse(candidates.contains(new Vector3i(3, 0, 0)));
+        assertTrue(candidates.contains(new Vector3i(0, 0, 0)));
+        assertTrue(candidates.contains(new Vector3i(-2, 2, 2)));
+    }
+
+    @Test
+    public void testRemovedRegionReleasesAllChunks() {
+        index.remove(region);
+
+        assertFalse(index.isRelevant(new Vector3i(0, 0, 0)));
+        assertEquals(125, unloadCandidates().size());
+        assertTrue(index.getRegionsNear(new Vector3i(0, 0, 0)).isEmpty());
+    }
+
+    private Set<Vector3i> unloadCandidates() {
+        Set<Vector3i> result = Sets.newHashSet();
+        Iterator<Vector3i> iterator = index.iterateUnloadCandidates();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
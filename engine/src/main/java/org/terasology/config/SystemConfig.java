@@ -30,7 +30,18 @@ public class SystemConfig {
     private int maxUnloadedChunksPercentageTillSave;
     private boolean debugEnabled;
     private boolean monitoringEnabled;
+    private boolean parallelUpdatesEnabled;
+    private int chunkActivationBudgetInMs;
+    private boolean offHeapChunkStorageEnabled;
+    private int chunkCacheSizeInMb;
+    private boolean parallelBehaviorEnabled;
+    private int behaviorLodDistance;
+    private boolean latencyProfilingEnabled;
+    private int latencyExportIntervalInSeconds;
     private boolean writeSaveGamesEnabled;
+    private boolean assetCacheEnabled;
+    private boolean physicsThreadEnabled;
+    private boolean parallelSkeletonsEnabled;
     private String locale;
 
     public long getDayNightLengthInMs() {
@@ -81,6 +92,70 @@ public void setMonitoringEnabled(boolean monitoringEnabled) {
         this.monitoringEnabled = monitoringEnabled;
     }
 
+    public boolean isParallelUpdatesEnabled() {
+        return parallelUpdatesEnabled;
+    }
+
+    public void setParallelUpdatesEnabled(boolean parallelUpdatesEnabled) {
+        this.parallelUpdatesEnabled = parallelUpdatesEnabled;
+    }
+
+    public int getChunkActivationBudgetInMs() {
+        return chunkActivationBudgetInMs;
+    }
+
+    public void setChunkActivationBudgetInMs(int chunkActivationBudgetInMs) {
+        this.chunkActivationBudgetInMs = chunkActivationBudgetInMs;
+    }
+
+    public boolean isOffHeapChunkStorageEnabled() {
+        return offHeapChunkStorageEnabled;
+    }
+
+    public void setOffHeapChunkStorageEnabled(boolean offHeapChunkStorageEnabled) {
+        this.offHeapChunkStorageEnabled = offHeapChunkStorageEnabled;
+    }
+
+    public int getChunkCacheSizeInMb() {
+        return chunkCacheSizeInMb;
+    }
+
+    public void setChunkCacheSizeInMb(int chunkCacheSizeInMb) {
+        this.chunkCacheSizeInMb = chunkCacheSizeInMb;
+    }
+
+    public boolean isParallelBehaviorEnabled() {
+        return parallelBehaviorEnabled;
+    }
+
+    public void setParallelBehaviorEnabled(boolean parallelBehaviorEnabled) {
+        this.parallelBehaviorEnabled = parallelBehaviorEnabled;
+    }
+
+    public int getBehaviorLodDistance() {
+        return behaviorLodDistance;
+    }
+
+    public void setBehaviorLodDistance(int behaviorLodDistance) {
+        this.behaviorLodDistance = behaviorLodDistance;
+    }
+
+    public boolean isLatencyProfilingEnabled() {
+        return latencyProfilingEnabled;
+    }
+
+    public void setLatencyProfilingEnabled(boolean latencyProfilingEnabled) {
+        this.latencyProfilingEnabled = latencyProfilingEnabled;
+    }
+
+    public int getLatencyExportIntervalInSeconds() {
+        return latencyExportIntervalInSeconds;
+    }
+
+    public void setLatencyExportIntervalInSeconds(int latencyExportIntervalInSeconds) {
+        this.latencyExportIntervalInSeconds = latencyExportIntervalInSeconds;
+    }
+
     public boolean isWriteSaveGamesEnabled() {
         String property = System.getProperty(SAVED_GAMES_ENABLED_PROPERTY);
         if (property != null) {
@@ -93,6 +168,30 @@ public void setWriteSaveGamesEnabled(boolean writeSaveGamesEnabled) {
         this.writeSaveGamesEnabled = writeSaveGamesEnabled;
     }
 
+    public boolean isAssetCacheEnabled() {
+        return assetCacheEnabled;
+    }
+
+    public void setAssetCacheEnabled(boolean assetCacheEnabled) {
+        this.assetCacheEnabled = assetCacheEnabled;
+    }
+
+    public boolean isPhysicsThreadEnabled() {
+        return physicsThreadEnabled;
+    }
+
+    public void setPhysicsThreadEnabled(boolean physicsThreadEnabled) {
+        this.physicsThreadEnabled = physicsThreadEnabled;
+    }
+
+    public boolean isParallelSkeletonsEnabled() {
+        return parallelSkeletonsEnabled;
+    }
+
+    public void setParallelSkeletonsEnabled(boolean parallelSkeletonsEnabled) {
+        this.parallelSkeletonsEnabled = parallelSkeletonsEnabled;
+    }
+
     public Locale getLocale() {
         if (locale == null) {
             setLocale(Locale.getDefault(Category.DISPLAY));
@@ -19,6 +19,7 @@
 import com.google.common.collect.Queues;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Semaphore;
 
@@ -35,6 +36,7 @@ public final class GameThread {
 
     private static volatile Thread gameThread;
     private static BlockingDeque<Runnable> pendingRunnables = Queues.newLinkedBlockingDeque();
+    private static final ThreadLocal<Boolean> inParallelUpdate = ThreadLocal.withInitial(() -> false);
 
     private GameThread() {
     }
@@ -46,15 +48,44 @@ public static boolean isCurrentThread() {
         return Thread.currentThread() == gameThread;
     }
 
+    /**
+     * @return Whether the current thread is updating a system in parallel with others, see
+     * {@link org.terasology.entitySystem.systems.ParallelUpdate}. This may be the case on the game thread too, as it
+     * helps out with the updates while it waits for them.
+     */
+    public static boolean isInParallelUpdate() {
+        return inParallelUpdate.get();
+    }
+
+    /**
+     * Wraps a task that is run in parallel with others, typically by an executor, so that it runs as a parallel
+     * update whichever thread runs it. Entity changes it makes and events it sends are then caught or deferred, as
+     * described for {@link org.terasology.entitySystem.systems.ParallelUpdate}, even when the game thread runs it.
+     *
+     * @param task
+     * @return A task that runs the given one as a parallel update
+     */
+    public static <T> Callable<T> asParallelUpdate(Callable<T> task) {
+        return () -> {
+            boolean wasInParallelUpdate = inParallelUpdate.get();
+            inParallelUpdate.set(true);
+            try {
+                return task.call();
+            } finally {
+                inParallelUpdate.set(wasInParallelUpdate);
+            }
+        };
+    }
+
     /**
      * Runs a process on the game thread, not waiting for it to run.
      * <br><br>
-     * If the current thread is the game thread, then the process runs immediately
+     * If the current thread is the game thread, then the process runs immediately, unless it is in a parallel update.
      *
      * @param process
      */
     public static void asynch(Runnable process) {
-        if (Thread.currentThread() != gameThread) {
+        if (Thread.currentThread() != gameThread || inParallelUpdate.get()) {
             pendingRunnables.push(process);
         } else {
             process.run();
@@ -65,10 +96,17 @@ public static void asynch(Runnable process) {
      * Runs a process on the game thread, waiting for it to run (the current thread is blocked).
      * <br><br>
      * If the current thread is the game thread, then the process runs immediately
+     * <br><br>
+     * This must not be called during a parallel update, as the game thread only runs the process once all systems of
+     * the update are done, which they never would be.
      *
      * @param process
+     * @throws IllegalStateException If called during a parallel update
      */
     public static void synch(Runnable process) throws InterruptedException {
+        if (inParallelUpdate.get()) {
+            throw new IllegalStateException("GameThread.synch() would deadlock during a parallel update, use asynch()");
+        }
         if (Thread.currentThread() != gameThread) {
             BlockingProcess blockingProcess = new BlockingProcess(process);
             pendingRunnables.push(blockingProcess);
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.event.internal.EventSystem;
+import org.terasology.entitySystem.systems.ParallelUpdate;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.monitoring.LatencyProfiler;
+import org.terasology.monitoring.PerformanceMonitor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates the {@link UpdateSubscriberSystem}s registered with the {@link ComponentSystemManager}.
+ * <br><br>
+ * The systems are split into phases, keeping their registration order. Consecutive systems annotated with
+ * {@link ParallelUpdate} share a phase as long as none of them writes a component another one reads or writes. Every
+ * other system gets a phase of its own. Phases with more than one system are updated on a fork-join pool, while the
+ * main thread waits. Afterwards entity changes passed to {@link GameThread#asynch(Runnable)} and events sent from the
+ * workers are applied, before the next phase starts.
+ * <br><br>
+ * While a system is updated in parallel, {@link GameThread#isInParallelUpdate()} is true for its thread. The entity
+ * manager then refuses changes that would notify entity change subscribers, such as the network system, off the main
+ * thread, and {@link GameThread#asynch(Runnable)} defers processes even on the main thread.
+ * <br><br>
+ * When parallel updates are disabled, all systems are updated one after the other on the main thread.
+ */
+public class UpdateSubscriberScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(UpdateSubscriberScheduler.class);
+
+    private final ComponentSystemManager componentSystemManager;
+    private final EventSystem eventSystem;
+    private final ForkJoinPool pool;
+
+    private List<UpdateSubscriberSystem> scheduledSystems = Collections.emptyList();
+    private List<Phase> phases = Collections.emptyList();
+
+    /**
+     * @param parallelism The number of worker threads to use, or 0 to update all systems on the main thread
+     */
+    public UpdateSubscriberScheduler(ComponentSystemManager componentSystemManager, EventSystem eventSystem, int parallelism) {
+        this.componentSystemManager = componentSystemManager;
+        this.eventSystem = eventSystem;
+        this.pool = (parallelism > 0) ? new ForkJoinPool(parallelism) : null;
+    }
+
+    public void update(float delta) {
+        if (pool == null) {
+            for (UpdateSubscriberSystem system : componentSystemManager.iterateUpdateSubscribers()) {
+                updateOnMainThread(system, delta);
+            }
+            return;
+        }
+
+        if (!Iterables.elementsEqual(scheduledSystems, componentSystemManager.iterateUpdateSubscribers())) {
+            scheduledSystems = ImmutableList.copyOf(componentSystemManager.iterateUpdateSubscribers());
+            phases = buildPhases(scheduledSystems);
+            logger.debug("Scheduled {} update subscribers in {} phases", scheduledSystems.size(), phases.size());
+        }
+
+        for (Phase phase : phases) {
+            if (phase.systems.size() == 1) {
+                updateOnMainThread(phase.systems.get(0), delta);
+            } else {
+                updateInParallel(phase.systems, delta);
+            }
+        }
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            try {
+                if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                    logger.warn("Timed out awaiting update subscriber workers to finish");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void updateOnMainThread(UpdateSubscriberSystem system, float delta) {
+        PerformanceMonitor.startActivity(system.getClass().getSimpleName());
+        long start = LatencyProfiler.start();
+        system.update(delta);
+        LatencyProfiler.record(LatencyProfiler.Category.SYSTEM, system.getClass().getSimpleName(), start);
+        PerformanceMonitor.endActivity();
+    }
+
+    private void updateInParallel(List<UpdateSubscriberSystem> systems, float delta) {
+        List<Callable<Long>> tasks = Lists.newArrayListWithCapacity(systems.size());
+        for (UpdateSubscriberSystem system : systems) {
+            tasks.add(GameThread.asParallelUpdate(() -> {
+                long start = System.nanoTime();
+                long profilerStart = LatencyProfiler.start();
+                system.update(delta);
+                LatencyProfiler.record(LatencyProfiler.Category.SYSTEM, system.getClass().getSimpleName(), profilerStart);
+                return System.nanoTime() - start;
+            }));
+        }
+
+        List<Future<Long>> results = pool.invokeAll(tasks);
+
+        RuntimeException failure = null;
+        for (int i = 0; i < systems.size(); i++) {
+            try {
+                PerformanceMonitor.recordActivityNanos(systems.get(i).getClass().getSimpleName(), results.get(i).get());
+            } catch (ExecutionException e) {
+                logger.error("Failed to update {}", systems.get(i), e.getCause());
+                if (failure == null) {
+                    failure = (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Phase barrier: apply the changes the systems deferred to the main thread
+        GameThread.processWaitingProcesses();
+        eventSystem.process();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    static List<Phase> buildPhases(List<UpdateSubscriberSystem> systems) {
+        List<Phase> result = Lists.newArrayList();
+        Phase current = null;
+        for (UpdateSubscriberSystem system : systems) {
+            ParallelUpdate access = system.getClass().getAnnotation(ParallelUpdate.class);
+            if (access == null) {
+                result.add(new Phase(system));
+                current = null;
+            } else if (current != null && !current.conflictsWith(access)) {
+                current.add(system, access);
+            } else {
+                current = new Phase(system, access);
+                result.add(current);
+            }
+        }
+        return result;
+    }
+
+    static final class Phase {
+        private final List<UpdateSubscriberSystem> systems = Lists.newArrayList();
+        private final Set<Class<? extends Component>> reads = Sets.newHashSet();
+        private final Set<Class<? extends Component>> writes = Sets.newHashSet();
+
+        private Phase(UpdateSubscriberSystem system) {
+            systems.add(system);
+        }
+
+        private Phase(UpdateSubscriberSystem system, ParallelUpdate access) {
+            add(system, access);
+        }
+
+        private void add(UpdateSubscriberSystem system, ParallelUpdate access) {
+            systems.add(system);
+            reads.addAll(Arrays.asList(access.reads()));
+            writes.addAll(Arrays.asList(access.writes()));
+        }
+
+        private boolean conflictsWith(ParallelUpdate access) {
+            for (Class<? extends Component> written : access.writes()) {
+                if (reads.contains(written) || writes.contains(written)) {
+                    return true;
+                }
+            }
+            for (Class<? extends Component> read : access.reads()) {
+                if (writes.contains(read)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<UpdateSubscriberSystem> getSystems() {
+            return Collections.unmodifiableList(systems);
+        }
+    }
+}
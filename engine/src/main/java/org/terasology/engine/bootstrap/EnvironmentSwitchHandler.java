@@ -15,15 +15,18 @@
  */
 package org.terasology.engine.bootstrap;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.assets.module.ModuleAwareAssetTypeManager;
+import org.terasology.config.Config;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
 import org.terasology.engine.module.ModuleManager;
+import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.metadata.EntitySystemLibrary;
@@ -34,6 +37,7 @@
 import org.terasology.entitySystem.prefab.internal.PrefabFormat;
 import org.terasology.entitySystem.systems.internal.DoNotAutoRegister;
 import org.terasology.module.ModuleEnvironment;
+import org.terasology.persistence.serializers.ParsedAssetCache;
 import org.terasology.persistence.typeHandling.RegisterTypeHandler;
 import org.terasology.persistence.typeHandling.TypeHandler;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
@@ -58,8 +62,12 @@
 public final class EnvironmentSwitchHandler {
     private static final Logger logger = LoggerFactory.getLogger(EnvironmentSwitchHandler.class);
 
+    private static final String ASSET_CACHE_DIR = "assets";
+
     private PrefabFormat registeredPrefabFormat;
     private PrefabDeltaFormat registeredPrefabDeltaFormat;
+    private ParsedAssetCache assetCache;
+    private boolean assetCacheOpened;
 
     public EnvironmentSwitchHandler() {
     }
@@ -114,9 +122,10 @@ public void handleSwitchToGameEnvironment(Context context) {
          * existing then yet.
          */
         unregisterPrefabFormats(assetTypeManager);
-        registeredPrefabFormat = new PrefabFormat(componentLibrary, typeSerializationLibrary);
+        ParsedAssetCache cache = getAssetCache(context);
+        registeredPrefabFormat = new PrefabFormat(componentLibrary, typeSerializationLibrary, cache);
         assetTypeManager.registerCoreFormat(Prefab.class, registeredPrefabFormat);
-        registeredPrefabDeltaFormat = new PrefabDeltaFormat(componentLibrary, typeSerializationLibrary);
+        registeredPrefabDeltaFormat = new PrefabDeltaFormat(componentLibrary, typeSerializationLibrary, cache);
         assetTypeManager.registerCoreDeltaFormat(Prefab.class, registeredPrefabDeltaFormat);
 
         assetTypeManager.switchEnvironment(moduleManager.getEnvironment());
@@ -158,6 +167,24 @@ public void handleSwitchToEmptyEnivronment(Context context) {
         cheapAssetManagerUpdate(context, environment);
     }
 
+    /**
+     * @return The cache of parsed asset files, or null if it is disabled or couldn't be opened
+     */
+    private ParsedAssetCache getAssetCache(Context context) {
+        if (!assetCacheOpened) {
+            assetCacheOpened = true;
+            Config config = context.get(Config.class);
+            if (config != null && config.getSystem().isAssetCacheEnabled() && PathManager.getInstance().getCachePath() != null) {
+                try {
+                    assetCache = new ParsedAssetCache(PathManager.getInstance().getCachePath().resolve(ASSET_CACHE_DIR));
+                } catch (IOException e) {
+                    logger.warn("Failed to open the asset cache, assets will be parsed on every start", e);
+                }
+            }
+        }
+        return assetCache;
+    }
+
     private void unregisterPrefabFormats(ModuleAwareAssetTypeManager assetTypeManager) {
         if (registeredPrefabFormat != null) {
             assetTypeManager.removeCoreFormat(Prefab.class, registeredPrefabFormat);
@@ -24,12 +24,12 @@
 import org.terasology.engine.ComponentSystemManager;
 import org.terasology.engine.GameEngine;
 import org.terasology.engine.GameThread;
+import org.terasology.engine.UpdateSubscriberScheduler;
 import org.terasology.engine.bootstrap.EnvironmentSwitchHandler;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.engine.subsystem.DisplayDevice;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.event.internal.EventSystem;
-import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.game.GameManifest;
 import org.terasology.input.InputSystem;
 import org.terasology.input.cameraTarget.CameraTargetSystem;
@@ -60,6 +60,7 @@ public class StateIngame implements GameState {
     private static final Logger logger = LoggerFactory.getLogger(StateIngame.class);
 
     private ComponentSystemManager componentSystemManager;
+    private UpdateSubscriberScheduler updateSubscriberScheduler;
     private EventSystem eventSystem;
     private NUIManager nuiManager;
     private WorldRenderer worldRenderer;
@@ -67,6 +68,7 @@ public class StateIngame implements GameState {
     private CameraTargetSystem cameraTargetSystem;
     private InputSystem inputSystem;
     private NetworkSystem networkSystem;
+    private PhysicsEngine physicsEngine;
     private Context context;
 
     /* GAME LOOP */
@@ -94,6 +96,11 @@ public void init(GameEngine engine) {
         eventSystem.registerEventHandler(nuiManager);
         networkSystem = context.get(NetworkSystem.class);
         storageManager = context.get(StorageManager.class);
+        physicsEngine = context.get(PhysicsEngine.class);
+
+        int updateThreads = context.get(Config.class).getSystem().isParallelUpdatesEnabled()
+                ? Math.max(1, Runtime.getRuntime().availableProcessors() - 1) : 0;
+        updateSubscriberScheduler = new UpdateSubscriberScheduler(componentSystemManager, eventSystem, updateThreads);
 
         if (context.get(Config.class).getRendering().isOculusVrSupport()
                 && OculusVrHelper.isNativeLibraryLoaded()) {
@@ -140,6 +147,7 @@ public void dispose() {
             worldRenderer.dispose();
             worldRenderer = null;
         }
+        updateSubscriberScheduler.shutdown();
         componentSystemManager.shutdown();
 
         context.get(PhysicsEngine.class).dispose();
@@ -171,11 +179,7 @@ public void update(float delta) {
 
         eventSystem.process();
 
-        for (UpdateSubscriberSystem system : componentSystemManager.iterateUpdateSubscribers()) {
-            PerformanceMonitor.startActivity(system.getClass().getSimpleName());
-            system.update(delta);
-            PerformanceMonitor.endActivity();
-        }
+        updateSubscriberScheduler.update(delta);
 
         if (worldRenderer != null && shouldUpdateWorld()) {
             worldRenderer.update(delta);
@@ -186,6 +190,11 @@ public void update(float delta) {
 
 
         updateUserInterface(delta);
+
+        // Started once the systems have done their queries, so that the step runs while the frame is rendered
+        if (physicsEngine != null) {
+            physicsEngine.startBackgroundStep();
+        }
     }
 
 
@@ -17,6 +17,7 @@
 package org.terasology.engine.modes;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +46,7 @@
 import org.terasology.engine.modes.loadProcesses.LoadPrefabs;
 import org.terasology.engine.modes.loadProcesses.PostBeginSystems;
 import org.terasology.engine.modes.loadProcesses.PreBeginSystems;
+import org.terasology.engine.modes.loadProcesses.PreloadAssets;
 import org.terasology.engine.modes.loadProcesses.PrepareWorld;
 import org.terasology.engine.modes.loadProcesses.ProcessBlockPrefabs;
 import org.terasology.engine.modes.loadProcesses.RegisterBiomes;
@@ -64,8 +66,13 @@
 import org.terasology.rendering.nui.internal.CanvasRenderer;
 import org.terasology.rendering.nui.internal.NUIManagerInternal;
 import org.terasology.rendering.nui.layers.mainMenu.loadingScreen.LoadingScreen;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.BlockTile;
 
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 /**
  */
@@ -87,6 +94,10 @@ public class StateLoading implements GameState {
     private int progress;
     private int maxProgress;
 
+    private final Map<String, Long> processTimes = Maps.newLinkedHashMap();
+    private long loadStartTime;
+    private long processStartTime;
+
     /**
      * Constructor for server or single player games
      *
@@ -139,6 +150,7 @@ public void init(GameEngine engine) {
             maxProgress += process.getExpectedCost();
         }
 
+        loadStartTime = System.nanoTime();
         popStep();
         loadingScreen = nuiManager.pushScreen("engine:loadingScreen", LoadingScreen.class);
         loadingScreen.updateStatus(current.getMessage(), current.getProgress());
@@ -146,7 +158,10 @@ public void init(GameEngine engine) {
 
     private void initClient() {
         loadProcesses.add(new JoinServer(context, gameManifest, joinStatus));
-        loadProcesses.add(new CacheTextures());
+        loadProcesses.add(new CacheTextures(context));
+        loadProcesses.add(new PreloadAssets(context, "Loading Block Assets...")
+                .thenLoad(BlockTile.class, BlockShape.class)
+                .thenLoad(BlockFamilyDefinition.class));
         loadProcesses.add(new InitialiseEntitySystem(context));
         loadProcesses.add(new RegisterBlocks(context, gameManifest));
         loadProcesses.add(new RegisterBiomes(context, gameManifest));
@@ -171,7 +186,10 @@ private void initClient() {
 
     private void initHost() {
         loadProcesses.add(new RegisterMods(context, gameManifest));
-        loadProcesses.add(new CacheTextures());
+        loadProcesses.add(new CacheTextures(context));
+        loadProcesses.add(new PreloadAssets(context, "Loading Block Assets...")
+                .thenLoad(BlockTile.class, BlockShape.class)
+                .thenLoad(BlockFamilyDefinition.class));
         loadProcesses.add(new InitialiseEntitySystem(context));
         loadProcesses.add(new RegisterBlocks(context, gameManifest));
         loadProcesses.add(new RegisterBiomes(context, gameManifest));
@@ -214,13 +232,26 @@ private void initHost() {
     private void popStep() {
         if (current != null) {
             progress += current.getExpectedCost();
+            processTimes.merge(current.getMessage(), System.nanoTime() - processStartTime, Long::sum);
         }
         current = null;
         if (!loadProcesses.isEmpty()) {
             current = loadProcesses.remove();
             logger.debug(current.getMessage());
+            processStartTime = System.nanoTime();
             current.begin();
+        } else {
+            logProcessTimes();
+        }
+    }
+
+    private void logProcessTimes() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Loading took %d ms:", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStartTime)));
+        for (Map.Entry<String, Long> entry : processTimes.entrySet()) {
+            builder.append(String.format("%n  %-40s %8d ms", entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue())));
         }
+        logger.info(builder.toString());
     }
 
     @Override
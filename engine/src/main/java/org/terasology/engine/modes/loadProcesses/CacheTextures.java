@@ -16,17 +16,24 @@
 
 package org.terasology.engine.modes.loadProcesses;
 
-import org.terasology.utilities.Assets;
+import com.google.common.collect.ImmutableList;
 import org.terasology.assets.ResourceUrn;
+import org.terasology.context.Context;
 import org.terasology.rendering.assets.texture.Texture;
+import org.terasology.utilities.Assets;
 
-import java.util.Iterator;
-import java.util.Set;
+import java.util.Collection;
+import java.util.List;
 
 /**
+ * Loads all textures up front. The textures are decoded on worker threads, and uploaded to OpenGL on the display
+ * thread.
  */
-public class CacheTextures extends StepBasedLoadProcess {
-    private Iterator<ResourceUrn> urns;
+public class CacheTextures extends ParallelLoadProcess<ResourceUrn> {
+
+    public CacheTextures(Context context) {
+        super(context);
+    }
 
     @Override
     public String getMessage() {
@@ -34,18 +41,13 @@ public String getMessage() {
     }
 
     @Override
-    public void begin() {
-        Set<ResourceUrn> list = Assets.list(Texture.class);
-        urns = list.iterator();
-        setTotalSteps(list.size());
+    protected List<? extends Collection<ResourceUrn>> getBatches() {
+        return ImmutableList.of(Assets.list(Texture.class));
     }
 
     @Override
-    public boolean step() {
-        ResourceUrn textureUrn = urns.next();
-        Assets.get(textureUrn, Texture.class);
-        stepDone();
-        return !urns.hasNext();
+    protected void load(ResourceUrn urn) {
+        Assets.get(urn, Texture.class);
     }
 
     @Override
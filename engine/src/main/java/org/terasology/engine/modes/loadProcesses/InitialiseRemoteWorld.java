@@ -16,6 +16,7 @@
 
 package org.terasology.engine.modes.loadProcesses;
 
+import org.terasology.config.Config;
 import org.terasology.context.Context;
 import org.terasology.engine.ComponentSystemManager;
 import org.terasology.engine.TerasologyConstants;
@@ -31,6 +32,7 @@
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 import org.terasology.world.internal.EntityAwareWorldProvider;
 import org.terasology.world.internal.WorldProviderCoreImpl;
@@ -65,6 +67,8 @@ public boolean step() {
         BlockManager blockManager = context.get(BlockManager.class);
 
         RemoteChunkProvider chunkProvider = new RemoteChunkProvider(blockManager, localPlayer);
+        chunkProvider.setChunkActivationBudget(context.get(Config.class).getSystem().getChunkActivationBudgetInMs());
+        ChunkImpl.setOffHeapStorageEnabled(context.get(Config.class).getSystem().isOffHeapChunkStorageEnabled());
 
         WorldProviderCoreImpl worldProviderCore = new WorldProviderCoreImpl(gameManifest.getWorldInfo(TerasologyConstants.MAIN_WORLD), chunkProvider,
                 blockManager.getBlock(BlockManager.UNLOADED_ID), context);
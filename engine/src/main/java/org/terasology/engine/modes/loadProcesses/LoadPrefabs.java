@@ -16,20 +16,22 @@
 
 package org.terasology.engine.modes.loadProcesses;
 
+import com.google.common.collect.ImmutableList;
 import org.terasology.assets.ResourceUrn;
 import org.terasology.assets.management.AssetManager;
 import org.terasology.context.Context;
 import org.terasology.entitySystem.prefab.Prefab;
 
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.List;
 
 /**
  */
-public class LoadPrefabs extends StepBasedLoadProcess {
+public class LoadPrefabs extends ParallelLoadProcess<ResourceUrn> {
     private final AssetManager assetManager;
-    private Iterator<ResourceUrn> prefabs;
 
     public LoadPrefabs(Context context) {
+        super(context);
         this.assetManager = context.get(AssetManager.class);
     }
 
@@ -39,18 +41,13 @@ public String getMessage() {
     }
 
     @Override
-    public boolean step() {
-        if (prefabs.hasNext()) {
-            assetManager.getAsset(prefabs.next(), Prefab.class);
-            stepDone();
-        }
-        return !prefabs.hasNext();
+    protected List<? extends Collection<ResourceUrn>> getBatches() {
+        return ImmutableList.of(assetManager.getAvailableAssets(Prefab.class));
     }
 
     @Override
-    public void begin() {
-        prefabs = assetManager.getAvailableAssets(Prefab.class).iterator();
-        setTotalSteps(assetManager.getAvailableAssets(Prefab.class).size());
+    protected void load(ResourceUrn urn) {
+        assetManager.getAsset(urn, Prefab.class);
     }
 
     @Override
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine.modes.loadProcesses;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Queues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.context.Context;
+import org.terasology.engine.GameThread;
+import org.terasology.engine.subsystem.common.ThreadManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A load process that loads independent items, such as assets, on the engine's worker threads instead of one item per
+ * step on the game thread.
+ * <br><br>
+ * The items are given in batches. The items of a batch are loaded in parallel, and a batch is only started once the
+ * previous one is done, so that a batch can rely on what the batches before it loaded. Work that has to happen on the
+ * game thread, such as creating OpenGL resources through {@link GameThread#synch(Runnable)}, is run while the process
+ * steps.
+ *
+ * @param <T> The type of the items to load
+ */
+public abstract class ParallelLoadProcess<T> extends StepBasedLoadProcess {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelLoadProcess.class);
+
+    private static final long WAIT_PER_STEP_MS = 1;
+
+    private final ThreadManager threadManager;
+
+    private Iterator<? extends Collection<T>> batches;
+    private int remainingInBatch;
+    private final BlockingQueue<T> loadedItems = Queues.newLinkedBlockingQueue();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong loadTime = new AtomicLong();
+    private long startTime;
+    private int itemCount;
+
+    protected ParallelLoadProcess(Context context) {
+        this.threadManager = context.get(ThreadManager.class);
+    }
+
+    /**
+     * @return The items to load, in batches that are loaded one after the other
+     */
+    protected abstract List<? extends Collection<T>> getBatches();
+
+    /**
+     * Loads a single item. This is called on a worker thread.
+     */
+    protected abstract void load(T item);
+
+    @Override
+    public void begin() {
+        List<? extends Collection<T>> allBatches = getBatches();
+        itemCount = 0;
+        for (Collection<T> batch : allBatches) {
+            itemCount += batch.size();
+        }
+        setTotalSteps(itemCount);
+        startTime = System.nanoTime();
+        batches = allBatches.iterator();
+        remainingInBatch = 0;
+    }
+
+    @Override
+    public boolean step() {
+        GameThread.processWaitingProcesses();
+        Throwable error = failure.get();
+        if (error != null) {
+            throw Throwables.propagate(error);
+        }
+        while (remainingInBatch == 0) {
+            if (!batches.hasNext()) {
+                logger.debug("{} loaded {} items in {} ms, {} ms of work", getMessage(), itemCount,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), TimeUnit.NANOSECONDS.toMillis(loadTime.get()));
+                return true;
+            }
+            submit(batches.next());
+        }
+        try {
+            T item = loadedItems.poll(WAIT_PER_STEP_MS, TimeUnit.MILLISECONDS);
+            while (item != null) {
+                remainingInBatch--;
+                stepDone();
+                item = loadedItems.poll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void submit(Collection<T> batch) {
+        remainingInBatch = batch.size();
+        for (T item : batch) {
+            Runnable task = () -> {
+                long itemStart = System.nanoTime();
+                try {
+                    load(item);
+                } catch (RuntimeException | Error e) {
+                    // Failures are rethrown on the game thread, as if the item had been loaded there
+                    failure.compareAndSet(null, e);
+                } finally {
+                    loadTime.addAndGet(System.nanoTime() - itemStart);
+                    loadedItems.add(item);
+                }
+            };
+            if (threadManager != null) {
+                threadManager.submitTask(getMessage(), task);
+            } else {
+                task.run();
+            }
+        }
+    }
+}
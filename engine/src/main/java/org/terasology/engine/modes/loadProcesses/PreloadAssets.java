@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine.modes.loadProcesses;
+
+import com.google.common.collect.Lists;
+import org.terasology.assets.Asset;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.context.Context;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Loads all available assets of some asset types on worker threads, so that later load processes find them loaded.
+ * Asset types are loaded in the order they are added with {@link #thenLoad(Class[])}, so assets can be loaded after the
+ * assets they depend on.
+ */
+public class PreloadAssets extends ParallelLoadProcess<PreloadAssets.AssetToLoad> {
+    private final AssetManager assetManager;
+    private final String message;
+    private final List<List<Class<? extends Asset<?>>>> assetTypeBatches = Lists.newArrayList();
+
+    public PreloadAssets(Context context, String message) {
+        super(context);
+        this.assetManager = context.get(AssetManager.class);
+        this.message = message;
+    }
+
+    /**
+     * Adds asset types to load in parallel, once the asset types added before are loaded.
+     *
+     * @return This process
+     */
+    @SafeVarargs
+    public final PreloadAssets thenLoad(Class<? extends Asset<?>>... assetTypes) {
+        assetTypeBatches.add(Lists.newArrayList(assetTypes));
+        return this;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    protected List<? extends Collection<AssetToLoad>> getBatches() {
+        List<List<AssetToLoad>> batches = Lists.newArrayList();
+        for (List<Class<? extends Asset<?>>> assetTypes : assetTypeBatches) {
+            List<AssetToLoad> batch = Lists.newArrayList();
+            for (Class<? extends Asset<?>> assetType : assetTypes) {
+                for (ResourceUrn urn : assetManager.getAvailableAssets(assetType)) {
+                    batch.add(new AssetToLoad(urn, assetType));
+                }
+            }
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void load(AssetToLoad asset) {
+        // The raw type lets the asset manager infer the asset data type, which is of no interest here
+        assetManager.getAsset(asset.urn, (Class) asset.type);
+    }
+
+    @Override
+    public int getExpectedCost() {
+        return 1;
+    }
+
+    static final class AssetToLoad {
+        private final ResourceUrn urn;
+        private final Class<? extends Asset<?>> type;
+
+        private AssetToLoad(ResourceUrn urn, Class<? extends Asset<?>> type) {
+            this.urn = urn;
+            this.type = type;
+        }
+    }
+}
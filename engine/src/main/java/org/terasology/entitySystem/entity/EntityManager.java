@@ -23,6 +23,7 @@
 import org.terasology.math.geom.Quat4f;
 import org.terasology.math.geom.Vector3f;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -101,6 +102,18 @@ public interface EntityManager {
      */
     EntityRef create(Prefab prefab, Vector3f position, Quat4f rotation);
 
+    /**
+     * Creates a number of entities from a prefab at once. This is cheaper than creating them one by one, as the ids
+     * are reserved in a block and change subscribers and lifecycle event handlers are notified for all entities together,
+     * once all of them have been created.
+     *
+     * @param prefab    The prefab to create the entities from
+     * @param count     The number of entities to create
+     * @param positions The world position of each entity, or null to keep the position of the prefab
+     * @return The new entities, in the order of the given positions
+     */
+    List<EntityRef> createFromPrefab(Prefab prefab, int count, List<Vector3f> positions);
+
     /**
      * @param id
      * @return The entity with the given id, or the null entity
@@ -157,7 +170,7 @@ public interface EntityManager {
     ComponentLibrary getComponentLibrary();
 
     /**
-     * @return A count of currently active entities
+     * @return A count of currently active entities, which are those that are loaded
      */
     int getActiveEntityCount();
 }
@@ -34,10 +34,31 @@ public abstract class BaseEntityRef extends EntityRef {
 
     protected LowLevelEntityManager entityManager;
 
+    private EntityHandleTable handles;
+    private int handle;
+    private int generation;
+
     public BaseEntityRef(LowLevelEntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
+    /**
+     * Binds this ref to the handle of its entity, so that it stops existing once the entity is destroyed.
+     */
+    void bindHandle(EntityHandleTable handleTable, int entityHandle, int handleGeneration) {
+        this.handles = handleTable;
+        this.handle = entityHandle;
+        this.generation = handleGeneration;
+    }
+
+    /**
+     * @return Whether the handle this ref is bound to still belongs to its entity. Refs that are not bound to a handle
+     * are only invalidated explicitly.
+     */
+    protected boolean isHandleValid() {
+        return handles == null || handles.isValid(getId(), handle, generation);
+    }
+
     @Override
     public boolean isPersistent() {
         return exists() && (!isActive() || getEntityInfo().persisted);
@@ -16,10 +16,13 @@
 
 package org.terasology.entitySystem.entity.internal;
 
+import com.google.common.collect.ListMultimap;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
 
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Primarily for internal use, is informed of all component lifecycle events for all components.
@@ -29,8 +32,30 @@ public interface EntityChangeSubscriber {
 
     void onEntityComponentAdded(EntityRef entity, Class<? extends Component> component);
 
+    /**
+     * Called once for a batch of new entities, instead of {@link #onEntityComponentAdded(EntityRef, Class)} for each of
+     * their components. By default every added component is handled individually.
+     *
+     * @param addedComponents The types of the components of each new entity
+     */
+    default void onEntityComponentsAdded(ListMultimap<EntityRef, Class<? extends Component>> addedComponents) {
+        for (Map.Entry<EntityRef, Class<? extends Component>> entry : addedComponents.entries()) {
+            onEntityComponentAdded(entry.getKey(), entry.getValue());
+        }
+    }
+
     void onEntityComponentChange(EntityRef entity, Class<? extends Component> component);
 
+    /**
+     * Called instead of {@link #onEntityComponentChange(EntityRef, Class)} when it is known which fields of the
+     * component changed. By default the change is handled as a change of the whole component.
+     *
+     * @param changedFields The fields that changed, never empty
+     */
+    default void onEntityComponentChange(EntityRef entity, Class<? extends Component> component, Collection<? extends ComponentFieldMetadata<?, ?>> changedFields) {
+        onEntityComponentChange(entity, component);
+    }
+
     void onEntityComponentRemoved(EntityRef entity, Class<? extends Component> component);
 
     void onReactivation(EntityRef entity, Collection<Component> components);
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Maps entity ids to generational handles, which entity refs use to check whether their entity still exists.
+ * <br><br>
+ * Each loaded entity occupies a slot. A slot has a generation counter, which is incremented when the entity is
+ * destroyed. A ref remembers the slot and generation it was created with, so validating it is a pair of array reads,
+ * and refs no longer need to be unique per entity. Released slots are recycled for other entities, which is safe
+ * because the generation no longer matches for refs to the previous occupant. Entity ids themselves are never
+ * recycled, as they are persisted in stores and referenced from other entities.
+ * <br><br>
+ * When an entity is deactivated for storage, its slot is parked rather than released, so refs to the entity keep
+ * existing and are still invalidated should the entity be loaded again and destroyed. Parked slots are given to other
+ * entities, oldest first, once more entities are parked than loaded, which keeps the table bounded by the number of
+ * loaded entities. Refs to an entity whose parked slot was given away only exist again while the entity is loaded.
+ * Unknown and unloaded ids never get a slot.
+ * <br><br>
+ * Slots are only acquired and released on the game thread, which loads and unloads entities. Looking up the slot of
+ * an entity and validating a handle does not lock, so that refs can be created and checked by systems updating in
+ * parallel.
+ */
+final class EntityHandleTable {
+    static final int NO_SLOT = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final TLongIntMap slotsById = new TLongIntHashMap(INITIAL_CAPACITY, 0.5f, 0, NO_SLOT);
+    private final TIntArrayList freeSlots = new TIntArrayList();
+    private volatile int[] generations = new int[INITIAL_CAPACITY];
+    private long[] slotIds = new long[INITIAL_CAPACITY];
+    private boolean[] parked = new boolean[INITIAL_CAPACITY];
+    private int slotCount;
+    private int loadedCount;
+
+    // Parked slots form a queue, linked through these arrays so that reloaded entities can leave it in constant time
+    private int[] nextParked = new int[INITIAL_CAPACITY];
+    private int[] previousParked = new int[INITIAL_CAPACITY];
+    private int oldestParked = NO_SLOT;
+    private int newestParked = NO_SLOT;
+    private int parkedCount;
+
+    /**
+     * Assigns a slot to an entity that is being loaded. An entity that was deactivated for storage gets its parked
+     * slot back if it is still available.
+     *
+     * @return The slot of the entity
+     */
+    synchronized int acquire(long entityId) {
+        int slot = slotsById.get(entityId);
+        if (slot != NO_SLOT) {
+            if (parked[slot]) {
+                unpark(slot);
+                loadedCount++;
+            }
+            return slot;
+        }
+        slot = takeSlot();
+        slotIds[slot] = entityId;
+        slotsById.put(entityId, slot);
+        loadedCount++;
+        return slot;
+    }
+
+    /**
+     * Parks the slot of an entity that is deactivated for storage, so that refs to it stay valid.
+     */
+    synchronized void park(long entityId) {
+        int slot = slotsById.get(entityId);
+        if (slot == NO_SLOT || parked[slot]) {
+            return;
+        }
+        parked[slot] = true;
+        previousParked[slot] = newestParked;
+        nextParked[slot] = NO_SLOT;
+        if (newestParked != NO_SLOT) {
+            nextParked[newestParked] = slot;
+        } else {
+            oldestParked = slot;
+        }
+        newestParked = slot;
+        parkedCount++;
+        loadedCount--;
+    }
+
+    /**
+     * Invalidates all handles to the entity and frees its slot.
+     */
+    synchronized void release(long entityId) {
+        int slot = slotsById.remove(entityId);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        if (parked[slot]) {
+            unpark(slot);
+        } else {
+            loadedCount--;
+        }
+        generations[slot]++;
+        freeSlots.add(slot);
+    }
+
+    /**
+     * Invalidates all handles and frees all slots.
+     */
+    synchronized void clear() {
+        freeSlots.clear();
+        for (int slot = slotCount - 1; slot >= 0; slot--) {
+            generations[slot]++;
+            parked[slot] = false;
+            freeSlots.add(slot);
+        }
+        slotsById.clear();
+        oldestParked = NO_SLOT;
+        newestParked = NO_SLOT;
+        parkedCount = 0;
+        loadedCount = 0;
+    }
+
+    /**
+     * @return The slot of the entity, or {@link #NO_SLOT} if it is neither loaded nor parked
+     */
+    int getSlot(long entityId) {
+        return slotsById.get(entityId);
+    }
+
+    int getGeneration(int slot) {
+        return generations[slot];
+    }
+
+    /**
+     * @return Whether the entity the handle was created for still exists
+     */
+    boolean isValid(long entityId, int slot, int generation) {
+        int[] currentGenerations = generations;
+        if (slot < currentGenerations.length && currentGenerations[slot] == generation) {
+            return true;
+        }
+        // The entity was destroyed, or stored and its slot given away. Ids are never reused, so if the entity is
+        // loaded now it is the one the ref was created for
+        int currentSlot = slotsById.get(entityId);
+        boolean[] currentlyParked = parked;
+        return currentSlot != NO_SLOT && currentSlot < currentlyParked.length && !currentlyParked[currentSlot];
+    }
+
+    /**
+     * @return The number of entities that occupy a slot, loaded or parked
+     */
+    synchronized int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * @return The number of slots, which bounds the memory used by the table
+     */
+    synchronized int capacity() {
+        return slotCount;
+    }
+
+    private int takeSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.removeAt(freeSlots.size() - 1);
+        }
+        if (parkedCount > loadedCount) {
+            int slot = oldestParked;
+            unpark(slot);
+            slotsById.remove(slotIds[slot]);
+            generations[slot]++;
+            return slot;
+        }
+        if (slotCount == generations.length) {
+            grow(slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void unpark(int slot) {
+        int previous = previousParked[slot];
+        int next = nextParked[slot];
+        if (previous != NO_SLOT) {
+            nextParked[previous] = next;
+        } else {
+            oldestParked = next;
+        }
+        if (next != NO_SLOT) {
+            previousParked[next] = previous;
+        } else {
+            newestParked = previous;
+        }
+        parked[slot] = false;
+        parkedCount--;
+    }
+
+    private void grow(int capacity) {
+        slotIds = Arrays.copyOf(slotIds, capacity);
+        parked = Arrays.copyOf(parked, capacity);
+        nextParked = Arrays.copyOf(nextParked, capacity);
+        previousParked = Arrays.copyOf(previousParked, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+    }
+}
@@ -16,9 +16,10 @@
 package org.terasology.entitySystem.entity.internal;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
+import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Sets;
 
 import gnu.trove.iterator.TLongIterator;
@@ -30,6 +31,7 @@
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityBuilder;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -40,7 +42,9 @@
 import org.terasology.entitySystem.entity.lifecycleEvents.OnAddedComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.entitySystem.event.internal.EventSystem;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.logic.location.LocationComponent;
@@ -68,8 +72,13 @@ public class PojoEntityManager implements EngineEntityManager {
 
     private long nextEntityId = 1;
     private TLongSet loadedIds = new TLongHashSet();
-    private Map<Long, BaseEntityRef> entityCache = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
+    private EntityHandleTable handles = new EntityHandleTable();
     private ComponentTable store = new ComponentTable();
+    /**
+     * Copies of components as they were last saved, used to detect which fields a save changes. A shadow is only
+     * taken on the first save of a component, so that components that are never saved cost no extra memory.
+     */
+    private ComponentTable shadowStore = new ComponentTable();
 
     private Set<EntityChangeSubscriber> subscribers = Sets.newLinkedHashSet();
     private Set<EntityDestroySubscriber> destroySubscribers = Sets.newLinkedHashSet();
@@ -98,11 +107,11 @@ public void setPrefabManager(PrefabManager prefabManager) {
 
     @Override
     public void clear() {
-        entityCache.values().forEach(BaseEntityRef::invalidate);
+        handles.clear();
         store.clear();
+        shadowStore.clear();
         nextEntityId = 1;
         loadedIds.clear();
-        entityCache.clear();
     }
 
     @Override
@@ -151,6 +160,7 @@ private long createEntity() {
             nextEntityId++;
         }
         loadedIds.add(nextEntityId);
+        handles.acquire(nextEntityId);
         return nextEntityId++;
     }
 
@@ -177,9 +187,29 @@ public void setEntityRefStrategy(RefStrategy strategy) {
         this.refStrategy = strategy;
     }
 
+    /**
+     * Reserves a block of consecutive entity ids and marks them as loaded.
+     *
+     * @return The first id of the block
+     */
+    private long createEntities(int count) {
+        if (nextEntityId == NULL_ID) {
+            nextEntityId++;
+        }
+        long firstId = nextEntityId;
+        nextEntityId += count;
+        for (long id = firstId; id < nextEntityId; id++) {
+            loadedIds.add(id);
+            handles.acquire(id);
+        }
+        return firstId;
+    }
+
     private EntityRef createEntity(Iterable<Component> components) {
-        long entityId = createEntity();
+        return createEntity(createEntity(), components);
+    }
 
+    private EntityRef createEntity(long entityId, Iterable<Component> components) {
         Prefab prefab = null;
         for (Component component : components) {
             if (component instanceof EntityInfoComponent) {
@@ -264,6 +294,45 @@ public EntityRef create(Prefab prefab, Vector3f position) {
         return create(components);
     }
 
+    @Override
+    public List<EntityRef> createFromPrefab(Prefab prefab, int count, List<Vector3f> positions) {
+        Preconditions.checkArgument(count >= 0, "Cannot create a negative number of entities");
+        Preconditions.checkArgument(positions == null || positions.size() == count, "Expected one position per entity");
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+
+        long firstId = createEntities(count);
+        List<EntityRef> entities = Lists.newArrayListWithCapacity(count);
+        ListMultimap<EntityRef, Class<? extends Component>> addedComponents = MultimapBuilder.linkedHashKeys(count).arrayListValues().build();
+        for (int i = 0; i < count; i++) {
+            List<Component> components = Lists.newArrayList();
+            for (Component component : prefab.iterateComponents()) {
+                Component newComp = componentLibrary.copy(component);
+                components.add(newComp);
+                if (positions != null && newComp instanceof LocationComponent) {
+                    ((LocationComponent) newComp).setWorldPosition(positions.get(i));
+                }
+            }
+            components.add(new EntityInfoComponent(prefab, prefab.isPersisted(), prefab.isAlwaysRelevant()));
+
+            EntityRef entity = createEntity(firstId + i, components);
+            entities.add(entity);
+            for (Component component : components) {
+                addedComponents.put(entity, component.getClass());
+            }
+        }
+
+        if (eventSystem != null) {
+            eventSystem.send(entities, OnAddedComponent.newInstance());
+            eventSystem.send(entities, OnActivatedComponent.newInstance());
+        }
+        for (EntityChangeSubscriber subscriber : subscribers) {
+            subscriber.onEntityComponentsAdded(addedComponents);
+        }
+        return entities;
+    }
+
     @Override
     public EntityRef create(Prefab prefab) {
         List<Component> components = Lists.newArrayList();
@@ -349,7 +418,7 @@ private Iterable<EntityRef> iterateEntities(Class<? extends Component> component
 
     @Override
     public int getActiveEntityCount() {
-        return entityCache.size();
+        return loadedIds.size();
     }
 
     @Override
@@ -422,6 +491,7 @@ public EntityRef createEntityWithId(long id, Iterable<Component> components) {
             store.put(id, c);
         }
         loadedIds.add(id);
+        handles.acquire(id);
         EntityRef entity = createEntityRef(id);
         if (eventSystem != null) {
             eventSystem.send(entity, OnActivatedComponent.newInstance());
@@ -470,7 +540,9 @@ public void deactivateForStorage(EntityRef entity) {
             for (Component component: components) {
                 store.remove(entityId, component.getClass());
             }
+            shadowStore.remove(entityId);
             loadedIds.remove(entityId);
+            handles.park(entityId);
         }
     }
 
@@ -529,6 +601,7 @@ public Iterable<Component> iterateComponents(long entityId) {
      */
     @Override
     public void destroy(long entityId) {
+        checkNotInParallelUpdate();
         // Don't allow the destruction of unloaded entities.
         if (!loadedIds.contains(entityId)) {
             return;
@@ -550,12 +623,10 @@ public void destroy(long entityId) {
     private void destroy(EntityRef ref) {
         // Don't allow the destruction of unloaded entities.
         long entityId = ref.getId();
-        entityCache.remove(entityId);
+        handles.release(entityId);
         loadedIds.remove(entityId);
-        if (ref instanceof PojoEntityRef) {
-            ((PojoEntityRef) ref).invalidate();
-        }
         store.remove(entityId);
+        shadowStore.remove(entityId);
     }
 
     /**
@@ -581,9 +652,11 @@ public <T extends Component> T getComponent(long entityId, Class<T> componentCla
     @Override
     public <T extends Component> T addComponent(long entityId, T component) {
         Preconditions.checkNotNull(component);
+        checkNotInParallelUpdate();
         Component oldComponent = store.put(entityId, component);
         if (oldComponent != null) {
             logger.error("Adding a component ({}) over an existing component for entity {}", component.getClass(), entityId);
+            shadowStore.remove(entityId, component.getClass());
         }
         if (oldComponent == null) {
             notifyComponentAdded(getEntity(entityId), component.getClass());
@@ -610,6 +683,7 @@ public <T extends Component> T addComponent(long entityId, T component) {
      */
     @Override
     public <T extends Component> T removeComponent(long entityId, Class<T> componentClass) {
+        checkNotInParallelUpdate();
         T component = store.get(entityId, componentClass);
         if (component != null) {
             if (eventSystem != null) {
@@ -619,6 +693,7 @@ public <T extends Component> T removeComponent(long entityId, Class<T> component
             }
             notifyComponentRemoved(getEntity(entityId), componentClass);
             store.remove(entityId, componentClass);
+            shadowStore.remove(entityId, componentClass);
         }
         return component;
     }
@@ -631,23 +706,31 @@ public <T extends Component> T removeComponent(long entityId, Class<T> component
      */
     @Override
     public void saveComponent(long entityId, Component component) {
+        checkNotInParallelUpdate();
         Component oldComponent = store.put(entityId, component);
         if (oldComponent == null) {
             logger.error("Saving a component ({}) that doesn't belong to this entity {}", component.getClass(), entityId);
-        }
-        if (eventSystem != null) {
-            EntityRef entityRef = createEntityRef(entityId);
-            if (oldComponent == null) {
+            if (eventSystem != null) {
+                EntityRef entityRef = createEntityRef(entityId);
                 eventSystem.send(entityRef, OnAddedComponent.newInstance(), component);
                 eventSystem.send(entityRef, OnActivatedComponent.newInstance(), component);
-            } else {
-                eventSystem.send(entityRef, OnChangedComponent.newInstance(), component);
             }
-        }
-        if (oldComponent == null) {
             notifyComponentAdded(getEntity(entityId), component.getClass());
-        } else {
+            return;
+        }
+
+        List<? extends ComponentFieldMetadata<?, ?>> changedFields = detectChangedFields(entityId, component);
+        if (changedFields != null && changedFields.isEmpty()) {
+            // Nothing changed since the last save
+            return;
+        }
+        if (eventSystem != null) {
+            eventSystem.send(createEntityRef(entityId), OnChangedComponent.newInstance(), component);
+        }
+        if (changedFields == null) {
             notifyComponentChanged(getEntity(entityId), component.getClass());
+        } else {
+            notifyComponentChanged(getEntity(entityId), component.getClass(), changedFields);
         }
     }
 
@@ -659,15 +742,25 @@ private EntityRef createEntityRef(long entityId) {
         if (entityId == NULL_ID) {
             return EntityRef.NULL;
         }
-        BaseEntityRef existing = entityCache.get(entityId);
-        if (existing != null) {
-            return existing;
-        }
         BaseEntityRef newRef = refStrategy.createRefFor(entityId, this);
-        entityCache.put(entityId, newRef);
+        int handle = handles.getSlot(entityId);
+        if (handle != EntityHandleTable.NO_SLOT) {
+            newRef.bindHandle(handles, handle, handles.getGeneration(handle));
+        }
+        // Refs to unloaded or unknown ids are not bound, like the NULL ref they are only invalidated explicitly
         return newRef;
     }
 
+    /**
+     * Entity change subscribers, e.g. the network system, are not thread safe, so changes that notify them must not
+     * be made by systems updating in parallel. Those have to pass their changes to GameThread.asynch() instead.
+     */
+    private static void checkNotInParallelUpdate() {
+        if (GameThread.isInParallelUpdate()) {
+            throw new IllegalStateException("Entity changes during a parallel update must be passed to GameThread.asynch()");
+        }
+    }
+
     private void notifyComponentAdded(EntityRef changedEntity, Class<? extends Component> component) {
         for (EntityChangeSubscriber subscriber : subscribers) {
             subscriber.onEntityComponentAdded(changedEntity, component);
@@ -686,6 +779,35 @@ private void notifyComponentChanged(EntityRef changedEntity, Class<? extends Com
         }
     }
 
+    private void notifyComponentChanged(EntityRef changedEntity, Class<? extends Component> component,
+                                        Collection<? extends ComponentFieldMetadata<?, ?>> changedFields) {
+        for (EntityChangeSubscriber subscriber : subscribers) {
+            subscriber.onEntityComponentChange(changedEntity, component, changedFields);
+        }
+    }
+
+    /**
+     * Compares a saved component against its shadow copy.
+     *
+     * @return The fields that changed, or null if it is unknown which fields changed
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Component> List<ComponentFieldMetadata<T, ?>> detectChangedFields(long entityId, T component) {
+        if (componentLibrary == null) {
+            return null;
+        }
+        ComponentMetadata<T> metadata = componentLibrary.getMetadata(component);
+        if (metadata == null) {
+            return null;
+        }
+        T shadow = (T) shadowStore.get(entityId, component.getClass());
+        if (shadow == null) {
+            shadowStore.put(entityId, metadata.getChangeDetector().createShadow(component));
+            return null;
+        }
+        return metadata.getChangeDetector().updateShadow(shadow, component);
+    }
+
     /**
      * This method gets called when the entity gets reactivated. e.g. after storage an entity needs to be reactivated.
      */
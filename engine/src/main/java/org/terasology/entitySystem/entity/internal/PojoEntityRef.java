@@ -38,7 +38,7 @@ public long getId() {
 
     @Override
     public EntityRef copy() {
-        if (exists) {
+        if (exists()) {
             return entityManager.create(entityManager.copyComponents(this).values());
         }
         return NULL;
@@ -46,7 +46,7 @@ public EntityRef copy() {
 
     @Override
     public boolean exists() {
-        return exists;
+        return exists && isHandleValid();
     }
 
 
@@ -21,6 +21,8 @@
 import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.systems.ComponentSystem;
 
+import java.util.List;
+
 /**
  * Event system propagates events to registered handlers
  *
@@ -82,6 +84,18 @@ public interface EventSystem {
      */
     void send(EntityRef entity, Event event);
 
+    /**
+     * Sends an event to all handlers for the components of each of the given entities, one entity after the other.
+     *
+     * @param entities
+     * @param event
+     */
+    default void send(List<EntityRef> entities, Event event) {
+        for (EntityRef entity : entities) {
+            send(entity, event);
+        }
+    }
+
     /**
      * Sends an event to a handlers for a specific component of an entity
      *
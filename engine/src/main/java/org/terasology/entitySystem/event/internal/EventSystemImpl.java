@@ -30,6 +30,7 @@
 import org.reflections.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
 import org.terasology.engine.SimpleUri;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -41,6 +42,7 @@
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
 import org.terasology.entitySystem.systems.ComponentSystem;
+import org.terasology.monitoring.LatencyProfiler;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.BroadcastEvent;
 import org.terasology.network.Client;
@@ -245,9 +247,10 @@ public <T extends Event> void unregisterEventReceiver(EventReceiver<T> eventRece
 
     @Override
     public void send(EntityRef entity, Event event) {
-        if (Thread.currentThread() != mainThread) {
+        if (isDeferred()) {
             pendingEvents.offer(new PendingEvent(entity, event));
         } else {
+            long start = LatencyProfiler.start();
             networkReplicate(entity, event);
 
             Set<EventHandlerInfo> selectedHandlersSet = selectEventHandlers(event.getClass(), entity);
@@ -259,9 +262,59 @@ public void send(EntityRef entity, Event event) {
             } else {
                 sendStandardEvent(entity, event, selectedHandlers);
             }
+            recordLatency(event, start);
         }
     }
 
+    @Override
+    public void send(List<EntityRef> entities, Event event) {
+        if (isDeferred()) {
+            for (EntityRef entity : entities) {
+                pendingEvents.offer(new PendingEvent(entity, event));
+            }
+            return;
+        }
+        long start = LatencyProfiler.start();
+        // Entities of a batch usually share their components, so the sorted handlers are reused between them
+        Map<Set<EventHandlerInfo>, List<EventHandlerInfo>> sortedHandlersCache = Maps.newHashMap();
+        for (EntityRef entity : entities) {
+            networkReplicate(entity, event);
+
+            Set<EventHandlerInfo> selectedHandlersSet = selectEventHandlers(event.getClass(), entity);
+            List<EventHandlerInfo> selectedHandlers = sortedHandlersCache.get(selectedHandlersSet);
+            if (selectedHandlers == null) {
+                selectedHandlers = Lists.newArrayList(selectedHandlersSet);
+                Collections.sort(selectedHandlers, priorityComparator);
+                sortedHandlersCache.put(selectedHandlersSet, selectedHandlers);
+            }
+
+            if (event instanceof ConsumableEvent) {
+                sendConsumableEvent(entity, event, selectedHandlers);
+            } else {
+                sendStandardEvent(entity, event, selectedHandlers);
+            }
+        }
+        recordLatency(event, start);
+    }
+
+    /**
+     * Records the time the event took to send with the {@link LatencyProfiler}, including any events sent by its
+     * handlers.
+     */
+    private void recordLatency(Event event, long start) {
+        if (LatencyProfiler.isEnabled()) {
+            LatencyProfiler.record(LatencyProfiler.Category.EVENT, event.getClass().getSimpleName(), start);
+        }
+    }
+
+    /**
+     * Events sent from other threads, or by systems updating in parallel, are queued until the next {@link #process()}.
+     * Parallel updates may run on the main thread too, whose handlers must not run during them.
+     */
+    private boolean isDeferred() {
+        return Thread.currentThread() != mainThread || GameThread.isInParallelUpdate();
+    }
+
     private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
@@ -345,7 +398,7 @@ private void broadcastEvent(EntityRef entity, Event event, EventMetadata metadat
 
     @Override
     public void send(EntityRef entity, Event event, Component component) {
-        if (Thread.currentThread() != mainThread) {
+        if (isDeferred()) {
             pendingEvents.offer(new PendingEvent(entity, event, component));
         } else {
             SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(event.getClass());
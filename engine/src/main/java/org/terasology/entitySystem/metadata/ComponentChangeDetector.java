@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.metadata;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Primitives;
+import org.terasology.assets.Asset;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.utilities.ReflectionUtil;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Detects which fields of a component changed, by comparing it against a shadow copy taken when it was last saved.
+ * <br><br>
+ * A field is only compared if a copy of its value is guaranteed to be independent of the original: primitives, strings,
+ * enums, entity and asset references, types with a registered copy strategy and collections of those. All other fields
+ * may be mutated in place without the shadow noticing, so they are reported as changed on every comparison.
+ *
+ * @param <T> The type of the component
+ */
+public class ComponentChangeDetector<T extends Component> {
+
+    private final ComponentMetadata<T> metadata;
+    private final List<ComponentFieldMetadata<T, ?>> comparedFields;
+    private final List<ComponentFieldMetadata<T, ?>> uncomparedFields;
+
+    ComponentChangeDetector(ComponentMetadata<T> metadata, CopyStrategyLibrary copyStrategies) {
+        this.metadata = metadata;
+        List<ComponentFieldMetadata<T, ?>> compared = Lists.newArrayList();
+        List<ComponentFieldMetadata<T, ?>> uncompared = Lists.newArrayList();
+        for (ComponentFieldMetadata<T, ?> field : metadata.getFields()) {
+            if (isComparable(field.getField().getGenericType(), copyStrategies)) {
+                compared.add(field);
+            } else {
+                uncompared.add(field);
+            }
+        }
+        this.comparedFields = ImmutableList.copyOf(compared);
+        this.uncomparedFields = ImmutableList.copyOf(uncompared);
+    }
+
+    /**
+     * @return Whether every field of the component can be compared, so that saves that change nothing can be detected
+     */
+    public boolean isFullyComparable() {
+        return uncomparedFields.isEmpty();
+    }
+
+    /**
+     * @param component The component to take a shadow copy of
+     * @return A copy of the component, to be passed to {@link #updateShadow(Component, Component)} later on
+     */
+    public T createShadow(T component) {
+        return metadata.copy(component);
+    }
+
+    /**
+     * Compares a component against its shadow copy and brings the shadow up to date.
+     *
+     * @param shadow    The shadow copy, as created by {@link #createShadow(Component)}
+     * @param component The current state of the component
+     * @return The fields that changed since the shadow was last updated, empty if nothing changed
+     */
+    public List<ComponentFieldMetadata<T, ?>> updateShadow(T shadow, T component) {
+        List<ComponentFieldMetadata<T, ?>> changedFields = null;
+        for (ComponentFieldMetadata<T, ?> field : comparedFields) {
+            if (!Objects.deepEquals(field.getValue(shadow), field.getValue(component))) {
+                field.setValue(shadow, field.getCopyOfValue(component));
+                if (changedFields == null) {
+                    changedFields = Lists.newArrayListWithCapacity(comparedFields.size() + uncomparedFields.size());
+                }
+                changedFields.add(field);
+            }
+        }
+        if (uncomparedFields.isEmpty()) {
+            return (changedFields == null) ? Collections.emptyList() : changedFields;
+        }
+        if (changedFields == null) {
+            return uncomparedFields;
+        }
+        changedFields.addAll(uncomparedFields);
+        return changedFields;
+    }
+
+    private static boolean isComparable(Type type, CopyStrategyLibrary copyStrategies) {
+        Class<?> typeClass = ReflectionUtil.getClassOfType(type);
+        if (typeClass == null) {
+            return false;
+        }
+        if (typeClass.isPrimitive() || Primitives.isWrapperType(typeClass) || typeClass == String.class || typeClass.isEnum()) {
+            return true;
+        }
+        if (EntityRef.class.isAssignableFrom(typeClass) || Asset.class.isAssignableFrom(typeClass)) {
+            return true;
+        }
+        if (List.class.isAssignableFrom(typeClass) || Set.class.isAssignableFrom(typeClass)) {
+            Type parameter = ReflectionUtil.getTypeParameter(type, 0);
+            return parameter != null && isComparable(parameter, copyStrategies);
+        }
+        if (Map.class.isAssignableFrom(typeClass)) {
+            Type keyParameter = ReflectionUtil.getTypeParameter(type, 0);
+            Type valueParameter = ReflectionUtil.getTypeParameter(type, 1);
+            return keyParameter != null && valueParameter != null
+                    && isComparable(keyParameter, copyStrategies) && isComparable(valueParameter, copyStrategies);
+        }
+        return copyStrategies.hasRegisteredStrategy(typeClass);
+    }
+}
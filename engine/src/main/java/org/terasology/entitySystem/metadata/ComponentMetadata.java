@@ -46,6 +46,7 @@
     private boolean retainUnalteredOnBlockChange;
     private boolean blockLifecycleEventsRequired;
     private List<Annotation> annotations;
+    private ComponentChangeDetector<T> changeDetector;
 
     /**
      * @param uri            The uri to identify the component with.
@@ -77,6 +78,7 @@ public ComponentMetadata(SimpleUri uri, Class<T> type, ReflectFactory factory, C
         }
 
         annotations = Lists.newArrayList(type.getAnnotations());
+        changeDetector = new ComponentChangeDetector<>(this, copyStrategies);
     }
 
     @Override
@@ -126,6 +128,13 @@ public boolean isBlockLifecycleEventsRequired() {
         return blockLifecycleEventsRequired;
     }
 
+    /**
+     * @return The detector for changes to the fields of this component
+     */
+    public ComponentChangeDetector<T> getChangeDetector() {
+        return changeDetector;
+    }
+
     public T getAnnotation(final Class<T> type) {
         return Iterables.getOnlyElement(Iterables.filter(annotations, type), null);
     }
@@ -15,19 +15,16 @@
  */
 package org.terasology.entitySystem.prefab.internal;
 
-import com.google.common.base.Charsets;
 import org.terasology.assets.format.AbstractAssetAlterationFileFormat;
 import org.terasology.assets.format.AssetDataFile;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.prefab.PrefabData;
-import org.terasology.persistence.serializers.EntityDataJSONFormat;
+import org.terasology.persistence.serializers.ParsedAssetCache;
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 /**
  */
@@ -35,20 +32,26 @@ public class PrefabDeltaFormat extends AbstractAssetAlterationFileFormat<PrefabD
 
     private final ComponentLibrary componentLibrary;
     private final TypeSerializationLibrary typeSerializationLibrary;
+    private final ParsedAssetCache cache;
 
     public PrefabDeltaFormat(ComponentLibrary componentLibrary, TypeSerializationLibrary typeSerializationLibrary) {
+        this(componentLibrary, typeSerializationLibrary, null);
+    }
+
+    /**
+     * @param cache The cache of parsed prefab files, or null to always parse them
+     */
+    public PrefabDeltaFormat(ComponentLibrary componentLibrary, TypeSerializationLibrary typeSerializationLibrary, ParsedAssetCache cache) {
         super("prefab");
         this.componentLibrary = componentLibrary;
         this.typeSerializationLibrary = typeSerializationLibrary;
+        this.cache = cache;
     }
 
     @Override
     public void apply(AssetDataFile assetDataFile, PrefabData assetData) throws IOException {
-
-        try (BufferedReader deltaReader = new BufferedReader(new InputStreamReader(assetDataFile.openStream(), Charsets.UTF_8))) {
-            EntityData.Prefab delta = EntityDataJSONFormat.readPrefab(deltaReader);
-            PrefabSerializer serializer = new PrefabSerializer(componentLibrary, typeSerializationLibrary);
-            serializer.deserializeDeltaOnto(delta, assetData);
-        }
+        EntityData.Prefab delta = PrefabFormat.readPrefab(assetDataFile, cache);
+        PrefabSerializer serializer = new PrefabSerializer(componentLibrary, typeSerializationLibrary);
+        serializer.deserializeDeltaOnto(delta, assetData);
     }
 }
@@ -16,6 +16,7 @@
 package org.terasology.entitySystem.prefab.internal;
 
 import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.assets.ResourceUrn;
@@ -24,12 +25,15 @@
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.prefab.PrefabData;
 import org.terasology.persistence.serializers.EntityDataJSONFormat;
+import org.terasology.persistence.serializers.ParsedAssetCache;
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.persistence.typeHandling.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
 
@@ -38,24 +42,48 @@ public class PrefabFormat extends AbstractAssetFileFormat<PrefabData> {
 
     private ComponentLibrary componentLibrary;
     private TypeSerializationLibrary typeSerializationLibrary;
+    private ParsedAssetCache cache;
 
     public PrefabFormat(ComponentLibrary componentLibrary, TypeSerializationLibrary typeSerializationLibrary) {
+        this(componentLibrary, typeSerializationLibrary, null);
+    }
+
+    /**
+     * @param cache The cache of parsed prefab files, or null to always parse them
+     */
+    public PrefabFormat(ComponentLibrary componentLibrary, TypeSerializationLibrary typeSerializationLibrary, ParsedAssetCache cache) {
         super("prefab");
         this.componentLibrary = componentLibrary;
         this.typeSerializationLibrary = typeSerializationLibrary;
+        this.cache = cache;
     }
 
     @Override
     public PrefabData load(ResourceUrn resourceUrn, List<AssetDataFile> inputs) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputs.get(0).openStream(), Charsets.UTF_8))) {
-            EntityData.Prefab prefabData = EntityDataJSONFormat.readPrefab(reader);
-            if (prefabData != null) {
-                logger.info("Attempting to deserialize prefab {} with inputs {}", resourceUrn, inputs);
-                PrefabSerializer serializer = new PrefabSerializer(componentLibrary, typeSerializationLibrary);
-                return serializer.deserialize(prefabData);
-            } else {
-                throw new IOException("Failed to read prefab for '" + resourceUrn + "'");
-            }
+        EntityData.Prefab prefabData = readPrefab(inputs.get(0), cache);
+        if (prefabData != null) {
+            logger.info("Attempting to deserialize prefab {} with inputs {}", resourceUrn, inputs);
+            PrefabSerializer serializer = new PrefabSerializer(componentLibrary, typeSerializationLibrary);
+            return serializer.deserialize(prefabData);
+        } else {
+            throw new IOException("Failed to read prefab for '" + resourceUrn + "'");
+        }
+    }
+
+    static EntityData.Prefab readPrefab(AssetDataFile input, ParsedAssetCache cache) throws IOException {
+        if (cache == null) {
+            return readPrefab(input.openStream());
+        }
+        byte[] source;
+        try (InputStream stream = input.openStream()) {
+            source = ByteStreams.toByteArray(stream);
+        }
+        return cache.load("prefab", source, EntityData.Prefab.PARSER, bytes -> readPrefab(new ByteArrayInputStream(bytes)));
+    }
+
+    private static EntityData.Prefab readPrefab(InputStream stream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, Charsets.UTF_8))) {
+            return EntityDataJSONFormat.readPrefab(reader);
         }
     }
 
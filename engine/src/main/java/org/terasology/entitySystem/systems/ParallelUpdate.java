@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.systems;
+
+import org.terasology.entitySystem.Component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link UpdateSubscriberSystem} whose update may run in parallel with other systems, and declares which
+ * components it accesses during the update. Systems that do not conflict are updated at the same time on a worker pool,
+ * if parallel updates are enabled in the system config.
+ * <br><br>
+ * While updating in parallel a system:
+ * <ul>
+ * <li>must only read the components listed in reads or writes, and only modify the components listed in writes</li>
+ * <li>may modify the fields of components listed in writes, but must not save them, create or destroy entities or
+ * add or remove components directly. Such changes have to be passed to
+ * {@link org.terasology.engine.GameThread#asynch(Runnable)}, they are applied on the main thread once all systems of
+ * the phase are done. Saving directly would notify entity change subscribers off the main thread, so the entity
+ * manager throws an IllegalStateException instead</li>
+ * <li>must not call {@link org.terasology.engine.GameThread#synch(Runnable)}, which would deadlock as the main thread
+ * waits for all systems of the phase before it runs any process. It throws an IllegalStateException instead</li>
+ * <li>may send events, which are queued and processed on the main thread once all systems of the phase are done</li>
+ * </ul>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ParallelUpdate {
+
+    /**
+     * @return The components that are only read during the update
+     */
+    Class<? extends Component>[] reads() default {};
+
+    /**
+     * @return The components that are modified during the update
+     */
+    Class<? extends Component>[] writes() default {};
+}
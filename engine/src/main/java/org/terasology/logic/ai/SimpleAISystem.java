@@ -23,12 +23,14 @@
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.characters.CharacterComponent;
 import org.terasology.logic.characters.CharacterMoveInputEvent;
 import org.terasology.logic.characters.CharacterMovementComponent;
 import org.terasology.logic.characters.events.HorizontalCollisionEvent;
 import org.terasology.logic.location.LocationComponent;
-import org.terasology.logic.players.LocalPlayer;
+import org.terasology.logic.location.LocationIndex;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
 import org.terasology.registry.In;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
@@ -38,6 +40,8 @@
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 public class SimpleAISystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final float MIN_FOLLOW_DISTANCE = (float) Math.sqrt(6);
+    private static final float MAX_FOLLOW_DISTANCE = 4;
 
     @In
     private WorldProvider worldProvider;
@@ -47,7 +51,7 @@ public class SimpleAISystem extends BaseComponentSystem implements UpdateSubscri
     @In
     private Time time;
     @In
-    private LocalPlayer localPlayer;
+    private LocationIndex locationIndex;
 
     @Override
     public void update(float delta) {
@@ -62,40 +66,54 @@ public void update(float delta) {
             SimpleAIComponent ai = entity.getComponent(SimpleAIComponent.class);
 
             Vector3f drive = new Vector3f();
-            // TODO: shouldn't use local player, need some way to find nearest player
-            if (localPlayer != null) {
-                Vector3f dist = new Vector3f(worldPos);
-                dist.sub(localPlayer.getPosition());
-                double distanceToPlayer = dist.lengthSquared();
+            Vector3f playerPos = findNearestPlayerPosition(worldPos);
+            Vector3f dist = new Vector3f();
+            if (playerPos != null) {
+                dist.sub(worldPos, playerPos);
+            }
 
-                if (distanceToPlayer > 6 && distanceToPlayer < 16) {
-                    // Head to player
-                    ai.movementTarget.set(localPlayer.getPosition());
-                    ai.followingPlayer = true;
+            if (playerPos != null && dist.lengthSquared() > MIN_FOLLOW_DISTANCE * MIN_FOLLOW_DISTANCE) {
+                // Head to player
+                ai.movementTarget.set(playerPos);
+                ai.followingPlayer = true;
+                entity.saveComponent(ai);
+            } else {
+                // Random walk
+                if (time.getGameTimeInMs() - ai.lastChangeOfDirectionAt > 12000 || ai.followingPlayer) {
+                    ai.movementTarget.set(worldPos.x + random.nextFloat(-500.0f, 500.0f), worldPos.y, worldPos.z + random.nextFloat(-500.0f, 500.0f));
+                    ai.lastChangeOfDirectionAt = time.getGameTimeInMs();
+                    ai.followingPlayer = false;
                     entity.saveComponent(ai);
-                } else {
-                    // Random walk
-                    if (time.getGameTimeInMs() - ai.lastChangeOfDirectionAt > 12000 || ai.followingPlayer) {
-                        ai.movementTarget.set(worldPos.x + random.nextFloat(-500.0f, 500.0f), worldPos.y, worldPos.z + random.nextFloat(-500.0f, 500.0f));
-                        ai.lastChangeOfDirectionAt = time.getGameTimeInMs();
-                        ai.followingPlayer = false;
-                        entity.saveComponent(ai);
-                    }
                 }
+            }
 
-                Vector3f targetDirection = new Vector3f();
-                targetDirection.sub(ai.movementTarget, worldPos);
-                targetDirection.normalize();
-                drive.set(targetDirection);
+            Vector3f targetDirection = new Vector3f();
+            targetDirection.sub(ai.movementTarget, worldPos);
+            targetDirection.normalize();
+            drive.set(targetDirection);
 
-                float yaw = (float) Math.atan2(targetDirection.x, targetDirection.z);
-                location.getLocalRotation().set(new Vector3f(0, 1, 0), yaw);
-                entity.saveComponent(location);
-            }
+            float yaw = (float) Math.atan2(targetDirection.x, targetDirection.z);
+            location.getLocalRotation().set(new Vector3f(0, 1, 0), yaw);
+            entity.saveComponent(location);
             entity.send(new CharacterMoveInputEvent(0, 0, 0, drive, false, false, time.getGameDeltaInMs()));
         }
     }
 
+    /**
+     * @return The position of the nearest character controlled by a player within following distance, or null if there
+     * is none
+     */
+    private Vector3f findNearestPlayerPosition(Vector3f worldPos) {
+        for (EntityRef character : locationIndex.getNearestEntities(worldPos, Integer.MAX_VALUE, MAX_FOLLOW_DISTANCE, CharacterComponent.class)) {
+            CharacterComponent characterComponent = character.getComponent(CharacterComponent.class);
+            LocationComponent characterLocation = character.getComponent(LocationComponent.class);
+            if (characterComponent != null && characterLocation != null && characterComponent.controller.hasComponent(ClientComponent.class)) {
+                return characterLocation.getWorldPosition();
+            }
+        }
+        return null;
+    }
+
     @ReceiveEvent(components = {SimpleAIComponent.class})
     public void onBump(HorizontalCollisionEvent event, EntityRef entity) {
         CharacterMovementComponent moveComp = entity.getComponent(CharacterMovementComponent.class);
@@ -23,11 +23,19 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.assets.ResourceUrn;
 import org.terasology.assets.management.AssetManager;
 import org.terasology.audio.StaticSound;
+import org.terasology.config.Config;
+import org.terasology.engine.GameThread;
 import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -43,14 +51,22 @@
 import org.terasology.logic.behavior.asset.BehaviorTreeData;
 import org.terasology.logic.behavior.asset.BehaviorTreeFormat;
 import org.terasology.logic.behavior.tree.Actor;
+import org.terasology.logic.behavior.tree.CompiledBehaviorTree;
 import org.terasology.logic.behavior.tree.Interpreter;
 import org.terasology.logic.behavior.tree.Node;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.naming.Name;
+import org.terasology.network.ClientComponent;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import gnu.trove.list.TFloatList;
+import gnu.trove.list.array.TFloatArrayList;
+import gnu.trove.map.TObjectFloatMap;
+import gnu.trove.map.hash.TObjectFloatHashMap;
 
 /**
  * Behavior tree system
@@ -59,6 +75,11 @@
  * is loaded and an interpreter is started.
  * <br><br>
  * Modifications made to a behavior tree will reflect to all entities using this tree.
+ * <br><br>
+ * Each tree is compiled once and shared by all interpreters running it. Optionally, actors further away from every
+ * player than the configured level of detail distance are only ticked every few frames, with the time passed since
+ * their last tick. Actors may also be ticked in parallel batches, in which case their nodes must only change entities
+ * through {@link Actor#save} and events. Actors being debugged are always ticked on the game thread.
  *
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
@@ -66,15 +87,24 @@
 public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     public static final Name BEHAVIORS = new Name("Behaviors");
 
+    private static final Logger logger = LoggerFactory.getLogger(BehaviorSystem.class);
+    private static final int BATCH_SIZE = 32;
+    private static final int DISTANT_TICK_INTERVAL = 4;
+
     @In
     private EntityManager entityManager;
     @In
     private PrefabManager prefabManager;
     @In
     private AssetManager assetManager;
+    @In
+    private Config config;
 
     private Map<EntityRef, Interpreter> entityInterpreters = Maps.newHashMap();
     private List<BehaviorTree> trees = Lists.newArrayList();
+    private Map<BehaviorTree, CompiledBehaviorTree> compiledTrees = Maps.newHashMap();
+    private TObjectFloatMap<EntityRef> skippedTime = new TObjectFloatHashMap<>();
+    private long frame;
 
     @Override
     public void initialise() {
@@ -98,14 +128,118 @@ public void onBehaviorActivated(OnActivatedComponent event, EntityRef entityRef,
     public void onBehaviorDeactivated(BeforeDeactivateComponent event, EntityRef entityRef, BehaviorComponent behaviorComponent) {
         if (behaviorComponent.tree != null) {
             entityInterpreters.remove(entityRef);
+            skippedTime.remove(entityRef);
         }
     }
 
     @Override
     public void update(float delta) {
-        for (Interpreter interpreter : entityInterpreters.values()) {
-            interpreter.tick(delta);
+        frame++;
+        float lodDistance = config.getSystem().getBehaviorLodDistance();
+        List<Vector3f> playerPositions = (lodDistance > 0) ? getPlayerPositions() : Collections.emptyList();
+
+        List<Interpreter> dueInterpreters = Lists.newArrayListWithCapacity(entityInterpreters.size());
+        TFloatList dueDeltas = new TFloatArrayList(entityInterpreters.size());
+        for (Map.Entry<EntityRef, Interpreter> entry : entityInterpreters.entrySet()) {
+            EntityRef entity = entry.getKey();
+            if (lodDistance > 0 && (frame + entity.getId()) % DISTANT_TICK_INTERVAL != 0
+                    && isDistant(entity, playerPositions, lodDistance)) {
+                skippedTime.adjustOrPutValue(entity, delta, delta);
+                continue;
+            }
+            dueInterpreters.add(entry.getValue());
+            dueDeltas.add(delta + skippedTime.remove(entity));
+        }
+
+        if (config.getSystem().isParallelBehaviorEnabled() && dueInterpreters.size() > BATCH_SIZE) {
+            tickInParallel(dueInterpreters, dueDeltas);
+        } else {
+            for (int i = 0; i < dueInterpreters.size(); i++) {
+                dueInterpreters.get(i).tick(dueDeltas.get(i));
+            }
+        }
+    }
+
+    private void tickInParallel(List<Interpreter> interpreters, TFloatList deltas) {
+        List<Callable<Void>> batches = Lists.newArrayList();
+        List<Interpreter> debugged = Lists.newArrayList();
+        TFloatList debuggedDeltas = new TFloatArrayList();
+        List<Interpreter> batch = Lists.newArrayListWithCapacity(BATCH_SIZE);
+        TFloatList batchDeltas = new TFloatArrayList(BATCH_SIZE);
+        for (int i = 0; i < interpreters.size(); i++) {
+            Interpreter interpreter = interpreters.get(i);
+            if (interpreter.isDebugged()) {
+                debugged.add(interpreter);
+                debuggedDeltas.add(deltas.get(i));
+                continue;
+            }
+            batch.add(interpreter);
+            batchDeltas.add(deltas.get(i));
+            if (batch.size() == BATCH_SIZE) {
+                batches.add(createBatch(batch, batchDeltas));
+                batch = Lists.newArrayListWithCapacity(BATCH_SIZE);
+                batchDeltas = new TFloatArrayList(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(createBatch(batch, batchDeltas));
+        }
+
+        List<Future<Void>> results = ForkJoinPool.commonPool().invokeAll(batches);
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                logger.error("Failed to tick behavior batch", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
+        // Apply the changes deferred by the actors
+        GameThread.processWaitingProcesses();
+
+        for (int i = 0; i < debugged.size(); i++) {
+            debugged.get(i).tick(debuggedDeltas.get(i));
+        }
+    }
+
+    private static Callable<Void> createBatch(List<Interpreter> interpreters, TFloatList deltas) {
+        // Run as a parallel update, so that nodes' entity changes are deferred or caught even when the game thread
+        // runs the batch
+        return GameThread.asParallelUpdate(() -> {
+            for (int i = 0; i < interpreters.size(); i++) {
+                interpreters.get(i).tick(deltas.get(i));
+            }
+            return null;
+        });
+    }
+
+    private List<Vector3f> getPlayerPositions() {
+        List<Vector3f> positions = Lists.newArrayList();
+        for (EntityRef client : entityManager.getEntitiesWith(ClientComponent.class)) {
+            LocationComponent location = client.getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+            if (location != null) {
+                positions.add(location.getWorldPosition());
+            }
+        }
+        return positions;
+    }
+
+    private boolean isDistant(EntityRef entity, List<Vector3f> playerPositions, float lodDistance) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return false;
+        }
+        Vector3f position = location.getWorldPosition();
+        Vector3f offset = new Vector3f();
+        for (Vector3f playerPosition : playerPositions) {
+            offset.set(position);
+            offset.sub(playerPosition);
+            if (offset.lengthSquared() <= lodDistance * lodDistance) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public BehaviorTree createTree(String name, Node root) {
@@ -150,7 +284,12 @@ public List<Interpreter> getInterpreter() {
     }
 
     public void treeModified(BehaviorTree tree) {
-        entityInterpreters.values().forEach(Interpreter::reset);
+        // Other trees may have inlined the modified one
+        compiledTrees.clear();
+        for (Map.Entry<EntityRef, Interpreter> entry : entityInterpreters.entrySet()) {
+            BehaviorComponent behavior = entry.getKey().getComponent(BehaviorComponent.class);
+            entry.getValue().reset((behavior != null) ? getCompiledTree(behavior.tree) : null);
+        }
         save(tree);
     }
 
@@ -160,9 +299,20 @@ private void addEntity(EntityRef entityRef, BehaviorComponent behaviorComponent)
             interpreter = new Interpreter(new Actor(entityRef));
             BehaviorTree tree = behaviorComponent.tree;
             entityInterpreters.put(entityRef, interpreter);
-            if (tree != null) {
-                interpreter.start(tree.getRoot());
+            CompiledBehaviorTree compiledTree = getCompiledTree(tree);
+            if (compiledTree != null) {
+                interpreter.start(compiledTree);
             }
         }
     }
+
+    /**
+     * @return The compiled form of the tree shared by all interpreters running it, or null if the tree is empty
+     */
+    private CompiledBehaviorTree getCompiledTree(BehaviorTree tree) {
+        if (tree == null || tree.getRoot() == null) {
+            return null;
+        }
+        return compiledTrees.computeIfAbsent(tree, key -> CompiledBehaviorTree.compile(key.getRoot()));
+    }
 }
@@ -19,6 +19,7 @@
 import java.util.Map;
 
 import org.terasology.engine.ComponentFieldUri;
+import org.terasology.engine.GameThread;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
@@ -103,8 +104,11 @@ public boolean hasComponent(Class<? extends Component> component) {
         return entity.hasComponent(component);
     }
 
+    /**
+     * Saves the component. When called while actors are ticked in parallel, the save is deferred to the game thread.
+     */
     public void save(Component component) {
-        entity.saveComponent(component);
+        GameThread.asynch(() -> entity.saveComponent(component));
     }
 
     public EntityRef getEntity() {
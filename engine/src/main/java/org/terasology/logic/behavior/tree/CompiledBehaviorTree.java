@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.behavior.tree;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import org.reflections.ReflectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.logic.behavior.asset.BehaviorTree;
+import org.terasology.module.sandbox.API;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.registry.In;
+
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A behavior tree flattened into arrays, for interpreters to run.
+ * <br><br>
+ * Nodes are numbered breadth first, so the children of a node have consecutive indices. Interpreters keep the state of
+ * their actor in arrays indexed the same way. Trees run by a {@link LookupNode} are inlined as the child of the lookup
+ * node, unless the same tree is already being inlined further up.
+ * <br><br>
+ * The dependencies of the tasks are resolved once per node, rather than every time a task is started.
+ * <br><br>
+ * A compiled tree doesn't notice changes to the nodes it was compiled from, the tree has to be compiled again.
+ */
+@API
+public final class CompiledBehaviorTree {
+    private static final Logger logger = LoggerFactory.getLogger(CompiledBehaviorTree.class);
+
+    private final Node[] nodes;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final TaskInjector[] injectors;
+
+    private CompiledBehaviorTree(Node[] nodes, int[] firstChild, int[] childCount) {
+        this.nodes = nodes;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.injectors = new TaskInjector[nodes.length];
+    }
+
+    public static CompiledBehaviorTree compile(Node root) {
+        List<Node> nodes = Lists.newArrayList();
+        List<Set<BehaviorTree>> inlinedTrees = Lists.newArrayList();
+        TIntList firstChild = new TIntArrayList();
+        TIntList childCount = new TIntArrayList();
+
+        nodes.add(root);
+        inlinedTrees.add(ImmutableSet.of());
+        for (int index = 0; index < nodes.size(); index++) {
+            Node node = nodes.get(index);
+            Set<BehaviorTree> inlined = inlinedTrees.get(index);
+            firstChild.add(nodes.size());
+            if (node instanceof LookupNode) {
+                BehaviorTree tree = ((LookupNode) node).tree;
+                if (tree != null && tree.getRoot() != null && !inlined.contains(tree)) {
+                    nodes.add(tree.getRoot());
+                    inlinedTrees.add(ImmutableSet.<BehaviorTree>builder().addAll(inlined).add(tree).build());
+                    childCount.add(1);
+                } else {
+                    childCount.add(0);
+                }
+            } else {
+                int count = 0;
+                for (int i = 0; i < node.getChildrenCount(); i++) {
+                    Node child = node.getChild(i);
+                    if (child != null) {
+                        nodes.add(child);
+                        inlinedTrees.add(inlined);
+                        count++;
+                    }
+                }
+                childCount.add(count);
+            }
+        }
+        return new CompiledBehaviorTree(nodes.toArray(new Node[nodes.size()]), firstChild.toArray(), childCount.toArray());
+    }
+
+    public Node getRoot() {
+        return nodes[0];
+    }
+
+    /**
+     * @return The number of nodes in the tree
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * @return The index of the given child of the node at the parent index, or -1 if it isn't a child of it
+     */
+    public int getChildIndex(int parentIndex, Node child) {
+        int end = firstChild[parentIndex] + childCount[parentIndex];
+        for (int i = firstChild[parentIndex]; i < end; i++) {
+            if (nodes[i] == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Injects the dependencies of a task created by the node at the given index.
+     */
+    void inject(int index, Task task) {
+        TaskInjector injector = injectors[index];
+        if (injector == null || injector.taskType != task.getClass()) {
+            // Interpreters of different actors may race here, which only resolves the same injector twice
+            injector = new TaskInjector(task.getClass());
+            injectors[index] = injector;
+        }
+        injector.inject(task);
+    }
+
+    /**
+     * The {@link In} annotated fields of a task type, with the values resolved for them.
+     */
+    private static final class TaskInjector {
+        private final Class<?> taskType;
+        private final List<Field> fields;
+        private final List<Object> values;
+
+        private TaskInjector(Class<?> taskType) {
+            this.taskType = taskType;
+            List<Field> resolvedFields = Lists.newArrayList();
+            List<Object> resolvedValues = Lists.newArrayList();
+            AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+                for (Field field : ReflectionUtils.getAllFields(taskType, ReflectionUtils.withAnnotation(In.class))) {
+                    Object value = CoreRegistry.get(field.getType());
+                    if (value != null) {
+                        field.setAccessible(true);
+                        resolvedFields.add(field);
+                        resolvedValues.add(value);
+                    }
+                }
+                return null;
+            });
+            this.fields = ImmutableList.copyOf(resolvedFields);
+            this.values = ImmutableList.copyOf(resolvedValues);
+        }
+
+        private void inject(Task task) {
+            for (int i = 0; i < fields.size(); i++) {
+                try {
+                    fields.get(i).set(task, values.get(i));
+                } catch (IllegalAccessException e) {
+                    logger.error("Failed to inject value {} into field {} of {}", values.get(i), fields.get(i), task, e);
+                }
+            }
+        }
+    }
+}
@@ -18,8 +18,6 @@
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Deque;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
@@ -28,8 +26,6 @@
 import org.terasology.module.sandbox.API;
 import org.terasology.registry.InjectionHelper;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 
@@ -38,6 +34,11 @@
  * If a task returns RUNNING, the task is placed to the active list and asked next tick again.
  * Finished nodes may create new tasks, which are placed to the active list.
  * <br><br>
+ * The tree is run in its {@link CompiledBehaviorTree} form, which numbers the nodes. Which nodes already ran during a
+ * tick is tracked in an array indexed by those numbers. Nodes started outside of the compiled tree are tracked in a set
+ * instead.
+ * <br><br>
+ * An interpreter is only used by one thread at a time, but interpreters of different actors may be ticked in parallel.
  *
  */
 @API
@@ -57,10 +58,13 @@ public void handle(Status result) {
 
     private Debugger debugger;
     private Actor actor;
-    private Deque<Task> tasks = Queues.newLinkedBlockingDeque();
+    private Deque<Task> tasks = Queues.newArrayDeque();
     private Node root;
-    private Set<Node> startedNodes = Sets.newHashSet();
-    private Map<Task, List<Task>> startedTasks = Maps.newHashMap();
+    private CompiledBehaviorTree compiledTree;
+    private int[] nodeStartedInTick = new int[0];
+    private int tickCount;
+    private int startedNodeCount;
+    private Set<Node> startedUncompiledNodes = Sets.newHashSet();
 
     public Interpreter(Actor actor) {
         this.actor = actor;
@@ -71,17 +75,46 @@ public Actor actor() {
         return actor;
     }
 
+    /**
+     * Restarts the tree from its root.
+     */
     public void reset() {
+        reset(compiledTree);
+    }
+
+    /**
+     * Restarts from the root of the given tree, e.g. the tree compiled again after it was changed. Compiled trees are
+     * meant to be shared by all interpreters running the same tree, so they are not compiled here.
+     *
+     * @param tree The tree to run, or null to only stop the running one
+     */
+    public void reset(CompiledBehaviorTree tree) {
         tasks.clear();
-        startedTasks.clear();
 
-        start(root);
+        if (tree != null) {
+            start(tree);
+        }
         tasks.addLast(TERMINAL);
     }
 
+    /**
+     * Starts a tree that is compiled for this interpreter alone. Interpreters running the same tree should be started
+     * with a shared {@link CompiledBehaviorTree} instead.
+     */
     public Task start(Node start) {
-        root = start;
-        Task task = start(start, null);
+        if (start == null) {
+            root = null;
+            compiledTree = null;
+            return null;
+        }
+        return start(CompiledBehaviorTree.compile(start));
+    }
+
+    public Task start(CompiledBehaviorTree tree) {
+        root = tree.getRoot();
+        compiledTree = tree;
+        nodeStartedInTick = new int[tree.size()];
+        Task task = start(root, null);
         if (debugger != null) {
             debugger.started();
         }
@@ -93,26 +126,38 @@ public Task start(Node node, Task parent) {
             return null;
         }
         Task task = node.createTask();
-        return start(task, parent);
+        return start(task, parent, indexOf(node, parent));
     }
 
-    private Task start(final Task task, Task parent) {
+    private Task start(final Task task, Task parent, int nodeIndex) {
         task.setActor(actor);
         task.setInterpreter(this);
         task.setParent(parent);
+        task.setNodeIndex(nodeIndex);
         if (parent != null) {
-            List<Task> subTasks = startedTasks.get(parent);
-            if (subTasks == null) {
-                subTasks = Lists.newArrayList();
-                startedTasks.put(parent, subTasks);
-            }
-            subTasks.add(task);
+            parent.addSubTask(task);
         }
         tasks.addFirst(task);
-        return AccessController.doPrivileged((PrivilegedAction<Task>) () -> {
-            InjectionHelper.inject(task);
-            return task;
-        });
+        if (nodeIndex >= 0) {
+            compiledTree.inject(nodeIndex, task);
+        } else {
+            AccessController.doPrivileged((PrivilegedAction<Task>) () -> {
+                InjectionHelper.inject(task);
+                return task;
+            });
+        }
+        return task;
+    }
+
+    private int indexOf(Node node, Task parent) {
+        if (compiledTree == null) {
+            return -1;
+        }
+        if (parent == null) {
+            return node == compiledTree.getRoot() ? 0 : -1;
+        }
+        int parentIndex = parent.getNodeIndex();
+        return parentIndex >= 0 ? compiledTree.getChildIndex(parentIndex, node) : -1;
     }
 
     public void stop(Task task, Status result) {
@@ -120,6 +165,7 @@ public void stop(Task task, Status result) {
         Task parent = task.getParent();
         if (parent != null) {
             parent.handle(result);
+            parent.removeSubTask(task);
         }
         stopStartedTasks(task);
         if (debugger != null) {
@@ -136,10 +182,7 @@ private void stopStartedTasks(Task parent) {
                 current.onTerminate(Status.FAILURE);
             }
             tasks.remove(current);
-            List<Task> subTasks = startedTasks.remove(current);
-            if (subTasks != null) {
-                open.addAll(subTasks);
-            }
+            open.addAll(current.clearSubTasks());
         }
     }
 
@@ -150,7 +193,11 @@ private void stopStartedTasks(Task parent) {
      */
     public int tick(float deltaSeconds) {
         if (debugger == null || debugger.beforeTick()) {
-            startedNodes.clear();
+            tickCount++;
+            startedNodeCount = 0;
+            if (!startedUncompiledNodes.isEmpty()) {
+                startedUncompiledNodes.clear();
+            }
             while (step(deltaSeconds)) {
                 continue;
             }
@@ -158,7 +205,7 @@ public int tick(float deltaSeconds) {
                 debugger.afterTick();
             }
         }
-        return startedNodes.size();
+        return startedNodeCount;
     }
 
     /**
@@ -172,11 +219,10 @@ public boolean step(float deltaSeconds) {
             return false;
         }
 
-        if (startedNodes.contains(current.getNode())) {
+        if (!markStarted(current)) {
             tasks.addLast(current);
             return true;
         }
-        startedNodes.add(current.getNode());
 
         current.tick(deltaSeconds);
 
@@ -196,10 +242,31 @@ public boolean step(float deltaSeconds) {
         return true;
     }
 
+    /**
+     * @return Whether the node of the task didn't run yet during this tick, in which case it is now marked as run
+     */
+    private boolean markStarted(Task task) {
+        int index = task.getNodeIndex();
+        if (index >= 0 && index < nodeStartedInTick.length) {
+            if (nodeStartedInTick[index] == tickCount) {
+                return false;
+            }
+            nodeStartedInTick[index] = tickCount;
+        } else if (!startedUncompiledNodes.add(task.getNode())) {
+            return false;
+        }
+        startedNodeCount++;
+        return true;
+    }
+
     public void setDebugger(Debugger debugger) {
         this.debugger = debugger;
     }
 
+    public boolean isDebugged() {
+        return debugger != null;
+    }
+
     @Override
     public String toString() {
         //try to find the best name for the entity.
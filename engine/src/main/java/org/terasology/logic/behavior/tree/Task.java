@@ -15,10 +15,14 @@
  */
 package org.terasology.logic.behavior.tree;
 
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.module.sandbox.API;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * A task run by an {@link Interpreter} for an {@link Actor}.
  *
@@ -31,6 +35,8 @@ public abstract class Task {
     private Actor actor;
     private Status status = Status.NOT_INITIALIZED;
     private Task parent;
+    private int nodeIndex = -1;
+    private List<Task> subTasks;
 
     protected Task(Node node) {
         this.node = node;
@@ -163,4 +169,43 @@ Task getParent() {
         return parent;
     }
 
+    /**
+     * @return The index of the node in the {@link CompiledBehaviorTree} run by the interpreter, or -1 if the node isn't
+     * part of it
+     */
+    int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    void setNodeIndex(int nodeIndex) {
+        this.nodeIndex = nodeIndex;
+    }
+
+    void addSubTask(Task task) {
+        if (subTasks == null) {
+            subTasks = Lists.newArrayListWithCapacity(2);
+        }
+        subTasks.add(task);
+    }
+
+    void removeSubTask(Task task) {
+        if (subTasks != null) {
+            subTasks.remove(task);
+        }
+    }
+
+    /**
+     * Removes all sub tasks started by this task
+     *
+     * @return The removed sub tasks
+     */
+    List<Task> clearSubTasks() {
+        if (subTasks == null) {
+            return Collections.emptyList();
+        }
+        List<Task> result = subTasks;
+        subTasks = null;
+        return result;
+    }
+
 }
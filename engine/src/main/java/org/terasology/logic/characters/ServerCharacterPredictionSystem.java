@@ -41,8 +41,17 @@
 import org.terasology.utilities.collection.CircularBuffer;
 import org.terasology.world.WorldProvider;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 
+/**
+ * Simulates the movement of characters on the authority, from the input their clients send.
+ * <br><br>
+ * Inputs are queued as they arrive and simulated once per tick, all inputs of a character in a row, so the results
+ * only have to be committed to the entity once. Anything else that changes the state of a character first simulates
+ * the inputs queued for it, so inputs still take effect in the order they arrived.
+ */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(PredictionSystem.class)
 public class ServerCharacterPredictionSystem extends BaseComponentSystem implements UpdateSubscriberSystem, PredictionSystem {
@@ -73,6 +82,7 @@ public class ServerCharacterPredictionSystem extends BaseComponentSystem impleme
     private CharacterMover characterMover;
     private Map<EntityRef, CircularBuffer<CharacterStateEvent>> characterStates = Maps.newHashMap();
     private Map<EntityRef, CharacterMoveInputEvent> lastInputEvent = Maps.newHashMap();
+    private Map<EntityRef, InputQueue> queuedInputs = Maps.newLinkedHashMap();
     private long nextSendState;
     private CharacterMovementSystemUtility characterMovementSystemUtility;
 
@@ -96,10 +106,12 @@ public void onDestroy(final BeforeDeactivateComponent event, final EntityRef ent
         physics.removeCharacterCollider(entity);
         characterStates.remove(entity);
         lastInputEvent.remove(entity);
+        queuedInputs.remove(entity);
     }
 
     @ReceiveEvent
     public void onSetMovementModeEvent(SetMovementModeEvent event, EntityRef character, CharacterMovementComponent movementComponent) {
+        processQueuedInputs(character);
         CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(character);
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
@@ -120,14 +132,14 @@ public void onPlayerInput(CharacterMoveInputEvent input, EntityRef entity) {
             logger.debug("Skipping input, collision not yet established");
             return;
         }
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
-        CharacterStateEvent lastState = stateBuffer.getLast();
-        if (input.getDelta() + lastState.getTime() < time.getGameTimeInMs() + MAX_INPUT_OVERFLOW) {
-            CharacterStateEvent newState = stepState(input, lastState, entity);
-            stateBuffer.add(newState);
-
-            characterMovementSystemUtility.setToState(entity, newState);
-            lastInputEvent.put(entity, input);
+        InputQueue queue = queuedInputs.get(entity);
+        if (queue == null) {
+            queue = new InputQueue(characterStates.get(entity).getLast().getTime());
+            queuedInputs.put(entity, queue);
+        }
+        if (input.getDelta() + queue.endTime < time.getGameTimeInMs() + MAX_INPUT_OVERFLOW) {
+            queue.inputs.add(input);
+            queue.endTime += input.getDeltaMs();
         } else {
             logger.warn("Received too much input from {}, dropping input.", entity);
         }
@@ -135,6 +147,7 @@ public void onPlayerInput(CharacterMoveInputEvent input, EntityRef entity) {
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class})
     public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
+        processQueuedInputs(entity);
         CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
@@ -147,6 +160,7 @@ public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class})
     public void onImpulse(CharacterImpulseEvent event, EntityRef entity) {
+        processQueuedInputs(entity);
         Vector3f impulse = event.getDirection();
 
         CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
@@ -168,8 +182,50 @@ private CharacterStateEvent stepState(CharacterMoveInputEvent input, CharacterSt
         return characterMover.step(lastState, input, entity);
     }
 
+    private void processQueuedInputs() {
+        // Simulating a character may send events that process the inputs of other characters, so the queue is
+        // drained one character at a time
+        while (!queuedInputs.isEmpty()) {
+            processQueuedInputs(queuedInputs.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Simulates the queued inputs of a character one after the other, and commits the resulting state to the entity.
+     * Between inputs only the movement component is kept up to date, which is all the character mover reads.
+     */
+    private void processQueuedInputs(EntityRef entity) {
+        InputQueue queue = queuedInputs.remove(entity);
+        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
+        if (queue == null || queue.inputs.isEmpty() || stateBuffer == null) {
+            return;
+        }
+        boolean firstInput = true;
+        for (CharacterMoveInputEvent input : queue.inputs) {
+            CharacterStateEvent lastState = stateBuffer.getLast();
+            if (!firstInput) {
+                applyMovementState(entity, lastState);
+            }
+            firstInput = false;
+            stateBuffer.add(stepState(input, lastState, entity));
+            lastInputEvent.put(entity, input);
+        }
+        characterMovementSystemUtility.setToState(entity, stateBuffer.getLast());
+    }
+
+    private void applyMovementState(EntityRef entity, CharacterStateEvent state) {
+        CharacterMovementComponent movementComp = entity.getComponent(CharacterMovementComponent.class);
+        if (movementComp != null) {
+            movementComp.mode = state.getMode();
+            movementComp.setVelocity(state.getVelocity());
+            movementComp.grounded = state.isGrounded();
+            movementComp.footstepDelta = state.getFootstepDelta();
+        }
+    }
+
     @Override
     public void update(float delta) {
+        processQueuedInputs();
         if (nextSendState < time.getGameTimeInMs()) {
             long lastSendTime = nextSendState - TIME_BETWEEN_STATE_REPLICATE;
             for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
@@ -189,6 +245,7 @@ public void update(float delta) {
                 }
             }
             nextSendState += TIME_BETWEEN_STATE_REPLICATE;
+            processQueuedInputs();
         }
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
         for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
@@ -222,6 +279,7 @@ private void setToTime(long renderTime, EntityRef entity, CircularBuffer<Charact
 
     @Override
     public void lagCompensate(EntityRef client, long timeMs) {
+        processQueuedInputs();
         for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
             if (networkSystem.getOwnerEntity(entry.getKey()).equals(client)) {
                 characterMovementSystemUtility.setToState(entry.getKey(), entry.getValue().getLast());
@@ -238,4 +296,13 @@ public void restoreToPresent() {
             setToTime(renderTime, entry.getKey(), entry.getValue());
         }
     }
+
+    private static final class InputQueue {
+        private final Deque<CharacterMoveInputEvent> inputs = new ArrayDeque<>();
+        private long endTime;
+
+        private InputQueue(long startTime) {
+            this.endTime = startTime;
+        }
+    }
 }
@@ -38,6 +38,7 @@
 import org.terasology.network.NetworkComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.persistence.StorageManager;
+import org.terasology.persistence.internal.ReadWriteStorageManager;
 import org.terasology.registry.In;
 import org.terasology.world.chunks.ChunkProvider;
 
@@ -189,6 +190,15 @@ public void save() {
         storageManager.requestSaving();
     }
 
+    @Command(shortDescription = "Shows how often unloaded chunks were loaded again from the chunk cache", runOnServer = true,
+            requiredPermission = PermissionManager.SERVER_MANAGEMENT_PERMISSION)
+    public String chunkCacheStats() {
+        if (!(storageManager instanceof ReadWriteStorageManager)) {
+            return "Writing save games is disabled! Unloaded chunks are not cached";
+        }
+        return ((ReadWriteStorageManager) storageManager).getChunkStoreCache().format();
+    }
+
     @Command(shortDescription = "Invalidates the specified chunk and recreates it (requires storage manager disabled)", runOnServer = true)
     public String reloadChunk(@CommandParam("x") int x, @CommandParam("y") int y, @CommandParam("z") int z) {
         Vector3i pos = new Vector3i(x, y, z);
@@ -15,9 +15,12 @@
  */
 package org.terasology.logic.delay;
 
-import com.google.common.collect.Ordering;
-import com.google.common.collect.SortedSetMultimap;
-import com.google.common.collect.TreeMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
@@ -30,12 +33,19 @@
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
+ * Schedules delayed and periodic actions on a pair of {@link TimingWheel}s, so that adding and cancelling an action is
+ * O(1) regardless of how many actions are pending.
+ * <br><br>
+ * The {@link DelayedActionComponent} and {@link PeriodicActionComponent} remain the persisted record of the schedule.
+ * They are modified in place whenever the schedule changes, but they are only saved (or removed once empty) in one
+ * batch at the end of each update.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(value = DelayManager.class)
@@ -43,8 +53,14 @@ public class DelayedActionSystem extends BaseComponentSystem implements UpdateSu
     @In
     private Time time;
 
-    private SortedSetMultimap<Long, EntityRef> delayedOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
-    private SortedSetMultimap<Long, EntityRef> periodicOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
+    private final TimingWheel<ScheduledAction> delayedOperations = new TimingWheel<>(0);
+    private final TimingWheel<ScheduledAction> periodicOperations = new TimingWheel<>(0);
+
+    private final TLongObjectMap<Map<String, TimingWheel.Entry<ScheduledAction>>> delayedEntries = new TLongObjectHashMap<>();
+    private final TLongObjectMap<Map<String, TimingWheel.Entry<ScheduledAction>>> periodicEntries = new TLongObjectHashMap<>();
+
+    private Set<EntityRef> delayedEntitiesToSave = Sets.newLinkedHashSet();
+    private Set<EntityRef> periodicEntitiesToSave = Sets.newLinkedHashSet();
 
     // ONLY use this for testing. DO NOT use this during regular usage.
     void setTime(Time t)
@@ -57,84 +73,120 @@ public void update(float delta) {
         final long currentWorldTime = time.getGameTimeInMs();
         invokeDelayedOperations(currentWorldTime);
         invokePeriodicOperations(currentWorldTime);
+        saveDirtyComponents();
     }
 
     private void invokeDelayedOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = delayedOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
-            }
-            operationsToInvoke.addAll(delayedOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
+        List<ScheduledAction> expiredActions = Lists.newArrayList();
+        delayedOperations.advanceTo(currentWorldTime, expiredActions);
+        if (expiredActions.isEmpty()) {
+            return;
         }
 
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(delayedEntity -> {
-            final DelayedActionComponent delayedActions = delayedEntity.getComponent(DelayedActionComponent.class);
-
-            final Set<String> actionIds = delayedActions.removeActionsUpTo(currentWorldTime);
-            saveOrRemoveComponent(delayedEntity, delayedActions);
-
-            if (!delayedActions.isEmpty()) {
-                delayedOperationsSortedByTime.put(delayedActions.getLowestWakeUp(), delayedEntity);
+        ListMultimap<EntityRef, String> triggeredActions = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+        for (ScheduledAction action : expiredActions) {
+            removeEntry(delayedEntries, action);
+            EntityRef delayedEntity = action.entity;
+            if (!delayedEntity.exists()) {
+                continue;
             }
-
-            for (String actionId : actionIds) {
-                delayedEntity.send(new DelayedActionTriggeredEvent(actionId));
+            DelayedActionComponent delayedActions = delayedEntity.getComponent(DelayedActionComponent.class);
+            if (delayedActions != null && delayedActions.containsActionId(action.actionId)) {
+                delayedActions.removeActionId(action.actionId);
+                delayedEntitiesToSave.add(delayedEntity);
+                triggeredActions.put(delayedEntity, action.actionId);
             }
-        });
+        }
+
+        for (Map.Entry<EntityRef, String> triggered : triggeredActions.entries()) {
+            triggered.getKey().send(new DelayedActionTriggeredEvent(triggered.getValue()));
+        }
     }
 
     private void invokePeriodicOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = periodicOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
-            }
-            operationsToInvoke.addAll(periodicOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
+        List<ScheduledAction> expiredActions = Lists.newArrayList();
+        periodicOperations.advanceTo(currentWorldTime, expiredActions);
+        if (expiredActions.isEmpty()) {
+            return;
         }
 
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(periodicEntity -> {
-            final PeriodicActionComponent periodicActionComponent = periodicEntity.getComponent(PeriodicActionComponent.class);
+        ListMultimap<EntityRef, String> triggeredActions = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+        for (ScheduledAction action : expiredActions) {
+            removeEntry(periodicEntries, action);
+            EntityRef periodicEntity = action.entity;
+            if (!periodicEntity.exists()) {
+                continue;
+            }
+            PeriodicActionComponent periodicActions = periodicEntity.getComponent(PeriodicActionComponent.class);
+            if (periodicActions != null && periodicActions.containsActionId(action.actionId)) {
+                long period = periodicActions.getActionPeriod(action.actionId);
+                long nextWakeUp = currentWorldTime + period;
+                periodicActions.removeScheduledActionId(action.actionId);
+                periodicActions.addScheduledActionId(action.actionId, nextWakeUp, period);
+                schedule(periodicOperations, periodicEntries, periodicEntity, action.actionId, nextWakeUp);
+                periodicEntitiesToSave.add(periodicEntity);
+                triggeredActions.put(periodicEntity, action.actionId);
+            }
+        }
 
-            final Set<String> actionIds = periodicActionComponent.getTriggeredActionsAndReschedule(currentWorldTime);
-            saveOrRemoveComponent(periodicEntity, periodicActionComponent);
+        for (Map.Entry<EntityRef, String> triggered : triggeredActions.entries()) {
+            triggered.getKey().send(new PeriodicActionTriggeredEvent(triggered.getValue()));
+        }
+    }
 
-            if (!periodicActionComponent.isEmpty()) {
-                periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), periodicEntity);
+    private void saveDirtyComponents() {
+        if (!delayedEntitiesToSave.isEmpty()) {
+            Set<EntityRef> entities = delayedEntitiesToSave;
+            delayedEntitiesToSave = Sets.newLinkedHashSet();
+            for (EntityRef entity : entities) {
+                DelayedActionComponent delayedActions = entity.getComponent(DelayedActionComponent.class);
+                if (delayedActions != null) {
+                    saveOrRemoveComponent(entity, delayedActions);
+                }
             }
-
-            for (String actionId : actionIds) {
-                periodicEntity.send(new PeriodicActionTriggeredEvent(actionId));
+        }
+        if (!periodicEntitiesToSave.isEmpty()) {
+            Set<EntityRef> entities = periodicEntitiesToSave;
+            periodicEntitiesToSave = Sets.newLinkedHashSet();
+            for (EntityRef entity : entities) {
+                PeriodicActionComponent periodicActions = entity.getComponent(PeriodicActionComponent.class);
+                if (periodicActions != null) {
+                    saveOrRemoveComponent(entity, periodicActions);
+                }
             }
-        });
+        }
     }
 
     @ReceiveEvent
     public void delayedComponentActivated(OnActivatedComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.put(delayedActionComponent.getLowestWakeUp(), entity);
+        for (String actionId : delayedActionComponent.getActionIds()) {
+            schedule(delayedOperations, delayedEntries, entity, actionId, delayedActionComponent.getActionWakeUp(actionId));
+        }
+        if (delayedActionComponent.isEmpty()) {
+            delayedEntitiesToSave.add(entity);
+        }
     }
 
     @ReceiveEvent
     public void periodicComponentActivated(OnActivatedComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), entity);
+        for (String actionId : periodicActionComponent.getActionIds()) {
+            schedule(periodicOperations, periodicEntries, entity, actionId, periodicActionComponent.getActionWakeUp(actionId));
+        }
+        if (periodicActionComponent.isEmpty()) {
+            periodicEntitiesToSave.add(entity);
+        }
     }
 
     @ReceiveEvent
     public void delayedComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.remove(delayedActionComponent.getLowestWakeUp(), entity);
+        unscheduleAll(delayedOperations, delayedEntries, entity);
+        delayedEntitiesToSave.remove(entity);
     }
 
     @ReceiveEvent
     public void periodicComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        delayedOperationsSortedByTime.remove(periodicActionComponent.getLowestWakeUp(), entity);
+        unscheduleAll(periodicOperations, periodicEntries, entity);
+        periodicEntitiesToSave.remove(entity);
     }
 
     @Override
@@ -143,20 +195,14 @@ public void addDelayedAction(EntityRef entity, String actionId, long delay) {
 
         DelayedActionComponent delayedActionComponent = entity.getComponent(DelayedActionComponent.class);
         if (delayedActionComponent != null) {
-            final long oldWakeUp = delayedActionComponent.getLowestWakeUp();
-            delayedActionComponent.addActionId(actionId, scheduleTime);
-            entity.saveComponent(delayedActionComponent);
-            final long newWakeUp = delayedActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-                delayedOperationsSortedByTime.put(newWakeUp, entity);
-            }
-            // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-            // to the delayedOperationsSortedByTime mapping.
-            else {
-                delayedOperationsSortedByTime.put(scheduleTime, entity);
+            if (delayedActionComponent.containsActionId(actionId)) {
+                delayedActionComponent.removeActionId(actionId);
             }
+            delayedActionComponent.addActionId(actionId, scheduleTime);
+            schedule(delayedOperations, delayedEntries, entity, actionId, scheduleTime);
+            delayedEntitiesToSave.add(entity);
         } else {
+            // Activation of the new component schedules the action
             delayedActionComponent = new DelayedActionComponent();
             delayedActionComponent.addActionId(actionId, scheduleTime);
             entity.addComponent(delayedActionComponent);
@@ -169,20 +215,14 @@ public void addPeriodicAction(EntityRef entity, String actionId, long initialDel
 
         PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
         if (periodicActionComponent != null) {
-            final long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-            periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
-            entity.saveComponent(periodicActionComponent);
-            final long newWakeUp = periodicActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-                periodicOperationsSortedByTime.put(newWakeUp, entity);
-            }
-            // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-            // to the delayedOperationsSortedByTime mapping.
-            else {
-                periodicOperationsSortedByTime.put(scheduleTime, entity);
+            if (periodicActionComponent.containsActionId(actionId)) {
+                periodicActionComponent.removeScheduledActionId(actionId);
             }
+            periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
+            schedule(periodicOperations, periodicEntries, entity, actionId, scheduleTime);
+            periodicEntitiesToSave.add(entity);
         } else {
+            // Activation of the new component schedules the action
             periodicActionComponent = new PeriodicActionComponent();
             periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
             entity.addComponent(periodicActionComponent);
@@ -192,31 +232,21 @@ public void addPeriodicAction(EntityRef entity, String actionId, long initialDel
     @Override
     public void cancelDelayedAction(EntityRef entity, String actionId) {
         DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
-        long oldWakeUp = delayedComponent.getLowestWakeUp();
-        delayedComponent.removeActionId(actionId);
-        long newWakeUp = delayedComponent.getLowestWakeUp();
-        if (!delayedComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-            delayedOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (delayedComponent.isEmpty()) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
+        if (delayedComponent != null && delayedComponent.containsActionId(actionId)) {
+            delayedComponent.removeActionId(actionId);
+            unschedule(delayedOperations, delayedEntries, entity, actionId);
+            delayedEntitiesToSave.add(entity);
         }
-        saveOrRemoveComponent(entity, delayedComponent);
     }
 
     @Override
     public void cancelPeriodicAction(EntityRef entity, String actionId) {
         PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-        periodicActionComponent.removeScheduledActionId(actionId);
-        long newWakeUp = periodicActionComponent.getLowestWakeUp();
-        if (!periodicActionComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-            periodicOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (periodicActionComponent.isEmpty()) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
+        if (periodicActionComponent != null && periodicActionComponent.containsActionId(actionId)) {
+            periodicActionComponent.removeScheduledActionId(actionId);
+            unschedule(periodicOperations, periodicEntries, entity, actionId);
+            periodicEntitiesToSave.add(entity);
         }
-        saveOrRemoveComponent(entity, periodicActionComponent);
     }
 
     @Override
@@ -231,6 +261,60 @@ public boolean hasPeriodicAction(EntityRef entity, String actionId) {
         return periodicActionComponent != null && periodicActionComponent.containsActionId(actionId);
     }
 
+    private void schedule(TimingWheel<ScheduledAction> wheel, TLongObjectMap<Map<String, TimingWheel.Entry<ScheduledAction>>> entries,
+                          EntityRef entity, String actionId, long wakeUp) {
+        if (wheel.isEmpty()) {
+            // Fast-forward an idle wheel, so it does not have to step through the time in which nothing was scheduled
+            wheel.advanceTo(time.getGameTimeInMs() - 1, Collections.emptyList());
+        }
+        Map<String, TimingWheel.Entry<ScheduledAction>> entityEntries = entries.get(entity.getId());
+        if (entityEntries == null) {
+            entityEntries = new HashMap<>();
+            entries.put(entity.getId(), entityEntries);
+        }
+        TimingWheel.Entry<ScheduledAction> previous = entityEntries.put(actionId, wheel.schedule(wakeUp, new ScheduledAction(entity, actionId)));
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+    }
+
+    private void unschedule(TimingWheel<ScheduledAction> wheel, TLongObjectMap<Map<String, TimingWheel.Entry<ScheduledAction>>> entries,
+                            EntityRef entity, String actionId) {
+        Map<String, TimingWheel.Entry<ScheduledAction>> entityEntries = entries.get(entity.getId());
+        if (entityEntries != null) {
+            TimingWheel.Entry<ScheduledAction> entry = entityEntries.remove(actionId);
+            if (entry != null) {
+                wheel.cancel(entry);
+            }
+            if (entityEntries.isEmpty()) {
+                entries.remove(entity.getId());
+            }
+        }
+    }
+
+    private void unscheduleAll(TimingWheel<ScheduledAction> wheel, TLongObjectMap<Map<String, TimingWheel.Entry<ScheduledAction>>> entries,
+                               EntityRef entity) {
+        Map<String, TimingWheel.Entry<ScheduledAction>> entityEntries = entries.remove(entity.getId());
+        if (entityEntries != null) {
+            for (TimingWheel.Entry<ScheduledAction> entry : entityEntries.values()) {
+                wheel.cancel(entry);
+            }
+        }
+    }
+
+    private void removeEntry(TLongObjectMap<Map<String, TimingWheel.Entry<ScheduledAction>>> entries, ScheduledAction action) {
+        Map<String, TimingWheel.Entry<ScheduledAction>> entityEntries = entries.get(action.entity.getId());
+        if (entityEntries != null) {
+            TimingWheel.Entry<ScheduledAction> entry = entityEntries.get(action.actionId);
+            if (entry != null && entry.getPayload() == action) {
+                entityEntries.remove(action.actionId);
+                if (entityEntries.isEmpty()) {
+                    entries.remove(action.entity.getId());
+                }
+            }
+        }
+    }
+
     private void saveOrRemoveComponent(EntityRef delayedEntity, DelayedActionComponent delayedActionComponent) {
         if (delayedActionComponent.isEmpty()) {
             delayedEntity.removeComponent(DelayedActionComponent.class);
@@ -262,4 +346,14 @@ public void cancelDelayedAction(CancelDelayedActionEvent event, EntityRef entity
     public void addDelayedAction(AddDelayedActionEvent event, EntityRef entity) {
         addDelayedAction(entity, event.getActionId(), event.getDelay());
     }
+
+    private static final class ScheduledAction {
+        private final EntityRef entity;
+        private final String actionId;
+
+        private ScheduledAction(EntityRef entity, String actionId) {
+            this.entity = entity;
+            this.actionId = actionId;
+        }
+    }
 }
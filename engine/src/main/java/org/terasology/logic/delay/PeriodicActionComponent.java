@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.world.block.ForceBlockActive;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -90,4 +91,16 @@ public boolean isEmpty() {
     public boolean containsActionId(String actionId) {
         return actionIdsWakeUp.containsKey(actionId);
     }
+
+    public Set<String> getActionIds() {
+        return Collections.unmodifiableSet(actionIdsWakeUp.keySet());
+    }
+
+    public long getActionWakeUp(String actionId) {
+        return actionIdsWakeUp.get(actionId);
+    }
+
+    public long getActionPeriod(String actionId) {
+        return actionIdsPeriod.get(actionId);
+    }
 }
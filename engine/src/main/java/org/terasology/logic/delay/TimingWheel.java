@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.delay;
+
+import com.google.common.base.Preconditions;
+
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel, as described by Varghese and Lauck. Scheduling and cancelling are O(1), advancing the
+ * wheel costs O(1) per elapsed tick plus the number of expired entries.
+ * <br><br>
+ * The wheel consists of {@link #LEVELS} levels of {@link #SLOTS} slots each. Level 0 has a resolution of one tick,
+ * every higher level covers a full revolution of the level below it in each slot. Entries further in the future than
+ * the wheel can represent are parked in the last slot they can reach and re-placed when that slot is cascaded. Entries
+ * scheduled for a tick that was already processed are kept aside and expire on the next advance.
+ * <br><br>
+ * This class is not thread safe.
+ *
+ * @param <T> The type of the payload that is carried by each entry
+ */
+final class TimingWheel<T> {
+    static final int SLOT_BITS = 8;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_SPAN = (1L << (SLOT_BITS * LEVELS)) - 1;
+    private static final int OVERDUE_LEVEL = LEVELS;
+
+    private final Entry<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param startTick The first tick that will be processed by {@link #advanceTo(long, List)}
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTick) {
+        slots = new Entry[LEVELS + 1][SLOTS];
+        currentTick = startTick;
+    }
+
+    /**
+     * Schedules a payload to expire on the given tick. Ticks that already passed expire on the next advance.
+     *
+     * @return The entry, which can be used to cancel the payload
+     */
+    Entry<T> schedule(long expiryTick, T payload) {
+        Entry<T> entry = new Entry<>(expiryTick, payload);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Removes a scheduled entry from the wheel. Cancelling an entry that already expired or was cancelled is a no-op.
+     *
+     * @return Whether the entry was still scheduled
+     */
+    boolean cancel(Entry<T> entry) {
+        if (!entry.isScheduled()) {
+            return false;
+        }
+        unlink(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes all ticks up to and including the given one and appends the payloads of all entries that expired to the
+     * given list, in the order of their expiry.
+     */
+    void advanceTo(long tick, List<T> expired) {
+        Entry<T> overdue = slots[OVERDUE_LEVEL][0];
+        while (overdue != null) {
+            Entry<T> next = overdue.next;
+            unlink(overdue);
+            size--;
+            expired.add(overdue.payload);
+            overdue = next;
+        }
+        if (size == 0) {
+            currentTick = Math.max(currentTick, tick + 1);
+            return;
+        }
+        while (currentTick <= tick) {
+            int index = (int) (currentTick & SLOT_MASK);
+            if (index == 0) {
+                cascade(1);
+            }
+            Entry<T> entry = slots[0][index];
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                unlink(entry);
+                if (entry.expiryTick > currentTick) {
+                    // Was parked because it lay beyond the range of the wheel
+                    place(entry);
+                } else {
+                    size--;
+                    expired.add(entry.payload);
+                }
+                entry = next;
+            }
+            currentTick++;
+            if (size == 0) {
+                currentTick = Math.max(currentTick, tick + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The next tick that will be processed
+     */
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        Entry<T> entry = slots[level][index];
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            unlink(entry);
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.expiryTick - currentTick;
+        if (delta < 0) {
+            link(entry, OVERDUE_LEVEL, 0);
+            return;
+        }
+        long placementTick;
+        if (delta > MAX_SPAN) {
+            placementTick = currentTick + MAX_SPAN;
+            delta = MAX_SPAN;
+        } else {
+            placementTick = entry.expiryTick;
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((placementTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        link(entry, level, index);
+    }
+
+    private void link(Entry<T> entry, int level, int index) {
+        Entry<T> head = slots[level][index];
+        entry.level = level;
+        entry.index = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[level][index] = entry;
+    }
+
+    private void unlink(Entry<T> entry) {
+        Preconditions.checkState(entry.isScheduled(), "Entry is not scheduled");
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.level][entry.index] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.level = -1;
+    }
+
+    /**
+     * A handle to a scheduled payload.
+     */
+    static final class Entry<T> {
+        private final long expiryTick;
+        private final T payload;
+        private Entry<T> prev;
+        private Entry<T> next;
+        private int level = -1;
+        private int index;
+
+        private Entry(long expiryTick, T payload) {
+            this.expiryTick = expiryTick;
+            this.payload = payload;
+        }
+
+        long getExpiryTick() {
+            return expiryTick;
+        }
+
+        T getPayload() {
+            return payload;
+        }
+
+        boolean isScheduled() {
+            return level >= 0;
+        }
+    }
+}
@@ -17,7 +17,11 @@
 package org.terasology.logic.location;
 
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.entitySystem.event.EventPriority;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterMode;
@@ -121,6 +125,25 @@ public void onDestroyed(BeforeRemoveComponent event, EntityRef entity, LocationC
         }
     }
 
+    /**
+     * Keeps the cached world transforms of the location and its descendants up to date when the location changes
+     * without going through its setters, e.g. by modifying its local position in place or by a network update.
+     */
+    @ReceiveEvent(priority = EventPriority.PRIORITY_CRITICAL)
+    public void onLocationChanged(OnChangedComponent event, EntityRef entity, LocationComponent location) {
+        location.markWorldTransformDirty();
+    }
+
+    @ReceiveEvent(priority = EventPriority.PRIORITY_CRITICAL)
+    public void onLocationActivated(OnActivatedComponent event, EntityRef entity, LocationComponent location) {
+        location.markWorldTransformDirty();
+    }
+
+    @ReceiveEvent(priority = EventPriority.PRIORITY_CRITICAL)
+    public void onLocationDeactivated(BeforeDeactivateComponent event, EntityRef entity, LocationComponent location) {
+        location.markWorldTransformDirty();
+    }
+
     @ReceiveEvent(netFilter = RegisterMode.REMOTE_CLIENT)
     public void onResyncLocation(LocationResynchEvent event, EntityRef entityRef, LocationComponent locationComponent) {
         locationComponent.setWorldPosition(event.getPosition());
@@ -54,6 +54,10 @@ public final class LocationComponent implements Component, ReplicationCheck {
     @Replicate
     float scale = 1.0f;
 
+    // World transform, cached until this location or one of its ancestors changes. It is replaced rather than updated,
+    // so that it can be read by several threads at once, and is null while it needs to be recomputed
+    private transient volatile WorldTransform worldTransform;
+
     public LocationComponent() {
     }
 
@@ -62,7 +66,8 @@ public LocationComponent(Vector3f position) {
     }
 
     /**
-     * @return The position of this component relative to any parent. Can be directly modified to update the component
+     * @return The position of this component relative to any parent. Can be directly modified to update the component,
+     * the world transform follows once the component is saved or {@link #markWorldTransformDirty()} is called
      */
     public Vector3f getLocalPosition() {
         return position;
@@ -70,6 +75,7 @@ public Vector3f getLocalPosition() {
 
     public void setLocalPosition(Vector3f newPos) {
         position.set(newPos);
+        markWorldTransformDirty();
     }
 
     public Vector3f getLocalDirection() {
@@ -78,16 +84,22 @@ public Vector3f getLocalDirection() {
         return result;
     }
 
+    /**
+     * @return The rotation of this component relative to any parent. Can be directly modified to update the component,
+     * the world transform follows once the component is saved or {@link #markWorldTransformDirty()} is called
+     */
     public Quat4f getLocalRotation() {
         return rotation;
     }
 
     public void setLocalRotation(Quat4f newQuat) {
         rotation.set(newQuat);
+        markWorldTransformDirty();
     }
 
     public void setLocalScale(float value) {
         this.scale = value;
+        markWorldTransformDirty();
     }
 
     public float getLocalScale() {
@@ -102,14 +114,7 @@ public Vector3f getWorldPosition() {
     }
 
     public Vector3f getWorldPosition(Vector3f output) {
-        output.set(position);
-        LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
-        while (parentLoc != null) {
-            output.scale(parentLoc.scale);
-            parentLoc.getLocalRotation().rotate(output, output);
-            output.add(parentLoc.position);
-            parentLoc = parentLoc.parent.getComponent(LocationComponent.class);
-        }
+        output.set(getWorldTransform().position);
         return output;
     }
 
@@ -124,45 +129,37 @@ public Quat4f getWorldRotation() {
     }
 
     public Quat4f getWorldRotation(Quat4f output) {
-        output.set(rotation);
-        LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
-        while (parentLoc != null) {
-            output.mul(parentLoc.rotation, output);
-            parentLoc = parentLoc.parent.getComponent(LocationComponent.class);
-        }
+        output.set(getWorldTransform().rotation);
         return output;
     }
 
     public float getWorldScale() {
-        float result = scale;
-        LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
-        while (parentLoc != null) {
-            result *= parentLoc.getLocalScale();
-            parentLoc = parentLoc.parent.getComponent(LocationComponent.class);
-        }
-        return result;
+        return getWorldTransform().scale;
     }
 
     public void setWorldPosition(Vector3f value) {
         this.position.set(value);
         LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
         if (parentLoc != null) {
-            this.position.sub(parentLoc.getWorldPosition());
-            this.position.scale(1f / parentLoc.getWorldScale());
+            WorldTransform parentTransform = parentLoc.getWorldTransform();
+            this.position.sub(parentTransform.position);
+            this.position.scale(1f / parentTransform.scale);
             Quat4f rot = new Quat4f(0, 0, 0, 1);
-            rot.inverse(parentLoc.getWorldRotation());
+            rot.inverse(parentTransform.rotation);
             rot.rotate(this.position, this.position);
         }
+        markWorldTransformDirty();
     }
 
     public void setWorldRotation(Quat4f value) {
         this.rotation.set(value);
         LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
         if (parentLoc != null) {
-            Quat4f worldRot = parentLoc.getWorldRotation();
-            worldRot.inverse();
+            Quat4f worldRot = new Quat4f(0, 0, 0, 1);
+            worldRot.inverse(parentLoc.getWorldTransform().rotation);
             this.rotation.mul(worldRot, this.rotation);
         }
+        markWorldTransformDirty();
     }
 
     public void setWorldScale(float value) {
@@ -171,6 +168,53 @@ public void setWorldScale(float value) {
         if (parentLoc != null) {
             this.scale /= parentLoc.getWorldScale();
         }
+        markWorldTransformDirty();
+    }
+
+    /**
+     * Drops the cached world transform of this location and of all locations attached to it, so that it gets
+     * recomputed when it is next asked for. The setters and the {@link Location} system take care of this; it only
+     * needs to be called after modifying the local position or rotation in place if the world transform is read before
+     * the component is saved.
+     */
+    public void markWorldTransformDirty() {
+        worldTransform = null;
+        for (EntityRef child : children) {
+            LocationComponent childLoc = child.getComponent(LocationComponent.class);
+            // A dirty location has only dirty descendants, so there is no need to go further
+            if (childLoc != null && childLoc != this && childLoc.worldTransform != null) {
+                childLoc.markWorldTransformDirty();
+            }
+        }
+    }
+
+    /**
+     * Readers on different threads may each compute the transform, but as they compute the same one it doesn't matter
+     * whose is kept. Changing the location while it is read from other threads is not supported, as with any other
+     * component.
+     */
+    private WorldTransform getWorldTransform() {
+        WorldTransform transform = worldTransform;
+        if (transform == null) {
+            transform = computeWorldTransform();
+            worldTransform = transform;
+        }
+        return transform;
+    }
+
+    private WorldTransform computeWorldTransform() {
+        Vector3f newPosition = new Vector3f(position);
+        Quat4f newRotation = new Quat4f(rotation);
+        LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
+        if (parentLoc == null) {
+            return new WorldTransform(newPosition, newRotation, scale);
+        }
+        WorldTransform parentTransform = parentLoc.getWorldTransform();
+        newPosition.scale(parentTransform.scale);
+        parentTransform.rotation.rotate(newPosition, newPosition);
+        newPosition.add(parentTransform.position);
+        newRotation.mul(parentTransform.rotation, rotation);
+        return new WorldTransform(newPosition, newRotation, parentTransform.scale * scale);
     }
 
     public EntityRef getParent() {
@@ -202,4 +246,19 @@ public int hashCode() {
     public boolean shouldReplicate(FieldMetadata<?, ?> field, boolean initial, boolean toOwner) {
         return initial || replicateChanges;
     }
+
+    /**
+     * A world transform, which is never modified once computed.
+     */
+    private static final class WorldTransform {
+        private final Vector3f position;
+        private final Quat4f rotation;
+        private final float scale;
+
+        private WorldTransform(Vector3f position, Quat4f rotation, float scale) {
+            this.position = position;
+            this.rotation = rotation;
+            this.scale = scale;
+        }
+    }
 }
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.AABB;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * A grid of entity positions with a cell per chunk, which backs the {@link LocationIndex}.
+ * <br><br>
+ * Each entity is stored with a copy of its position and of the types of its components, so that queries don't need to
+ * touch the entity system. Queries may run on any thread while the grid is being updated.
+ */
+public class LocationGrid {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TLongObjectMap<Entry> entries = new TLongObjectHashMap<>();
+    private final Map<Vector3i, Set<Entry>> cells = Maps.newHashMap();
+
+    /**
+     * Adds an entity to the grid, or replaces it if it is there already.
+     */
+    public void add(EntityRef entity, Vector3f position, Collection<Class<? extends Component>> componentTypes) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(entity.getId());
+            if (entry == null) {
+                entry = new Entry(entity);
+                entries.put(entity.getId(), entry);
+            } else {
+                entry.componentTypes.clear();
+            }
+            entry.componentTypes.addAll(componentTypes);
+            moveEntry(entry, position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the position of an entity, if it is in the grid.
+     */
+    public void move(EntityRef entity, Vector3f position) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(entity.getId());
+            if (entry != null) {
+                moveEntry(entry, position);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addComponentType(EntityRef entity, Class<? extends Component> componentType) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(entity.getId());
+            if (entry != null) {
+                entry.componentTypes.add(componentType);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeComponentType(EntityRef entity, Class<? extends Component> componentType) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(entity.getId());
+            if (entry != null) {
+                entry.componentTypes.remove(componentType);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(EntityRef entity) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(entity.getId());
+            if (entry != null) {
+                removeFromCell(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(EntityRef entity) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(entity.getId());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @see LocationIndex#getEntitiesInRange(Vector3f, float, Class[])
+     */
+    public List<EntityRef> getEntitiesInRange(Vector3f center, float radius, Class<? extends Component>[] componentTypes) {
+        float radiusSquared = radius * radius;
+        List<EntityRef> result = Lists.newArrayList();
+        visit(center.x - radius, center.y - radius, center.z - radius, center.x + radius, center.y + radius, center.z + radius, componentTypes, entry -> {
+            if (entry.distanceSquared(center) <= radiusSquared) {
+                result.add(entry.entity);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @see LocationIndex#getEntitiesInRegion(AABB, Class[])
+     */
+    public List<EntityRef> getEntitiesInRegion(AABB region, Class<? extends Component>[] componentTypes) {
+        List<EntityRef> result = Lists.newArrayList();
+        visit(region.minX(), region.minY(), region.minZ(), region.maxX(), region.maxY(), region.maxZ(), componentTypes, entry -> {
+            if (entry.x >= region.minX() && entry.x <= region.maxX() && entry.y >= region.minY() && entry.y <= region.maxY()
+                    && entry.z >= region.minZ() && entry.z <= region.maxZ()) {
+                result.add(entry.entity);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @see LocationIndex#getNearestEntities(Vector3f, int, float, Class[])
+     */
+    public List<EntityRef> getNearestEntities(Vector3f position, int count, float maxDistance, Class<? extends Component>[] componentTypes) {
+        float maxDistanceSquared = maxDistance * maxDistance;
+        // The distances are taken under the lock, as the entries may move as soon as it is released
+        List<Candidate> candidates = Lists.newArrayList();
+        visit(position.x - maxDistance, position.y - maxDistance, position.z - maxDistance,
+                position.x + maxDistance, position.y + maxDistance, position.z + maxDistance, componentTypes, entry -> {
+                    float distanceSquared = entry.distanceSquared(position);
+                    if (distanceSquared <= maxDistanceSquared) {
+                        candidates.add(new Candidate(entry.entity, distanceSquared));
+                    }
+                });
+        candidates.sort(Comparator.comparingDouble(candidate -> candidate.distanceSquared));
+        List<EntityRef> result = Lists.newArrayListWithCapacity(Math.min(count, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < count; i++) {
+            result.add(candidates.get(i).entity);
+        }
+        return result;
+    }
+
+    /**
+     * Passes the entries with all the given component types in the cells overlapping the given box to the visitor, under
+     * the read lock.
+     */
+    private void visit(float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+                       Class<? extends Component>[] componentTypes, Consumer<Entry> visitor) {
+        int minCellX = cellX(minX);
+        int minCellY = cellY(minY);
+        int minCellZ = cellZ(minZ);
+        int maxCellX = cellX(maxX);
+        int maxCellY = cellY(maxY);
+        int maxCellZ = cellZ(maxZ);
+        long cellCount = (maxCellX - (long) minCellX + 1) * (maxCellY - (long) minCellY + 1) * (maxCellZ - (long) minCellZ + 1);
+
+        lock.readLock().lock();
+        try {
+            if (cellCount > cells.size()) {
+                // Fewer cells are occupied than covered by the box, so it is cheaper to go through all of them
+                for (Map.Entry<Vector3i, Set<Entry>> cell : cells.entrySet()) {
+                    Vector3i pos = cell.getKey();
+                    if (pos.x >= minCellX && pos.x <= maxCellX && pos.y >= minCellY && pos.y <= maxCellY && pos.z >= minCellZ && pos.z <= maxCellZ) {
+                        visitCell(cell.getValue(), componentTypes, visitor);
+                    }
+                }
+            } else {
+                Vector3i pos = new Vector3i();
+                for (int x = minCellX; x <= maxCellX; x++) {
+                    for (int y = minCellY; y <= maxCellY; y++) {
+                        for (int z = minCellZ; z <= maxCellZ; z++) {
+                            pos.set(x, y, z);
+                            Set<Entry> cell = cells.get(pos);
+                            if (cell != null) {
+                                visitCell(cell, componentTypes, visitor);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void visitCell(Set<Entry> cell, Class<? extends Component>[] componentTypes, Consumer<Entry> visitor) {
+        for (Entry entry : cell) {
+            if (entry.hasComponentTypes(componentTypes)) {
+                visitor.accept(entry);
+            }
+        }
+    }
+
+    private void moveEntry(Entry entry, Vector3f position) {
+        entry.x = position.x;
+        entry.y = position.y;
+        entry.z = position.z;
+        int x = cellX(position.x);
+        int y = cellY(position.y);
+        int z = cellZ(position.z);
+        if (entry.cell != null) {
+            if (entry.cell.x == x && entry.cell.y == y && entry.cell.z == z) {
+                return;
+            }
+            removeFromCell(entry);
+        }
+        entry.cell = new Vector3i(x, y, z);
+        Set<Entry> cell = cells.get(entry.cell);
+        if (cell == null) {
+            cell = Sets.newHashSet();
+            cells.put(entry.cell, cell);
+        }
+        cell.add(entry);
+    }
+
+    private void removeFromCell(Entry entry) {
+        Set<Entry> cell = cells.get(entry.cell);
+        if (cell != null) {
+            cell.remove(entry);
+            if (cell.isEmpty()) {
+                cells.remove(entry.cell);
+            }
+        }
+        entry.cell = null;
+    }
+
+    private static int cellX(float x) {
+        return ChunkMath.calcChunkPosX(TeraMath.floorToInt(x + 0.5f), ChunkConstants.POWER_X);
+    }
+
+    private static int cellY(float y) {
+        return ChunkMath.calcChunkPosY(TeraMath.floorToInt(y + 0.5f), ChunkConstants.POWER_Y);
+    }
+
+    private static int cellZ(float z) {
+        return ChunkMath.calcChunkPosZ(TeraMath.floorToInt(z + 0.5f), ChunkConstants.POWER_Z);
+    }
+
+    private static final class Entry {
+        private final EntityRef entity;
+        private final Set<Class<? extends Component>> componentTypes = Sets.newHashSet();
+        private float x;
+        private float y;
+        private float z;
+        private Vector3i cell;
+
+        private Entry(EntityRef entity) {
+            this.entity = entity;
+        }
+
+        private float distanceSquared(Vector3f position) {
+            float dx = x - position.x;
+            float dy = y - position.y;
+            float dz = z - position.z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+        private boolean hasComponentTypes(Class<? extends Component>[] types) {
+            for (Class<? extends Component> type : types) {
+                if (!componentTypes.contains(type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Candidate {
+        private final EntityRef entity;
+        private final float distanceSquared;
+
+        private Candidate(EntityRef entity, float distanceSquared) {
+            this.entity = entity;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
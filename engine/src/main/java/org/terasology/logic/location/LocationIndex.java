@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.List;
+
+/**
+ * Finds the entities with a {@link LocationComponent} near a position, without going through all of them.
+ * <br><br>
+ * The index follows the world position of the entities as their location components are saved. Queries may be made
+ * from any thread; they see the positions and components as of the last save on the main thread.
+ */
+public interface LocationIndex {
+
+    /**
+     * @param center The center of the sphere, in world coordinates
+     * @param radius The radius of the sphere
+     * @param componentTypes The components the entities must have
+     * @return The entities with all the given components whose world position is within the sphere, in no particular
+     * order
+     */
+    List<EntityRef> getEntitiesInRange(Vector3f center, float radius, Class<? extends Component>... componentTypes);
+
+    /**
+     * @param region The region, in world coordinates
+     * @param componentTypes The components the entities must have
+     * @return The entities with all the given components whose world position is within the region, in no particular
+     * order
+     */
+    List<EntityRef> getEntitiesInRegion(AABB region, Class<? extends Component>... componentTypes);
+
+    /**
+     * @param position The position to measure the distance from, in world coordinates
+     * @param count The maximum number of entities to return
+     * @param maxDistance The maximum distance of the entities, which bounds the area that is searched
+     * @param componentTypes The components the entities must have
+     * @return Up to count entities with all the given components within maxDistance of the position, nearest first
+     */
+    List<EntityRef> getNearestEntities(Vector3f position, int count, float maxDistance, Class<? extends Component>... componentTypes);
+}
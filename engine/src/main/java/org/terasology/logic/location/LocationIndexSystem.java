@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.collect.Lists;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.EntityChangeSubscriber;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps a {@link LocationGrid} of all entities with a {@link LocationComponent} up to date, by following the changes
+ * to their components.
+ * <br><br>
+ * When a location is saved, the entities attached to it are moved along with it, as their world positions depend on
+ * it.
+ */
+@RegisterSystem
+@Share(LocationIndex.class)
+public class LocationIndexSystem extends BaseComponentSystem implements LocationIndex, EntityChangeSubscriber {
+    @In
+    private EngineEntityManager entityManager;
+
+    private final LocationGrid grid = new LocationGrid();
+    private final Vector3f worldPosition = new Vector3f();
+
+    @Override
+    public void initialise() {
+        entityManager.subscribeForChanges(this);
+        for (EntityRef entity : entityManager.getEntitiesWith(LocationComponent.class)) {
+            add(entity);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        entityManager.unsubscribe(this);
+        grid.clear();
+    }
+
+    @Override
+    public List<EntityRef> getEntitiesInRange(Vector3f center, float radius, Class<? extends Component>... componentTypes) {
+        return grid.getEntitiesInRange(center, radius, componentTypes);
+    }
+
+    @Override
+    public List<EntityRef> getEntitiesInRegion(AABB region, Class<? extends Component>... componentTypes) {
+        return grid.getEntitiesInRegion(region, componentTypes);
+    }
+
+    @Override
+    public List<EntityRef> getNearestEntities(Vector3f position, int count, float maxDistance, Class<? extends Component>... componentTypes) {
+        return grid.getNearestEntities(position, count, maxDistance, componentTypes);
+    }
+
+    @Override
+    public void onEntityComponentAdded(EntityRef entity, Class<? extends Component> component) {
+        if (component == LocationComponent.class) {
+            add(entity);
+        } else {
+            grid.addComponentType(entity, component);
+        }
+    }
+
+    @Override
+    public void onEntityComponentChange(EntityRef entity, Class<? extends Component> component) {
+        if (component == LocationComponent.class) {
+            move(entity);
+        }
+    }
+
+    @Override
+    public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component> component) {
+        if (component == LocationComponent.class) {
+            grid.remove(entity);
+        } else {
+            grid.removeComponentType(entity, component);
+        }
+    }
+
+    @Override
+    public void onReactivation(EntityRef entity, Collection<Component> components) {
+        for (Component component : components) {
+            if (component instanceof LocationComponent) {
+                add(entity);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onBeforeDeactivation(EntityRef entity, Collection<Component> components) {
+        grid.remove(entity);
+    }
+
+    private void add(EntityRef entity) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return;
+        }
+        List<Class<? extends Component>> componentTypes = Lists.newArrayList();
+        for (Component component : entity.iterateComponents()) {
+            componentTypes.add(component.getClass());
+        }
+        grid.add(entity, location.getWorldPosition(worldPosition), componentTypes);
+        moveChildren(location);
+    }
+
+    private void move(EntityRef entity) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location != null) {
+            grid.move(entity, location.getWorldPosition(worldPosition));
+            moveChildren(location);
+        }
+    }
+
+    private void moveChildren(LocationComponent location) {
+        for (EntityRef child : location.getChildren()) {
+            move(child);
+        }
+    }
+}
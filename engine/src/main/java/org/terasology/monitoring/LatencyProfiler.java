@@ -0,0 +1,223 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring;
+
+import com.google.common.collect.Maps;
+import org.terasology.monitoring.impl.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the distribution of latencies of update subscriber systems, events, network clients, worker thread tasks and
+ * world generation, to find out about the worst ticks rather than the average ones.
+ * <br><br>
+ * Unlike the {@link PerformanceMonitor}, latencies may be recorded from any thread. Each latency is measured between a
+ * call to {@link #start()} and a call to {@link #record(Category, String, long)}:
+ * <pre>
+ * long start = LatencyProfiler.start();
+ * doSomething();
+ * LatencyProfiler.record(LatencyProfiler.Category.SYSTEM, "mySystem", start);
+ * </pre>
+ * While the profiler is disabled, start() doesn't read the clock and record() returns straight away.
+ * <br><br>
+ * Recorded latencies are collected into intervals, see {@link #rollInterval()}.
+ */
+public final class LatencyProfiler {
+    private static final long NOT_RECORDING = Long.MIN_VALUE;
+
+    private static volatile boolean enabled;
+    private static final Map<Category, ConcurrentMap<String, LatencyHistogram>> histograms = new EnumMap<>(Category.class);
+    private static volatile Interval lastInterval;
+    private static long intervalStart = System.currentTimeMillis();
+
+    static {
+        for (Category category : Category.values()) {
+            histograms.put(category, Maps.newConcurrentMap());
+        }
+    }
+
+    private LatencyProfiler() {
+    }
+
+    /**
+     * Enables or disables the profiler. Latencies recorded so far are dropped either way.
+     */
+    public static synchronized void setEnabled(boolean enable) {
+        enabled = enable;
+        for (ConcurrentMap<String, LatencyHistogram> categoryHistograms : histograms.values()) {
+            categoryHistograms.clear();
+        }
+        lastInterval = null;
+        intervalStart = System.currentTimeMillis();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The start time to pass to {@link #record(Category, String, long)}
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_RECORDING;
+    }
+
+    /**
+     * Records the time passed since the given start time.
+     *
+     * @param category The kind of work that was done
+     * @param name The name of the system, event type, client or task
+     * @param startTime The time returned by {@link #start()} when the work started
+     */
+    public static void record(Category category, String name, long startTime) {
+        if (startTime == NOT_RECORDING || !enabled) {
+            return;
+        }
+        recordDuration(category, name, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Records a latency that was measured by the caller, for work that has to leave out the time spent in nested work.
+     * Callers should check {@link #isEnabled()} before measuring.
+     *
+     * @param category The kind of work that was done
+     * @param name The name of the system, event type, client, task, facet provider or rasterizer
+     * @param duration The time the work took, in nanoseconds
+     */
+    public static void recordDuration(Category category, String name, long duration) {
+        if (!enabled) {
+            return;
+        }
+        ConcurrentMap<String, LatencyHistogram> categoryHistograms = histograms.get(category);
+        LatencyHistogram histogram = categoryHistograms.get(name);
+        if (histogram == null) {
+            histogram = categoryHistograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        histogram.record(duration);
+    }
+
+    /**
+     * Ends the current interval and starts a new one.
+     *
+     * @return The latencies recorded during the interval that ended
+     */
+    public static synchronized Interval rollInterval() {
+        long now = System.currentTimeMillis();
+        Map<Category, SortedMap<String, LatencyHistogram>> intervalHistograms = new EnumMap<>(Category.class);
+        for (Map.Entry<Category, ConcurrentMap<String, LatencyHistogram>> entry : histograms.entrySet()) {
+            SortedMap<String, LatencyHistogram> categoryHistograms = Maps.newTreeMap();
+            for (Map.Entry<String, LatencyHistogram> histogram : entry.getValue().entrySet()) {
+                LatencyHistogram intervalHistogram = new LatencyHistogram();
+                histogram.getValue().drainTo(intervalHistogram);
+                if (intervalHistogram.getCount() > 0) {
+                    categoryHistograms.put(histogram.getKey(), intervalHistogram);
+                }
+            }
+            intervalHistograms.put(entry.getKey(), categoryHistograms);
+        }
+        Interval interval = new Interval(intervalStart, now, intervalHistograms);
+        intervalStart = now;
+        lastInterval = interval;
+        return interval;
+    }
+
+    /**
+     * @return The interval that ended last, or null if none has ended since the profiler was enabled
+     */
+    public static Interval getLastInterval() {
+        return lastInterval;
+    }
+
+    public enum Category {
+        SYSTEM,
+        EVENT,
+        CLIENT,
+        TASK,
+        FACET_PROVIDER,
+        RASTERIZER
+    }
+
+    /**
+     * The latencies recorded during a period of time.
+     */
+    public static final class Interval {
+        private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+        private final long startTime;
+        private final long endTime;
+        private final Map<Category, SortedMap<String, LatencyHistogram>> histograms;
+
+        private Interval(long startTime, long endTime, Map<Category, SortedMap<String, LatencyHistogram>> histograms) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.histograms = histograms;
+        }
+
+        /**
+         * @return The start of the interval, in milliseconds since the epoch
+         */
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * @return The end of the interval, in milliseconds since the epoch
+         */
+        public long getEndTime() {
+            return endTime;
+        }
+
+        /**
+         * @return The histograms of the given category that recorded latencies, by name
+         */
+        public SortedMap<String, LatencyHistogram> getHistograms(Category category) {
+            return Collections.unmodifiableSortedMap(histograms.get(category));
+        }
+
+        /**
+         * @return A table of the count, mean, percentiles and maximum of each histogram, in milliseconds
+         */
+        public String format() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format("Latencies over %.1f s%n", (endTime - startTime) / 1000.0));
+            for (Category category : Category.values()) {
+                SortedMap<String, LatencyHistogram> categoryHistograms = histograms.get(category);
+                if (categoryHistograms.isEmpty()) {
+                    continue;
+                }
+                builder.append(String.format("%-40s %8s %8s %8s %8s %8s %8s %8s%n", category, "count", "mean", "p50", "p90", "p99", "p99.9", "max"));
+                for (Map.Entry<String, LatencyHistogram> entry : categoryHistograms.entrySet()) {
+                    LatencyHistogram histogram = entry.getValue();
+                    builder.append(String.format("  %-38s %8d %8.3f", entry.getKey(), histogram.getCount(), toMs(histogram.getMean())));
+                    for (double percentile : REPORTED_PERCENTILES) {
+                        builder.append(String.format(" %8.3f", toMs(histogram.getValueAtPercentile(percentile))));
+                    }
+                    builder.append(String.format(" %8.3f%n", toMs(histogram.getMax())));
+                }
+            }
+            return builder.toString();
+        }
+
+        private static double toMs(double nanos) {
+            return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
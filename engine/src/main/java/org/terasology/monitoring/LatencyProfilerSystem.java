@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.config.Config;
+import org.terasology.engine.Time;
+import org.terasology.engine.paths.PathManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.permission.PermissionManager;
+import org.terasology.registry.In;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enables the {@link LatencyProfiler} according to the system config, and periodically appends the latencies it
+ * recorded to a file in the log folder.
+ */
+@RegisterSystem
+public class LatencyProfilerSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final Logger logger = LoggerFactory.getLogger(LatencyProfilerSystem.class);
+
+    private static final String EXPORT_FILE_NAME = "latencies.log";
+
+    @In
+    private Config config;
+
+    @In
+    private Time time;
+
+    private long nextExportTime;
+
+    @Override
+    public void initialise() {
+        LatencyProfiler.setEnabled(config.getSystem().isLatencyProfilingEnabled());
+        nextExportTime = time.getRealTimeInMs() + getExportInterval();
+    }
+
+    @Override
+    public void update(float delta) {
+        if (LatencyProfiler.isEnabled() && getExportInterval() > 0 && time.getRealTimeInMs() >= nextExportTime) {
+            nextExportTime = time.getRealTimeInMs() + getExportInterval();
+            export(LatencyProfiler.rollInterval());
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (LatencyProfiler.isEnabled()) {
+            export(LatencyProfiler.rollInterval());
+            LatencyProfiler.setEnabled(false);
+        }
+    }
+
+    @Command(shortDescription = "Shows the latency percentiles recorded since the last export", runOnServer = true,
+            requiredPermission = PermissionManager.SERVER_MANAGEMENT_PERMISSION)
+    public String dumpLatencies() {
+        if (!LatencyProfiler.isEnabled()) {
+            return "Latency profiling is disabled, it can be enabled in the system config";
+        }
+        LatencyProfiler.Interval interval = LatencyProfiler.rollInterval();
+        nextExportTime = time.getRealTimeInMs() + getExportInterval();
+        export(interval);
+        return interval.format();
+    }
+
+    private long getExportInterval() {
+        return TimeUnit.SECONDS.toMillis(config.getSystem().getLatencyExportIntervalInSeconds());
+    }
+
+    private void export(LatencyProfiler.Interval interval) {
+        Path exportFile = PathManager.getInstance().getLogPath().resolve(EXPORT_FILE_NAME);
+        DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        try (BufferedWriter writer = Files.newBufferedWriter(exportFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(dateFormat.format(new Date(interval.getEndTime())));
+            writer.newLine();
+            writer.write(interval.format());
+            writer.newLine();
+        } catch (IOException e) {
+            logger.error("Failed to export latencies to {}", exportFile, e);
+        }
+    }
+}
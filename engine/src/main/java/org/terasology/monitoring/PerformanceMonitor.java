@@ -27,8 +27,10 @@
  * Activities may be nested, and while a nested activity is running the collection of data from outer activities
  * is paused: time passing and allocated memory are not assigned to them.
  * <br><br>
- * Performance monitor is intended only for use by the main thread of Terasology, and does not handle
- * activities being started and ended on other threads at this time.
+ * Activities may also be started and ended on other threads, such as the workers of a
+ * {@link org.terasology.utilities.concurrency.TaskMaster}. Each thread nests its own activities. The execution times
+ * of activities on other threads are summed over all threads and added to the cycle they ended in. Their allocated
+ * memory is not tracked.
  */
 public final class PerformanceMonitor {
     private static PerformanceMonitorInternal instance;
@@ -89,6 +91,29 @@ public static void endActivity() {
         instance.endActivity();
     }
 
+    /**
+     * Adds the execution time of an activity that was measured elsewhere, for example on a worker thread, to the
+     * current cycle. Unlike activities started through startActivity(), recorded activities do not pause the
+     * activity that is currently running.
+     *
+     * @param activityName the name of the activity that was executed.
+     * @param executionTimeInMs the time the activity took to execute, in milliseconds.
+     */
+    public static void recordActivity(String activityName, long executionTimeInMs) {
+        instance.recordActivity(activityName, executionTimeInMs);
+    }
+
+    /**
+     * Like recordActivity(), but for activities that were measured in nanoseconds. Activities shorter than a
+     * millisecond would otherwise be recorded as taking no time at all.
+     *
+     * @param activityName the name of the activity that was executed.
+     * @param executionTimeInNanos the time the activity took to execute, in nanoseconds.
+     */
+    public static void recordActivityNanos(String activityName, long executionTimeInNanos) {
+        instance.recordActivityNanos(activityName, executionTimeInNanos);
+    }
+
     /**
      * Drops old information and updates the metrics. Should be called once per frame.
      */
@@ -22,6 +22,7 @@
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.blockdata.TeraOffHeapArray;
 
 import java.util.List;
 import java.util.Map;
@@ -92,6 +93,27 @@ public static void fireChunkTessellated(Vector3i chunkPos, ChunkMesh mesh) {
         post(new ChunkMonitorEvent.Tessellated(chunkPos, mesh));
     }
 
+    /**
+     * @return The off-heap memory used by chunk data, in bytes
+     */
+    public static long getOffHeapAllocatedBytes() {
+        return TeraOffHeapArray.getAllocator().getAllocatedBytes();
+    }
+
+    /**
+     * @return The off-heap memory reserved for chunk data, including unused blocks, in bytes
+     */
+    public static long getOffHeapReservedBytes() {
+        return TeraOffHeapArray.getAllocator().getReservedBytes();
+    }
+
+    /**
+     * @return The number of off-heap arrays of chunk data that were garbage collected without being disposed
+     */
+    public static int getOffHeapLeakCount() {
+        return TeraOffHeapArray.getAllocator().getLeakCount();
+    }
+
     public static synchronized void getChunks(List<ChunkMonitorEntry> output) {
         Preconditions.checkNotNull(output, "The parameter 'output' must not be null");
         output.addAll(CHUNKS.values());
@@ -38,6 +38,14 @@ public Activity startActivity(String activity) {
     public void endActivity() {
     }
 
+    @Override
+    public void recordActivity(String activity, long executionTimeInMs) {
+    }
+
+    @Override
+    public void recordActivityNanos(String activity, long executionTimeInNanos) {
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         return metrics;
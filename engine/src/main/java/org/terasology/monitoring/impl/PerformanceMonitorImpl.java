@@ -16,6 +16,7 @@
 package org.terasology.monitoring.impl;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import gnu.trove.map.TObjectDoubleMap;
 import gnu.trove.map.TObjectLongMap;
@@ -30,24 +31,29 @@
 
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Active implementation of Performance Monitor
+ * <br><br>
+ * Activities of other threads than the main one are tracked on a stack per thread. Their execution times are summed
+ * into striped counters shared by all threads, without locking, and are added to the current cycle when it is rolled.
+ * Memory allocation is only tracked for the main thread, as the free memory of the heap is shared by all threads.
  */
 // TODO: Check to ensure activities are being started and stopped correctly
 // TODO: Remove activities with 0 time
 public class PerformanceMonitorImpl implements PerformanceMonitorInternal {
     private static final int RETAINED_CYCLES = 60;
     private static final double DECAY_RATE = 0.98;
-    private static final Activity OFF_THREAD_ACTIVITY = new NullActivity();
-    // NullActivity instances are used by the NullPerformanceMonitor and for processes NOT running
-    // on the main thread. Not strictly necessary (these processes are ignored by the PerformanceMonitor
-    // anyway) an instance of this class offers a slight performance improvement over standard Activity
-    // implementations as it doesn't call the PerformanceMonitor.endActivity() method.
 
     private final Activity activityInstance = new ActivityInstance();
 
     private final Deque<ActivityInfo> activityStack;
+    private final ThreadLocal<Deque<OffThreadActivityInfo>> offThreadActivityStacks = ThreadLocal.withInitial(Queues::newArrayDeque);
+    private final ConcurrentMap<String, LongAdder> offThreadExecutionTimes = Maps.newConcurrentMap();
 
     private final List<TObjectLongMap<String>> executionData;
     private final List<TObjectLongMap<String>> allocationData;
@@ -95,6 +101,7 @@ public PerformanceMonitorImpl() {
 
     @Override
     public void rollCycle() {
+        addOffThreadExecutionTimes();
         executionData.add(currentExecutionData);
         allocationData.add(currentAllocationData);
 
@@ -119,7 +126,8 @@ public void rollCycle() {
     @Override
     public Activity startActivity(String activityName) {
         if (Thread.currentThread() != mainThread) {
-            return OFF_THREAD_ACTIVITY;
+            startOffThreadActivity(activityName);
+            return activityInstance;
         }
 
         ActivityInfo newActivity = new ActivityInfo(activityName).initialize();
@@ -136,7 +144,11 @@ public Activity startActivity(String activityName) {
 
     @Override
     public void endActivity() {
-        if (Thread.currentThread() != mainThread || activityStack.isEmpty()) {
+        if (Thread.currentThread() != mainThread) {
+            endOffThreadActivity();
+            return;
+        }
+        if (activityStack.isEmpty()) {
             return;
         }
 
@@ -157,6 +169,61 @@ public void endActivity() {
         }
     }
 
+    @Override
+    public void recordActivity(String activityName, long executionTimeInMs) {
+        recordActivityNanos(activityName, TimeUnit.MILLISECONDS.toNanos(executionTimeInMs));
+    }
+
+    @Override
+    public void recordActivityNanos(String activityName, long executionTimeInNanos) {
+        // Summed in nanoseconds whatever the thread, so that activities shorter than a millisecond still add up
+        addOffThreadExecutionTime(activityName, executionTimeInNanos);
+    }
+
+    private void startOffThreadActivity(String activityName) {
+        Deque<OffThreadActivityInfo> stack = offThreadActivityStacks.get();
+        long now = System.nanoTime();
+        OffThreadActivityInfo currentActivity = stack.peek();
+        if (currentActivity != null) {
+            currentActivity.ownTime += now - currentActivity.resumeTime;
+        }
+        stack.push(new OffThreadActivityInfo(activityName, now));
+    }
+
+    private void endOffThreadActivity() {
+        Deque<OffThreadActivityInfo> stack = offThreadActivityStacks.get();
+        OffThreadActivityInfo oldActivity = stack.poll();
+        if (oldActivity == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        addOffThreadExecutionTime(oldActivity.name, oldActivity.ownTime + now - oldActivity.resumeTime);
+        OffThreadActivityInfo currentActivity = stack.peek();
+        if (currentActivity != null) {
+            currentActivity.resumeTime = now;
+        }
+    }
+
+    private void addOffThreadExecutionTime(String activityName, long executionTimeInNanos) {
+        LongAdder total = offThreadExecutionTimes.get(activityName);
+        if (total == null) {
+            total = offThreadExecutionTimes.computeIfAbsent(activityName, name -> new LongAdder());
+        }
+        total.add(executionTimeInNanos);
+    }
+
+    private void addOffThreadExecutionTimes() {
+        for (Map.Entry<String, LongAdder> entry : offThreadExecutionTimes.entrySet()) {
+            long nanos = entry.getValue().sumThenReset();
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            if (millis > 0) {
+                currentExecutionData.adjustOrPutValue(entry.getKey(), millis, millis);
+            }
+            // Carry the remainder over to the next cycle, so that many short activities still add up
+            entry.getValue().add(nanos - TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         TObjectDoubleMap<String> activityToMeanMap = new TObjectDoubleHashMap<>();
@@ -203,6 +270,17 @@ public ActivityInfo initialize() {
         }
     }
 
+    private static final class OffThreadActivityInfo {
+        private final String name;
+        private long resumeTime;
+        private long ownTime;
+
+        private OffThreadActivityInfo(String name, long startTime) {
+            this.name = name;
+            this.resumeTime = startTime;
+        }
+    }
+
     private class ActivityInstance implements Activity {
 
         @Override
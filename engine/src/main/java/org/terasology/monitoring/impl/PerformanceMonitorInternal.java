@@ -29,6 +29,10 @@ public interface PerformanceMonitorInternal {
 
     void endActivity();
 
+    void recordActivity(String activity, long executionTimeInMs);
+
+    void recordActivityNanos(String activity, long executionTimeInNanos);
+
     TObjectDoubleMap<String> getRunningMean();
 
     TObjectDoubleMap<String> getDecayingSpikes();
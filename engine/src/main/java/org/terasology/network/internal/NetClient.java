@@ -25,6 +25,8 @@
 import com.google.common.collect.Sets;
 
 import gnu.trove.iterator.TIntIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
@@ -50,13 +52,16 @@
 import org.terasology.network.ColorComponent;
 import org.terasology.network.NetMetricSource;
 import org.terasology.network.NetworkComponent;
+import org.terasology.network.serialization.ChangedFieldSerializeCheck;
 import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.persistence.serializers.FieldSerializeCheck;
 import org.terasology.persistence.serializers.EventSerializer;
 import org.terasology.persistence.serializers.NetworkEntitySerializer;
 import org.terasology.persistence.typeHandling.DeserializationException;
 import org.terasology.persistence.typeHandling.SerializationException;
 import org.terasology.protobuf.EntityData;
 import org.terasology.protobuf.NetData;
+import org.terasology.reflection.metadata.FieldMetadata;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.nui.Color;
 import org.terasology.rendering.world.viewDistance.ViewDistance;
@@ -71,6 +76,7 @@
 
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -106,6 +112,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
+    // For dirty components of which only some fields changed. Dirty components without an entry are sent in full.
+    private TIntObjectMap<Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>>> dirtyFields = new TIntObjectHashMap<>();
 
     private String preferredName = "Player";
     private long lastReceivedTime;
@@ -292,6 +300,7 @@ public void setNetRemoved(int netId) {
             netRemoved.add(netId);
         }
         dirtyComponents.keySet().remove(netId);
+        dirtyFields.remove(netId);
         addedComponents.keySet().remove(netId);
         removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
@@ -302,6 +311,7 @@ public void setComponentAdded(int networkId, Class<? extends Component> componen
         if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
             if (removedComponents.remove(networkId, component)) {
                 dirtyComponents.put(networkId, component);
+                removeDirtyFields(networkId, component);
             } else {
                 addedComponents.put(networkId, component);
                 netDirty.add(networkId);
@@ -313,6 +323,7 @@ public void setComponentRemoved(int networkId, Class<? extends Component> compon
         if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
             if (!addedComponents.remove(networkId, component)) {
                 removedComponents.put(networkId, component);
+                removeDirtyFields(networkId, component);
                 if (!dirtyComponents.remove(networkId, component)) {
                     netDirty.add(networkId);
                 }
@@ -321,12 +332,42 @@ public void setComponentRemoved(int networkId, Class<? extends Component> compon
     }
 
     public void setComponentDirty(int netId, Class<? extends Component> componentType) {
+        setComponentDirty(netId, componentType, null);
+    }
+
+    /**
+     * @param changedFields The fields of the component that changed, or null if the whole component should be sent
+     */
+    public void setComponentDirty(int netId, Class<? extends Component> componentType, Collection<? extends FieldMetadata<?, ?>> changedFields) {
         if (netRelevant.contains(netId) && !netInitial.contains(netId) && !addedComponents.get(netId).contains(componentType)) {
-            dirtyComponents.put(netId, componentType);
+            boolean newlyDirty = dirtyComponents.put(netId, componentType);
+            if (changedFields == null) {
+                removeDirtyFields(netId, componentType);
+            } else if (newlyDirty) {
+                Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>> fieldsByComponent = dirtyFields.get(netId);
+                if (fieldsByComponent == null) {
+                    fieldsByComponent = Maps.newHashMap();
+                    dirtyFields.put(netId, fieldsByComponent);
+                }
+                fieldsByComponent.put(componentType, Sets.newHashSet(changedFields));
+            } else {
+                Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>> fieldsByComponent = dirtyFields.get(netId);
+                Set<FieldMetadata<?, ?>> fields = (fieldsByComponent != null) ? fieldsByComponent.get(componentType) : null;
+                if (fields != null) {
+                    fields.addAll(changedFields);
+                }
+            }
             netDirty.add(netId);
         }
     }
 
+    private void removeDirtyFields(int netId, Class<? extends Component> componentType) {
+        Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>> fieldsByComponent = dirtyFields.get(netId);
+        if (fieldsByComponent != null) {
+            fieldsByComponent.remove(componentType);
+        }
+    }
+
     public void connected(EntityManager entityManager, NetworkEntitySerializer newEntitySerializer,
                           EventSerializer newEventSerializer, EventLibrary newEventLibrary) {
         this.entitySerializer = newEntitySerializer;
@@ -457,8 +498,13 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
+            FieldSerializeCheck<Component> fieldCheck = new ServerComponentFieldCheck(isOwner, false);
+            Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>> changedFields = dirtyFields.get(netId);
+            if (changedFields != null && !changedFields.isEmpty()) {
+                fieldCheck = new ChangedFieldSerializeCheck(fieldCheck, changedFields);
+            }
             EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+                    fieldCheck);
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
             }
@@ -467,6 +513,7 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
         addedComponents.clear();
         removedComponents.clear();
         dirtyComponents.clear();
+        dirtyFields.clear();
     }
 
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
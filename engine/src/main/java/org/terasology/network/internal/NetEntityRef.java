@@ -65,7 +65,7 @@ public EntityRef copy() {
 
     @Override
     public boolean exists() {
-        return exists;
+        return exists && isHandleValid();
     }
 
     @Override
@@ -53,11 +53,13 @@
 import org.terasology.entitySystem.entity.internal.EntityChangeSubscriber;
 import org.terasology.entitySystem.entity.internal.OwnershipHelper;
 import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
 import org.terasology.module.Module;
+import org.terasology.monitoring.LatencyProfiler;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.Client;
 import org.terasology.network.JoinStatus;
@@ -310,7 +312,11 @@ public void update() {
                 }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
+                    long start = LatencyProfiler.start();
                     client.update(netTick);
+                    if (LatencyProfiler.isEnabled()) {
+                        LatencyProfiler.record(LatencyProfiler.Category.CLIENT, client.getName(), start);
+                    }
                 }
                 PerformanceMonitor.endActivity();
                 if (server != null) {
@@ -599,6 +605,11 @@ public void onBeforeDeactivation(EntityRef entity, Collection<Component> compone
 
     @Override
     public void onEntityComponentChange(EntityRef entity, Class<? extends Component> component) {
+        onEntityComponentChange(entity, component, null);
+    }
+
+    @Override
+    public void onEntityComponentChange(EntityRef entity, Class<? extends Component> component, Collection<? extends ComponentFieldMetadata<?, ?>> changedFields) {
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         ComponentMetadata<? extends Component> metadata = componentLibrary.getMetadata(component);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
@@ -607,7 +618,7 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
                 case DEDICATED_SERVER:
                     if (metadata.isReplicated()) {
                         for (NetClient client : netClientList) {
-                            client.setComponentDirty(netComp.getNetworkId(), component);
+                            client.setComponentDirty(netComp.getNetworkId(), component, changedFields);
                         }
                     }
                     break;
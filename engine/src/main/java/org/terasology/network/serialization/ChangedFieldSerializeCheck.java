@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.serialization;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
+import org.terasology.persistence.serializers.FieldSerializeCheck;
+import org.terasology.reflection.metadata.ClassMetadata;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Restricts another field check to the fields that are known to have changed. Components without an entry in the
+ * changed field map are checked as a whole.
+ *
+ */
+public class ChangedFieldSerializeCheck implements FieldSerializeCheck<Component> {
+    private final FieldSerializeCheck<Component> check;
+    private final Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>> changedFields;
+
+    public ChangedFieldSerializeCheck(FieldSerializeCheck<Component> check, Map<Class<? extends Component>, Set<FieldMetadata<?, ?>>> changedFields) {
+        this.check = check;
+        this.changedFields = changedFields;
+    }
+
+    @Override
+    public boolean shouldSerializeField(ReplicatedFieldMetadata<?, ?> field, Component object) {
+        return isChanged(field, object) && check.shouldSerializeField(field, object);
+    }
+
+    @Override
+    public boolean shouldSerializeField(ReplicatedFieldMetadata<?, ?> field, Component object, boolean componentInitial) {
+        return (componentInitial || isChanged(field, object)) && check.shouldSerializeField(field, object, componentInitial);
+    }
+
+    @Override
+    public boolean shouldDeserialize(ClassMetadata<?, ?> classMetadata, FieldMetadata<?, ?> fieldMetadata) {
+        return check.shouldDeserialize(classMetadata, fieldMetadata);
+    }
+
+    private boolean isChanged(ReplicatedFieldMetadata<?, ?> field, Component object) {
+        Set<FieldMetadata<?, ?>> fields = changedFields.get(object.getClass());
+        return fields == null || fields.contains(field);
+    }
+}
@@ -86,9 +86,8 @@ public void loadGlobalStore() throws IOException {
         Path globalDataFile = storagePathProvider.getGlobalEntityStorePath();
         if (Files.isRegularFile(globalDataFile)) {
             try (InputStream in = new BufferedInputStream(Files.newInputStream(globalDataFile))) {
-                EntityData.GlobalStore store = EntityData.GlobalStore.parseFrom(in);
                 GlobalStoreLoader loader = new GlobalStoreLoader(environment, entityManager, prefabSerializer);
-                loader.load(store);
+                loader.load(in);
             }
         }
     }
@@ -104,18 +103,24 @@ public PlayerStore loadPlayerStore(String playerId) {
 
     @Override
     public ChunkStore loadChunkStore(Vector3i chunkPos) {
+        EntityData.ChunkStore storeData = loadChunkStoreData(chunkPos);
+        if (storeData != null) {
+            return new ChunkStoreInternal(storeData, entityManager, blockManager, biomeManager);
+        }
+        return null;
+    }
+
+    protected EntityData.ChunkStore loadChunkStoreData(Vector3i chunkPos) {
         byte[] chunkData = loadCompressedChunk(chunkPos);
-        ChunkStore store = null;
         if (chunkData != null) {
             ByteArrayInputStream bais = new ByteArrayInputStream(chunkData);
             try (GZIPInputStream gzipIn = new GZIPInputStream(bais)) {
-                EntityData.ChunkStore storeData = EntityData.ChunkStore.parseFrom(gzipIn);
-                store = new ChunkStoreInternal(storeData, entityManager, blockManager, biomeManager);
+                return EntityData.ChunkStore.parseFrom(gzipIn);
             } catch (IOException e) {
                 logger.error("Failed to read existing saved chunk {}", chunkPos);
             }
         }
-        return store;
+        return null;
     }
 
     protected byte[] loadChunkZip(Vector3i chunkPos) {
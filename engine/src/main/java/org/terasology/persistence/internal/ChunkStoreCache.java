@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+
+/**
+ * Keeps the stores of recently unloaded and saved chunks in memory, so that chunks that are loaded again soon after,
+ * e.g. as a player moves back and forth along the edge of the view distance, are neither read from disk nor
+ * decompressed.
+ * <br><br>
+ * The stores are kept serialized but uncompressed, and are parsed again when they are taken. Parsed stores hold their
+ * run length encoded data as lists of boxed integers, which take several times the serialized size on the heap, so
+ * keeping the bytes is what lets the cache size bound the memory it uses. The cache evicts the least recently used
+ * stores first. A store is removed when its chunk is loaded, since the
+ * loaded chunk is the newest version from then on.
+ * <br><br>
+ * The cache is thread safe.
+ */
+public class ChunkStoreCache {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkStoreCache.class);
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final long maxSizeInBytes;
+    private final Cache<Vector3i, byte[]> cache;
+
+    /**
+     * @param maxSizeInBytes The maximum total serialized size of the cached stores, 0 disables the cache
+     */
+    public ChunkStoreCache(long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher((Vector3i pos, byte[] store) -> store.length)
+                .recordStats()
+                .build();
+    }
+
+    public void put(Vector3i chunkPos, EntityData.ChunkStore store) {
+        cache.put(new Vector3i(chunkPos), store.toByteArray());
+    }
+
+    /**
+     * Removes the store of the given chunk from the cache.
+     *
+     * @return The store, or null if it wasn't cached
+     */
+    public EntityData.ChunkStore take(Vector3i chunkPos) {
+        byte[] store = cache.getIfPresent(chunkPos);
+        if (store == null) {
+            return null;
+        }
+        cache.invalidate(chunkPos);
+        try {
+            return EntityData.ChunkStore.parseFrom(store);
+        } catch (InvalidProtocolBufferException e) {
+            logger.error("Failed to parse cached store of chunk {}", chunkPos, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the store of the given chunk is cached, without counting as a hit or miss.
+     */
+    public boolean contains(Vector3i chunkPos) {
+        return cache.asMap().containsKey(chunkPos);
+    }
+
+    public void invalidate(Vector3i chunkPos) {
+        cache.invalidate(chunkPos);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return The number of cached chunks
+     */
+    public long getChunkCount() {
+        return cache.size();
+    }
+
+    /**
+     * @return The total serialized size of the cached stores
+     */
+    public long getSizeInBytes() {
+        long size = 0;
+        for (byte[] store : cache.asMap().values()) {
+            size += store.length;
+        }
+        return size;
+    }
+
+    /**
+     * @return The hits, misses and evictions since the cache was created
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public String format() {
+        CacheStats stats = cache.stats();
+        return String.format("%d chunks, %.1f of %.1f MB, %d hits, %d misses (%.1f%% hit rate), %d evicted",
+                cache.size(), getSizeInBytes() / BYTES_PER_MB, maxSizeInBytes / BYTES_PER_MB, stats.hitCount(), stats.missCount(),
+                100 * stats.hitRate(), stats.evictionCount());
+    }
+}
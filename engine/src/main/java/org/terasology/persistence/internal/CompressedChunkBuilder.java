@@ -35,6 +35,7 @@ public class CompressedChunkBuilder {
     private EntityData.EntityStore entityStore;
     private ChunkImpl chunk;
     private boolean viaSnapshot;
+    private EntityData.ChunkStore chunkStore;
     private byte[] result;
     private Set<EntityRef> storedEntities;
 
@@ -57,6 +58,8 @@ public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkImpl chunk
         this.viaSnapshot = !chunkUnloaded;
         if (viaSnapshot) {
             this.chunk.createSnapshot();
+        } else {
+            this.chunk.retainBlockData();
         }
     }
 
@@ -70,20 +73,33 @@ public CompressedChunkBuilder(EntityData.EntityStore entityStore, ChunkImpl chun
         this.entityStore = entityStore;
         this.chunk = chunk;
         this.viaSnapshot = viaSnapshot;
+        if (!viaSnapshot) {
+            chunk.retainBlockData();
+        }
     }
 
-    public synchronized byte[] buildEncodedChunk() {
-        if (result == null) {
-
+    /**
+     * @return The uncompressed store of the chunk and its entities
+     */
+    public synchronized EntityData.ChunkStore buildChunkStore() {
+        if (chunkStore == null) {
             EntityData.ChunkStore.Builder encoded;
             if (viaSnapshot) {
                 encoded = chunk.encodeAndReleaseSnapshot();
             } else {
                 encoded = chunk.encode();
+                // The store replaces the data of the unloaded chunk
+                chunk.releaseBlockData();
             }
             encoded.setStore(entityStore);
-            EntityData.ChunkStore store = encoded.build();
-            result = compressChunkStore(store);
+            chunkStore = encoded.build();
+        }
+        return chunkStore;
+    }
+
+    public synchronized byte[] buildEncodedChunk() {
+        if (result == null) {
+            result = compressChunkStore(buildChunkStore());
         }
         return result;
     }
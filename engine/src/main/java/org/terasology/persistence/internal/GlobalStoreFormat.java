@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.internal;
+
+import com.google.common.io.ByteStreams;
+import org.terasology.protobuf.EntityData;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes the global entity store in a format that can be read incrementally, so that loading a large store
+ * doesn't require the whole store to be held in memory at once.
+ * <br><br>
+ * The format starts with a magic number and the format version as a big endian int, followed by a length delimited
+ * {@link EntityData.GlobalStore} holding everything but the entities. The entities follow in length delimited
+ * GlobalStore messages of at most {@value #ENTITY_BATCH_SIZE} entities each, ended by an empty message, so that a
+ * store that was cut short is noticed.
+ * <br><br>
+ * The format version is increased whenever the layout changes. Readers accept every version up to their own and
+ * refuse newer ones, so that a store written by a newer engine isn't misread. Changes that older readers handle on
+ * their own, such as new fields in the protobuf messages, don't need a new version. Stores written as a single
+ * GlobalStore message by earlier versions of the engine can still be read.
+ */
+final class GlobalStoreFormat {
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * A single GlobalStore message never starts with a zero byte, as that is not a valid protobuf field tag.
+     */
+    private static final byte[] MAGIC = {0, 'G', 'S', 'F'};
+    private static final int ENTITY_BATCH_SIZE = 256;
+
+    private GlobalStoreFormat() {
+    }
+
+    public static void write(EntityData.GlobalStore store, OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(MAGIC);
+        dataOut.writeInt(FORMAT_VERSION);
+        store.toBuilder().clearEntity().build().writeDelimitedTo(dataOut);
+
+        List<EntityData.Entity> entities = store.getEntityList();
+        for (int start = 0; start < entities.size(); start += ENTITY_BATCH_SIZE) {
+            List<EntityData.Entity> batchEntities = entities.subList(start, Math.min(start + ENTITY_BATCH_SIZE, entities.size()));
+            EntityData.GlobalStore.newBuilder().addAllEntity(batchEntities).build().writeDelimitedTo(dataOut);
+        }
+        EntityData.GlobalStore.getDefaultInstance().writeDelimitedTo(dataOut);
+        dataOut.flush();
+    }
+
+    /**
+     * Reads a global store, handing it over in parts as it is read: first everything but the entities, then the
+     * entities in batches.
+     *
+     * @param in              The stream to read the store from
+     * @param headerConsumer  Receives the store without its entities, before any entities are handed over
+     * @param entityConsumer  Receives the entities of the store, in the order they were written
+     * @throws IOException If the store could not be read, or was written in a newer format version
+     */
+    public static void read(InputStream in, Consumer<EntityData.GlobalStore> headerConsumer,
+                            Consumer<List<EntityData.Entity>> entityConsumer) throws IOException {
+        InputStream input = in.markSupported() ? in : new BufferedInputStream(in);
+        input.mark(MAGIC.length);
+        byte[] magic = new byte[MAGIC.length];
+        int read = ByteStreams.read(input, magic, 0, magic.length);
+        if (read != magic.length || !Arrays.equals(magic, MAGIC)) {
+            input.reset();
+            EntityData.GlobalStore store = EntityData.GlobalStore.parseFrom(input);
+            headerConsumer.accept(store.toBuilder().clearEntity().build());
+            entityConsumer.accept(store.getEntityList());
+            return;
+        }
+        int version = new DataInputStream(input).readInt();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Global store has format version " + version + ", only versions up to " + FORMAT_VERSION + " can be read");
+        }
+
+        EntityData.GlobalStore header = EntityData.GlobalStore.parseDelimitedFrom(input);
+        if (header == null) {
+            throw new IOException("Global store ends before its header");
+        }
+        headerConsumer.accept(header);
+        EntityData.GlobalStore batch = EntityData.GlobalStore.parseDelimitedFrom(input);
+        while (batch != null) {
+            if (batch.getEntityCount() == 0) {
+                return;
+            }
+            entityConsumer.accept(batch.getEntityList());
+            batch = EntityData.GlobalStore.parseDelimitedFrom(input);
+        }
+        throw new IOException("Global store ends before the end of its entities");
+    }
+}
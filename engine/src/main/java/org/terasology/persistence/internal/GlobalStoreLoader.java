@@ -35,6 +35,9 @@
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.protobuf.EntityData;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -60,14 +63,28 @@ public GlobalStoreLoader(ModuleEnvironment environment, EngineEntityManager enti
         this.prefabSerializer = prefabSerializer;
     }
 
-    public void load(EntityData.GlobalStore globalStore) {
+    /**
+     * Loads a global store as it is read from the stream, so that only a batch of its entities is held in memory at
+     * a time.
+     */
+    public void load(InputStream in) throws IOException {
+        GlobalStoreFormat.read(in, this::loadHeader, this::loadEntities);
+    }
+
+    /**
+     * Prepares the entity manager and serializers for the entities of the store. The entities of the given store are
+     * ignored.
+     */
+    private void loadHeader(EntityData.GlobalStore globalStore) {
         entityManager.clear();
         entityManager.setNextId(globalStore.getNextEntityId());
 
         loadComponentMapping(globalStore);
         loadMissingPrefabs(globalStore);
+    }
 
-        for (EntityData.Entity entityData : globalStore.getEntityList()) {
+    private void loadEntities(List<EntityData.Entity> entities) {
+        for (EntityData.Entity entityData : entities) {
             entitySerializer.deserialize(entityData);
         }
     }
@@ -104,6 +104,7 @@ public final class ReadWriteStorageManager extends AbstractStorageManager implem
     private ConcurrentMap<Vector3i, CompressedChunkBuilder> unloadedAndSavingChunkMap = Maps.newConcurrentMap();
     private ConcurrentMap<String, EntityData.PlayerStore> unloadedAndUnsavedPlayerMap = Maps.newConcurrentMap();
     private ConcurrentMap<String, EntityData.PlayerStore> unloadedAndSavingPlayerMap = Maps.newConcurrentMap();
+    private final ChunkStoreCache chunkStoreCache;
 
 
     private EngineEntityManager privateEntityManager;
@@ -131,6 +132,7 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
         this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
         this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
         this.config = CoreRegistry.get(Config.class);
+        this.chunkStoreCache = new ChunkStoreCache(config.getSystem().getChunkCacheSizeInMb() * 1024L * 1024L);
         this.entityRefReplacingComponentLibrary = privateEntityManager.getComponentLibrary()
                 .createCopyUsingCopyStrategy(EntityRef.class, new DelayedEntityRefCopyStrategy(this));
         this.entitySetDeltaRecorder = new EntitySetDeltaRecorder(this.entityRefReplacingComponentLibrary);
@@ -159,6 +161,16 @@ private void checkSaveTransactionAndClearUpIfItIsDone() {
                     throw new RuntimeException("Saving failed", t);
                 }
                 saveTransaction = null;
+                // The saved chunks are encoded by now, keep them at hand in case they get loaded again soon. Chunks
+                // that were loaded again while saving are newer than their store, so they are left out.
+                ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
+                for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : unloadedAndSavingChunkMap.entrySet()) {
+                    Vector3i chunkPos = entry.getKey();
+                    boolean loaded = chunkProvider != null && chunkProvider.getChunk(chunkPos) != null;
+                    if (!loaded && !chunkStoreCache.contains(chunkPos)) {
+                        chunkStoreCache.put(chunkPos, entry.getValue().buildChunkStore());
+                    }
+                }
             }
             unloadedAndSavingChunkMap.clear();
         }
@@ -307,6 +319,7 @@ private PlayerStoreBuilder createPlayerStore(Client client, EntityRef character)
     public void deactivateChunk(Chunk chunk) {
         Collection<EntityRef> entitiesOfChunk = getEntitiesOfChunk(chunk);
         ChunkImpl chunkImpl = (ChunkImpl) chunk; // storage manager only works with ChunkImpl
+        chunkStoreCache.invalidate(chunk.getPosition());
         unloadedAndUnsavedChunkMap.put(chunk.getPosition(), new CompressedChunkBuilder(getEntityManager(), chunkImpl,
                 entitiesOfChunk, true));
 
@@ -314,24 +327,35 @@ public void deactivateChunk(Chunk chunk) {
     }
 
     @Override
-    protected byte[] loadCompressedChunk(Vector3i chunkPos) {
+    protected EntityData.ChunkStore loadChunkStoreData(Vector3i chunkPos) {
         CompressedChunkBuilder disposedUnsavedChunk = unloadedAndUnsavedChunkMap.get(chunkPos);
         if (disposedUnsavedChunk != null) {
-            return disposedUnsavedChunk.buildEncodedChunk();
+            return disposedUnsavedChunk.buildChunkStore();
         }
         CompressedChunkBuilder disposedSavingChunk = unloadedAndSavingChunkMap.get(chunkPos);
         if (disposedSavingChunk != null) {
-            return disposedSavingChunk.buildEncodedChunk();
+            return disposedSavingChunk.buildChunkStore();
+        }
+        EntityData.ChunkStore cachedChunk = chunkStoreCache.take(chunkPos);
+        if (cachedChunk != null) {
+            return cachedChunk;
         }
 
         worldDirectoryReadLock.lock();
         try {
-            return super.loadCompressedChunk(chunkPos);
+            return super.loadChunkStoreData(chunkPos);
         } finally {
             worldDirectoryReadLock.unlock();
         }
     }
 
+    /**
+     * @return The cache of chunks that were unloaded and saved recently
+     */
+    public ChunkStoreCache getChunkStoreCache() {
+        return chunkStoreCache;
+    }
+
     @Override
     public void onEntityDestroyed(EntityRef entity) {
         entitySetDeltaRecorder.onEntityDestroyed(entity);
@@ -451,6 +475,7 @@ public void deleteWorld() {
         waitForCompletionOfPreviousSave();
         unloadedAndUnsavedChunkMap.clear();
         unloadedAndSavingChunkMap.clear();
+        chunkStoreCache.clear();
         unloadedAndUnsavedPlayerMap.clear();
         unloadedAndSavingPlayerMap.clear();
 
@@ -342,7 +342,7 @@ private void writePlayerStores() throws IOException {
     private void writeGlobalStore() throws IOException {
         Path path = storagePathProvider.getGlobalEntityStoreTempPath();
         try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
-            globalStore.writeTo(out);
+            GlobalStoreFormat.write(globalStore, out);
         }
     }
 
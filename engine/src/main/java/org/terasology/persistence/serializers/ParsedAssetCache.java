@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.serializers;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.version.TerasologyVersion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the result of parsing text asset files, such as prefabs, on disk in protobuf form so that later starts can
+ * skip the parsing.
+ * <br><br>
+ * Entries are keyed by a hash of the source file contents, so a changed or replaced module file simply misses the
+ * cache. All entries live in a directory named after the engine version, as the parsing itself may change between
+ * versions; directories of other versions are deleted when the cache is opened, as are entries that have not been
+ * used for {@value #MAX_ENTRY_AGE_IN_DAYS} days.
+ * <br><br>
+ * Only prefabs and prefab deltas are cached so far, as they are the only text assets that are parsed into protobuf
+ * data before being turned into asset data. Block definitions, UI and behavior tree files are read by Gson straight
+ * into objects that refer to other loaded assets, widgets or nodes, so they have no form that could be cached without
+ * a protobuf schema of their own. As prefab files are small, hashing a source and reading its entry costs about as
+ * much as parsing it, so the cache is disabled by default until it holds something more expensive to produce.
+ * <br><br>
+ * The cache may be used from several threads at once. Failing to read or write an entry is never fatal, the source
+ * is parsed instead.
+ */
+public class ParsedAssetCache {
+    private static final Logger logger = LoggerFactory.getLogger(ParsedAssetCache.class);
+
+    /**
+     * Must be increased whenever the way cached data is produced changes without the engine version changing.
+     */
+    private static final int CACHE_FORMAT_VERSION = 1;
+    private static final int MAX_ENTRY_AGE_IN_DAYS = 30;
+    private static final String ENTRY_EXTENSION = ".bin";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path cacheDirectory;
+
+    /**
+     * @param rootDirectory The directory to keep the cache in, usually a sub directory of the cache path
+     */
+    public ParsedAssetCache(Path rootDirectory) throws IOException {
+        String version = CACHE_FORMAT_VERSION + ":" + TerasologyVersion.getInstance().toString();
+        String versionName = Hashing.sha1().hashString(version, Charsets.UTF_8).toString().substring(0, 16);
+        Files.createDirectories(rootDirectory);
+        removeOtherVersions(rootDirectory, versionName);
+        cacheDirectory = rootDirectory.resolve(versionName);
+        Files.createDirectories(cacheDirectory);
+        removeUnusedEntries();
+    }
+
+    /**
+     * Returns the parsed form of the given source, either from the cache or by parsing it and caching the result.
+     *
+     * @param kind         The kind of asset, entries of different kinds are kept apart even if their sources match
+     * @param source       The contents of the source file
+     * @param parser       The protobuf parser of the cached data
+     * @param sourceParser Parses the source if it isn't cached, may return null if the source is invalid
+     * @return The parsed data, or null if the source parser returned null
+     * @throws IOException If the source parser failed
+     */
+    public <T extends MessageLite> T load(String kind, byte[] source, Parser<T> parser, SourceParser<T> sourceParser) throws IOException {
+        HashCode hash = Hashing.sha1().newHasher()
+                .putString(kind, Charsets.UTF_8)
+                .putBytes(source)
+                .hash();
+        Path entry = cacheDirectory.resolve(hash + ENTRY_EXTENSION);
+        T cached = read(entry, parser);
+        if (cached != null) {
+            return cached;
+        }
+        T data = sourceParser.parse(source);
+        if (data != null) {
+            write(entry, data);
+        }
+        return data;
+    }
+
+    private <T extends MessageLite> T read(Path entry, Parser<T> parser) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(entry)) {
+            T data = parser.parseFrom(in);
+            markUsed(entry);
+            return data;
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn("Discarding corrupt asset cache entry {}", entry, e);
+            deleteQuietly(entry);
+        } catch (IOException e) {
+            logger.warn("Failed to read asset cache entry {}", entry, e);
+        }
+        return null;
+    }
+
+    private void write(Path entry, MessageLite data) {
+        Path tempFile = entry.resolveSibling(entry.getFileName() + "." + Thread.currentThread().getId() + TEMP_EXTENSION);
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                data.writeTo(out);
+            }
+            try {
+                Files.move(tempFile, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write asset cache entry {}", entry, e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void removeOtherVersions(Path rootDirectory, String versionName) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(rootDirectory)) {
+            for (Path directory : stream) {
+                if (Files.isDirectory(directory) && !directory.getFileName().toString().equals(versionName)) {
+                    logger.info("Removing asset cache of another engine version: {}", directory);
+                    try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                        for (Path entry : entries) {
+                            deleteQuietly(entry);
+                        }
+                    }
+                    deleteQuietly(directory);
+                }
+            }
+        }
+    }
+
+    private void removeUnusedEntries() throws IOException {
+        long oldestUse = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_ENTRY_AGE_IN_DAYS);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDirectory)) {
+            for (Path entry : stream) {
+                if (entry.getFileName().toString().endsWith(TEMP_EXTENSION) || getLastUse(entry) < oldestUse) {
+                    deleteQuietly(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entries are marked as used through their modification time, which not every file system supports.
+     */
+    private void markUsed(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.debug("Failed to mark asset cache entry {} as used", entry, e);
+        }
+    }
+
+    private long getLastUse(Path entry) {
+        try {
+            return Files.getLastModifiedTime(entry).toMillis();
+        } catch (IOException | UnsupportedOperationException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}", path, e);
+        }
+    }
+
+    /**
+     * Parses the source of an asset that missed the cache.
+     */
+    @FunctionalInterface
+    public interface SourceParser<T> {
+        T parse(byte[] source) throws IOException;
+    }
+}
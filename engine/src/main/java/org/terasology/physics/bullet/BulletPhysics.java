@@ -50,6 +50,7 @@
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import gnu.trove.iterator.TFloatIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,9 +93,18 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Physics engine implementation using TeraBullet (a customised version of JBullet)
+ * <br><br>
+ * The simulation may run on a thread of its own, see {@link #startBackgroundStep()}. Bullet itself isn't thread safe,
+ * so every call into the engine waits for a step running in the background to finish first. The step is started at
+ * the end of the game state update, after the queries of the update systems, so it only blocks calls made while the
+ * frame is rendered or the input is handled.
  */
 public class BulletPhysics implements PhysicsEngine {
 
@@ -114,7 +124,21 @@ public class BulletPhysics implements PhysicsEngine {
     private Map<EntityRef, PairCachingGhostObject> entityTriggers = Maps.newHashMap();
     private List<PhysicsSystem.CollisionPair> collisions = new ArrayList<>();
 
+    private final ExecutorService simulationExecutor;
+    private Future<?> backgroundStep;
+    private final List<PhysicsSystem.CollisionPair> backgroundCollisions = new ArrayList<>();
+    private float pendingStepDelta;
+    private boolean stepPending;
+
     public BulletPhysics(WorldProvider world) {
+        this(world, false);
+    }
+
+    /**
+     * @param world                The world to simulate the blocks of
+     * @param simulateInBackground Whether simulation steps run on a thread of their own
+     */
+    public BulletPhysics(WorldProvider world, boolean simulateInBackground) {
         broadphase = new DbvtBroadphase();
         broadphase.getOverlappingPairCache().setInternalGhostPairCallback(new GhostPairCallback());
         CollisionConfiguration defaultCollisionConfiguration = new DefaultCollisionConfiguration();
@@ -144,12 +168,23 @@ public BulletPhysics(WorldProvider world) {
         liquidBody.rb.setCollisionFlags(CollisionFlags.STATIC_OBJECT | rigidBody.rb.getCollisionFlags());
         discreteDynamicsWorld.addRigidBody(liquidBody.rb, combineGroups(StandardCollisionGroup.LIQUID),
                 CollisionFilterGroups.SENSOR_TRIGGER);
+
+        if (simulateInBackground) {
+            simulationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Physics");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            simulationExecutor = null;
+        }
     }
 
     //*****************Physics Interface methods******************\\
 
     @Override
     public List<PhysicsSystem.CollisionPair> getCollisionPairs() {
+        awaitBackgroundStep();
         List<PhysicsSystem.CollisionPair> temp = collisions;
         collisions = new ArrayList<>();
         return temp;
@@ -157,6 +192,10 @@ public List<PhysicsSystem.CollisionPair> getCollisionPairs() {
 
     @Override
     public void dispose() {
+        awaitBackgroundStep();
+        if (simulationExecutor != null) {
+            simulationExecutor.shutdown();
+        }
         discreteDynamicsWorld.destroy();
         wrapper.dispose();
         liquidWrapper.dispose();
@@ -183,6 +222,7 @@ public List<EntityRef> scanArea(AABB area, CollisionGroup... collisionFilter) {
 
     @Override
     public List<EntityRef> scanArea(AABB area, Iterable<CollisionGroup> collisionFilter) {
+        awaitBackgroundStep();
         // TODO: Add the aabbTest method from newer versions of bullet to TeraBullet, use that instead
         BoxShape shape = new BoxShape(VecMath.to(area.getExtents()));
         GhostObject scanObject = createCollider(VecMath.to(area.getCenter()), shape, CollisionFilterGroups.SENSOR_TRIGGER,
@@ -209,6 +249,7 @@ public HitResult rayTrace(org.terasology.math.geom.Vector3f from1, org.terasolog
     @Override
     public HitResult rayTrace(org.terasology.math.geom.Vector3f from1, org.terasology.math.geom.Vector3f direction, float distance, Set<EntityRef> excludedEntities,
             CollisionGroup... collisionGroups) {
+        awaitBackgroundStep();
         Vector3f to = new Vector3f(VecMath.to(direction));
         Vector3f from = VecMath.to(from1);
         to.scale(distance);
@@ -258,24 +299,78 @@ public HitResult rayTrace(org.terasology.math.geom.Vector3f from1, org.terasolog
 
     @Override
     public void update(float delta) {
+        awaitBackgroundStep();
         processQueuedBodies();
         applyPendingImpulsesAndForces();
+        if (simulationExecutor != null) {
+            pendingStepDelta += delta;
+            stepPending = true;
+            return;
+        }
+        PerformanceMonitor.startActivity("Step Simulation");
+        stepSimulation(delta);
+        PerformanceMonitor.endActivity();
+        collisions.addAll(getNewCollisionPairs());
+    }
+
+    @Override
+    public void startBackgroundStep() {
+        if (simulationExecutor == null || !stepPending) {
+            return;
+        }
+        final float delta = pendingStepDelta;
+        pendingStepDelta = 0;
+        stepPending = false;
+        for (BulletRigidBody body : entityRigidBodies.values()) {
+            if ((body.rb.getCollisionFlags() & CollisionFlags.KINEMATIC_OBJECT) != 0) {
+                body.motionState.captureTransform();
+            }
+        }
+        backgroundStep = simulationExecutor.submit(() -> {
+            stepSimulation(delta);
+            backgroundCollisions.addAll(getNewCollisionPairs());
+        });
+    }
+
+    private void stepSimulation(float delta) {
         try {
-            PerformanceMonitor.startActivity("Step Simulation");
             if (discreteDynamicsWorld.stepSimulation(delta, 8) != 0) {
                 for (BulletCharacterMoverCollider collider : entityColliders.values()) {
                     collider.pending = false;
                 }
             }
-            PerformanceMonitor.endActivity();
         } catch (Exception e) {
             logger.error("Error running simulation step.", e);
         }
-        collisions.addAll(getNewCollisionPairs());
+    }
+
+    /**
+     * Waits for the simulation step running in the background, if there is one, and hands its results to the
+     * entities. Must be called before anything touches the Bullet world.
+     */
+    private void awaitBackgroundStep() {
+        if (backgroundStep == null) {
+            return;
+        }
+        Future<?> step = backgroundStep;
+        backgroundStep = null;
+        PerformanceMonitor.startActivity("Await Simulation Step");
+        try {
+            Uninterruptibles.getUninterruptibly(step);
+        } catch (ExecutionException e) {
+            logger.error("Error running simulation step.", e.getCause());
+        }
+        for (BulletRigidBody body : entityRigidBodies.values()) {
+            body.motionState.applyBufferedTransform();
+        }
+        collisions.addAll(backgroundCollisions);
+        backgroundCollisions.clear();
+        PerformanceMonitor.endActivity();
     }
 
     @Override
     public boolean removeRigidBody(EntityRef entity) {
+        awaitBackgroundStep();
         BulletRigidBody rigidBody = entityRigidBodies.remove(entity);
         if (rigidBody != null) {
             removeRigidBody(rigidBody);
@@ -292,6 +387,7 @@ public boolean removeRigidBody(EntityRef entity) {
 
     @Override
     public boolean updateRigidBody(EntityRef entity) {
+        awaitBackgroundStep();
         LocationComponent location = entity.getComponent(LocationComponent.class);
         RigidBodyComponent rb = entity.getComponent(RigidBodyComponent.class);
         BulletRigidBody rigidBody = entityRigidBodies.get(entity);
@@ -337,6 +433,7 @@ public boolean hasRigidBody(EntityRef entity) {
 
     @Override
     public RigidBody getRigidBody(EntityRef entity) {
+        awaitBackgroundStep();
         RigidBody rb = entityRigidBodies.get(entity);
         if (rb == null) {
             rb = newRigidBody(entity);
@@ -346,6 +443,7 @@ public RigidBody getRigidBody(EntityRef entity) {
 
     @Override
     public boolean removeTrigger(EntityRef entity) {
+        awaitBackgroundStep();
         GhostObject ghost = entityTriggers.remove(entity);
         if (ghost != null) {
             removeCollider(ghost);
@@ -358,6 +456,7 @@ public boolean removeTrigger(EntityRef entity) {
     @Override
     //TODO: update if detectGroups changed
     public boolean updateTrigger(EntityRef entity) {
+        awaitBackgroundStep();
         LocationComponent location = entity.getComponent(LocationComponent.class);
         PairCachingGhostObject triggerObj = entityTriggers.get(entity);
 
@@ -389,6 +488,7 @@ public boolean hasTrigger(EntityRef entity) {
 
     @Override
     public boolean removeCharacterCollider(EntityRef entity) {
+        awaitBackgroundStep();
         BulletCharacterMoverCollider toRemove = entityColliders.remove(entity);
         if (toRemove == null) {
             logger.warn("Trying to remove CharacterCollider of entity that has "
@@ -402,6 +502,7 @@ public boolean removeCharacterCollider(EntityRef entity) {
 
     @Override
     public CharacterCollider getCharacterCollider(EntityRef entity) {
+        awaitBackgroundStep();
         CharacterCollider cc = entityColliders.get(entity);
         if (cc == null) {
             cc = createCharacterCollider(entity);
@@ -426,6 +527,7 @@ public Iterator<EntityRef> physicsEntitiesIterator() {
 
     @Override
     public void awakenArea(org.terasology.math.geom.Vector3f pos, float radius) {
+        awaitBackgroundStep();
         Vector3f min = new Vector3f(VecMath.to(pos));
         min.sub(new Vector3f(0.6f, 0.6f, 0.6f));
         Vector3f max = new Vector3f(VecMath.to(pos));
@@ -514,8 +616,9 @@ private RigidBody newRigidBody(EntityRef entity) {
             Vector3f fallInertia = new Vector3f();
             shape.calculateLocalInertia(rigidBody.mass, fallInertia);
 
-            RigidBodyConstructionInfo info = new RigidBodyConstructionInfo(rigidBody.mass, new EntityMotionState(entity), shape, fallInertia);
-            BulletRigidBody collider = new BulletRigidBody(info);
+            EntityMotionState motionState = new EntityMotionState(entity, simulationExecutor != null);
+            RigidBodyConstructionInfo info = new RigidBodyConstructionInfo(rigidBody.mass, motionState, shape, fallInertia);
+            BulletRigidBody collider = new BulletRigidBody(info, motionState);
             collider.rb.setUserPointer(entity);
             collider.rb.setAngularFactor(VecMath.to(rigidBody.angularFactor));
             collider.rb.setLinearFactor(VecMath.to(rigidBody.linearFactor));
@@ -768,16 +871,22 @@ public RigidBodyRequest(BulletRigidBody body, short groups, short filter) {
         }
     }
 
-    private static class BulletRigidBody implements RigidBody {
+    private final class BulletRigidBody implements RigidBody {
 
         public final com.bulletphysics.dynamics.RigidBody rb;
         public short collidesWith;
+        private final EntityMotionState motionState;
         private final Transform pooledTransform = new Transform();
         private final Vector3f pendingImpulse = new Vector3f();
         private final Vector3f pendingForce = new Vector3f();
 
         BulletRigidBody(RigidBodyConstructionInfo info) {
+            this(info, null);
+        }
+
+        BulletRigidBody(RigidBodyConstructionInfo info, EntityMotionState motionState) {
             rb = new com.bulletphysics.dynamics.RigidBody(info);
+            this.motionState = motionState;
         }
 
         @Override
@@ -792,11 +901,13 @@ public void applyForce(org.terasology.math.geom.Vector3f force) {
 
         @Override
         public void translate(org.terasology.math.geom.Vector3f translation) {
+            awaitBackgroundStep();
             rb.translate(VecMath.to(translation));
         }
 
         @Override
         public org.terasology.math.geom.Quat4f getOrientation(org.terasology.math.geom.Quat4f out) {
+            awaitBackgroundStep();
             Quat4f vm = VecMath.to(out);
             rb.getOrientation(vm);
             out.set(vm.x, vm.y, vm.z, vm.w);
@@ -805,6 +916,7 @@ public org.terasology.math.geom.Quat4f getOrientation(org.terasology.math.geom.Q
 
         @Override
         public org.terasology.math.geom.Vector3f getLocation(org.terasology.math.geom.Vector3f out) {
+            awaitBackgroundStep();
             Vector3f vm = VecMath.to(out);
             rb.getCenterOfMassPosition(vm);
             out.set(vm.x, vm.y, vm.z);
@@ -813,6 +925,7 @@ public org.terasology.math.geom.Vector3f getLocation(org.terasology.math.geom.Ve
 
         @Override
         public org.terasology.math.geom.Vector3f getLinearVelocity(org.terasology.math.geom.Vector3f out) {
+            awaitBackgroundStep();
             Vector3f vm = VecMath.to(out);
             rb.getLinearVelocity(vm);
             out.set(vm.x, vm.y, vm.z);
@@ -821,6 +934,7 @@ public org.terasology.math.geom.Vector3f getLinearVelocity(org.terasology.math.g
 
         @Override
         public org.terasology.math.geom.Vector3f getAngularVelocity(org.terasology.math.geom.Vector3f out) {
+            awaitBackgroundStep();
             Vector3f vm = VecMath.to(out);
             rb.getAngularVelocity(vm);
             out.set(vm.x, vm.y, vm.z);
@@ -829,16 +943,19 @@ public org.terasology.math.geom.Vector3f getAngularVelocity(org.terasology.math.
 
         @Override
         public void setLinearVelocity(org.terasology.math.geom.Vector3f value) {
+            awaitBackgroundStep();
             rb.setLinearVelocity(VecMath.to(value));
         }
 
         @Override
         public void setAngularVelocity(org.terasology.math.geom.Vector3f value) {
+            awaitBackgroundStep();
             rb.setAngularVelocity(VecMath.to(value));
         }
 
         @Override
         public void setOrientation(org.terasology.math.geom.Quat4f orientation) {
+            awaitBackgroundStep();
             rb.getWorldTransform(pooledTransform);
             pooledTransform.setRotation(VecMath.to(orientation));
             rb.proceedToTransform(pooledTransform);
@@ -846,6 +963,7 @@ public void setOrientation(org.terasology.math.geom.Quat4f orientation) {
 
         @Override
         public void setLocation(org.terasology.math.geom.Vector3f location) {
+            awaitBackgroundStep();
             rb.getWorldTransform(pooledTransform);
             pooledTransform.origin.set(VecMath.to(location));
             rb.proceedToTransform(pooledTransform);
@@ -853,12 +971,14 @@ public void setLocation(org.terasology.math.geom.Vector3f location) {
 
         @Override
         public void setVelocity(org.terasology.math.geom.Vector3f linear, org.terasology.math.geom.Vector3f angular) {
+            awaitBackgroundStep();
             rb.setLinearVelocity(VecMath.to(linear));
             rb.setAngularVelocity(VecMath.to(angular));
         }
 
         @Override
         public void setTransform(org.terasology.math.geom.Vector3f location, org.terasology.math.geom.Quat4f orientation) {
+            awaitBackgroundStep();
             rb.getWorldTransform(pooledTransform);
             pooledTransform.origin.set(VecMath.to(location));
             pooledTransform.setRotation(VecMath.to(orientation));
@@ -867,6 +987,7 @@ public void setTransform(org.terasology.math.geom.Vector3f location, org.terasol
 
         @Override
         public boolean isActive() {
+            awaitBackgroundStep();
             return rb.isActive();
         }
     }
@@ -896,17 +1017,20 @@ private BulletCharacterMoverCollider(Vector3f pos, ConvexShape shape, short grou
 
         @Override
         public boolean isPending() {
+            awaitBackgroundStep();
             return pending;
         }
 
         @Override
         public org.terasology.math.geom.Vector3f getLocation() {
+            awaitBackgroundStep();
             collider.getWorldTransform(temp);
             return new org.terasology.math.geom.Vector3f(temp.origin.x, temp.origin.y, temp.origin.z);
         }
 
         @Override
         public void setLocation(org.terasology.math.geom.Vector3f loc) {
+            awaitBackgroundStep();
             collider.getWorldTransform(temp);
             temp.origin.set(VecMath.to(loc));
             collider.setWorldTransform(temp);
@@ -914,6 +1038,7 @@ public void setLocation(org.terasology.math.geom.Vector3f loc) {
 
         @Override
         public BulletSweepCallback sweep(org.terasology.math.geom.Vector3f startPos, org.terasology.math.geom.Vector3f endPos, float allowedPenetration, float slopeFactor) {
+            awaitBackgroundStep();
             Transform startTransform = new Transform(new Matrix4f(new Quat4f(0, 0, 0, 1), VecMath.to(startPos), 1.0f));
             Transform endTransform = new Transform(new Matrix4f(new Quat4f(0, 0, 0, 1), VecMath.to(endPos), 1.0f));
             BulletSweepCallback callback = new BulletSweepCallback(collider, new org.terasology.math.geom.Vector3f(0, 1, 0), slopeFactor);
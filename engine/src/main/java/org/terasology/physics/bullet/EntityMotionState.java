@@ -26,10 +26,18 @@
  * This motion state is used to connect rigid body entities to their rigid body in the bullet physics engine.
  * Bullet reads the initial state of the rigid body out of the entity, and then updates its location and rotation
  * as it moves under physics.
+ * <br><br>
+ * When the simulation runs on a thread of its own, the motion state must not touch the entity while Bullet uses it.
+ * It then keeps the transform Bullet sets until {@link #applyBufferedTransform()} is called, and hands Bullet the
+ * transform captured by the last call to {@link #captureTransform()}.
  *
  */
 public class EntityMotionState extends MotionState {
     private EntityRef entity;
+    private final boolean buffered;
+    private final Transform capturedTransform = new Transform();
+    private final Transform bufferedTransform = new Transform();
+    private boolean hasBufferedTransform;
 
     /**
      * Only the BulletPhysics class is expected to create instances.
@@ -38,11 +46,62 @@ public class EntityMotionState extends MotionState {
      *               LocationComponent of.
      */
     EntityMotionState(EntityRef entity) {
+        this(entity, false);
+    }
+
+    /**
+     * Only the BulletPhysics class is expected to create instances.
+     *
+     * @param entity   The entity to relate this motion state to and set the
+     *                 LocationComponent of.
+     * @param buffered Whether the transforms are exchanged with the entity
+     *                 through buffers, for simulating on another thread.
+     */
+    EntityMotionState(EntityRef entity, boolean buffered) {
         this.entity = entity;
+        this.buffered = buffered;
+        if (buffered) {
+            captureTransform();
+        }
     }
 
     @Override
     public Transform getWorldTransform(Transform transform) {
+        if (buffered) {
+            transform.set(capturedTransform);
+            return transform;
+        }
+        return readTransform(transform);
+    }
+
+    @Override
+    public void setWorldTransform(Transform transform) {
+        if (buffered) {
+            bufferedTransform.set(transform);
+            hasBufferedTransform = true;
+        } else {
+            writeTransform(transform);
+        }
+    }
+
+    /**
+     * Captures the current transform of the entity, for Bullet to read during the next simulation step.
+     */
+    void captureTransform() {
+        readTransform(capturedTransform);
+    }
+
+    /**
+     * Applies the transform Bullet set during the last simulation step to the entity, if it set one.
+     */
+    void applyBufferedTransform() {
+        if (hasBufferedTransform) {
+            hasBufferedTransform = false;
+            writeTransform(bufferedTransform);
+        }
+    }
+
+    private Transform readTransform(Transform transform) {
         LocationComponent loc = entity.getComponent(LocationComponent.class);
         if (loc != null) {
             // NOTE: JBullet ignores scale anyway
@@ -51,8 +110,7 @@ public Transform getWorldTransform(Transform transform) {
         return transform;
     }
 
-    @Override
-    public void setWorldTransform(Transform transform) {
+    private void writeTransform(Transform transform) {
         LocationComponent loc = entity.getComponent(LocationComponent.class);
         if (loc != null) {
             loc.setWorldPosition(VecMath.from(transform.origin));
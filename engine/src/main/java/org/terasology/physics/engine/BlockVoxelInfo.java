@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.physics.engine;
+
+import com.bulletphysics.collision.shapes.CollisionShape;
+import com.bulletphysics.collision.shapes.voxel.VoxelInfo;
+import org.terasology.math.VecMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * The collision information of a block type, shared by every voxel of that type. It carries no position, so voxels
+ * that collide are handed to the physics engine wrapped in a {@link Positioned} view.
+ */
+final class BlockVoxelInfo implements VoxelInfo {
+
+    private final Block block;
+    private final boolean colliding;
+    private final boolean blocking;
+    private final CollisionShape shape;
+    private final javax.vecmath.Vector3f offset;
+
+    BlockVoxelInfo(Block block, boolean colliding, boolean blocking) {
+        this.block = block;
+        this.shape = block.getCollisionShape();
+        this.offset = VecMath.to(block.getCollisionOffset());
+        this.colliding = colliding;
+        this.blocking = blocking;
+    }
+
+    @Override
+    public boolean isColliding() {
+        return colliding;
+    }
+
+    @Override
+    public Object getUserData() {
+        return null;
+    }
+
+    @Override
+    public CollisionShape getCollisionShape() {
+        return shape;
+    }
+
+    /**
+     * @return The collision offset of the block, shared between all voxels of its type so it must not be modified
+     */
+    @Override
+    public javax.vecmath.Vector3f getCollisionOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * @return The voxel info for the voxel at the given position, with its position as user data if it collides
+     */
+    VoxelInfo at(int x, int y, int z) {
+        return colliding ? new Positioned(this, x, y, z) : this;
+    }
+
+    /**
+     * Looks up the voxel infos of blocks by block id. Blocks are compared by identity, so an info is recreated when a
+     * block id gets reused by another block.
+     * <br><br>
+     * Lookups may happen on several threads at once. Infos created concurrently for the same block are equivalent, so
+     * it doesn't matter which one ends up cached.
+     */
+    static final class Cache {
+        private final Function<Block, BlockVoxelInfo> factory;
+        private volatile BlockVoxelInfo[] infos = new BlockVoxelInfo[0];
+
+        Cache(Function<Block, BlockVoxelInfo> factory) {
+            this.factory = factory;
+        }
+
+        BlockVoxelInfo get(Block block) {
+            int index = block.getId() & 0xFFFF;
+            BlockVoxelInfo[] currentInfos = infos;
+            BlockVoxelInfo info = (index < currentInfos.length) ? currentInfos[index] : null;
+            if (info == null || info.block != block) {
+                info = factory.apply(block);
+                if (index >= currentInfos.length) {
+                    currentInfos = Arrays.copyOf(currentInfos, Math.max(index + 1, currentInfos.length * 2));
+                }
+                currentInfos[index] = info;
+                infos = currentInfos;
+            }
+            return info;
+        }
+
+        void clear() {
+            infos = new BlockVoxelInfo[0];
+        }
+    }
+
+    /**
+     * A colliding voxel at a given position. Ray tests keep the user data of the closest hit, so the position is
+     * provided as a vector of its own.
+     */
+    private static final class Positioned implements VoxelInfo {
+        private final BlockVoxelInfo info;
+        private final int x;
+        private final int y;
+        private final int z;
+
+        private Positioned(BlockVoxelInfo info, int x, int y, int z) {
+            this.info = info;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public boolean isColliding() {
+            return info.colliding;
+        }
+
+        @Override
+        public Object getUserData() {
+            return new Vector3i(x, y, z);
+        }
+
+        @Override
+        public CollisionShape getCollisionShape() {
+            return info.shape;
+        }
+
+        @Override
+        public javax.vecmath.Vector3f getCollisionOffset() {
+            return info.offset;
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return info.blocking;
+        }
+    }
+}
@@ -210,6 +210,18 @@ public interface PhysicsEngine extends Physics {
      */
     void update(float delta);
 
+    /**
+     * Lets the simulation step of the last {@link #update(float)} run in the background, if the engine has been set
+     * up to simulate on a thread of its own. Otherwise the step has already been done by the update, and this does
+     * nothing.
+     * <br><br>
+     * The results of a background step are handed to the entities by the next call into the engine, which waits for
+     * the step to finish. This should therefore be called once the systems that query the engine during the update,
+     * such as ray traces and character movement sweeps, have run. The game state calls it at the end of its update,
+     * so that the step overlaps with rendering.
+     */
+    void startBackgroundStep();
+
     /**
      * Updates the shape and settings of the rigidBody belonging to the given
      * entity. If the given entity had no rigidBody in the physics engine, it
@@ -15,19 +15,15 @@
  */
 package org.terasology.physics.engine;
 
-import com.bulletphysics.collision.shapes.CollisionShape;
 import com.bulletphysics.collision.shapes.voxel.VoxelInfo;
 import com.bulletphysics.collision.shapes.voxel.VoxelPhysicsWorld;
-import org.terasology.math.VecMath;
-import org.terasology.math.geom.Vector3f;
-import org.terasology.math.geom.Vector3i;
 import org.terasology.world.WorldProvider;
-import org.terasology.world.block.Block;
 
 /**
  */
 public class PhysicsLiquidWrapper implements VoxelPhysicsWorld {
     private WorldProvider world;
+    private final BlockVoxelInfo.Cache voxelInfos = new BlockVoxelInfo.Cache(block -> new BlockVoxelInfo(block, block.isLiquid(), false));
 
     public PhysicsLiquidWrapper(WorldProvider world) {
         this.world = world;
@@ -35,53 +31,11 @@ public PhysicsLiquidWrapper(WorldProvider world) {
 
     @Override
     public VoxelInfo getCollisionShapeAt(int x, int y, int z) {
-        Block block = world.getBlock(x, y, z);
-        return new LiquidVoxelInfo(block, new Vector3i(x, y, z));
+        return voxelInfos.get(world.getBlock(x, y, z)).at(x, y, z);
     }
 
     public void dispose() {
         world = null;
-    }
-
-    private static class LiquidVoxelInfo implements VoxelInfo {
-
-        private boolean colliding;
-        private boolean blocking;
-        private CollisionShape shape;
-        private Vector3i position;
-        private Vector3f offset;
-
-        public LiquidVoxelInfo(Block block, Vector3i position) {
-            this.shape = block.getCollisionShape();
-            this.offset = block.getCollisionOffset();
-            this.colliding = block.isLiquid();
-            this.blocking = false;
-            this.position = position;
-        }
-
-        @Override
-        public boolean isColliding() {
-            return colliding;
-        }
-
-        @Override
-        public Object getUserData() {
-            return position;
-        }
-
-        @Override
-        public CollisionShape getCollisionShape() {
-            return shape;
-        }
-
-        @Override
-        public javax.vecmath.Vector3f getCollisionOffset() {
-            return VecMath.to(offset);
-        }
-
-        @Override
-        public boolean isBlocking() {
-            return blocking;
-        }
+        voxelInfos.clear();
     }
 }
@@ -16,14 +16,9 @@
 
 package org.terasology.physics.engine;
 
-import com.bulletphysics.collision.shapes.CollisionShape;
 import com.bulletphysics.collision.shapes.voxel.VoxelInfo;
 import com.bulletphysics.collision.shapes.voxel.VoxelPhysicsWorld;
-import org.terasology.math.VecMath;
-import org.terasology.math.geom.Vector3f;
-import org.terasology.math.geom.Vector3i;
 import org.terasology.world.WorldProvider;
-import org.terasology.world.block.Block;
 
 /**
  * This class links Terasology's voxel world with the physics engine, providing it with the collision information for each block location.
@@ -32,6 +27,10 @@
 public class PhysicsWorldWrapper implements VoxelPhysicsWorld {
 
     private WorldProvider world;
+    private final BlockVoxelInfo.Cache voxelInfos = new BlockVoxelInfo.Cache(block -> {
+        boolean hasShape = block.getCollisionShape() != null;
+        return new BlockVoxelInfo(block, hasShape && block.isTargetable(), hasShape && !block.isPenetrable());
+    });
 
     public PhysicsWorldWrapper(WorldProvider world) {
         this.world = world;
@@ -39,53 +38,11 @@ public PhysicsWorldWrapper(WorldProvider world) {
 
     @Override
     public VoxelInfo getCollisionShapeAt(int x, int y, int z) {
-        Block block = world.getBlock(x, y, z);
-        return new TeraVoxelInfo(block, block.isTargetable(), !block.isPenetrable(), new Vector3i(x, y, z));
+        return voxelInfos.get(world.getBlock(x, y, z)).at(x, y, z);
     }
 
     public void dispose() {
         world = null;
-    }
-
-    private static class TeraVoxelInfo implements VoxelInfo {
-
-        private boolean colliding;
-        private boolean blocking;
-        private CollisionShape shape;
-        private Vector3i position;
-        private Vector3f offset;
-
-        public TeraVoxelInfo(Block block, boolean colliding, boolean blocking, Vector3i position) {
-            this.shape = block.getCollisionShape();
-            this.offset = block.getCollisionOffset();
-            this.colliding = shape != null && colliding;
-            this.blocking = shape != null && blocking;
-            this.position = position;
-        }
-
-        @Override
-        public boolean isColliding() {
-            return colliding;
-        }
-
-        @Override
-        public Object getUserData() {
-            return position;
-        }
-
-        @Override
-        public CollisionShape getCollisionShape() {
-            return shape;
-        }
-
-        @Override
-        public javax.vecmath.Vector3f getCollisionOffset() {
-            return VecMath.to(offset);
-        }
-
-        @Override
-        public boolean isBlocking() {
-            return blocking;
-        }
+        voxelInfos.clear();
     }
 }
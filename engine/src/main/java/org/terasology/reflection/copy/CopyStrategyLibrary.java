@@ -82,6 +82,15 @@ public void clear() {
         strategies.clear();
     }
 
+    /**
+     * @param type The type to check
+     * @return Whether a strategy other than the default strategy of returning the value unaltered was registered for the type
+     */
+    public boolean hasRegisteredStrategy(Class<?> type) {
+        CopyStrategy<?> strategy = strategies.get(type);
+        return strategy != null && strategy != defaultStrategy;
+    }
+
     // TODO: Consider CopyStrategyFactory system for Collections and similar
     public CopyStrategy<?> getStrategy(Type genericType) {
         Class<?> typeClass = ReflectionUtil.getClassOfType(genericType);
@@ -19,6 +19,7 @@
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
@@ -30,12 +31,14 @@
 import org.terasology.reflection.copy.CopyStrategyLibrary;
 import org.terasology.reflection.reflect.InaccessibleFieldException;
 import org.terasology.reflection.reflect.ObjectConstructor;
+import org.terasology.reflection.reflect.ObjectCopier;
 import org.terasology.reflection.reflect.ReflectFactory;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.Permission;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -56,6 +59,7 @@
     private final SimpleUri uri;
     private final Class<T> clazz;
     private final ObjectConstructor<T> constructor;
+    private final ObjectCopier<T> copier;
     private Map<String, FIELD> fields = Maps.newHashMap();
     private TIntObjectMap<FIELD> fieldsById = new TIntObjectHashMap<>();
 
@@ -83,6 +87,7 @@ public ClassMetadata(SimpleUri uri, Class<T> type, ReflectFactory factory, CopyS
         }
 
         addFields(copyStrategyLibrary, factory, includedFieldPredicate);
+        this.copier = (constructor != null) ? createCopier(factory) : null;
     }
 
     public final SimpleUri getUri() {
@@ -114,6 +119,16 @@ private void addFields(CopyStrategyLibrary copyStrategyLibrary, ReflectFactory f
         }
     }
 
+    private ObjectCopier<T> createCopier(ReflectFactory factory) {
+        List<Field> copiedFields = Lists.newArrayListWithCapacity(fields.size());
+        List<CopyStrategy<?>> copyStrategies = Lists.newArrayListWithCapacity(fields.size());
+        for (FIELD field : fields.values()) {
+            copiedFields.add(field.getField());
+            copyStrategies.add(field.getCopyStrategy());
+        }
+        return factory.createCopier(clazz, copiedFields, copyStrategies);
+    }
+
     /**
      * Creates the FieldMetadata describing a field
      *
@@ -171,6 +186,9 @@ public T newInstance() {
      * @return A copy of the given object
      */
     public T copy(T object) {
+        if (copier != null) {
+            return copier.copy(object);
+        }
         T result = constructor.construct();
         if (result != null) {
             for (FIELD field : fields.values()) {
@@ -149,6 +149,13 @@ public U getValueChecked(T from) {
         return getValue(from);
     }
 
+    /**
+     * @return The strategy used to copy values of this field
+     */
+    CopyStrategy<U> getCopyStrategy() {
+        return copyStrategy;
+    }
+
     /**
      * For types that need to be copied (e.g. Vector3f) for safe usage, this method will create a new copy of a field from an object.
      * Otherwise it behaves the same as getValue
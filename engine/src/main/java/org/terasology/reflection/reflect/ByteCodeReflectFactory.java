@@ -20,17 +20,22 @@
 import javassist.CannotCompileException;
 import javassist.ClassPool;
 import javassist.CtClass;
+import javassist.CtField;
 import javassist.CtMethod;
+import javassist.CtNewConstructor;
 import javassist.CtNewMethod;
 import javassist.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.reflection.copy.CopyStrategy;
 import org.terasology.utilities.ReflectionUtil;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.List;
 
 /**
  */
@@ -39,6 +44,7 @@ public class ByteCodeReflectFactory implements ReflectFactory {
 
     private ClassPool pool;
     private CtClass objectConstructorInterface;
+    private CtClass objectCopierInterface;
 
     private ReflectFactory backupFactory = new ReflectionReflectFactory();
 
@@ -47,6 +53,7 @@ public ByteCodeReflectFactory() {
             ClassPool.doPruning = true;
             pool = ClassPool.getDefault();
             objectConstructorInterface = pool.get(ObjectConstructor.class.getName());
+            objectCopierInterface = pool.get(ObjectCopier.class.getName());
         } catch (NotFoundException e) {
             throw new RuntimeException("Error establishing reflection factory", e);
         }
@@ -64,13 +71,8 @@ public <T> ObjectConstructor<T> createConstructor(Class<T> type) throws NoSuchMe
                     return backupFactory.createConstructor(type);
                 }
 
-                CtClass constructorClass = pool.makeClass(type.getName() + "_ReflectConstructor");
-                constructorClass.setInterfaces(new CtClass[]{objectConstructorInterface});
-
-                CtMethod method = CtNewMethod.make("public Object construct() { return new " + type.getName() + "();}", constructorClass);
-                constructorClass.addMethod(method);
-                return (ObjectConstructor<T>) (constructorClass.toClass(type.getClassLoader(), type.getProtectionDomain()).getConstructor().newInstance());
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException | CannotCompileException e) {
+                return (ObjectConstructor<T>) generateConstructorClass(type, constructorClassName).getConstructor().newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException | CannotCompileException | LinkageError e) {
                 logger.error("Error instantiating constructor object for '{}', falling back on reflection", type, e);
                 return backupFactory.createConstructor(type);
             } catch (NoSuchMethodException e) {
@@ -83,6 +85,33 @@ public <T> ObjectConstructor<T> createConstructor(Class<T> type) throws NoSuchMe
 
     }
 
+    /**
+     * Class pools aren't thread safe and a class can only be defined once per class loader, so classes are generated
+     * while holding the pool, and a class generated by another thread in the meantime is used instead.
+     */
+    private Class<?> generateConstructorClass(Class<?> type, String constructorClassName) throws CannotCompileException {
+        synchronized (pool) {
+            Class<?> existingClass = findClass(type, constructorClassName);
+            if (existingClass != null) {
+                return existingClass;
+            }
+            CtClass constructorClass = pool.makeClass(constructorClassName);
+            constructorClass.setInterfaces(new CtClass[]{objectConstructorInterface});
+
+            CtMethod method = CtNewMethod.make("public Object construct() { return new " + type.getName() + "();}", constructorClass);
+            constructorClass.addMethod(method);
+            return constructorClass.toClass(type.getClassLoader(), type.getProtectionDomain());
+        }
+    }
+
+    private static Class<?> findClass(Class<?> type, String className) {
+        try {
+            return type.getClassLoader().loadClass(className);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
     @Override
     public <T> FieldAccessor<T, ?> createFieldAccessor(Class<T> ownerType, Field field) throws InaccessibleFieldException {
         return createFieldAccessor(ownerType, field, field.getType());
@@ -98,6 +127,147 @@ public <T, U> FieldAccessor<T, U> createFieldAccessor(Class<T> ownerType, Field
         }
     }
 
+    /**
+     * Generates a class that copies the fields directly, or through their getter and setter where the field accessors
+     * would use them. Only the copy strategies of non-primitive fields are invoked. If any field or accessor is not
+     * accessible from the package of the type, no copier is generated.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ObjectCopier<T> createCopier(Class<T> type, List<Field> fields, List<CopyStrategy<?>> copyStrategies) {
+        String copyMethod = createCopyMethod(type, fields);
+        if (copyMethod == null) {
+            return null;
+        }
+        // The fields are part of the name, as the same type may be copied with different sets of fields
+        String copierClassName = type.getName() + "_ReflectCopier" + Integer.toHexString(copyMethod.hashCode());
+        CopyStrategy<?>[] strategies = copyStrategies.toArray(new CopyStrategy<?>[copyStrategies.size()]);
+        try {
+            Class<?> copierClass;
+            try {
+                copierClass = type.getClassLoader().loadClass(copierClassName);
+            } catch (ClassNotFoundException ignored) {
+                synchronized (pool) {
+                    copierClass = findClass(type, copierClassName);
+                    if (copierClass == null) {
+                        CtClass ctClass = pool.makeClass(copierClassName);
+                        ctClass.setInterfaces(new CtClass[]{objectCopierInterface});
+                        ctClass.addField(CtField.make("private " + CopyStrategy.class.getName() + "[] strategies;", ctClass));
+                        ctClass.addConstructor(CtNewConstructor.make("public " + ctClass.getSimpleName() + "(" + CopyStrategy.class.getName()
+                                + "[] strategies) { this.strategies = strategies; }", ctClass));
+                        ctClass.addMethod(CtNewMethod.make(copyMethod, ctClass));
+                        copierClass = ctClass.toClass(type.getClassLoader(), type.getProtectionDomain());
+                    }
+                }
+            }
+            return (ObjectCopier<T>) copierClass.getConstructor(CopyStrategy[].class).newInstance((Object) strategies);
+        } catch (CannotCompileException | ReflectiveOperationException | LinkageError e) {
+            logger.warn("Failed to generate copier for '{}', falling back on field accessors", type, e);
+            return null;
+        }
+    }
+
+    private String createCopyMethod(Class<?> type, List<Field> fields) {
+        if (type.getClassLoader() == null || !isAccessible(type, type) || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            if (!isAccessible(type.getDeclaredConstructor(), type)) {
+                return null;
+            }
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+
+        String typeName = getSourceName(type);
+        StringBuilder builder = new StringBuilder();
+        builder.append("public Object copy(Object object) {");
+        builder.append(typeName).append(" source = (").append(typeName).append(") object;");
+        builder.append(typeName).append(" result = new ").append(typeName).append("();");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            if (!isAccessible(getElementType(field.getType()), type)) {
+                return null;
+            }
+            Method getter = ReflectionUtil.findGetter(field);
+            Method setter = ReflectionUtil.findSetter(field);
+            String value;
+            String assignmentStart;
+            String assignmentEnd;
+            if (getter != null && setter != null) {
+                if (!isAccessible(getter, type) || !isAccessible(setter, type)) {
+                    return null;
+                }
+                value = "source." + getter.getName() + "()";
+                assignmentStart = "result." + setter.getName() + "(";
+                assignmentEnd = ");";
+            } else {
+                if (!isAccessible(field, type) || Modifier.isFinal(field.getModifiers())) {
+                    return null;
+                }
+                value = "source." + field.getName();
+                assignmentStart = "result." + field.getName() + " = ";
+                assignmentEnd = ";";
+            }
+            builder.append(assignmentStart);
+            if (field.getType().isPrimitive()) {
+                builder.append(value);
+            } else {
+                builder.append("(").append(getSourceName(field.getType())).append(") strategies[").append(i).append("].copy(").append(value).append(")");
+            }
+            builder.append(assignmentEnd);
+        }
+        builder.append("return result;}");
+        return builder.toString();
+    }
+
+    /**
+     * @return Whether the member can be accessed by a class generated in the package of the given type
+     */
+    private static boolean isAccessible(Member member, Class<?> type) {
+        if (Modifier.isPrivate(member.getModifiers())) {
+            return false;
+        }
+        Class<?> declaringClass = member.getDeclaringClass();
+        if (Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers())) {
+            return true;
+        }
+        return isSamePackage(declaringClass, type);
+    }
+
+    private static boolean isAccessible(Class<?> target, Class<?> type) {
+        if (target.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> current = target; current != null; current = current.getEnclosingClass()) {
+            if (Modifier.isPrivate(current.getModifiers())
+                    || !Modifier.isPublic(current.getModifiers()) && !isSamePackage(current, type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSamePackage(Class<?> a, Class<?> b) {
+        return a.getClassLoader() == b.getClassLoader() && getPackageName(a).equals(getPackageName(b));
+    }
+
+    private static String getPackageName(Class<?> type) {
+        int lastDot = type.getName().lastIndexOf('.');
+        return (lastDot < 0) ? "" : type.getName().substring(0, lastDot);
+    }
+
+    private static Class<?> getElementType(Class<?> type) {
+        return type.isArray() ? getElementType(type.getComponentType()) : type;
+    }
+
+    private static String getSourceName(Class<?> type) {
+        if (type.isArray()) {
+            return getSourceName(type.getComponentType()) + "[]";
+        }
+        return type.getName();
+    }
+
     public void setClassPool(ClassPool classPool) {
         pool = classPool;
     }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.reflection.reflect;
+
+/**
+ * Provides the ability to copy an instance of a type, field by field.
+ *
+ * @param <T> The type of the class to copy instances of
+ */
+@FunctionalInterface
+public interface ObjectCopier<T> {
+
+    /**
+     * @param object The object to copy
+     * @return A new instance of the object type, with copies of the fields of the given object
+     */
+    T copy(T object);
+}
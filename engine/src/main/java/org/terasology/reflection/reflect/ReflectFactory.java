@@ -15,7 +15,10 @@
  */
 package org.terasology.reflection.reflect;
 
+import org.terasology.reflection.copy.CopyStrategy;
+
 import java.lang.reflect.Field;
+import java.util.List;
 
 /**
  * A factory providing reflection abilities, such as object construction and field access.
@@ -28,4 +31,17 @@ public interface ReflectFactory {
     <T> FieldAccessor<T, ?> createFieldAccessor(Class<T> ownerType, Field field) throws InaccessibleFieldException;
 
     <T, U> FieldAccessor<T, U> createFieldAccessor(Class<T> ownerType, Field field, Class<U> fieldType) throws InaccessibleFieldException;
+
+    /**
+     * Creates a copier that copies instances of a type by constructing a new instance with its default constructor and
+     * copying each of the given fields, using the matching copy strategy.
+     *
+     * @param type           The type to copy
+     * @param fields         The fields to copy
+     * @param copyStrategies The copy strategy for each field
+     * @return The copier, or null if this factory cannot provide one for the type
+     */
+    default <T> ObjectCopier<T> createCopier(Class<T> type, List<Field> fields, List<CopyStrategy<?>> copyStrategies) {
+        return null;
+    }
 }
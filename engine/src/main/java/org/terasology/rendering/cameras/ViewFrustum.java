@@ -140,48 +140,38 @@ public boolean intersects(double x, double y, double z) {
      * Returns true if this view frustum intersects the given AABB.
      */
     public boolean intersects(AABB aabb) {
+        return intersects(aabb, CoreRegistry.get(LocalPlayer.class).getViewPosition());
+    }
 
-        Vector3f[] aabbVertices = aabb.getVertices();
-
-        Vector3f cp = CoreRegistry.get(LocalPlayer.class).getViewPosition();
+    /**
+     * Returns true if this view frustum intersects the given AABB, for a frustum positioned at the given view position.
+     */
+    public boolean intersects(AABB aabb, Vector3f viewPosition) {
+        return classify(aabb.minX() - viewPosition.x, aabb.minY() - viewPosition.y, aabb.minZ() - viewPosition.z,
+                aabb.maxX() - viewPosition.x, aabb.maxY() - viewPosition.y, aabb.maxZ() - viewPosition.z) != Containment.OUTSIDE;
+    }
 
+    /**
+     * Determines how a box is contained in this view frustum. Per plane only the corner furthest along the plane normal
+     * and the corner furthest against it are checked, instead of all eight corners.
+     * <br><br>
+     * The coordinates are relative to the view position, like the planes of the frustum.
+     */
+    public Containment classify(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        boolean inside = true;
         for (int i = 0; i < 6; i++) {
-            if (planes[i].getA() * (aabbVertices[0].x - cp.x) + planes[i].getB() * (aabbVertices[0].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[0].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[1].x - cp.x) + planes[i].getB() * (aabbVertices[1].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[1].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[2].x - cp.x) + planes[i].getB() * (aabbVertices[2].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[2].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[3].x - cp.x) + planes[i].getB() * (aabbVertices[3].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[3].z - cp.z) + planes[i].getD() > 0) {
-                continue;
+            float a = planes[i].getA();
+            float b = planes[i].getB();
+            float c = planes[i].getC();
+            float d = planes[i].getD();
+            if (a * (a > 0 ? maxX : minX) + b * (b > 0 ? maxY : minY) + c * (c > 0 ? maxZ : minZ) + d <= 0) {
+                return Containment.OUTSIDE;
             }
-            if (planes[i].getA() * (aabbVertices[4].x - cp.x) + planes[i].getB() * (aabbVertices[4].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[4].z - cp.z) + planes[i].getD() > 0) {
-                continue;
+            if (a * (a > 0 ? minX : maxX) + b * (b > 0 ? minY : maxY) + c * (c > 0 ? minZ : maxZ) + d <= 0) {
+                inside = false;
             }
-            if (planes[i].getA() * (aabbVertices[5].x - cp.x) + planes[i].getB() * (aabbVertices[5].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[5].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[6].x - cp.x) + planes[i].getB() * (aabbVertices[6].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[6].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            if (planes[i].getA() * (aabbVertices[7].x - cp.x) + planes[i].getB() * (aabbVertices[7].y - cp.y)
-                    + planes[i].getC() * (aabbVertices[7].z - cp.z) + planes[i].getD() > 0) {
-                continue;
-            }
-            return false;
         }
-
-        return true;
+        return inside ? Containment.INSIDE : Containment.INTERSECTING;
     }
 
     /**
@@ -195,4 +185,13 @@ public boolean intersects(Vector3f position, float radius) {
         }
         return true;
     }
+
+    /**
+     * How a box is contained in a view frustum.
+     */
+    public enum Containment {
+        OUTSIDE,
+        INTERSECTING,
+        INSIDE
+    }
 }
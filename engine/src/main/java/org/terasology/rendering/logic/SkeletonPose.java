@@ -0,0 +1,217 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.logic;
+
+import com.google.common.collect.Lists;
+import org.terasology.math.geom.BaseQuat4f;
+import org.terasology.math.geom.BaseVector3f;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.rendering.assets.animation.MeshAnimation;
+import org.terasology.rendering.assets.animation.MeshAnimationFrame;
+import org.terasology.rendering.assets.skeletalmesh.Bone;
+import org.terasology.rendering.assets.skeletalmesh.SkeletalMesh;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The pose of a skeletal mesh, held in flat arrays indexed by bone index. Each bone has a position and rotation
+ * relative to its parent bone, and one relative to the skeleton, i.e. the entity the mesh belongs to.
+ * <br><br>
+ * Evaluating a pose only touches the pose itself and the animation asset, so the poses of different skeletons may be
+ * evaluated in parallel.
+ */
+public class SkeletonPose {
+    private final SkeletalMesh mesh;
+    private final int boneCount;
+    private final int[] parentIndices;
+    /**
+     * The bone indices ordered such that parents come before their children.
+     */
+    private final int[] evaluationOrder;
+
+    private final float[] localPositions;
+    private final float[] localRotations;
+    private final float[] objectPositions;
+    private final float[] objectRotations;
+
+    private MeshAnimation mappedAnimation;
+    private int[] animationBoneIndices;
+
+    public SkeletonPose(SkeletalMesh mesh) {
+        this.mesh = mesh;
+        int maxIndex = -1;
+        for (Bone bone : mesh.getBones()) {
+            maxIndex = Math.max(maxIndex, bone.getIndex());
+        }
+        boneCount = maxIndex + 1;
+        parentIndices = new int[boneCount];
+        Arrays.fill(parentIndices, -1);
+        localPositions = new float[boneCount * 3];
+        localRotations = new float[boneCount * 4];
+        objectPositions = new float[boneCount * 3];
+        objectRotations = new float[boneCount * 4];
+        for (int i = 0; i < boneCount; i++) {
+            localRotations[i * 4 + 3] = 1;
+        }
+
+        List<Bone> orderedBones = Lists.newArrayListWithCapacity(boneCount);
+        for (Bone bone : mesh.getBones()) {
+            if (bone.getParent() == null) {
+                addWithDescendants(bone, orderedBones);
+            }
+        }
+        evaluationOrder = new int[orderedBones.size()];
+        for (int i = 0; i < orderedBones.size(); i++) {
+            Bone bone = orderedBones.get(i);
+            evaluationOrder[i] = bone.getIndex();
+            parentIndices[bone.getIndex()] = bone.getParentIndex();
+            setLocal(bone.getIndex(), bone.getLocalPosition(), bone.getLocalRotation());
+        }
+        updateObjectSpace();
+    }
+
+    private static void addWithDescendants(Bone bone, List<Bone> result) {
+        result.add(bone);
+        for (Bone child : bone.getChildren()) {
+            addWithDescendants(child, result);
+        }
+    }
+
+    public SkeletalMesh getMesh() {
+        return mesh;
+    }
+
+    public int getBoneCount() {
+        return boneCount;
+    }
+
+    /**
+     * Sets the pose to the interpolation of two frames of an animation. Bones the animation doesn't cover keep their
+     * pose.
+     *
+     * @param animation        The animation of the frames
+     * @param frameA           The frame to interpolate from
+     * @param frameB           The frame to interpolate to
+     * @param interpolationVal How far to interpolate towards frame b, between 0 and 1
+     */
+    public void evaluate(MeshAnimation animation, MeshAnimationFrame frameA, MeshAnimationFrame frameB, float interpolationVal) {
+        int[] boneIndices = getAnimationBoneIndices(animation);
+        for (int i = 0; i < boneIndices.length; ++i) {
+            int boneIndex = boneIndices[i];
+            if (boneIndex < 0) {
+                continue;
+            }
+            Vector3f newPos = BaseVector3f.lerp(frameA.getPosition(i), frameB.getPosition(i), interpolationVal);
+            Quat4f newRot = BaseQuat4f.interpolate(frameA.getRotation(i), frameB.getRotation(i), interpolationVal);
+            newRot.normalize();
+            setLocal(boneIndex, newPos, newRot);
+        }
+        updateObjectSpace();
+    }
+
+    private int[] getAnimationBoneIndices(MeshAnimation animation) {
+        if (animation != mappedAnimation) {
+            int[] boneIndices = new int[animation.getBoneCount()];
+            for (int i = 0; i < boneIndices.length; i++) {
+                Bone bone = mesh.getBone(animation.getBoneName(i));
+                boneIndices[i] = (bone != null) ? bone.getIndex() : -1;
+            }
+            animationBoneIndices = boneIndices;
+            mappedAnimation = animation;
+        }
+        return animationBoneIndices;
+    }
+
+    private void setLocal(int boneIndex, Vector3f position, Quat4f rotation) {
+        localPositions[boneIndex * 3] = position.x;
+        localPositions[boneIndex * 3 + 1] = position.y;
+        localPositions[boneIndex * 3 + 2] = position.z;
+        localRotations[boneIndex * 4] = rotation.x;
+        localRotations[boneIndex * 4 + 1] = rotation.y;
+        localRotations[boneIndex * 4 + 2] = rotation.z;
+        localRotations[boneIndex * 4 + 3] = rotation.w;
+    }
+
+    private void updateObjectSpace() {
+        for (int boneIndex : evaluationOrder) {
+            int p = boneIndex * 3;
+            int r = boneIndex * 4;
+            int parent = parentIndices[boneIndex];
+            if (parent < 0) {
+                System.arraycopy(localPositions, p, objectPositions, p, 3);
+                System.arraycopy(localRotations, r, objectRotations, r, 4);
+                continue;
+            }
+            int pp = parent * 3;
+            int pr = parent * 4;
+            float qx = objectRotations[pr];
+            float qy = objectRotations[pr + 1];
+            float qz = objectRotations[pr + 2];
+            float qw = objectRotations[pr + 3];
+
+            // Rotate the local position by the parent's rotation: v + 2w(q x v) + 2q x (q x v)
+            float vx = localPositions[p];
+            float vy = localPositions[p + 1];
+            float vz = localPositions[p + 2];
+            float tx = 2 * (qy * vz - qz * vy);
+            float ty = 2 * (qz * vx - qx * vz);
+            float tz = 2 * (qx * vy - qy * vx);
+            objectPositions[p] = objectPositions[pp] + vx + qw * tx + (qy * tz - qz * ty);
+            objectPositions[p + 1] = objectPositions[pp + 1] + vy + qw * ty + (qz * tx - qx * tz);
+            objectPositions[p + 2] = objectPositions[pp + 2] + vz + qw * tz + (qx * ty - qy * tx);
+
+            // Parent rotation * local rotation
+            float lx = localRotations[r];
+            float ly = localRotations[r + 1];
+            float lz = localRotations[r + 2];
+            float lw = localRotations[r + 3];
+            objectRotations[r] = qw * lx + qx * lw + qy * lz - qz * ly;
+            objectRotations[r + 1] = qw * ly - qx * lz + qy * lw + qz * lx;
+            objectRotations[r + 2] = qw * lz + qx * ly - qy * lx + qz * lw;
+            objectRotations[r + 3] = qw * lw - qx * lx - qy * ly - qz * lz;
+        }
+    }
+
+    public Vector3f getLocalPosition(int boneIndex, Vector3f out) {
+        out.set(localPositions[boneIndex * 3], localPositions[boneIndex * 3 + 1], localPositions[boneIndex * 3 + 2]);
+        return out;
+    }
+
+    public Quat4f getLocalRotation(int boneIndex, Quat4f out) {
+        int r = boneIndex * 4;
+        out.set(localRotations[r], localRotations[r + 1], localRotations[r + 2], localRotations[r + 3]);
+        return out;
+    }
+
+    /**
+     * @return The position of the bone relative to the skeleton, not taking the scale of the skeleton into account
+     */
+    public Vector3f getObjectPosition(int boneIndex, Vector3f out) {
+        out.set(objectPositions[boneIndex * 3], objectPositions[boneIndex * 3 + 1], objectPositions[boneIndex * 3 + 2]);
+        return out;
+    }
+
+    /**
+     * @return The rotation of the bone relative to the skeleton
+     */
+    public Quat4f getObjectRotation(int boneIndex, Quat4f out) {
+        int r = boneIndex * 4;
+        out.set(objectRotations[r], objectRotations[r + 1], objectRotations[r + 2], objectRotations[r + 3]);
+        return out;
+    }
+}
@@ -16,8 +16,10 @@
 
 package org.terasology.rendering.logic;
 
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
@@ -27,7 +29,9 @@
 import org.terasology.config.Config;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterMode;
@@ -38,8 +42,6 @@
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.AABB;
 import org.terasology.math.MatrixUtils;
-import org.terasology.math.geom.BaseQuat4f;
-import org.terasology.math.geom.BaseVector3f;
 import org.terasology.math.geom.Matrix4f;
 import org.terasology.math.geom.Quat4f;
 import org.terasology.math.geom.Vector3f;
@@ -53,7 +55,12 @@
 
 import java.nio.FloatBuffer;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.lwjgl.opengl.GL11.GL_DEPTH_TEST;
 import static org.lwjgl.opengl.GL11.glBegin;
@@ -71,6 +78,9 @@
 public class SkeletonRenderer extends BaseComponentSystem implements RenderSystem, UpdateSubscriberSystem {
 
     private static final Logger logger = LoggerFactory.getLogger(SkeletonRenderer.class);
+    private static final int BATCH_SIZE = 32;
+    private static final float POSE_LOD_DISTANCE = 64f;
+    private static final int DISTANT_POSE_INTERVAL = 4;
 
     @In
     private EntityManager entityManager;
@@ -82,6 +92,13 @@ public class SkeletonRenderer extends BaseComponentSystem implements RenderSyste
     private Config config;
 
     private Random random = new Random();
+    private Map<EntityRef, SkeletonPose> poses = Maps.newHashMap();
+    private Map<EntityRef, TrackedBone> trackedBones = Maps.newHashMap();
+    /**
+     * Holds each skeleton once for every bone of it that has something attached.
+     */
+    private Multiset<EntityRef> skeletonsWithAttachments = HashMultiset.create();
+    private long frame;
 
     @ReceiveEvent(components = {SkeletalMeshComponent.class, LocationComponent.class})
     public void newSkeleton(OnActivatedComponent event, EntityRef entity) {
@@ -107,28 +124,111 @@ public void newSkeleton(OnActivatedComponent event, EntityRef entity) {
             }
             entity.saveComponent(skeleton);
         }
+        trackBones(entity, skeleton);
+    }
+
+    @ReceiveEvent(components = {SkeletalMeshComponent.class})
+    public void removeSkeleton(BeforeDeactivateComponent event, EntityRef entity) {
+        poses.remove(entity);
+        SkeletalMeshComponent skeleton = entity.getComponent(SkeletalMeshComponent.class);
+        if (skeleton.boneEntities != null) {
+            skeleton.boneEntities.values().forEach(trackedBones::remove);
+        }
+        skeletonsWithAttachments.setCount(entity, 0);
+    }
+
+    /**
+     * Attaching something to a bone or detaching it changes the location of the bone, locally as well as when the
+     * change comes from the server.
+     */
+    @ReceiveEvent
+    public void boneLocationChanged(OnChangedComponent event, EntityRef entity, LocationComponent location) {
+        TrackedBone bone = trackedBones.get(entity);
+        if (bone != null) {
+            updateAttachments(bone, location);
+        }
+    }
+
+    private void trackBones(EntityRef entity, SkeletalMeshComponent skeleton) {
+        if (skeleton.boneEntities == null) {
+            return;
+        }
+        for (Bone bone : skeleton.mesh.getBones()) {
+            EntityRef boneEntity = skeleton.boneEntities.get(bone.getName());
+            if (boneEntity == null) {
+                continue;
+            }
+            TrackedBone trackedBone = new TrackedBone(entity, bone.getChildren().size());
+            TrackedBone oldBone = trackedBones.put(boneEntity, trackedBone);
+            if (oldBone != null && oldBone.hasAttachments) {
+                skeletonsWithAttachments.remove(oldBone.skeleton);
+            }
+            LocationComponent boneLoc = boneEntity.getComponent(LocationComponent.class);
+            if (boneLoc != null) {
+                updateAttachments(trackedBone, boneLoc);
+            }
+        }
+    }
+
+    /**
+     * Bone entities only need to follow the pose if something other than bones is attached to them, e.g. a held item.
+     * A bone entity with more children than its bone has child bones has such an attachment.
+     */
+    private void updateAttachments(TrackedBone bone, LocationComponent boneLoc) {
+        boolean hasAttachments = boneLoc.getChildren().size() > bone.childBoneCount;
+        if (hasAttachments != bone.hasAttachments) {
+            bone.hasAttachments = hasAttachments;
+            if (hasAttachments) {
+                skeletonsWithAttachments.add(bone.skeleton);
+            } else {
+                skeletonsWithAttachments.remove(bone.skeleton);
+            }
+        }
     }
 
     @Override
     public void update(float delta) {
+        frame++;
+        Vector3f cameraPosition = worldRenderer.getActiveCamera().getPosition();
+        List<PoseJob> jobs = Lists.newArrayList();
         for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
-            updateSkeletalMeshOfEntity(entity, delta);
+            PoseJob job = updateSkeletalMeshOfEntity(entity, delta, cameraPosition);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+
+        if (config.getSystem().isParallelSkeletonsEnabled() && jobs.size() > BATCH_SIZE) {
+            evaluateInParallel(jobs);
+        } else {
+            jobs.forEach(PoseJob::evaluate);
+        }
+
+        boolean renderSkeletons = config.getRendering().getDebug().isRenderSkeletons();
+        for (PoseJob job : jobs) {
+            SkeletalMeshComponent skeletalMeshComp = job.entity.getComponent(SkeletalMeshComponent.class);
+            if (skeletalMeshComp != null && (renderSkeletons || skeletonsWithAttachments.contains(job.entity))) {
+                writeBoneEntities(skeletalMeshComp, job.pose);
+            }
         }
     }
 
-    private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
+    private PoseJob updateSkeletalMeshOfEntity(EntityRef entity, float delta, Vector3f cameraPosition) {
         SkeletalMeshComponent skeletalMeshComp = entity.getComponent(SkeletalMeshComponent.class);
+        if (skeletalMeshComp.mesh == null) {
+            return null;
+        }
 
         if (skeletalMeshComp.animation == null && skeletalMeshComp.animationPool != null) {
             skeletalMeshComp.animation = randomAnimationData(skeletalMeshComp, random);
         }
 
         if (skeletalMeshComp.animation == null) {
-            return;
+            return null;
         }
 
         if (skeletalMeshComp.animation.getFrameCount() < 1) {
-            return;
+            return null;
         }
         skeletalMeshComp.animationTime += delta * skeletalMeshComp.animationRate;
         float animationDuration = getDurationOfAnimation(skeletalMeshComp);
@@ -143,13 +243,13 @@ private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
             if (newAnimation == null) {
                 MeshAnimation finishedAnimation = skeletalMeshComp.animation;
                 skeletalMeshComp.animationTime = animationDuration;
-                MeshAnimationFrame frame = skeletalMeshComp.animation.getFrame(skeletalMeshComp.animation.getFrameCount() - 1);
-                updateSkeleton(skeletalMeshComp, frame, frame, 1.0f);
+                MeshAnimationFrame lastFrame = skeletalMeshComp.animation.getFrame(skeletalMeshComp.animation.getFrameCount() - 1);
+                PoseJob job = new PoseJob(entity, getPose(entity, skeletalMeshComp), finishedAnimation, lastFrame, lastFrame, 1.0f);
                 // Set animation to null so that AnimEndEvent fires only once
                 skeletalMeshComp.animation = null;
                 entity.saveComponent(skeletalMeshComp);
                 entity.send(new AnimEndEvent(finishedAnimation));
-                return;
+                return job;
             }
             skeletalMeshComp.animationTime -= animationDuration;
             if (skeletalMeshComp.animationTime < 0) {
@@ -159,6 +259,11 @@ private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
             skeletalMeshComp.animation = newAnimation;
             animationDuration = getDurationOfAnimation(skeletalMeshComp);
         }
+        entity.saveComponent(skeletalMeshComp);
+
+        if ((frame + entity.getId()) % DISTANT_POSE_INTERVAL != 0 && isDistant(entity, cameraPosition)) {
+            return null;
+        }
         float framePos = skeletalMeshComp.animationTime / skeletalMeshComp.animation.getTimePerFrame();
         int frameAId = (int) framePos;
         int frameBId = frameAId + 1;
@@ -168,47 +273,85 @@ private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
         }
         MeshAnimationFrame frameA = skeletalMeshComp.animation.getFrame(frameAId);
         MeshAnimationFrame frameB = skeletalMeshComp.animation.getFrame(frameBId);
-        updateSkeleton(skeletalMeshComp, frameA, frameB, framePos - frameAId);
-        entity.saveComponent(skeletalMeshComp);
+        return new PoseJob(entity, getPose(entity, skeletalMeshComp), skeletalMeshComp.animation, frameA, frameB, framePos - frameAId);
     }
 
-
-    private float getDurationOfAnimation(SkeletalMeshComponent skeletalMeshComp) {
-        return skeletalMeshComp.animation.getTimePerFrame() * (skeletalMeshComp.animation.getFrameCount() - 1);
+    private SkeletonPose getPose(EntityRef entity, SkeletalMeshComponent skeletalMeshComp) {
+        SkeletonPose pose = poses.get(entity);
+        if (pose == null || pose.getMesh() != skeletalMeshComp.mesh) {
+            pose = new SkeletonPose(skeletalMeshComp.mesh);
+            poses.put(entity, pose);
+        }
+        return pose;
     }
 
+    private static boolean isDistant(EntityRef entity, Vector3f cameraPosition) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return false;
+        }
+        Vector3f offset = location.getWorldPosition();
+        offset.sub(cameraPosition);
+        return offset.lengthSquared() > POSE_LOD_DISTANCE * POSE_LOD_DISTANCE;
+    }
 
-    private static MeshAnimation randomAnimationData(SkeletalMeshComponent skeletalMeshComp, Random random) {
-        List<MeshAnimation> animationPool = skeletalMeshComp.animationPool;
-        if (animationPool == null) {
-            return null;
+    private void evaluateInParallel(List<PoseJob> jobs) {
+        List<Callable<Void>> batches = Lists.newArrayList();
+        for (List<PoseJob> batch : Lists.partition(jobs, BATCH_SIZE)) {
+            batches.add(() -> {
+                batch.forEach(PoseJob::evaluate);
+                return null;
+            });
         }
-        if (animationPool.isEmpty()) {
-            return null;
+        List<Future<Void>> results = ForkJoinPool.commonPool().invokeAll(batches);
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                logger.error("Failed to evaluate skeleton poses", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
-        return animationPool.get(random.nextInt(animationPool.size()));
     }
 
-    private void updateSkeleton(SkeletalMeshComponent skeletalMeshComp, MeshAnimationFrame frameA, MeshAnimationFrame frameB, float interpolationVal) {
-
-        for (int i = 0; i < skeletalMeshComp.animation.getBoneCount(); ++i) {
-            EntityRef boneEntity = skeletalMeshComp.boneEntities.get(skeletalMeshComp.animation.getBoneName(i));
+    private static void writeBoneEntities(SkeletalMeshComponent skeletalMeshComp, SkeletonPose pose) {
+        if (skeletalMeshComp.boneEntities == null) {
+            return;
+        }
+        Vector3f position = new Vector3f();
+        Quat4f rotation = new Quat4f();
+        for (Bone bone : skeletalMeshComp.mesh.getBones()) {
+            EntityRef boneEntity = skeletalMeshComp.boneEntities.get(bone.getName());
             if (boneEntity == null) {
                 continue;
             }
             LocationComponent boneLoc = boneEntity.getComponent(LocationComponent.class);
             if (boneLoc != null) {
-
-                Vector3f newPos = BaseVector3f.lerp(frameA.getPosition(i), frameB.getPosition(i), interpolationVal);
-                boneLoc.setLocalPosition(newPos);
-                Quat4f newRot = BaseQuat4f.interpolate(frameA.getRotation(i), frameB.getRotation(i), interpolationVal);
-                newRot.normalize();
-                boneLoc.setLocalRotation(newRot);
+                boneLoc.setLocalPosition(pose.getLocalPosition(bone.getIndex(), position));
+                boneLoc.setLocalRotation(pose.getLocalRotation(bone.getIndex(), rotation));
                 boneEntity.saveComponent(boneLoc);
             }
         }
     }
 
+
+    private float getDurationOfAnimation(SkeletalMeshComponent skeletalMeshComp) {
+        return skeletalMeshComp.animation.getTimePerFrame() * (skeletalMeshComp.animation.getFrameCount() - 1);
+    }
+
+
+    private static MeshAnimation randomAnimationData(SkeletalMeshComponent skeletalMeshComp, Random random) {
+        List<MeshAnimation> animationPool = skeletalMeshComp.animationPool;
+        if (animationPool == null) {
+            return null;
+        }
+        if (animationPool.isEmpty()) {
+            return null;
+        }
+        return animationPool.get(random.nextInt(animationPool.size()));
+    }
+
     @Override
     public void renderOpaque() {
         Vector3f cameraPosition = worldRenderer.getActiveCamera().getPosition();
@@ -271,27 +414,17 @@ public void renderOpaque() {
             skeletalMesh.material.setFloat("sunlight", worldRenderer.getMainLightIntensityAt(worldPos), true);
             skeletalMesh.material.setFloat("blockLight", worldRenderer.getBlockLightIntensityAt(worldPos), true);
 
-            List<Vector3f> bonePositions = Lists.newArrayListWithCapacity(skeletalMesh.mesh.getVertexCount());
-            List<Quat4f> boneRotations = Lists.newArrayListWithCapacity(skeletalMesh.mesh.getVertexCount());
+            SkeletonPose pose = getPose(entity, skeletalMesh);
+            Vector3f heightOffset = new Vector3f(0, skeletalMesh.heightOffset, 0);
+            inverseWorldRot.rotate(heightOffset, heightOffset);
+            List<Vector3f> bonePositions = Lists.newArrayListWithCapacity(pose.getBoneCount());
+            List<Quat4f> boneRotations = Lists.newArrayListWithCapacity(pose.getBoneCount());
             for (Bone bone : skeletalMesh.mesh.getBones()) {
-                EntityRef boneEntity = skeletalMesh.boneEntities.get(bone.getName());
-                if (boneEntity == null) {
-                    boneEntity = EntityRef.NULL;
-                }
-                LocationComponent boneLocation = boneEntity.getComponent(LocationComponent.class);
-                if (boneLocation != null) {
-                    Vector3f pos = boneLocation.getWorldPosition();
-                    pos.sub(worldPos);
-                    inverseWorldRot.rotate(pos, pos);
-                    bonePositions.add(pos);
-                    Quat4f rot = new Quat4f(inverseWorldRot);
-                    rot.mul(boneLocation.getWorldRotation());
-                    boneRotations.add(rot);
-                } else {
-                    logger.warn("Unable to resolve bone \"{}\"", bone.getName());
-                    bonePositions.add(new Vector3f());
-                    boneRotations.add(new Quat4f());
-                }
+                Vector3f pos = pose.getObjectPosition(bone.getIndex(), new Vector3f());
+                pos.scale(worldScale);
+                pos.add(heightOffset);
+                bonePositions.add(pos);
+                boneRotations.add(pose.getObjectRotation(bone.getIndex(), new Quat4f()));
             }
             ((OpenGLSkeletalMesh) skeletalMesh.mesh).setScaleTranslate(skeletalMesh.scale, skeletalMesh.translate);
             ((OpenGLSkeletalMesh) skeletalMesh.mesh).render(bonePositions, boneRotations);
@@ -395,4 +528,44 @@ private void renderBone(EntityRef boneEntity, Vector3f centerPos) {
             }
         }
     }
+
+    /**
+     * The evaluation of one skeleton's pose for the current frame, prepared on the main thread.
+     */
+    private static final class PoseJob {
+        private final EntityRef entity;
+        private final SkeletonPose pose;
+        private final MeshAnimation animation;
+        private final MeshAnimationFrame frameA;
+        private final MeshAnimationFrame frameB;
+        private final float interpolationVal;
+
+        PoseJob(EntityRef entity, SkeletonPose pose, MeshAnimation animation, MeshAnimationFrame frameA, MeshAnimationFrame frameB,
+                float interpolationVal) {
+            this.entity = entity;
+            this.pose = pose;
+            this.animation = animation;
+            this.frameA = frameA;
+            this.frameB = frameB;
+            this.interpolationVal = interpolationVal;
+        }
+
+        void evaluate() {
+            pose.evaluate(animation, frameA, frameB, interpolationVal);
+        }
+    }
+
+    /**
+     * A bone entity of a skeleton, watched for things being attached to it.
+     */
+    private static final class TrackedBone {
+        private final EntityRef skeleton;
+        private final int childBoneCount;
+        private boolean hasAttachments;
+
+        TrackedBone(EntityRef skeleton, int childBoneCount) {
+            this.skeleton = skeleton;
+            this.childBoneCount = childBoneCount;
+        }
+    }
 }
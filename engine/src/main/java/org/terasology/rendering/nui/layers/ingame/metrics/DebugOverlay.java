@@ -25,6 +25,7 @@
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.persistence.StorageManager;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.registry.In;
@@ -35,6 +36,7 @@
 import org.terasology.world.WorldProvider;
 import org.terasology.world.biomes.Biome;
 import org.terasology.world.biomes.BiomeManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
 
 import java.util.Locale;
 
@@ -90,8 +92,12 @@ public Boolean get() {
                 @Override
                 public String get() {
                     double memoryUsage = ((double) Runtime.getRuntime().totalMemory() - (double) Runtime.getRuntime().freeMemory()) / 1048576.0;
-                    return String.format("fps: %.2f, mem usage: %.2f MB, total mem: %.2f MB, max mem: %.2f MB",
+                    String line = String.format("fps: %.2f, mem usage: %.2f MB, total mem: %.2f MB, max mem: %.2f MB",
                             time.getFps(), memoryUsage, Runtime.getRuntime().totalMemory() / 1048576.0, Runtime.getRuntime().maxMemory() / 1048576.0);
+                    if (ChunkImpl.isOffHeapStorageEnabled()) {
+                        line += String.format(", off-heap chunks: %.2f MB", ChunkMonitor.getOffHeapAllocatedBytes() / 1048576.0);
+                    }
+                    return line;
                 }
             });
         }
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.base.Preconditions;
+import gnu.trove.list.TFloatList;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TFloatArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import org.terasology.math.AABB;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.rendering.cameras.ViewFrustum;
+import org.terasology.world.chunks.RenderableChunk;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An octree over the bounding boxes of a list of chunks, to frustum cull them without testing every chunk.
+ * <br><br>
+ * Several frustums are culled in a single traversal. A subtree is skipped for a frustum once its bounds are found to be
+ * outside of it, and its chunks are visible without further tests once its bounds are found to be inside of it. The
+ * result for each chunk is the same as testing it with {@link ViewFrustum#intersects(AABB, Vector3f)}.
+ * <br><br>
+ * The tree refers to chunks by their index in the list it was built from, so it has to be rebuilt when the list
+ * changes.
+ */
+public class ChunkCullingTree {
+    public static final int MAX_FRUSTUMS = 8;
+
+    private static final int MAX_CHUNKS_PER_LEAF = 8;
+    private static final int BOUNDS_SIZE = 6;
+
+    private float[] chunkBounds = new float[0];
+    private byte[] visibility = new byte[0];
+
+    private final TFloatList nodeBounds = new TFloatArrayList();
+    private final TIntList firstChild = new TIntArrayList();
+    private final TIntList childCount = new TIntArrayList();
+    private final TIntList firstChunk = new TIntArrayList();
+    private final TIntList chunkCount = new TIntArrayList();
+    private int[] leafChunks = new int[0];
+    private float[] nodeBoxes = new float[0];
+
+    private ViewFrustum[] frustums;
+    private final Vector3f viewPosition = new Vector3f();
+    private int testCount;
+
+    /**
+     * Builds the tree over the given chunks, replacing the previous tree.
+     */
+    public void rebuild(List<RenderableChunk> chunks) {
+        int size = chunks.size();
+        chunkBounds = new float[size * BOUNDS_SIZE];
+        visibility = new byte[size];
+        leafChunks = new int[size];
+        for (int i = 0; i < size; i++) {
+            AABB aabb = chunks.get(i).getAABB();
+            int offset = i * BOUNDS_SIZE;
+            chunkBounds[offset] = aabb.minX();
+            chunkBounds[offset + 1] = aabb.minY();
+            chunkBounds[offset + 2] = aabb.minZ();
+            chunkBounds[offset + 3] = aabb.maxX();
+            chunkBounds[offset + 4] = aabb.maxY();
+            chunkBounds[offset + 5] = aabb.maxZ();
+            leafChunks[i] = i;
+        }
+
+        nodeBounds.clear();
+        firstChild.clear();
+        childCount.clear();
+        firstChunk.clear();
+        chunkCount.clear();
+        if (size > 0) {
+            addNodes(1);
+            build(0, 0, size);
+        }
+        nodeBoxes = nodeBounds.toArray();
+    }
+
+    /**
+     * Culls the chunks against the given frustums. Afterwards {@link #isVisible(int, int)} tells for each chunk and
+     * frustum whether the chunk is in sight.
+     *
+     * @param position The view position the frustums are relative to
+     * @param viewFrustums The frustums to cull against, null entries are skipped and see no chunks
+     */
+    public void cull(Vector3f position, ViewFrustum... viewFrustums) {
+        Preconditions.checkArgument(viewFrustums.length <= MAX_FRUSTUMS, "At most %s frustums can be culled at once", MAX_FRUSTUMS);
+        Arrays.fill(visibility, (byte) 0);
+        testCount = 0;
+        if (childCount.isEmpty()) {
+            return;
+        }
+
+        int testMask = 0;
+        for (int i = 0; i < viewFrustums.length; i++) {
+            if (viewFrustums[i] != null) {
+                testMask |= 1 << i;
+            }
+        }
+        frustums = viewFrustums;
+        viewPosition.set(position);
+        visit(0, testMask, 0);
+        frustums = null;
+    }
+
+    /**
+     * @return Whether the chunk at the given index was in sight of the frustum at the given index during the last cull
+     */
+    public boolean isVisible(int chunkIndex, int frustumIndex) {
+        return (visibility[chunkIndex] & (1 << frustumIndex)) != 0;
+    }
+
+    /**
+     * @return The number of boxes tested against a frustum during the last cull
+     */
+    public int getTestCount() {
+        return testCount;
+    }
+
+    /**
+     * @return The number of nodes of the tree
+     */
+    public int getNodeCount() {
+        return childCount.size();
+    }
+
+    private void visit(int node, int parentTestMask, int parentInsideMask) {
+        int testMask = parentTestMask;
+        int insideMask = parentInsideMask;
+        for (int i = 0; i < frustums.length; i++) {
+            int bit = 1 << i;
+            if ((testMask & bit) != 0) {
+                switch (classify(frustums[i], nodeBoxes, node * BOUNDS_SIZE)) {
+                    case OUTSIDE:
+                        testMask &= ~bit;
+                        break;
+                    case INSIDE:
+                        testMask &= ~bit;
+                        insideMask |= bit;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        if ((testMask | insideMask) == 0) {
+            return;
+        }
+
+        int children = childCount.get(node);
+        if (children == 0) {
+            int end = firstChunk.get(node) + chunkCount.get(node);
+            for (int i = firstChunk.get(node); i < end; i++) {
+                int chunk = leafChunks[i];
+                int chunkVisibility = insideMask;
+                for (int frustum = 0; frustum < frustums.length; frustum++) {
+                    int bit = 1 << frustum;
+                    if ((testMask & bit) != 0 && classify(frustums[frustum], chunkBounds, chunk * BOUNDS_SIZE) != ViewFrustum.Containment.OUTSIDE) {
+                        chunkVisibility |= bit;
+                    }
+                }
+                visibility[chunk] = (byte) chunkVisibility;
+            }
+        } else {
+            int first = firstChild.get(node);
+            for (int child = first; child < first + children; child++) {
+                visit(child, testMask, insideMask);
+            }
+        }
+    }
+
+    private ViewFrustum.Containment classify(ViewFrustum frustum, float[] bounds, int offset) {
+        testCount++;
+        return frustum.classify(bounds[offset] - viewPosition.x, bounds[offset + 1] - viewPosition.y, bounds[offset + 2] - viewPosition.z,
+                bounds[offset + 3] - viewPosition.x, bounds[offset + 4] - viewPosition.y, bounds[offset + 5] - viewPosition.z);
+    }
+
+    /**
+     * Fills in the node for the chunks in the given range of the leaf chunks, splitting it into octants if it holds
+     * too many chunks.
+     */
+    private void build(int node, int from, int to) {
+        float[] bounds = new float[]{Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = from; i < to; i++) {
+            int offset = leafChunks[i] * BOUNDS_SIZE;
+            for (int axis = 0; axis < 3; axis++) {
+                bounds[axis] = Math.min(bounds[axis], chunkBounds[offset + axis]);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], chunkBounds[offset + axis + 3]);
+            }
+        }
+        nodeBounds.set(node * BOUNDS_SIZE, bounds);
+        firstChunk.set(node, from);
+        chunkCount.set(node, to - from);
+
+        if (to - from <= MAX_CHUNKS_PER_LEAF) {
+            return;
+        }
+
+        // Sort the chunks of the range by octant, so that each child holds a consecutive range
+        int[] octants = new int[to - from];
+        int[] octantStart = new int[9];
+        for (int i = from; i < to; i++) {
+            int offset = leafChunks[i] * BOUNDS_SIZE;
+            int octant = 0;
+            for (int axis = 0; axis < 3; axis++) {
+                float chunkCenter = chunkBounds[offset + axis] + chunkBounds[offset + axis + 3];
+                if (chunkCenter > bounds[axis] + bounds[axis + 3]) {
+                    octant |= 1 << axis;
+                }
+            }
+            octants[i - from] = octant;
+            octantStart[octant + 1]++;
+        }
+        int usedOctants = 0;
+        for (int octant = 0; octant < 8; octant++) {
+            if (octantStart[octant + 1] > 0) {
+                usedOctants++;
+            }
+            octantStart[octant + 1] += octantStart[octant];
+        }
+        if (usedOctants == 1) {
+            // All chunks share the same center, there is nothing left to split
+            return;
+        }
+
+        int[] sorted = new int[to - from];
+        int[] next = Arrays.copyOf(octantStart, 8);
+        for (int i = from; i < to; i++) {
+            sorted[next[octants[i - from]]++] = leafChunks[i];
+        }
+        System.arraycopy(sorted, 0, leafChunks, from, sorted.length);
+
+        int first = childCount.size();
+        firstChild.set(node, first);
+        childCount.set(node, usedOctants);
+        chunkCount.set(node, 0);
+        addNodes(usedOctants);
+        int child = first;
+        for (int octant = 0; octant < 8; octant++) {
+            if (octantStart[octant + 1] > octantStart[octant]) {
+                build(child++, from + octantStart[octant], from + octantStart[octant + 1]);
+            }
+        }
+    }
+
+    private void addNodes(int count) {
+        for (int i = 0; i < count; i++) {
+            nodeBounds.add(new float[BOUNDS_SIZE]);
+            firstChild.add(-1);
+            childCount.add(0);
+            firstChunk.add(0);
+            chunkCount.add(0);
+        }
+    }
+}
@@ -22,6 +22,7 @@
 import org.terasology.config.Config;
 import org.terasology.config.RenderingConfig;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.Region3i;
 import org.terasology.math.TeraMath;
 import org.terasology.math.geom.Vector3f;
@@ -29,6 +30,7 @@
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.cameras.Camera;
+import org.terasology.rendering.cameras.ViewFrustum;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
 import org.terasology.rendering.world.viewDistance.ViewDistance;
@@ -51,6 +53,10 @@ public class RenderableWorldImpl implements RenderableWorld {
     private static final int MAX_LOADABLE_CHUNKS = ViewDistance.MEGA.getChunkDistance().x * ViewDistance.MEGA.getChunkDistance().y * ViewDistance.MEGA.getChunkDistance().z;
     private static final Vector3f CHUNK_CENTER_OFFSET = new Vector3f(0.5f, 0.5f, 0.5f);
 
+    private static final int PLAYER_FRUSTUM = 0;
+    private static final int REFLECTED_FRUSTUM = 1;
+    private static final int LIGHT_FRUSTUM = 2;
+
     private static final Logger logger = LoggerFactory.getLogger(RenderableWorldImpl.class);
 
     private final int maxChunksForShadows = TeraMath.clamp(CoreRegistry.get(Config.class).getRendering().getMaxChunksUsedForShadowMapping(), 64, 1024);
@@ -61,6 +67,8 @@ public class RenderableWorldImpl implements RenderableWorld {
     private ChunkTessellator chunkTessellator;
     private final ChunkMeshUpdateManager chunkMeshUpdateManager;
     private final List<RenderableChunk> chunksInProximityOfCamera = Lists.newArrayListWithCapacity(MAX_LOADABLE_CHUNKS);
+    private final ChunkCullingTree cullingTree = new ChunkCullingTree();
+    private boolean cullingTreeOutdated = true;
     private Region3i renderableRegion = Region3i.EMPTY;
     private ViewDistance currentViewDistance;
     private RenderQueuesHelper renderQueues;
@@ -100,6 +108,7 @@ public void onChunkLoaded(Vector3i chunkCoordinates) {
         if (renderableRegion.encompasses(chunkCoordinates)) {
             chunksInProximityOfCamera.add(chunkProvider.getChunk(chunkCoordinates));
             Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
+            cullingTreeOutdated = true;
         }
     }
 
@@ -113,6 +122,7 @@ public void onChunkUnloaded(Vector3i chunkCoordinates) {
                 if (chunk.getPosition().equals(chunkCoordinates)) {
                     chunk.disposeMesh();
                     iterator.remove();
+                    cullingTreeOutdated = true;
                     break;
                 }
             }
@@ -219,6 +229,7 @@ public boolean updateChunksInProximity(Region3i newRenderableRegion) {
                 Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
             }
             renderableRegion = newRenderableRegion;
+            cullingTreeOutdated = true;
             return true;
         }
 
@@ -292,18 +303,18 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
         statIgnoredPhases = 0;
 
         int processedChunks = 0;
-        int chunkCounter = 0;
         ChunkMesh mesh;
         RenderableChunk chunk;
         boolean isDynamicShadows = renderingConfig.isDynamicShadows();
-        Iterator<RenderableChunk> nearbyChunks = chunksInProximityOfCamera.iterator();
-        while (nearbyChunks.hasNext()) {
-            chunk = nearbyChunks.next();
+        boolean isCullingForShadows = isDynamicShadows && isFirstRenderingStageForCurrentFrame;
+        cullVisibleChunks(isCullingForShadows);
+        for (int chunkCounter = 0; chunkCounter < chunksInProximityOfCamera.size(); chunkCounter++) {
+            chunk = chunksInProximityOfCamera.get(chunkCounter);
 
             if (isChunkValidForRender(chunk)) {
                 mesh = chunk.getMesh();
 
-                if (isDynamicShadows && isFirstRenderingStageForCurrentFrame && chunkCounter < maxChunksForShadows && isChunkVisibleFromMainLight(chunk)) {
+                if (isCullingForShadows && chunkCounter < maxChunksForShadows && cullingTree.isVisible(chunkCounter, LIGHT_FRUSTUM)) {
                     if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
                         renderQueues.chunksOpaqueShadow.add(chunk);
                     } else {
@@ -311,7 +322,7 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
                 }
 
-                if (isChunkVisible(chunk)) {
+                if (cullingTree.isVisible(chunkCounter, PLAYER_FRUSTUM)) {
                     if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
                         renderQueues.chunksOpaque.add(chunk);
                     } else {
@@ -339,7 +350,7 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
                 }
 
-                if (isChunkVisibleReflection(chunk)) {
+                if (cullingTree.isVisible(chunkCounter, REFLECTED_FRUSTUM)) {
                     renderQueues.chunksOpaqueReflection.add(chunk);
                 }
 
@@ -352,13 +363,30 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
                 }
             }
-            chunkCounter++;
         }
 
         PerformanceMonitor.endActivity();
         return processedChunks;
     }
 
+    /**
+     * Culls the chunks in proximity of the camera against the frustums of the player camera, its reflection and
+     * optionally the main light, in a single pass over the culling tree.
+     */
+    private void cullVisibleChunks(boolean isCullingForShadows) {
+        if (cullingTreeOutdated) {
+            cullingTree.rebuild(chunksInProximityOfCamera);
+            cullingTreeOutdated = false;
+        }
+        ViewFrustum[] frustums = new ViewFrustum[3];
+        frustums[PLAYER_FRUSTUM] = playerCamera.getViewFrustum();
+        frustums[REFLECTED_FRUSTUM] = playerCamera.getViewFrustumReflected();
+        if (isCullingForShadows) {
+            frustums[LIGHT_FRUSTUM] = shadowMapCamera.getViewFrustum();
+        }
+        cullingTree.cull(CoreRegistry.get(LocalPlayer.class).getViewPosition(), frustums);
+    }
+
     private int triangleCount(ChunkMesh mesh, ChunkMesh.RenderPhase renderPhase) {
         if (mesh != null) {
             return mesh.triangleCount(renderPhase);
@@ -419,6 +447,9 @@ public String getMetrics() {
         builder.append("Visible Chunks: ");
         builder.append(statVisibleChunks);
         builder.append("\n");
+        builder.append("Culling Tests: ");
+        builder.append(cullingTree.getTestCount());
+        builder.append("\n");
         return builder.toString();
     }
 
@@ -15,7 +15,6 @@
  */
 package org.terasology.world.block.entity.neighbourUpdate;
 
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -24,7 +23,6 @@
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
-import org.terasology.math.Side;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.registry.In;
 import org.terasology.world.BlockEntityRegistry;
@@ -35,13 +33,20 @@
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.block.family.UpdatesWithNeighboursFamily;
 
-import java.util.Set;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Lets blocks of {@link UpdatesWithNeighboursFamily families} update when one of their neighbours changes.
+ * <br><br>
+ * The neighbours of changed blocks are queued, each at most once, and checked a chunk at a time. Checking stops once
+ * the time budget of the tick is used up, so long cascades of updates, e.g. after an explosion, are spread over
+ * several ticks. Blocks changed during a large block update are only queued, and checked when the update is finished.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 public class NeighbourBlockFamilyUpdateSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     private static final Logger logger = LoggerFactory.getLogger(NeighbourBlockFamilyUpdateSystem.class);
+    private static final long UPDATE_BUDGET = TimeUnit.MILLISECONDS.toNanos(4);
 
     @In
     private WorldProvider worldProvider;
@@ -49,7 +54,7 @@ public class NeighbourBlockFamilyUpdateSystem extends BaseComponentSystem implem
     private BlockEntityRegistry blockEntityRegistry;
 
     private int largeBlockUpdateCount;
-    private Set<Vector3i> blocksUpdatedInLargeBlockUpdate = Sets.newHashSet();
+    private NeighbourUpdateQueue queuedUpdates = new NeighbourUpdateQueue();
 
     @ReceiveEvent
     public void largeBlockUpdateStarting(LargeBlockUpdateStarting event, EntityRef entity) {
@@ -65,50 +70,55 @@ public void largeBlockUpdateFinished(LargeBlockUpdateFinished event, EntityRef e
         }
 
         if (largeBlockUpdateCount == 0) {
-            notifyNeighboursOfChangedBlocks();
+            processQueuedUpdates();
         }
     }
 
-
-    private void notifyNeighboursOfChangedBlocks() {
-        // Invoke the updates in another large block change for this class only
-        largeBlockUpdateCount++;
-        while (!blocksUpdatedInLargeBlockUpdate.isEmpty()) {
-            Set<Vector3i> blocksToUpdate = blocksUpdatedInLargeBlockUpdate;
-
-            // Setup new collection for blocks changed in this pass
-            blocksUpdatedInLargeBlockUpdate = Sets.newHashSet();
-
-            blocksToUpdate.forEach(this::processUpdateForBlockLocation);
-        }
-        largeBlockUpdateCount--;
-    }
-
     @ReceiveEvent(components = {BlockComponent.class})
     public void blockUpdate(OnChangedBlock event, EntityRef blockEntity) {
-        if (largeBlockUpdateCount > 0) {
-            blocksUpdatedInLargeBlockUpdate.add(event.getBlockPosition());
-        } else {
-            Vector3i blockLocation = event.getBlockPosition();
-            processUpdateForBlockLocation(blockLocation);
+        boolean backlogged = !queuedUpdates.isEmpty();
+        queuedUpdates.addNeighboursOf(event.getBlockPosition());
+        // A backlog from earlier cascades is worked off in update, within the budget of the tick
+        if (largeBlockUpdateCount == 0 && !backlogged) {
+            processQueuedUpdates();
         }
     }
 
-    private void processUpdateForBlockLocation(Vector3i blockLocation) {
-        for (Side side : Side.values()) {
-            Vector3i neighborLocation = new Vector3i(blockLocation);
-            neighborLocation.add(side.getVector3i());
-            if (worldProvider.isBlockRelevant(neighborLocation)) {
-                Block neighborBlock = worldProvider.getBlock(neighborLocation);
-                final BlockFamily blockFamily = neighborBlock.getBlockFamily();
-                if (blockFamily instanceof UpdatesWithNeighboursFamily) {
-                    UpdatesWithNeighboursFamily neighboursFamily = (UpdatesWithNeighboursFamily) blockFamily;
-                    Block neighborBlockAfterUpdate = neighboursFamily.getBlockForNeighborUpdate(worldProvider, blockEntityRegistry, neighborLocation, neighborBlock);
-                    if (neighborBlock != neighborBlockAfterUpdate) {
-                        worldProvider.setBlock(neighborLocation, neighborBlockAfterUpdate);
+    private void processQueuedUpdates() {
+        long deadline = System.nanoTime() + UPDATE_BUDGET;
+        // Blocks changed by the updates are queued in turn, as in a large block update
+        largeBlockUpdateCount++;
+        try {
+            while (!queuedUpdates.isEmpty() && System.nanoTime() < deadline) {
+                Iterator<Vector3i> positions = queuedUpdates.pollChunk().iterator();
+                Vector3i first = positions.next();
+                // Relevance is decided per chunk
+                if (!worldProvider.isBlockRelevant(first)) {
+                    continue;
+                }
+                processUpdateForBlockLocation(first);
+                while (positions.hasNext()) {
+                    if (System.nanoTime() >= deadline) {
+                        positions.forEachRemaining(queuedUpdates::add);
+                        break;
                     }
+                    processUpdateForBlockLocation(positions.next());
                 }
             }
+        } finally {
+            largeBlockUpdateCount--;
+        }
+    }
+
+    private void processUpdateForBlockLocation(Vector3i blockLocation) {
+        Block block = worldProvider.getBlock(blockLocation);
+        final BlockFamily blockFamily = block.getBlockFamily();
+        if (blockFamily instanceof UpdatesWithNeighboursFamily) {
+            UpdatesWithNeighboursFamily neighboursFamily = (UpdatesWithNeighboursFamily) blockFamily;
+            Block blockAfterUpdate = neighboursFamily.getBlockForNeighborUpdate(worldProvider, blockEntityRegistry, blockLocation, block);
+            if (block != blockAfterUpdate) {
+                worldProvider.setBlock(blockLocation, blockAfterUpdate);
+            }
         }
     }
 
@@ -118,5 +128,8 @@ public void update(float delta) {
             logger.error("Unmatched LargeBlockUpdateStarted - LargeBlockUpdateFinished not invoked enough times");
         }
         largeBlockUpdateCount = 0;
+        if (!queuedUpdates.isEmpty()) {
+            processQueuedUpdates();
+        }
     }
 }
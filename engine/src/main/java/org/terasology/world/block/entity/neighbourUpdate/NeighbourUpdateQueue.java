@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.block.entity.neighbourUpdate;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The block positions whose neighbours changed and that are yet to be checked for a neighbour update, grouped by the
+ * chunk they are in. A position that is queued several times, e.g. because several of its neighbours changed, is only
+ * queued once. Chunks are handed out in the order they were first queued in.
+ */
+class NeighbourUpdateQueue {
+    private final Map<Vector3i, Set<Vector3i>> positionsByChunk = Maps.newLinkedHashMap();
+    private int size;
+
+    /**
+     * Queues the six neighbours of a changed block.
+     */
+    public void addNeighboursOf(Vector3i changedPosition) {
+        for (Side side : Side.values()) {
+            Vector3i neighbourPosition = new Vector3i(changedPosition);
+            neighbourPosition.add(side.getVector3i());
+            add(neighbourPosition);
+        }
+    }
+
+    public void add(Vector3i position) {
+        Vector3i chunkPos = ChunkMath.calcChunkPos(position);
+        Set<Vector3i> positions = positionsByChunk.get(chunkPos);
+        if (positions == null) {
+            positions = Sets.newLinkedHashSet();
+            positionsByChunk.put(chunkPos, positions);
+        }
+        if (positions.add(position)) {
+            size++;
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes the queued positions of the chunk that was queued first.
+     *
+     * @return The positions, all within the same chunk, or an empty set if nothing is queued
+     */
+    public Set<Vector3i> pollChunk() {
+        Iterator<Set<Vector3i>> iterator = positionsByChunk.values().iterator();
+        if (!iterator.hasNext()) {
+            return Collections.emptySet();
+        }
+        Set<Vector3i> positions = iterator.next();
+        iterator.remove();
+        size -= positions.size();
+        return positions;
+    }
+}
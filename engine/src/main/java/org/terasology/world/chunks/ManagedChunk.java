@@ -37,6 +37,20 @@ public interface ManagedChunk extends CoreChunk {
 
     void prepareForReactivation();
 
+    /**
+     * Keeps the block data of the chunk from being freed when the chunk is disposed, for users that still read it
+     * afterwards. Each call has to be followed by a call to {@link #releaseBlockData()}.
+     */
+    default void retainBlockData() {
+    }
+
+    /**
+     * Releases the block data retained with {@link #retainBlockData()}. The data is freed once the chunk is disposed
+     * and all users have released it.
+     */
+    default void releaseBlockData() {
+    }
+
     // TODO: Expose appropriate iterators, remove this method
     EntityData.ChunkStore.Builder encode();
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hands out fixed size blocks of memory outside of the heap, so that the data of loaded chunks neither grows the heap
+ * nor has to be traced by the garbage collector.
+ * <br><br>
+ * Memory is reserved in slabs of direct buffers, each of which is split into blocks of a single size. Freed blocks are
+ * reused by later allocations of the same size, slabs are never given back.
+ * <br><br>
+ * Every block belongs to an owner, usually a {@link TeraArray}. Blocks should be freed explicitly with
+ * {@link #free(Block)}, or handed over with {@link #freeWhenUnreachable(Block)} if other threads may still read them.
+ * A block whose owner is garbage collected without either is a leak: it is reclaimed as well, but counted and logged,
+ * along with the stack trace of its allocation if leak tracing is enabled.
+ * <br><br>
+ * The allocator is thread safe.
+ */
+public class SlabAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(SlabAllocator.class);
+
+    private final int slabSize;
+    private final boolean traceLeaks;
+
+    private final TIntObjectMap<SizeClass> sizeClasses = new TIntObjectHashMap<>();
+    private final Set<Block> liveBlocks = Sets.newHashSet();
+    private final ReferenceQueue<Object> collectedOwners = new ReferenceQueue<>();
+
+    private long allocatedBytes;
+    private long reservedBytes;
+    private int leakCount;
+
+    /**
+     * @param slabSize The size of the direct buffers memory is reserved in, in bytes
+     * @param traceLeaks Whether to remember where each block was allocated, to report it when the block leaks
+     */
+    public SlabAllocator(int slabSize, boolean traceLeaks) {
+        Preconditions.checkArgument(slabSize > 0, "The slab size has to be positive");
+        this.slabSize = slabSize;
+        this.traceLeaks = traceLeaks;
+    }
+
+    /**
+     * @param owner The object the block belongs to, the block leaks if it is garbage collected before the block is freed
+     * @param size The size of the block, in bytes
+     * @return A block of zeroed memory in native byte order
+     */
+    public synchronized Block allocate(Object owner, int size) {
+        Preconditions.checkNotNull(owner);
+        Preconditions.checkArgument(size > 0, "The size has to be positive");
+        reclaimCollected();
+
+        SizeClass sizeClass = sizeClasses.get(size);
+        if (sizeClass == null) {
+            sizeClass = new SizeClass(size);
+            sizeClasses.put(size, sizeClass);
+        }
+        ByteBuffer memory = sizeClass.freeBlocks.poll();
+        if (memory == null) {
+            sizeClass.addSlab();
+            memory = sizeClass.freeBlocks.poll();
+        } else {
+            clear(memory);
+        }
+
+        Block block = new Block(owner, collectedOwners, memory, traceLeaks ? new Throwable("Allocated here") : null);
+        liveBlocks.add(block);
+        allocatedBytes += size;
+        return block;
+    }
+
+    /**
+     * Frees the block straight away. Its memory must not be used afterwards. Freeing a block more than once does nothing.
+     */
+    public synchronized void free(Block block) {
+        if (liveBlocks.remove(block)) {
+            release(block);
+        }
+    }
+
+    /**
+     * Frees the block once its owner has been garbage collected, without counting it as leaked.
+     */
+    public synchronized void freeWhenUnreachable(Block block) {
+        block.handedOver = true;
+    }
+
+    /**
+     * @return The size of the blocks that are in use, in bytes
+     */
+    public synchronized long getAllocatedBytes() {
+        reclaimCollected();
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The size of all slabs, in bytes
+     */
+    public synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * @return The number of blocks that were reclaimed after their owner was collected without freeing them
+     */
+    public synchronized int getLeakCount() {
+        reclaimCollected();
+        return leakCount;
+    }
+
+    private void reclaimCollected() {
+        Reference<?> reference = collectedOwners.poll();
+        while (reference != null) {
+            Block block = (Block) reference;
+            if (liveBlocks.remove(block)) {
+                if (!block.handedOver) {
+                    leakCount++;
+                    if (block.allocationTrace != null) {
+                        logger.warn("Leaked {} bytes of off-heap memory", block.memory.capacity(), block.allocationTrace);
+                    } else {
+                        logger.warn("Leaked {} bytes of off-heap memory, enable leak tracing to find out where it was allocated",
+                                block.memory.capacity());
+                    }
+                }
+                release(block);
+            }
+            reference = collectedOwners.poll();
+        }
+    }
+
+    private void release(Block block) {
+        block.clear();
+        int size = block.memory.capacity();
+        sizeClasses.get(size).freeBlocks.push(block.memory);
+        allocatedBytes -= size;
+    }
+
+    private static void clear(ByteBuffer memory) {
+        int size = memory.capacity();
+        int index = 0;
+        for (; index + Long.BYTES <= size; index += Long.BYTES) {
+            memory.putLong(index, 0);
+        }
+        for (; index < size; index++) {
+            memory.put(index, (byte) 0);
+        }
+    }
+
+    /**
+     * A block of memory handed out by the allocator. It keeps track of whether its owner is still reachable, without
+     * keeping the owner from being collected.
+     */
+    public static final class Block extends PhantomReference<Object> {
+        private final ByteBuffer memory;
+        private final Throwable allocationTrace;
+        private volatile boolean handedOver;
+
+        private Block(Object owner, ReferenceQueue<Object> queue, ByteBuffer memory, Throwable allocationTrace) {
+            super(owner, queue);
+            this.memory = memory;
+            this.allocationTrace = allocationTrace;
+        }
+
+        /**
+         * @return The memory of the block, in native byte order. It must not be used after the block was freed.
+         */
+        public ByteBuffer getMemory() {
+            return memory;
+        }
+    }
+
+    private final class SizeClass {
+        private final int blockSize;
+        private final Deque<ByteBuffer> freeBlocks = new ArrayDeque<>();
+        private final List<ByteBuffer> slabs = Lists.newArrayList();
+
+        private SizeClass(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        private void addSlab() {
+            int blocksPerSlab = Math.max(1, slabSize / blockSize);
+            ByteBuffer slab = ByteBuffer.allocateDirect(blocksPerSlab * blockSize);
+            slabs.add(slab);
+            reservedBytes += slab.capacity();
+            for (int i = 0; i < blocksPerSlab; i++) {
+                slab.limit((i + 1) * blockSize);
+                slab.position(i * blockSize);
+                freeBlocks.add(slab.slice().order(ByteOrder.nativeOrder()));
+            }
+        }
+    }
+}
@@ -143,6 +143,20 @@ public String toString() {
 
     public abstract boolean set(int x, int y, int z, int value, int expected);
 
+    /**
+     * Releases the memory of the array straight away if it is held outside of the heap. The array must not be used
+     * afterwards.
+     */
+    public void dispose() {
+    }
+
+    /**
+     * Lets the memory of the array be released once the array is no longer reachable, if it is held outside of the
+     * heap. This is for arrays that other threads may still read, e.g. while a chunk is being saved.
+     */
+    public void disposeWhenUnreachable() {
+    }
+
     /**
      * This is the interface for tera array factories. Every tera array is required to implement a factory.
      * It should be implemented as a static subclass of the corresponding tera array class and it should be called Factory.
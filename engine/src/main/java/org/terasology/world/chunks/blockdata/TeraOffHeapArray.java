@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import org.terasology.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * TeraOffHeapArray is the base class of dense arrays that keep their elements outside of the heap, in memory handed out
+ * by a shared {@link SlabAllocator}.
+ * <br><br>
+ * The memory has to be released with {@link #dispose()} or {@link #disposeWhenUnreachable()}. Arrays that are garbage
+ * collected without either are reported as leaks. Leak reports include where the array was allocated if the system
+ * property {@value #TRACE_LEAKS_PROPERTY} is set to true.
+ * <br><br>
+ * Off-heap arrays are only deflated if all their elements are the same, as in chunks of air or of solid rock. They
+ * then become a sparse array that only holds the fill value. Other off-heap arrays stay as they are, because the
+ * deflators only produce sparse arrays on the heap, which would move the chunk data back onto the heap.
+ */
+public abstract class TeraOffHeapArray extends TeraDenseArray {
+    public static final String TRACE_LEAKS_PROPERTY = "org.terasology.traceOffHeapLeaks";
+
+    private static final int SLAB_SIZE = 4 * 1024 * 1024;
+    private static final SlabAllocator ALLOCATOR = new SlabAllocator(SLAB_SIZE, Boolean.getBoolean(TRACE_LEAKS_PROPERTY));
+
+    protected ByteBuffer data;
+    private SlabAllocator.Block block;
+
+    protected TeraOffHeapArray() {
+        super();
+    }
+
+    protected TeraOffHeapArray(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ, true);
+    }
+
+    protected TeraOffHeapArray(TeraArray in) {
+        super(in);
+    }
+
+    /**
+     * @return The allocator the memory of all off-heap arrays comes from
+     */
+    public static SlabAllocator getAllocator() {
+        return ALLOCATOR;
+    }
+
+    /**
+     * @return The size of the elements of the array, in bytes
+     */
+    protected abstract int dataSize();
+
+    /**
+     * @return A new array of the same size and type, with all elements zero
+     */
+    protected abstract TeraOffHeapArray createEmpty();
+
+    @Override
+    protected void initialize() {
+        block = ALLOCATOR.allocate(this, dataSize());
+        data = block.getMemory();
+    }
+
+    @Override
+    public final TeraArray copy() {
+        TeraOffHeapArray result = createEmpty();
+        result.data.duplicate().put(data.duplicate());
+        return result;
+    }
+
+    /**
+     * @param value An element value
+     * @return A word holding the value in every element it spans, as read from the array's memory
+     */
+    protected abstract long fillWord(int value);
+
+    /**
+     * @return A sparse array of the same size and type, with all elements set to the value
+     */
+    protected abstract TeraArray createFilled(int value);
+
+    /**
+     * Uniform arrays are deflated into a sparse array that only holds the fill value, without going through the
+     * deflator. Other off-heap arrays stay as they are, see the class documentation.
+     *
+     * @return A sparse array if all elements are the same, otherwise this array
+     */
+    @Override
+    public final TeraArray deflate(TeraVisitingDeflator deflator) {
+        Preconditions.checkNotNull(deflator);
+        if (data == null || getSizeXYZ() == 0) {
+            return this;
+        }
+        int value = get(0, 0, 0);
+        if (!isFilledWith(fillWord(value))) {
+            return this;
+        }
+        return createFilled(value);
+    }
+
+    private boolean isFilledWith(long word) {
+        int size = data.capacity();
+        int index = 0;
+        for (; index + Long.BYTES <= size; index += Long.BYTES) {
+            if (data.getLong(index) != word) {
+                return false;
+            }
+        }
+        int elementSize = dataSize() / getSizeXYZ();
+        for (; index < size; index++) {
+            if (data.get(index) != data.get(index % elementSize)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public final int getEstimatedMemoryConsumptionInBytes() {
+        if (data == null) {
+            return 4;
+        } else {
+            return 16 + data.capacity();
+        }
+    }
+
+    @Override
+    public final void dispose() {
+        if (block != null) {
+            ALLOCATOR.free(block);
+            block = null;
+            data = null;
+        }
+    }
+
+    @Override
+    public final void disposeWhenUnreachable() {
+        if (block != null) {
+            ALLOCATOR.freeWhenUnreachable(block);
+        }
+    }
+
+    protected abstract static class SerializationHandler<T extends TeraOffHeapArray> extends TeraArray.BasicSerializationHandler<T> {
+
+        protected abstract T createArray(int sizeX, int sizeY, int sizeZ);
+
+        @Override
+        protected int internalComputeMinimumBufferSize(T array) {
+            if (array.data == null) {
+                return 4;
+            } else {
+                return 4 + array.data.capacity();
+            }
+        }
+
+        @Override
+        protected void internalSerialize(T array, ByteBuffer buffer) {
+            if (array.data == null) {
+                buffer.putInt(0);
+            } else {
+                buffer.putInt(array.data.capacity());
+                // The elements are written as they are stored, in the native byte order
+                buffer.put(array.data.duplicate());
+            }
+        }
+
+        @Override
+        protected T internalDeserialize(int sizeX, int sizeY, int sizeZ, ByteBuffer buffer) {
+            final int length = buffer.getInt();
+            T array = createArray(sizeX, sizeY, sizeZ);
+            if (length > 0) {
+                ByteBuffer source = buffer.duplicate();
+                source.limit(source.position() + length);
+                array.data.duplicate().put(source);
+                buffer.position(buffer.position() + length);
+            }
+            return array;
+        }
+    }
+}
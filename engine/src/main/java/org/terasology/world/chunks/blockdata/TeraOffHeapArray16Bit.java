@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * TeraOffHeapArray16Bit implements an off-heap dense array with elements of 16 bit size.
+ * Its elements are in the range -32'768 through +32'767 and it stores one element per two bytes.
+ *
+ */
+public final class TeraOffHeapArray16Bit extends TeraOffHeapArray {
+
+    public TeraOffHeapArray16Bit() {
+        super();
+    }
+
+    public TeraOffHeapArray16Bit(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ);
+    }
+
+    public TeraOffHeapArray16Bit(int sizeX, int sizeY, int sizeZ, short[] elements) {
+        super(sizeX, sizeY, sizeZ);
+        Preconditions.checkArgument(elements.length == getSizeXYZ(), "The length of parameter 'elements' has to be " + getSizeXYZ() + " but is " + elements.length);
+        data.duplicate().order(data.order()).asShortBuffer().put(elements);
+    }
+
+    public TeraOffHeapArray16Bit(TeraArray in) {
+        super(in);
+    }
+
+    @Override
+    protected int dataSize() {
+        return getSizeXYZ() * 2;
+    }
+
+    @Override
+    protected TeraOffHeapArray createEmpty() {
+        return new TeraOffHeapArray16Bit(getSizeX(), getSizeY(), getSizeZ());
+    }
+
+    @Override
+    protected long fillWord(int value) {
+        return (value & 0xFFFFL) * 0x0001000100010001L;
+    }
+
+    @Override
+    protected TeraArray createFilled(int value) {
+        return new TeraSparseArray16Bit(getSizeX(), getSizeY(), getSizeZ(), (short) value);
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return 16;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        return data.getShort(pos(x, y, z) << 1);
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        int pos = pos(x, y, z) << 1;
+        int old = data.getShort(pos);
+        data.putShort(pos, (short) value);
+        return old;
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        int pos = pos(x, y, z) << 1;
+        int old = data.getShort(pos);
+        if (old == expected) {
+            data.putShort(pos, (short) value);
+            return true;
+        }
+        return false;
+    }
+
+    public static class SerializationHandler extends TeraOffHeapArray.SerializationHandler<TeraOffHeapArray16Bit> {
+
+        @Override
+        public boolean canHandle(Class<?> clazz) {
+            return TeraOffHeapArray16Bit.class.equals(clazz);
+        }
+
+        @Override
+        protected TeraOffHeapArray16Bit createArray(int sizeX, int sizeY, int sizeZ) {
+            return new TeraOffHeapArray16Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+
+    public static class Factory implements TeraArray.Factory<TeraOffHeapArray16Bit> {
+
+        @Override
+        public Class<TeraOffHeapArray16Bit> getArrayClass() {
+            return TeraOffHeapArray16Bit.class;
+        }
+
+        @Override
+        public SerializationHandler createSerializationHandler() {
+            return new SerializationHandler();
+        }
+
+        @Override
+        public TeraOffHeapArray16Bit create() {
+            return new TeraOffHeapArray16Bit();
+        }
+
+        @Override
+        public TeraOffHeapArray16Bit create(int sizeX, int sizeY, int sizeZ) {
+            return new TeraOffHeapArray16Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+}
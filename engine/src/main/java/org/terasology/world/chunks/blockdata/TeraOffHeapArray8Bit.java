@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * TeraOffHeapArray8Bit implements an off-heap dense array with elements of 8 bit size.
+ * Its elements are in the range -128 through +127 and it stores one element per byte.
+ *
+ */
+public final class TeraOffHeapArray8Bit extends TeraOffHeapArray {
+
+    public TeraOffHeapArray8Bit() {
+        super();
+    }
+
+    public TeraOffHeapArray8Bit(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ);
+    }
+
+    public TeraOffHeapArray8Bit(int sizeX, int sizeY, int sizeZ, byte[] elements) {
+        super(sizeX, sizeY, sizeZ);
+        Preconditions.checkArgument(elements.length == getSizeXYZ(), "The length of parameter 'elements' has to be " + getSizeXYZ() + " but is " + elements.length);
+        data.duplicate().put(elements);
+    }
+
+    public TeraOffHeapArray8Bit(TeraArray in) {
+        super(in);
+    }
+
+    @Override
+    protected int dataSize() {
+        return getSizeXYZ();
+    }
+
+    @Override
+    protected TeraOffHeapArray createEmpty() {
+        return new TeraOffHeapArray8Bit(getSizeX(), getSizeY(), getSizeZ());
+    }
+
+    @Override
+    protected long fillWord(int value) {
+        return (value & 0xFFL) * 0x0101010101010101L;
+    }
+
+    @Override
+    protected TeraArray createFilled(int value) {
+        return new TeraSparseArray8Bit(getSizeX(), getSizeY(), getSizeZ(), (byte) value);
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return 8;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        return data.get(pos(x, y, z));
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        int pos = pos(x, y, z);
+        int old = data.get(pos);
+        data.put(pos, (byte) value);
+        return old;
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        int pos = pos(x, y, z);
+        int old = data.get(pos);
+        if (old == expected) {
+            data.put(pos, (byte) value);
+            return true;
+        }
+        return false;
+    }
+
+    public static class SerializationHandler extends TeraOffHeapArray.SerializationHandler<TeraOffHeapArray8Bit> {
+
+        @Override
+        public boolean canHandle(Class<?> clazz) {
+            return TeraOffHeapArray8Bit.class.equals(clazz);
+        }
+
+        @Override
+        protected TeraOffHeapArray8Bit createArray(int sizeX, int sizeY, int sizeZ) {
+            return new TeraOffHeapArray8Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+
+    public static class Factory implements TeraArray.Factory<TeraOffHeapArray8Bit> {
+
+        @Override
+        public Class<TeraOffHeapArray8Bit> getArrayClass() {
+            return TeraOffHeapArray8Bit.class;
+        }
+
+        @Override
+        public SerializationHandler createSerializationHandler() {
+            return new SerializationHandler();
+        }
+
+        @Override
+        public TeraOffHeapArray8Bit create() {
+            return new TeraOffHeapArray8Bit();
+        }
+
+        @Override
+        public TeraOffHeapArray8Bit create(int sizeX, int sizeY, int sizeZ) {
+            return new TeraOffHeapArray8Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+}
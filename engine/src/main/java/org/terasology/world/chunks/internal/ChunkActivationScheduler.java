@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Decides which of the chunks that finished generating are activated each frame.
+ * <br><br>
+ * Waiting chunks are kept in a heap keyed by their relevance distance, which is computed when they are added and
+ * whenever {@link #rescore()} is called because the relevance regions moved. Each frame the most relevant chunks are
+ * selected, as many as are estimated to fit into the time budget given the average cost of previous activations. At
+ * least one chunk is selected per frame. Chunks adjacent to each other are never selected in the same frame, as the
+ * activation of one relies on its neighbours being ready.
+ * <br><br>
+ * The backlog and the latency between a chunk being added and it being activated are tracked for monitoring.
+ * <br><br>
+ * This class is not thread safe, it is meant to be used from the main thread.
+ *
+ * @param <T> The type of information held about each chunk
+ */
+public class ChunkActivationScheduler<T> {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkActivationScheduler.class);
+
+    private static final long INITIAL_ACTIVATION_COST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final double COST_SMOOTHING = 0.1;
+
+    private final Function<T, Vector3i> positionOf;
+    private final ToDoubleFunction<Vector3i> relevanceDistance;
+    private PriorityQueue<Entry<T>> waiting = new PriorityQueue<>();
+
+    private long budget;
+    private double averageActivationCost = INITIAL_ACTIVATION_COST;
+
+    private int activatedSinceIdle;
+    private long totalLatency;
+    private long maxLatency;
+
+    /**
+     * @param positionOf        Provides the position of a chunk
+     * @param relevanceDistance Provides the relevance distance of a chunk position, lower distances are activated first
+     * @param budgetInMs        The time that may be spent on activating chunks each frame
+     */
+    public ChunkActivationScheduler(Function<T, Vector3i> positionOf, ToDoubleFunction<Vector3i> relevanceDistance, int budgetInMs) {
+        this.positionOf = positionOf;
+        this.relevanceDistance = relevanceDistance;
+        setBudget(budgetInMs);
+    }
+
+    public void setBudget(int budgetInMs) {
+        this.budget = TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetInMs));
+    }
+
+    public void addAll(Collection<T> chunks) {
+        long now = System.nanoTime();
+        for (T chunk : chunks) {
+            Vector3i pos = positionOf.apply(chunk);
+            waiting.add(new Entry<>(chunk, pos, relevanceDistance.applyAsDouble(pos), now));
+        }
+    }
+
+    /**
+     * Removes all waiting chunks that match the filter
+     */
+    public void removeIf(Predicate<T> filter) {
+        waiting.removeIf(entry -> filter.test(entry.chunk));
+    }
+
+    /**
+     * Recalculates the relevance distance of all waiting chunks.
+     */
+    public void rescore() {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> entries = Lists.newArrayList(waiting);
+        for (Entry<T> entry : entries) {
+            entry.distance = relevanceDistance.applyAsDouble(entry.pos);
+        }
+        waiting = new PriorityQueue<>(entries);
+    }
+
+    /**
+     * Selects the chunks to activate this frame and removes them from the waiting chunks. Chunks that cannot be
+     * activated yet are kept.
+     *
+     * @param canActivate Whether a chunk can be activated now
+     * @return The chunks to activate, most relevant first
+     */
+    public List<T> select(Predicate<T> canActivate) {
+        int maxCount = Math.max(1, (int) (budget / averageActivationCost));
+        List<Entry<T>> selected = Lists.newArrayListWithCapacity(Math.min(maxCount, waiting.size()));
+        List<Entry<T>> skipped = Lists.newArrayList();
+        while (selected.size() < maxCount && !waiting.isEmpty()) {
+            Entry<T> entry = waiting.poll();
+            if (!isAdjacentToAny(entry.pos, selected) && canActivate.test(entry.chunk)) {
+                selected.add(entry);
+            } else {
+                skipped.add(entry);
+            }
+        }
+        waiting.addAll(skipped);
+
+        List<T> result = Lists.newArrayListWithCapacity(selected.size());
+        long now = System.nanoTime();
+        for (Entry<T> entry : selected) {
+            long latency = now - entry.addedTime;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+            result.add(entry.chunk);
+        }
+        activatedSinceIdle += selected.size();
+        return result;
+    }
+
+    /**
+     * Records the time the activation of a single chunk took, to estimate how many chunks fit into the budget.
+     */
+    public void recordActivationCost(long durationInNanos) {
+        averageActivationCost += COST_SMOOTHING * (durationInNanos - averageActivationCost);
+        averageActivationCost = Math.max(1, averageActivationCost);
+        if (waiting.isEmpty() && activatedSinceIdle > 0) {
+            logger.debug("Activated {} chunks, average latency {} ms, max latency {} ms", activatedSinceIdle,
+                    TimeUnit.NANOSECONDS.toMillis(totalLatency / activatedSinceIdle), TimeUnit.NANOSECONDS.toMillis(maxLatency));
+            activatedSinceIdle = 0;
+            totalLatency = 0;
+            maxLatency = 0;
+        }
+    }
+
+    public void clear() {
+        waiting.clear();
+    }
+
+    /**
+     * @return The number of chunks waiting to be activated
+     */
+    public int getBacklog() {
+        return waiting.size();
+    }
+
+    /**
+     * @return The average time in milliseconds between chunks being added and being activated, since the backlog was
+     * last empty
+     */
+    public float getAverageLatency() {
+        if (activatedSinceIdle == 0) {
+            return 0;
+        }
+        return (float) totalLatency / activatedSinceIdle / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return The longest time in milliseconds between a chunk being added and being activated, since the backlog was
+     * last empty
+     */
+    public float getMaxLatency() {
+        return (float) maxLatency / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return The estimated time in milliseconds the activation of a single chunk takes
+     */
+    public float getAverageActivationCost() {
+        return (float) averageActivationCost / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private boolean isAdjacentToAny(Vector3i pos, List<Entry<T>> entries) {
+        for (Entry<T> entry : entries) {
+            if (Math.abs(entry.pos.x - pos.x) <= 1 && Math.abs(entry.pos.y - pos.y) <= 1 && Math.abs(entry.pos.z - pos.z) <= 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry<T> implements Comparable<Entry<T>> {
+        private final T chunk;
+        private final Vector3i pos;
+        private final long addedTime;
+        private double distance;
+
+        private Entry(T chunk, Vector3i pos, double distance, long addedTime) {
+            this.chunk = chunk;
+            this.pos = pos;
+            this.distance = distance;
+            this.addedTime = addedTime;
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+}
@@ -38,11 +38,15 @@
 import org.terasology.world.chunks.blockdata.TeraArray;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraOffHeapArray;
+import org.terasology.world.chunks.blockdata.TeraOffHeapArray16Bit;
+import org.terasology.world.chunks.blockdata.TeraOffHeapArray8Bit;
 import org.terasology.world.chunks.deflate.TeraDeflator;
 import org.terasology.world.chunks.deflate.TeraStandardDeflator;
 import org.terasology.world.liquid.LiquidData;
 
 import java.text.DecimalFormat;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -53,6 +57,12 @@
  * <br><br>
  * Chunks are tessellated on creation and saved to vertex arrays. From those VBOs are generated
  * which are then used for the actual rendering process.
+ * <br><br>
+ * With off-heap storage enabled, new chunks keep their data in {@link TeraOffHeapArray}s. The lighting data is freed
+ * when the chunk is disposed, once readers holding the chunk's read lock are done. The block, liquid and biome data are
+ * still read after that, by the save and by the deactivation of the chunk's blocks, which retain it with
+ * {@link #retainBlockData()}. It is freed once the last of them has released it. {@link #deflate()} and
+ * {@link #deflateSunlight()} turn uniform off-heap arrays into sparse ones and leave the others as they are.
  *
  */
 public class ChunkImpl implements Chunk {
@@ -62,6 +72,8 @@ public class ChunkImpl implements Chunk {
     private static final DecimalFormat PERCENT_FORMAT = new DecimalFormat("0.##");
     private static final DecimalFormat SIZE_FORMAT = new DecimalFormat("#,###");
 
+    private static volatile boolean offHeapStorageEnabled;
+
     private final Vector3i chunkPos = new Vector3i();
 
     private BlockManager blockManager;
@@ -83,6 +95,9 @@ public class ChunkImpl implements Chunk {
 
     private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
 
+    // The chunk itself is a user of its block data until it is disposed
+    private final AtomicInteger blockDataUsers = new AtomicInteger(1);
+
     private boolean disposed;
     private boolean ready;
     private boolean dirty;
@@ -98,10 +113,7 @@ public ChunkImpl(int x, int y, int z, BlockManager blockManager, BiomeManager bi
     }
 
     public ChunkImpl(Vector3i chunkPos, BlockManager blockManager, BiomeManager biomeManager) {
-        this(chunkPos, new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
-                new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
-                new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
-                blockManager, biomeManager);
+        this(chunkPos, createArray16Bit(), createArray8Bit(), createArray8Bit(), blockManager, biomeManager);
     }
 
     public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray liquid, TeraArray biome, BlockManager blockManager,
@@ -110,9 +122,9 @@ public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray liquid, TeraArra
         this.blockData = Preconditions.checkNotNull(blocks);
         this.extraData = Preconditions.checkNotNull(liquid);
         this.biomeData = Preconditions.checkNotNull(biome);
-        sunlightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        sunlightRegenData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        lightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
+        sunlightData = createArray8Bit();
+        sunlightRegenData = createArray8Bit();
+        lightData = createArray8Bit();
         dirty = true;
         this.blockManager = blockManager;
         this.biomeManager = biomeManager;
@@ -121,6 +133,45 @@ public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray liquid, TeraArra
         ChunkMonitor.fireChunkCreated(this);
     }
 
+    /**
+     * Sets whether chunks created from now on keep their data outside of the heap.
+     */
+    public static void setOffHeapStorageEnabled(boolean enabled) {
+        offHeapStorageEnabled = enabled;
+    }
+
+    public static boolean isOffHeapStorageEnabled() {
+        return offHeapStorageEnabled;
+    }
+
+    static TeraArray createArray16Bit() {
+        if (offHeapStorageEnabled) {
+            return new TeraOffHeapArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        }
+        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+    }
+
+    static TeraArray createArray16Bit(short[] data) {
+        if (offHeapStorageEnabled) {
+            return new TeraOffHeapArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, data);
+        }
+        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, data);
+    }
+
+    static TeraArray createArray8Bit() {
+        if (offHeapStorageEnabled) {
+            return new TeraOffHeapArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        }
+        return new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+    }
+
+    static TeraArray createArray8Bit(byte[] data) {
+        if (offHeapStorageEnabled) {
+            return new TeraOffHeapArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, data);
+        }
+        return new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, data);
+    }
+
     @Override
     public void readLock() {
         readWriteLock.readLock().lock();
@@ -195,7 +246,9 @@ public final Block getBlock(int x, int y, int z) {
     @Override
     public Block setBlock(int x, int y, int z, Block block) {
         if (blockData == blockDataSnapshot) {
-            blockData = blockData.copy();
+            TeraArray snapshot = blockData;
+            blockData = snapshot.copy();
+            snapshot.disposeWhenUnreachable();
         }
         int oldValue = blockData.set(x, y, z, block.getId());
         if (oldValue != block.getId()) {
@@ -283,7 +336,9 @@ public void setLiquid(BaseVector3i pos, LiquidData state) {
     public void setLiquid(int x, int y, int z, LiquidData newState) {
         byte newValue = newState.toByte();
         if (extraData == extraDataSnapshot) {
-            extraData = extraData.copy();
+            TeraArray snapshot = extraData;
+            extraData = snapshot.copy();
+            snapshot.disposeWhenUnreachable();
         }
         extraData.set(x, y, z, newValue);
     }
@@ -306,7 +361,9 @@ public Biome getBiome(int x, int y, int z) {
     @Override
     public Biome setBiome(int x, int y, int z, Biome biome) {
         if (biomeData == biomeDataSnapshot) {
-            biomeData = biomeData.copy();
+            TeraArray snapshot = biomeData;
+            biomeData = snapshot.copy();
+            snapshot.disposeWhenUnreachable();
         }
         short shortId = biomeManager.getBiomeShortId(biome);
         short previousShortId = (short) biomeData.set(x, y, z, shortId);
@@ -382,10 +439,10 @@ public void deflate() {
             int biomeSize = biomeData.getEstimatedMemoryConsumptionInBytes();
             int totalSize = blocksSize + sunlightRegenSize + sunlightSize + lightSize + liquidSize + biomeSize;
 
-            blockData = def.deflate(blockData);
-            lightData = def.deflate(lightData);
-            extraData = def.deflate(extraData);
-            biomeData = def.deflate(biomeData);
+            blockData = deflate(def, blockData);
+            lightData = deflate(def, lightData);
+            extraData = deflate(def, extraData);
+            biomeData = deflate(def, biomeData);
 
             int blocksReduced = blockData.getEstimatedMemoryConsumptionInBytes();
             int lightReduced = lightData.getEstimatedMemoryConsumptionInBytes();
@@ -418,10 +475,10 @@ public void deflate() {
             ChunkMonitor.fireChunkDeflated(this, totalSize, totalReduced);
         } else {
             final int oldSize = getEstimatedMemoryConsumptionInBytes();
-            blockData = def.deflate(blockData);
-            lightData = def.deflate(lightData);
-            extraData = def.deflate(extraData);
-            biomeData = def.deflate(biomeData);
+            blockData = deflate(def, blockData);
+            lightData = deflate(def, lightData);
+            extraData = deflate(def, extraData);
+            biomeData = deflate(def, biomeData);
             ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
         }
     }
@@ -437,8 +494,8 @@ public void deflateSunlight() {
             int liquidSize = extraData.getEstimatedMemoryConsumptionInBytes();
             int totalSize = blocksSize + sunlightRegenSize + sunlightSize + lightSize + liquidSize;
 
-            sunlightData = def.deflate(sunlightData);
-            sunlightRegenData = def.deflate(sunlightRegenData);
+            sunlightData = deflate(def, sunlightData);
+            sunlightRegenData = deflate(def, sunlightRegenData);
 
             int sunlightReduced = sunlightData.getEstimatedMemoryConsumptionInBytes();
             int sunlightRegenReduced = sunlightRegenData.getEstimatedMemoryConsumptionInBytes();
@@ -463,12 +520,24 @@ public void deflateSunlight() {
             ChunkMonitor.fireChunkDeflated(this, totalSize, totalReduced);
         } else {
             final int oldSize = getEstimatedMemoryConsumptionInBytes();
-            sunlightData = def.deflate(sunlightData);
-            sunlightRegenData = def.deflate(sunlightRegenData);
+            sunlightData = deflate(def, sunlightData);
+            sunlightRegenData = deflate(def, sunlightRegenData);
             ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
         }
     }
 
+    private TeraArray deflate(TeraDeflator deflator, TeraArray array) {
+        TeraArray result = deflator.deflate(array);
+        if (result != array) {
+            if (array == blockDataSnapshot || array == extraDataSnapshot || array == biomeDataSnapshot) {
+                array.disposeWhenUnreachable();
+            } else {
+                array.dispose();
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return "Chunk" + chunkPos.toString();
@@ -528,23 +597,71 @@ public void markReady() {
     public void prepareForReactivation() {
         if (disposed) {
             disposed = false;
-            sunlightData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
-            sunlightRegenData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
-            lightData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            blockDataUsers.incrementAndGet();
+            sunlightData = createArray8Bit();
+            sunlightRegenData = createArray8Bit();
+            lightData = createArray8Bit();
         }
     }
 
     @Override
     public void dispose() {
+        if (disposed) {
+            return;
+        }
         disposed = true;
         ready = false;
         disposeMesh();
-        lightData = null;
-        sunlightData = null;
-        sunlightRegenData = null;
+        // Mesh generation and light merging read the lighting under the chunk's lock, and check whether it was disposed
+        writeLock();
+        try {
+            if (lightData != null) {
+                lightData.dispose();
+                sunlightData.dispose();
+                sunlightRegenData.dispose();
+            }
+            lightData = null;
+            sunlightData = null;
+            sunlightRegenData = null;
+        } finally {
+            writeUnlock();
+        }
+        // Should users that retained the block data never release it, it is still freed once the chunk is collected
+        blockData.disposeWhenUnreachable();
+        extraData.disposeWhenUnreachable();
+        biomeData.disposeWhenUnreachable();
+        releaseBlockData();
         ChunkMonitor.fireChunkDisposed(this);
     }
 
+    @Override
+    public void retainBlockData() {
+        blockDataUsers.incrementAndGet();
+    }
+
+    @Override
+    public void releaseBlockData() {
+        if (blockDataUsers.decrementAndGet() == 0) {
+            writeLock();
+            try {
+                disposeUnlessSnapshot(blockData);
+                disposeUnlessSnapshot(extraData);
+                disposeUnlessSnapshot(biomeData);
+            } finally {
+                writeUnlock();
+            }
+        }
+    }
+
+    /**
+     * Arrays that are part of a snapshot may still be encoded by a save, they are freed once unreachable instead.
+     */
+    private void disposeUnlessSnapshot(TeraArray array) {
+        if (array != blockDataSnapshot && array != extraDataSnapshot && array != biomeDataSnapshot) {
+            array.dispose();
+        }
+    }
+
     @Override
     public void disposeMesh() {
         if (activeMesh != null) {
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of which chunks are relevant to the {@link ChunkRelevanceRegion}s of a chunk provider.
+ * <br><br>
+ * For every chunk position the number of regions that want to keep it loaded is counted. A region keeps the chunks
+ * within a leeway around it loaded, so that chunks aren't unloaded and loaded again while an entity moves back and forth
+ * over a chunk border. When a region changes, only the difference between the area it covered before and the area it
+ * covers now is counted, so the cost depends on how far regions move rather than on the number of loaded chunks.
+ * Chunks whose count drops to zero become unload candidates.
+ * <br><br>
+ * The regions are also bucketed into coarse cells of chunks, to find the regions a chunk may be relevant to without
+ * checking all of them.
+ * <br><br>
+ * This class is not thread safe, it is meant to be used from the main thread.
+ */
+public class ChunkRelevanceIndex {
+    private static final int CELL_SIZE_POWER = 4;
+
+    private final Vector3i leeway;
+    private final Map<ChunkRelevanceRegion, Region3i> keepRegions = Maps.newHashMap();
+    private final TObjectIntMap<Vector3i> keepCounts = new TObjectIntHashMap<>();
+    private final Set<Vector3i> unloadCandidates = Sets.newLinkedHashSet();
+    private final SetMultimap<Vector3i, ChunkRelevanceRegion> regionsByCell = HashMultimap.create();
+
+    /**
+     * @param leeway The number of chunks around each region that are kept loaded
+     */
+    public ChunkRelevanceIndex(Vector3i leeway) {
+        this.leeway = new Vector3i(leeway);
+    }
+
+    /**
+     * Brings the index up to date with the current region of the given relevance region, adding it if needed.
+     */
+    public void update(ChunkRelevanceRegion region) {
+        Region3i previous = keepRegions.getOrDefault(region, Region3i.EMPTY);
+        Region3i current = region.getCurrentRegion().isEmpty() ? Region3i.EMPTY : region.getCurrentRegion().expand(leeway);
+        if (current.equals(previous)) {
+            return;
+        }
+        keepRegions.put(region, current);
+        moveRegion(region, previous, current);
+    }
+
+    /**
+     * Removes the region from the index, which makes chunks only it kept loaded unload candidates.
+     */
+    public void remove(ChunkRelevanceRegion region) {
+        Region3i previous = keepRegions.remove(region);
+        if (previous != null) {
+            moveRegion(region, previous, Region3i.EMPTY);
+        }
+    }
+
+    /**
+     * @return Whether any region wants the chunk to be kept loaded
+     */
+    public boolean isRelevant(Vector3i chunkPos) {
+        return keepCounts.containsKey(chunkPos);
+    }
+
+    /**
+     * Notifies the index that a chunk was loaded, which becomes an unload candidate straight away if no region wants it
+     * anymore.
+     */
+    public void chunkLoaded(Vector3i chunkPos) {
+        if (!isRelevant(chunkPos)) {
+            unloadCandidates.add(chunkPos);
+        }
+    }
+
+    /**
+     * Candidates that are unloaded, or turn out not to be loaded, should be removed through the iterator. Candidates
+     * that become relevant again are removed automatically.
+     *
+     * @return An iterator over the chunk positions no region wants to keep loaded anymore, in the order they became
+     * candidates.
+     */
+    public Iterator<Vector3i> iterateUnloadCandidates() {
+        return unloadCandidates.iterator();
+    }
+
+    /**
+     * @return The regions that may include the given chunk position, a superset of the regions that do
+     */
+    public Collection<ChunkRelevanceRegion> getRegionsNear(Vector3i chunkPos) {
+        return regionsByCell.get(cellOf(chunkPos.x, chunkPos.y, chunkPos.z));
+    }
+
+    private void moveRegion(ChunkRelevanceRegion region, Region3i previous, Region3i current) {
+        Iterator<Vector3i> added = current.subtract(previous);
+        while (added.hasNext()) {
+            Vector3i pos = added.next();
+            if (keepCounts.adjustOrPutValue(pos, 1, 1) == 1) {
+                unloadCandidates.remove(pos);
+            }
+        }
+        Iterator<Vector3i> removed = previous.subtract(current);
+        while (removed.hasNext()) {
+            Vector3i pos = removed.next();
+            if (keepCounts.adjustOrPutValue(pos, -1, 0) <= 0) {
+                keepCounts.remove(pos);
+                unloadCandidates.add(pos);
+            }
+        }
+
+        Region3i previousCells = cellsOf(previous);
+        Region3i currentCells = cellsOf(current);
+        if (!previousCells.equals(currentCells)) {
+            Iterator<Vector3i> leftCells = previousCells.subtract(currentCells);
+            while (leftCells.hasNext()) {
+                regionsByCell.remove(leftCells.next(), region);
+            }
+            Iterator<Vector3i> enteredCells = currentCells.subtract(previousCells);
+            while (enteredCells.hasNext()) {
+                regionsByCell.put(enteredCells.next(), region);
+            }
+        }
+    }
+
+    private static Region3i cellsOf(Region3i region) {
+        if (region.isEmpty()) {
+            return Region3i.EMPTY;
+        }
+        return Region3i.createFromMinMax(cellOf(region.minX(), region.minY(), region.minZ()),
+                cellOf(region.maxX(), region.maxY(), region.maxZ()));
+    }
+
+    private static Vector3i cellOf(int x, int y, int z) {
+        return new Vector3i(x >> CELL_SIZE_POWER, y >> CELL_SIZE_POWER, z >> CELL_SIZE_POWER);
+    }
+}
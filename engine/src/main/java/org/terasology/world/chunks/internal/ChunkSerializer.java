@@ -26,8 +26,6 @@
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.blockdata.TeraArray;
-import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
-import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
 
 /**
  */
@@ -130,7 +128,7 @@ private static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
                 decodedData[index++] = value;
             }
         }
-        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, decodedData);
+        return ChunkImpl.createArray16Bit(decodedData);
     }
 
     private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
@@ -145,6 +143,6 @@ private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
                 decodedData[index++] = value;
             }
         }
-        return new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, decodedData);
+        return ChunkImpl.createArray8Bit(decodedData);
     }
 }
@@ -26,9 +26,14 @@ public class ChunkUnloadRequest implements Task {
     private LocalChunkProvider chunkProvider;
     private boolean shutdown;
 
+    /**
+     * Retains the block data of the chunk until the request has run, so it has to be created before the chunk is
+     * disposed.
+     */
     public ChunkUnloadRequest(Chunk chunk, LocalChunkProvider localChunkProvider) {
         this.chunk = chunk;
         this.chunkProvider = localChunkProvider;
+        chunk.retainBlockData();
     }
 
     public ChunkUnloadRequest() {
@@ -43,7 +48,11 @@ public String getName() {
     @Override
     public void run() {
         if (!shutdown) {
-            chunkProvider.gatherBlockPositionsForDeactivate(chunk);
+            try {
+                chunkProvider.gatherBlockPositionsForDeactivate(chunk);
+            } finally {
+                chunk.releaseBlockData();
+            }
         }
     }
 
@@ -16,8 +16,10 @@
 
 package org.terasology.world.chunks.localChunkProvider;
 
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import gnu.trove.list.TIntList;
@@ -57,7 +59,9 @@
 import org.terasology.world.chunks.event.OnChunkGenerated;
 import org.terasology.world.chunks.event.OnChunkLoaded;
 import org.terasology.world.chunks.event.PurgeWorldEvent;
+import org.terasology.world.chunks.internal.ChunkActivationScheduler;
 import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkRelevanceIndex;
 import org.terasology.world.chunks.internal.ChunkRelevanceRegion;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.internal.ReadyChunkInfo;
@@ -89,6 +93,7 @@ public class LocalChunkProvider implements GeneratingChunkProvider {
     private static final Logger logger = LoggerFactory.getLogger(LocalChunkProvider.class);
     private static final int UNLOAD_PER_FRAME = 64;
     private static final Vector3i UNLOAD_LEEWAY = Vector3i.one();
+    private static final int DEFAULT_ACTIVATION_BUDGET = 4;
 
     private StorageManager storageManager;
     private final EntityManager entityManager;
@@ -98,12 +103,14 @@ public class LocalChunkProvider implements GeneratingChunkProvider {
     private WorldGenerator generator;
 
     private Map<EntityRef, ChunkRelevanceRegion> regions = Maps.newHashMap();
+    private final ChunkRelevanceIndex relevanceIndex = new ChunkRelevanceIndex(UNLOAD_LEEWAY);
 
     private Map<Vector3i, Chunk> nearCache = Maps.newConcurrentMap();
 
     private final Set<Vector3i> preparingChunks = Sets.newHashSet();
     private final BlockingQueue<ReadyChunkInfo> readyChunks = Queues.newLinkedBlockingQueue();
-    private List<ReadyChunkInfo> sortedReadyChunks = Lists.newArrayList();
+    private final ChunkActivationScheduler<ReadyChunkInfo> activationScheduler =
+            new ChunkActivationScheduler<>(ReadyChunkInfo::getPos, this::relevanceDistance, DEFAULT_ACTIVATION_BUDGET);
     private final BlockingQueue<TShortObjectMap<TIntList>> deactivateBlocksQueue = Queues.newLinkedBlockingQueue();
 
     private EntityRef worldEntity = EntityRef.NULL;
@@ -132,6 +139,17 @@ public void setBlockEntityRegistry(BlockEntityRegistry value) {
         this.registry = value;
     }
 
+    /**
+     * @param budgetInMs The time that may be spent on activating generated or loaded chunks each frame
+     */
+    public void setChunkActivationBudget(int budgetInMs) {
+        activationScheduler.setBudget(budgetInMs);
+    }
+
+    public ChunkActivationScheduler<ReadyChunkInfo> getActivationScheduler() {
+        return activationScheduler;
+    }
+
     @Override
     public ChunkViewCore getLocalView(Vector3i centerChunkPos) {
         Region3i region = Region3i.createFromCenterExtents(centerChunkPos, ChunkConstants.LOCAL_REGION_EXTENTS);
@@ -190,6 +208,7 @@ public void addRelevanceEntity(EntityRef entity, Vector3i distance, ChunkRegionL
             ChunkRelevanceRegion region = regions.get(entity);
             if (region != null) {
                 region.setRelevanceDistance(distance);
+                relevanceIndex.update(region);
                 return;
             }
         } finally {
@@ -206,6 +225,7 @@ public void addRelevanceEntity(EntityRef entity, Vector3i distance, ChunkRegionL
         } finally {
             regionLock.writeLock().unlock();
         }
+        relevanceIndex.update(region);
         for (Vector3i pos : region.getCurrentRegion()) {
             Chunk chunk = getChunk(pos);
             if (chunk != null) {
@@ -223,6 +243,7 @@ public void updateRelevanceEntity(EntityRef entity, Vector3i distance) {
             ChunkRelevanceRegion region = regions.get(entity);
             if (region != null) {
                 region.setRelevanceDistance(distance);
+                relevanceIndex.update(region);
             }
         } finally {
             regionLock.readLock().unlock();
@@ -231,75 +252,99 @@ public void updateRelevanceEntity(EntityRef entity, Vector3i distance) {
 
     @Override
     public void removeRelevanceEntity(EntityRef entity) {
+        ChunkRelevanceRegion region;
         regionLock.writeLock().lock();
         try {
-            regions.remove(entity);
+            region = regions.remove(entity);
         } finally {
             regionLock.writeLock().unlock();
         }
+        if (region != null) {
+            relevanceIndex.remove(region);
+        }
     }
 
     @Override
     public void completeUpdate() {
-        ReadyChunkInfo readyChunkInfo = lightMerger.completeMerge();
-        if (readyChunkInfo != null) {
-            Chunk chunk = readyChunkInfo.getChunk();
-            chunk.writeLock();
-            try {
-                chunk.markReady();
-                updateAdjacentChunksReadyFieldOf(chunk);
-                updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
-
-                if (readyChunkInfo.isNewChunk()) {
-                    PerformanceMonitor.startActivity("Generating queued Entities");
-                    readyChunkInfo.getEntities().forEach(this::generateQueuedEntities);
-                    PerformanceMonitor.endActivity();
-                }
+        long start = System.nanoTime();
+        ReadyChunkInfo readyChunkInfo;
+        while ((readyChunkInfo = lightMerger.completeMerge()) != null) {
+            activateChunk(readyChunkInfo);
+            long end = System.nanoTime();
+            activationScheduler.recordActivationCost(end - start);
+            start = end;
+        }
+    }
 
-                if (readyChunkInfo.getChunkStore() != null) {
-                    readyChunkInfo.getChunkStore().restoreEntities();
-                }
+    private void activateChunk(ReadyChunkInfo readyChunkInfo) {
+        Chunk chunk = readyChunkInfo.getChunk();
+        chunk.writeLock();
+        try {
+            chunk.markReady();
+            updateAdjacentChunksReadyFieldOf(chunk);
+            updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
 
-                if (!readyChunkInfo.isNewChunk()) {
-                    PerformanceMonitor.startActivity("Sending OnAddedBlocks");
-                    readyChunkInfo.getBlockPositionMapppings().forEachEntry((id, positions) -> {
-                        if (positions.size() > 0) {
-                            blockManager.getBlock(id).getEntity().send(new OnAddedBlocks(positions, registry));
-                        }
-                        return true;
-                    });
-                    PerformanceMonitor.endActivity();
-                }
+            if (readyChunkInfo.isNewChunk()) {
+                PerformanceMonitor.startActivity("Generating queued Entities");
+                generateQueuedEntities(readyChunkInfo.getEntities());
+                PerformanceMonitor.endActivity();
+            }
 
-                PerformanceMonitor.startActivity("Sending OnActivateBlocks");
+            if (readyChunkInfo.getChunkStore() != null) {
+                readyChunkInfo.getChunkStore().restoreEntities();
+            }
+
+            if (!readyChunkInfo.isNewChunk()) {
+                PerformanceMonitor.startActivity("Sending OnAddedBlocks");
                 readyChunkInfo.getBlockPositionMapppings().forEachEntry((id, positions) -> {
                     if (positions.size() > 0) {
-                        blockManager.getBlock(id).getEntity().send(new OnActivatedBlocks(positions, registry));
+                        blockManager.getBlock(id).getEntity().send(new OnAddedBlocks(positions, registry));
                     }
                     return true;
                 });
                 PerformanceMonitor.endActivity();
+            }
 
-                if (readyChunkInfo.isNewChunk()) {
-                    worldEntity.send(new OnChunkGenerated(readyChunkInfo.getPos()));
+            PerformanceMonitor.startActivity("Sending OnActivateBlocks");
+            readyChunkInfo.getBlockPositionMapppings().forEachEntry((id, positions) -> {
+                if (positions.size() > 0) {
+                    blockManager.getBlock(id).getEntity().send(new OnActivatedBlocks(positions, registry));
                 }
-                worldEntity.send(new OnChunkLoaded(readyChunkInfo.getPos()));
-            } finally {
-                chunk.writeUnlock();
+                return true;
+            });
+            PerformanceMonitor.endActivity();
+
+            if (readyChunkInfo.isNewChunk()) {
+                worldEntity.send(new OnChunkGenerated(readyChunkInfo.getPos()));
             }
+            worldEntity.send(new OnChunkLoaded(readyChunkInfo.getPos()));
+        } finally {
+            chunk.writeUnlock();
         }
     }
 
-    private void generateQueuedEntities(EntityStore store) {
-        Prefab prefab = store.getPrefab();
-        EntityRef entity;
-        if (prefab != null) {
-            entity = entityManager.create(prefab);
-        } else {
-            entity = entityManager.create();
+    private void generateQueuedEntities(List<EntityStore> stores) {
+        // Entities of the same prefab are created in bulk
+        ListMultimap<Prefab, EntityStore> storesByPrefab = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+        for (EntityStore store : stores) {
+            storesByPrefab.put(store.getPrefab(), store);
         }
-        for (Component component : store.iterateComponents()) {
-            entity.addComponent(component);
+        for (Prefab prefab : storesByPrefab.keySet()) {
+            List<EntityStore> prefabStores = storesByPrefab.get(prefab);
+            List<EntityRef> entities;
+            if (prefab != null) {
+                entities = entityManager.createFromPrefab(prefab, prefabStores.size(), null);
+            } else {
+                entities = Lists.newArrayListWithCapacity(prefabStores.size());
+                for (int i = 0; i < prefabStores.size(); i++) {
+                    entities.add(entityManager.create());
+                }
+            }
+            for (int i = 0; i < prefabStores.size(); i++) {
+                for (Component component : prefabStores.get(i).iterateComponents()) {
+                    entities.get(i).addComponent(component);
+                }
+            }
         }
     }
 
@@ -324,27 +369,18 @@ private void makeChunksAvailable() {
             preparingChunks.remove(readyChunkInfo.getPos());
         }
         updateRelevanceRegionsWithNewChunks(newReadyChunks);
-        if (!newReadyChunks.isEmpty()) {
-            sortedReadyChunks.addAll(newReadyChunks);
-            Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
-        }
-        if (!sortedReadyChunks.isEmpty()) {
-            boolean loaded = false;
-            for (int i = sortedReadyChunks.size() - 1; i >= 0 && !loaded; i--) {
-                ReadyChunkInfo chunkInfo = sortedReadyChunks.get(i);
-                PerformanceMonitor.startActivity("Make Chunk Available");
-                if (makeChunkAvailable(chunkInfo)) {
-                    sortedReadyChunks.remove(i);
-                    loaded = true;
-                }
-                PerformanceMonitor.endActivity();
-            }
+        activationScheduler.addAll(newReadyChunks);
+        for (ReadyChunkInfo chunkInfo : activationScheduler.select(this::canMakeChunkAvailable)) {
+            PerformanceMonitor.startActivity("Make Chunk Available");
+            lightMerger.beginMerge(nearCache.get(chunkInfo.getPos()), chunkInfo);
+            PerformanceMonitor.endActivity();
         }
     }
 
     private void updateRelevanceRegionsWithNewChunks(List<ReadyChunkInfo> newReadyChunks) {
         for (ReadyChunkInfo readyChunkInfo : newReadyChunks) {
-            for (ChunkRelevanceRegion region : regions.values()) {
+            relevanceIndex.chunkLoaded(readyChunkInfo.getPos());
+            for (ChunkRelevanceRegion region : relevanceIndex.getRegionsNear(readyChunkInfo.getPos())) {
                 region.checkIfChunkIsRelevant(readyChunkInfo.getChunk());
             }
         }
@@ -367,25 +403,18 @@ private void checkForUnload() {
         PerformanceMonitor.startActivity("Unloading irrelevant chunks");
         int unloaded = 0;
         logger.debug("Compacting cache");
-        Iterator<Vector3i> iterator = nearCache.keySet().iterator();
-        while (iterator.hasNext()) {
+        Iterator<Vector3i> iterator = relevanceIndex.iterateUnloadCandidates();
+        while (iterator.hasNext() && unloaded < UNLOAD_PER_FRAME) {
             Vector3i pos = iterator.next();
-            boolean keep = false;
-            for (ChunkRelevanceRegion region : regions.values()) {
-                if (region.getCurrentRegion().expand(UNLOAD_LEEWAY).encompasses(pos)) {
-                    keep = true;
-                    break;
-                }
-            }
-            if (!keep) {
+            if (!nearCache.containsKey(pos)) {
+                // Not loaded (yet), it becomes a candidate again when it is
+                iterator.remove();
+            } else if (unloadChunkInternal(pos)) {
                 // TODO: need some way to not dispose chunks being edited or processed (or do so safely)
                 // Note: Above won't matter if all changes are on the main thread
-                if (unloadChunkInternal(pos)) {
-                    iterator.remove();
-                    if (++unloaded >= UNLOAD_PER_FRAME) {
-                        break;
-                    }
-                }
+                nearCache.remove(pos);
+                iterator.remove();
+                unloaded++;
             }
         }
         PerformanceMonitor.endActivity();
@@ -401,26 +430,20 @@ private boolean unloadChunkInternal(Vector3i pos) {
         try {
             if (!chunk.isReady()) {
                 // Chunk hasn't been finished or changed, so just drop it.
-                Iterator<ReadyChunkInfo> infoIterator = sortedReadyChunks.iterator();
-                while (infoIterator.hasNext()) {
-                    ReadyChunkInfo next = infoIterator.next();
-                    if (next.getPos().equals(chunk.getPosition())) {
-                        infoIterator.remove();
-                        break;
-                    }
-                }
+                activationScheduler.removeIf(info -> info.getPos().equals(chunk.getPosition()));
                 return true;
             }
             worldEntity.send(new BeforeChunkUnload(pos));
-            for (ChunkRelevanceRegion region : regions.values()) {
+            for (ChunkRelevanceRegion region : relevanceIndex.getRegionsNear(pos)) {
                 region.chunkUnloaded(pos);
             }
             storageManager.deactivateChunk(chunk);
+            ChunkUnloadRequest unloadRequest = new ChunkUnloadRequest(chunk, this);
             chunk.dispose();
             updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
 
             try {
-                unloadRequestTaskMaster.put(new ChunkUnloadRequest(chunk, this));
+                unloadRequestTaskMaster.put(unloadRequest);
             } catch (InterruptedException e) {
                 logger.error("Failed to enqueue unload request for {}", chunk.getPosition(), e);
             }
@@ -461,9 +484,12 @@ private void updateAdjacentChunksReadyFieldOfAdjChunks(Chunk chunkInCenter) {
 
 
     private void updateRelevance() {
+        boolean moved = false;
         for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
             chunkRelevanceRegion.update();
             if (chunkRelevanceRegion.isDirty()) {
+                moved = true;
+                relevanceIndex.update(chunkRelevanceRegion);
                 for (Vector3i pos : chunkRelevanceRegion.getNeededChunks()) {
                     Chunk chunk = nearCache.get(pos);
                     if (chunk != null) {
@@ -475,22 +501,36 @@ private void updateRelevance() {
                 chunkRelevanceRegion.setUpToDate();
             }
         }
+        if (moved) {
+            activationScheduler.rescore();
+        }
     }
 
-    private boolean makeChunkAvailable(final ReadyChunkInfo readyChunkInfo) {
-        final Chunk chunk = nearCache.get(readyChunkInfo.getPos());
-        if (chunk == null) {
-            return false;
-        }
+    private boolean canMakeChunkAvailable(ReadyChunkInfo readyChunkInfo) {
         for (Vector3i pos : Region3i.createFromCenterExtents(readyChunkInfo.getPos(), 1)) {
             if (nearCache.get(pos) == null) {
                 return false;
             }
         }
-        lightMerger.beginMerge(chunk, readyChunkInfo);
         return true;
     }
 
+    /**
+     * @return The distance of the chunk to the nearest relevance region center
+     */
+    private double relevanceDistance(Vector3i chunkPos) {
+        int distance = Integer.MAX_VALUE;
+        regionLock.readLock().lock();
+        try {
+            for (ChunkRelevanceRegion region : regions.values()) {
+                distance = Math.min(distance, chunkPos.gridDistance(region.getCenter()));
+            }
+            return distance;
+        } finally {
+            regionLock.readLock().unlock();
+        }
+    }
+
     void gatherBlockPositionsForDeactivate(Chunk chunk) {
         try {
             deactivateBlocksQueue.put(createBatchBlockEventMappings(chunk));
@@ -595,7 +635,7 @@ public void purgeWorld() {
         });
         nearCache.clear();
         readyChunks.clear();
-        sortedReadyChunks.clear();
+        activationScheduler.clear();
         storageManager.deleteWorld();
         preparingChunks.clear();
         worldEntity.send(new PurgeWorldEvent());
@@ -607,6 +647,7 @@ public void purgeWorld() {
         ChunkMonitor.fireChunkProviderInitialized(this);
 
         for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
+            relevanceIndex.update(chunkRelevanceRegion);
             for (Vector3i pos : chunkRelevanceRegion.getCurrentRegion()) {
                 createOrLoadChunk(pos);
             }
@@ -701,33 +742,4 @@ private int distFromRegion(Vector3i pos, Vector3i regionCenter) {
         }
     }
 
-    private class ReadyChunkRelevanceComparator implements Comparator<ReadyChunkInfo> {
-
-        @Override
-        public int compare(ReadyChunkInfo o1, ReadyChunkInfo o2) {
-            return score(o2.getPos()) - score(o1.getPos());
-        }
-
-        private int score(Vector3i chunk) {
-            int score = Integer.MAX_VALUE;
-
-            regionLock.readLock().lock();
-            try {
-                for (ChunkRelevanceRegion region : regions.values()) {
-                    int dist = distFromRegion(chunk, region.getCenter());
-                    if (dist < score) {
-                        score = dist;
-                    }
-                }
-                return score;
-            } finally {
-                regionLock.readLock().unlock();
-            }
-        }
-
-        private int distFromRegion(Vector3i pos, Vector3i regionCenter) {
-            return pos.gridDistance(regionCenter);
-        }
-    }
-
 }
@@ -31,7 +31,15 @@ public class ChunkGenerationPipeline {
     private TaskMaster<ChunkTask> chunkGenerator;
 
     public ChunkGenerationPipeline(Comparator<ChunkTask> taskComparator) {
-        chunkGenerator = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Generator", NUM_TASK_THREADS, taskComparator);
+        this(NUM_TASK_THREADS, taskComparator);
+    }
+
+    /**
+     * @param numThreads The number of threads generating chunks
+     * @param taskComparator The order in which queued tasks are run
+     */
+    public ChunkGenerationPipeline(int numThreads, Comparator<ChunkTask> taskComparator) {
+        chunkGenerator = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Generator", numThreads, taskComparator);
     }
 
     public void doTask(ChunkTask task) {
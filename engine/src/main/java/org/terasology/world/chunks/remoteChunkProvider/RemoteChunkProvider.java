@@ -28,7 +28,6 @@
 import org.terasology.math.Region3i;
 import org.terasology.math.Side;
 import org.terasology.math.TeraMath;
-import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.monitoring.chunk.ChunkMonitor;
@@ -38,6 +37,7 @@
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.ChunkRegionListener;
 import org.terasology.world.chunks.event.OnChunkLoaded;
+import org.terasology.world.chunks.internal.ChunkActivationScheduler;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.pipeline.AbstractChunkTask;
 import org.terasology.world.chunks.pipeline.ChunkGenerationPipeline;
@@ -49,7 +49,6 @@
 
 import java.math.RoundingMode;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -59,11 +58,13 @@
  */
 public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvider {
 
-    private static final int LOAD_PER_FRAME = 1;
+    private static final int DEFAULT_ACTIVATION_BUDGET = 4;
     private static final Logger logger = LoggerFactory.getLogger(RemoteChunkProvider.class);
     private Map<Vector3i, Chunk> chunkCache = Maps.newHashMap();
     private final BlockingQueue<Chunk> readyChunks = Queues.newLinkedBlockingQueue();
-    private List<Chunk> sortedReadyChunks = Lists.newArrayList();
+    private final ChunkActivationScheduler<Chunk> activationScheduler =
+            new ChunkActivationScheduler<>(Chunk::getPosition, this::relevanceDistance, DEFAULT_ACTIVATION_BUDGET);
+    private Vector3i playerChunkPos = new Vector3i();
     private ChunkReadyListener listener;
     private EntityRef worldEntity = EntityRef.NULL;
 
@@ -86,6 +87,17 @@ public void subscribe(ChunkReadyListener chunkReadyListener) {
         this.listener = chunkReadyListener;
     }
 
+    /**
+     * @param budgetInMs The time that may be spent on activating received chunks each frame
+     */
+    public void setChunkActivationBudget(int budgetInMs) {
+        activationScheduler.setBudget(budgetInMs);
+    }
+
+    public ChunkActivationScheduler<Chunk> getActivationScheduler() {
+        return activationScheduler;
+    }
+
     public void receiveChunk(final Chunk chunk) {
         pipeline.doTask(new AbstractChunkTask(chunk.getPosition()) {
             @Override
@@ -105,7 +117,7 @@ public void run() {
     public void invalidateChunks(Vector3i pos) {
         Chunk removed = chunkCache.remove(pos);
         if (removed != null && !removed.isReady()) {
-            sortedReadyChunks.remove(removed);
+            activationScheduler.removeIf(chunk -> chunk == removed);
         }
 
     }
@@ -113,45 +125,43 @@ public void invalidateChunks(Vector3i pos) {
     @Override
     public void beginUpdate() {
         if (listener != null) {
+            Vector3i newPlayerChunkPos = ChunkMath.calcChunkPos(new Vector3i(localPlayer.getPosition(), RoundingMode.HALF_UP));
+            if (!newPlayerChunkPos.equals(playerChunkPos)) {
+                playerChunkPos = newPlayerChunkPos;
+                activationScheduler.rescore();
+            }
+
             List<Chunk> newReadyChunks = Lists.newArrayList();
             readyChunks.drainTo(newReadyChunks);
-            if (!newReadyChunks.isEmpty()) {
-                sortedReadyChunks.addAll(newReadyChunks);
-                Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
-                for (Chunk chunk : newReadyChunks) {
-                    Chunk oldChunk = chunkCache.put(chunk.getPosition(), chunk);
-                    if (oldChunk != null) {
-                        oldChunk.dispose();
-                        updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
-                    }
+            for (Chunk chunk : newReadyChunks) {
+                Chunk oldChunk = chunkCache.put(chunk.getPosition(), chunk);
+                if (oldChunk != null) {
+                    oldChunk.dispose();
+                    updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
                 }
             }
-            if (!sortedReadyChunks.isEmpty()) {
-                int loaded = 0;
-                for (int i = sortedReadyChunks.size() - 1; i >= 0 && loaded < LOAD_PER_FRAME; i--) {
-                    Chunk chunkInfo = sortedReadyChunks.get(i);
-                    PerformanceMonitor.startActivity("Make Chunk Available");
-                    if (makeChunkAvailable(chunkInfo)) {
-                        sortedReadyChunks.remove(i);
-                        loaded++;
-                    }
-                    PerformanceMonitor.endActivity();
-                }
+            activationScheduler.addAll(newReadyChunks);
+            for (Chunk chunk : activationScheduler.select(this::canMakeChunkAvailable)) {
+                PerformanceMonitor.startActivity("Make Chunk Available");
+                lightMerger.beginMerge(chunk, chunk);
+                PerformanceMonitor.endActivity();
             }
         }
     }
 
-    private boolean makeChunkAvailable(final Chunk chunk) {
+    private boolean canMakeChunkAvailable(Chunk chunk) {
         for (Vector3i pos : Region3i.createFromCenterExtents(chunk.getPosition(), 1)) {
             if (chunkCache.get(pos) == null) {
                 return false;
             }
         }
-
-        lightMerger.beginMerge(chunk, chunk);
         return true;
     }
 
+    private double relevanceDistance(Vector3i chunkPos) {
+        return playerChunkPos.distanceSquared(chunkPos);
+    }
+
 
     @Override
     public Chunk getChunk(int x, int y, int z) {
@@ -265,13 +275,16 @@ public void removeRelevanceEntity(EntityRef entity) {
 
     @Override
     public void completeUpdate() {
-        Chunk chunk = lightMerger.completeMerge();
-        if (chunk != null) {
+        long start = System.nanoTime();
+        for (Chunk chunk = lightMerger.completeMerge(); chunk != null; chunk = lightMerger.completeMerge()) {
             chunk.markReady();
             updateAdjacentChunksReadyFieldOf(chunk);
             updateAdjacentChunksReadyFieldOfAdjChunks(chunk);
             listener.onChunkReady(chunk.getPosition());
             worldEntity.send(new OnChunkLoaded(chunk.getPosition()));
+            long end = System.nanoTime();
+            activationScheduler.recordActivationCost(end - start);
+            start = end;
         }
     }
 
@@ -329,18 +342,4 @@ private int score(Vector3i chunk) {
             return playerChunk.distanceSquared(chunk);
         }
     }
-
-    private class ReadyChunkRelevanceComparator implements Comparator<Chunk> {
-
-        @Override
-        public int compare(Chunk o1, Chunk o2) {
-            return TeraMath.floorToInt(Math.signum(score(o2.getPosition())) - score(o1.getPosition()));
-        }
-
-        private float score(Vector3i chunkPos) {
-            Vector3f vec = chunkPos.toVector3f();
-            vec.sub(localPlayer.getPosition());
-            return vec.lengthSquared();
-        }
-    }
 }
@@ -18,6 +18,7 @@
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
 import org.terasology.math.Region3i;
+import org.terasology.monitoring.LatencyProfiler;
 import org.terasology.utilities.collection.TypeMap;
 
 import java.util.Map;
@@ -35,6 +36,8 @@ public class RegionImpl implements Region, GeneratingRegion {
     private final Set<FacetProvider> processedProviders = Sets.newHashSet();
     private final TypeMap<WorldFacet> generatedFacets = TypeMap.create();
 
+    private long providerTime;
+
     public RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders) {
         this.region = region;
         this.facetProviderChains = facetProviderChains;
@@ -46,7 +49,7 @@ public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         T facet = generatedFacets.get(dataType);
         if (facet == null) {
             facetProviderChains.get(dataType).stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
-                provider.process(this);
+                process(provider);
                 processedProviders.add(provider);
             });
             facet = generatingFacets.get(dataType);
@@ -55,6 +58,30 @@ public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         return facet;
     }
 
+    /**
+     * @return The time spent in facet providers for this region so far, in nanoseconds. Only measured while the
+     * {@link LatencyProfiler} is enabled.
+     */
+    long getProviderTime() {
+        return providerTime;
+    }
+
+    /**
+     * Runs the provider, recording the time it took without the time taken by the providers of the facets it requires.
+     */
+    private void process(FacetProvider provider) {
+        if (!LatencyProfiler.isEnabled()) {
+            provider.process(this);
+            return;
+        }
+        long nestedTimeBefore = providerTime;
+        long start = System.nanoTime();
+        provider.process(this);
+        long ownTime = System.nanoTime() - start - (providerTime - nestedTimeBefore);
+        providerTime += ownTime;
+        LatencyProfiler.recordDuration(LatencyProfiler.Category.FACET_PROVIDER, provider.getClass().getSimpleName(), ownTime);
+    }
+
     @Override
     public Region3i getRegion() {
         return region;
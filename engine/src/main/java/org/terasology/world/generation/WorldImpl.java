@@ -18,6 +18,7 @@
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
 import org.terasology.math.Region3i;
+import org.terasology.monitoring.LatencyProfiler;
 import org.terasology.world.chunks.CoreChunk;
 
 import java.util.Collection;
@@ -59,9 +60,18 @@ public int getSeaLevel() {
 
     @Override
     public void rasterizeChunk(CoreChunk chunk, EntityBuffer buffer) {
-        Region chunkRegion = getWorldData(chunk.getRegion());
+        RegionImpl chunkRegion = new RegionImpl(chunk.getRegion(), facetProviderChains, borders);
         for (WorldRasterizer rasterizer : worldRasterizers) {
-            rasterizer.generateChunk(chunk, chunkRegion);
+            if (LatencyProfiler.isEnabled()) {
+                // Facets are generated on demand, so leave out the time of the providers run by the rasterizer
+                long providerTimeBefore = chunkRegion.getProviderTime();
+                long start = System.nanoTime();
+                rasterizer.generateChunk(chunk, chunkRegion);
+                long ownTime = System.nanoTime() - start - (chunkRegion.getProviderTime() - providerTimeBefore);
+                LatencyProfiler.recordDuration(LatencyProfiler.Category.RASTERIZER, rasterizer.getClass().getSimpleName(), ownTime);
+            } else {
+                rasterizer.generateChunk(chunk, chunkRegion);
+            }
         }
         for (EntityProvider entityProvider : entityProviders) {
             entityProvider.process(chunkRegion, buffer);
@@ -16,10 +16,13 @@
 package org.terasology.world.propagation.light;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.math.Side;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.Activity;
+import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.LitChunk;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
@@ -30,6 +33,7 @@
 import org.terasology.world.propagation.StandardBatchPropagator;
 import org.terasology.world.propagation.SunlightRegenBatchPropagator;
 
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -45,7 +49,7 @@
     private static Logger logger = LoggerFactory.getLogger(LightMerger.class);
 
     private ExecutorService executorService = Executors.newSingleThreadExecutor();
-    private Future<T> resultFuture;
+    private Deque<Future<T>> resultFutures = Queues.newArrayDeque();
 
     private GeneratingChunkProvider chunkProvider;
     private LightPropagationRules lightRules = new LightPropagationRules();
@@ -57,19 +61,29 @@ public LightMerger(GeneratingChunkProvider chunkProvider) {
         this.chunkProvider = chunkProvider;
     }
 
+    /**
+     * Starts merging the light of a chunk with its neighbours. Several merges can be started at once, they are processed
+     * in order.
+     */
     public void beginMerge(final Chunk chunk, final T data) {
-        resultFuture = executorService.submit(() -> {
-            merge(chunk);
+        resultFutures.add(executorService.submit(() -> {
+            try (Activity ignored = PerformanceMonitor.startActivity("Light Merge")) {
+                merge(chunk);
+            }
             return data;
-        });
+        }));
     }
 
+    /**
+     * Waits for the oldest merge that was not completed yet.
+     *
+     * @return The data passed to {@link #beginMerge(Chunk, Object)} for that merge, or null if there are no merges left
+     */
     public T completeMerge() {
+        Future<T> resultFuture = resultFutures.poll();
         if (resultFuture != null) {
             try {
-                T result = resultFuture.get();
-                resultFuture = null;
-                return result;
+                return resultFuture.get();
             } catch (InterruptedException | ExecutionException e) {
                 throw new RuntimeException("Error completing lighting merge", e);
             }